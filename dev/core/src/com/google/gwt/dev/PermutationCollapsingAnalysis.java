@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.dev;
+
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.thirdparty.guava.common.annotations.VisibleForTesting;
+import com.google.gwt.thirdparty.guava.common.collect.Lists;
+import com.google.gwt.thirdparty.guava.common.collect.Maps;
+import com.google.gwt.thirdparty.guava.common.collect.Sets;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds out which permutations compile to the same program, and which binding properties never
+ * make a difference to the compiled program.
+ * <p>
+ * Two permutations compile to the same program when every live {@code GWT.create()} call has the
+ * same answer in both and every binding property read by live code through
+ * {@code System.getProperty()} has the same value in both. A binding property that never makes
+ * such a difference between permutations which only differ in its value is a candidate for
+ * {@code <collapse-property>}.
+ * <p>
+ * The precompiler already merges permutations with identical rebind answers into soft
+ * permutations. The analysis also accounts for property reads and reports the result, which is
+ * most useful when permutations are precompiled separately and cannot be merged with each other.
+ * <p>
+ * System Properties:
+ * <ul>
+ * <li>gwt.jjs.analyzePermutations: logs the analysis at INFO rather than DEBUG level</li>
+ * </ul>
+ */
+class PermutationCollapsingAnalysis {
+
+  private static final String GWT_JJS_ANALYZEPERMUTATIONS = "gwt.jjs.analyzePermutations";
+
+  /**
+   * Analyzes the given precompiled permutations, which must not have been merged yet, and logs the
+   * result.
+   */
+  static void exec(TreeLogger logger, Permutation[] permutations, Set<String> liveRebindRequests,
+      Set<String> livePropertyRequests) {
+    TreeLogger.Type logLevel = System.getProperty(GWT_JJS_ANALYZEPERMUTATIONS) != null
+        ? TreeLogger.INFO : TreeLogger.DEBUG;
+    if (permutations.length < 2 || !logger.isLoggable(logLevel)) {
+      return;
+    }
+
+    List<PropertyAndBindingInfo> infos = Lists.newArrayListWithCapacity(permutations.length);
+    for (Permutation permutation : permutations) {
+      List<PropertyAndBindingInfo> permutationInfos = permutation.getPropertyAndBindingInfos();
+      assert permutationInfos.size() == 1 : "Permutations must be analyzed before being merged";
+      infos.add(permutationInfos.get(0));
+    }
+    PermutationCollapsingAnalysis analysis =
+        new PermutationCollapsingAnalysis(infos, liveRebindRequests, livePropertyRequests);
+    analysis.log(logger, logLevel);
+  }
+
+  private final List<PropertyAndBindingInfo> infos;
+  private final List<String> keys;
+  private final Set<String> livePropertyRequests;
+  private final Set<String> liveRebindRequests;
+  private final Set<String> propertyNames;
+
+  @VisibleForTesting
+  PermutationCollapsingAnalysis(List<PropertyAndBindingInfo> infos,
+      Set<String> liveRebindRequests, Set<String> livePropertyRequests) {
+    this.infos = infos;
+    this.liveRebindRequests = Sets.newTreeSet(liveRebindRequests);
+    this.livePropertyRequests = Sets.newTreeSet(livePropertyRequests);
+
+    Set<String> propertyNames = Sets.newTreeSet();
+    for (PropertyAndBindingInfo info : infos) {
+      propertyNames.addAll(info.getPropertyNames());
+    }
+    this.propertyNames = Collections.unmodifiableSet(propertyNames);
+
+    keys = Lists.newArrayListWithCapacity(infos.size());
+    for (PropertyAndBindingInfo info : infos) {
+      keys.add(computeKey(info));
+    }
+  }
+
+  /**
+   * Returns the number of distinct programs the permutations compile to.
+   */
+  @VisibleForTesting
+  int getDistinctProgramCount() {
+    return Sets.newHashSet(keys).size();
+  }
+
+  /**
+   * Returns the binding properties that take several values but never make a difference to the
+   * compiled program.
+   */
+  @VisibleForTesting
+  List<String> getIrrelevantPropertyNames() {
+    List<String> irrelevantPropertyNames = Lists.newArrayList();
+    for (String propertyName : propertyNames) {
+      if (isIrrelevant(propertyName)) {
+        irrelevantPropertyNames.add(propertyName);
+      }
+    }
+    return irrelevantPropertyNames;
+  }
+
+  private String computeKey(PropertyAndBindingInfo info) {
+    StringBuilder key = new StringBuilder();
+    for (String requestType : liveRebindRequests) {
+      key.append(requestType).append('=').append(info.getReboundType(requestType)).append('\n');
+    }
+    for (String propertyName : livePropertyRequests) {
+      if (info.containsProperty(propertyName)) {
+        key.append(propertyName).append(':').append(info.getPropertyValue(propertyName))
+            .append('\n');
+      }
+    }
+    return key.toString();
+  }
+
+  /**
+   * Returns whether the property takes several values and permutations that only differ by its
+   * value always compile to the same program.
+   */
+  private boolean isIrrelevant(String propertyName) {
+    Set<String> values = Sets.newHashSet();
+    Map<String, String> keysByOtherPropertyValues = Maps.newHashMap();
+    for (int i = 0; i < infos.size(); i++) {
+      PropertyAndBindingInfo info = infos.get(i);
+      values.add(info.getPropertyValue(propertyName));
+
+      StringBuilder otherPropertyValues = new StringBuilder();
+      for (String otherPropertyName : propertyNames) {
+        if (!otherPropertyName.equals(propertyName)) {
+          otherPropertyValues.append(info.getPropertyValue(otherPropertyName)).append('\n');
+        }
+      }
+      String previousKey = keysByOtherPropertyValues.put(otherPropertyValues.toString(),
+          keys.get(i));
+      if (previousKey != null && !previousKey.equals(keys.get(i))) {
+        return false;
+      }
+    }
+    return values.size() > 1;
+  }
+
+  private void log(TreeLogger logger, TreeLogger.Type logLevel) {
+    TreeLogger branch = logger.branch(logLevel, infos.size() + " permutations compile to "
+        + getDistinctProgramCount() + " distinct programs");
+    for (String propertyName : getIrrelevantPropertyNames()) {
+      branch.log(logLevel, "Property '" + propertyName + "' does not change any rebind answer or "
+          + "property value read by the program; consider <collapse-property name='"
+          + propertyName + "' values='*'/>");
+    }
+  }
+}
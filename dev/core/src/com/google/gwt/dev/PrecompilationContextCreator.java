@@ -24,7 +24,7 @@ import com.google.gwt.dev.cfg.BindingProperty;
 import com.google.gwt.dev.cfg.ConfigurationProperties;
 import com.google.gwt.dev.cfg.ModuleDef;
 import com.google.gwt.dev.cfg.PropertyCombinations;
-import com.google.gwt.dev.cfg.Rule;
+import com.google.gwt.dev.cfg.RuleIndex;
 import com.google.gwt.dev.javac.CompilationState;
 import com.google.gwt.dev.javac.StandardGeneratorContext;
 import com.google.gwt.dev.jdt.RebindOracle;
@@ -37,7 +37,6 @@ import com.google.gwt.dev.util.log.speedtracer.SpeedTracerLogger;
 import com.google.gwt.dev.util.log.speedtracer.SpeedTracerLogger.Event;
 import com.google.gwt.thirdparty.guava.common.collect.Sets;
 
-import java.util.Deque;
 import java.util.Set;
 
 /**
@@ -57,12 +56,14 @@ class PrecompilationContextCreator {
         new StandardGeneratorContext(compilerContext, compilationState, generatorArtifacts, true);
     BindingProperty[] orderedProperties = propertyCombinations.getOrderedProperties();
     ConfigurationProperties configurationProperties = new ConfigurationProperties(module);
-    Deque<Rule> rules = module.getRules();
+    // Shared so that permutations reuse each other's rebind decisions.
+    RuleIndex ruleIndex = new RuleIndex(module.getRules());
     for (int i = 0; i < propertyCombinations.size(); ++i) {
       BindingProperties bindingProperties = new BindingProperties(orderedProperties,
           propertyCombinations.getOrderedPropertyValues(i), configurationProperties);
       rebindOracles[i] =
-          new StandardRebindOracle(bindingProperties.toPropertyOracle(), rules, generatorContext);
+          new StandardRebindOracle(bindingProperties.toPropertyOracle(), ruleIndex,
+              generatorContext);
       permutations[i] = new Permutation(i, bindingProperties);
     }
 
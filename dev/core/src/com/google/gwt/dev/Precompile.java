@@ -254,6 +254,9 @@ public class Precompile {
         unifiedAst.setModuleMetrics(moduleMetrics);
       }
 
+      PermutationCollapsingAnalysis.exec(logger, precompilationContext.getPermutations(),
+          unifiedAst.getRebindRequests(), unifiedAst.getPropertyRequests());
+
       // Merge all identical permutations together.
       List<Permutation> permutations =
           new ArrayList<Permutation>(Arrays.asList(precompilationContext.getPermutations()));
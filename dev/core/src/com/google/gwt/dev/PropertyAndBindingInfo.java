@@ -22,6 +22,7 @@ import com.google.gwt.thirdparty.guava.common.collect.SortedSetMultimap;
 import com.google.gwt.thirdparty.guava.common.collect.TreeMultimap;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,13 @@ public class PropertyAndBindingInfo implements Serializable {
     return propertyValueByPropertyName.get(key);
   }
 
+  /**
+   * Returns the names of the properties this permutation has values for.
+   */
+  public Set<String> getPropertyNames() {
+    return Collections.unmodifiableSet(propertyValueByPropertyName.keySet());
+  }
+
   /**
    * Returns the Java class that a GWT.create() call will construct.
    *
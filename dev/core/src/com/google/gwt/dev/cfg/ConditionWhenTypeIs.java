@@ -41,6 +41,10 @@ public class ConditionWhenTypeIs extends Condition {
     return false;
   }
 
+  public String getExactTypeSourceName() {
+    return exactTypeSourceName;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hashCode(exactTypeSourceName);
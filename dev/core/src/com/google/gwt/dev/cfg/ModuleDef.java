@@ -22,6 +22,7 @@ import com.google.gwt.core.ext.linker.LinkerOrder;
 import com.google.gwt.core.ext.linker.LinkerOrder.Order;
 import com.google.gwt.core.ext.typeinfo.TypeOracle;
 import com.google.gwt.dev.CompilerContext;
+import com.google.gwt.dev.cfg.ModuleDefSnapshot.PathEntry;
 import com.google.gwt.dev.javac.CompilationProblemReporter;
 import com.google.gwt.dev.javac.CompilationState;
 import com.google.gwt.dev.javac.CompilationStateBuilder;
@@ -152,7 +153,13 @@ public class ModuleDef implements DepsInfoProvider {
    */
   private String nameOverride;
 
-  private final Properties properties = new Properties();
+  /**
+   * The arguments of every call that added a public, source or resource path, in order, so that
+   * the path prefixes can be recreated from a {@link ModuleDefSnapshot}.
+   */
+  private final List<PathEntry> pathEntries = new ArrayList<PathEntry>();
+
+  private Properties properties = new Properties();
 
   private PathPrefixSet publicPrefixSet = new PathPrefixSet();
 
@@ -224,6 +231,8 @@ public class ModuleDef implements DepsInfoProvider {
     if (lazyPublicOracle != null) {
       throw new IllegalStateException("Already normalized");
     }
+    pathEntries.add(new PathEntry(PathEntry.Kind.PUBLIC, getCurrentLibraryModuleName(),
+        publicPackage, includeList, excludeList, skipList, defaultExcludes, caseSensitive));
     publicPrefixSet.add(new PathPrefix(getCurrentLibraryModuleName(), publicPackage, defaultFilters
         .customResourceFilter(includeList, excludeList, skipList, defaultExcludes, caseSensitive),
         true, excludeList));
@@ -233,6 +242,8 @@ public class ModuleDef implements DepsInfoProvider {
     if (lazyResourcesOracle != null) {
       throw new IllegalStateException("Already normalized");
     }
+    pathEntries.add(new PathEntry(PathEntry.Kind.RESOURCE, getCurrentLibraryModuleName(),
+        resourcePath, null, null, null, false, false));
     resourcePrefixes.add(new PathPrefix(getCurrentLibraryModuleName(), resourcePath,
         NON_JAVA_RESOURCES, false, null));
   }
@@ -253,6 +264,9 @@ public class ModuleDef implements DepsInfoProvider {
     if (lazySourceOracle != null) {
       throw new IllegalStateException("Already normalized");
     }
+    pathEntries.add(new PathEntry(isSuperSource ? PathEntry.Kind.SUPER_SOURCE
+        : PathEntry.Kind.SOURCE, getCurrentLibraryModuleName(), sourcePackage, includeList,
+        excludeList, skipList, defaultExcludes, caseSensitive));
     PathPrefix pathPrefix = new PathPrefix(getCurrentLibraryModuleName(),
         sourcePackage, defaultFilters.customJavaFilter(includeList, excludeList, skipList,
             defaultExcludes, caseSensitive), isSuperSource, excludeList);
@@ -640,6 +654,82 @@ public class ModuleDef implements DepsInfoProvider {
     inheritedModules.add(moduleName);
   }
 
+  /**
+   * Captures the state loaded from module XML. Must be called before {@link #normalize}.
+   */
+  synchronized ModuleDefSnapshot createSnapshot() {
+    if (lazySourceOracle != null) {
+      throw new IllegalStateException("Already normalized");
+    }
+    ModuleDefSnapshot snapshot = new ModuleDefSnapshot(name);
+    snapshot.activeLinkers.addAll(activeLinkers);
+    snapshot.activePrimaryLinker = activePrimaryLinker;
+    snapshot.collapseAllProperties = collapseAllProperties;
+    snapshot.entryPointTypeNames.addAll(entryPointTypeNames);
+    snapshot.gwtXmlFiles.addAll(gwtXmlFiles);
+    snapshot.gwtXmlPathByModuleName.putAll(gwtXmlPathByModuleName);
+    snapshot.inheritedModules.addAll(inheritedModules);
+    snapshot.linkerTypesByName.putAll(linkerTypesByName);
+    snapshot.nameOverride = nameOverride;
+    snapshot.pathEntries.addAll(pathEntries);
+    snapshot.properties = properties;
+    snapshot.rules.addAll(rules);
+    snapshot.scripts = scripts;
+    snapshot.servletClassNamesByPath.putAll(servletClassNamesByPath);
+    snapshot.styles = styles;
+    return snapshot;
+  }
+
+  /**
+   * Replays a snapshot into this freshly constructed module, as if its module XML had been
+   * loaded. {@link #normalize} must still be called afterwards.
+   */
+  synchronized void restoreSnapshot(ModuleDefSnapshot snapshot) {
+    assert name.equals(snapshot.name);
+    if (lazySourceOracle != null) {
+      throw new IllegalStateException("Already normalized");
+    }
+    for (PathEntry entry : snapshot.pathEntries) {
+      enterModule(entry.moduleName);
+      switch (entry.kind) {
+        case PUBLIC:
+          addPublicPackage(entry.path, entry.includeList, entry.excludeList, entry.skipList,
+              entry.defaultExcludes, entry.caseSensitive);
+          break;
+        case RESOURCE:
+          addResourcePath(entry.path);
+          break;
+        case SOURCE:
+        case SUPER_SOURCE:
+          addSourcePackageImpl(entry.path, entry.includeList, entry.excludeList, entry.skipList,
+              entry.defaultExcludes, entry.caseSensitive,
+              entry.kind == PathEntry.Kind.SUPER_SOURCE);
+          break;
+        default:
+          throw new IllegalStateException("Unknown path kind " + entry.kind);
+      }
+      exitModule();
+    }
+    activeLinkers.addAll(snapshot.activeLinkers);
+    activePrimaryLinker = snapshot.activePrimaryLinker;
+    collapseAllProperties = snapshot.collapseAllProperties;
+    entryPointTypeNames.addAll(snapshot.entryPointTypeNames);
+    gwtXmlFiles.addAll(snapshot.gwtXmlFiles);
+    gwtXmlPathByModuleName.putAll(snapshot.gwtXmlPathByModuleName);
+    inheritedModules.addAll(snapshot.inheritedModules);
+    linkerTypesByName.putAll(snapshot.linkerTypesByName);
+    nameOverride = snapshot.nameOverride;
+    properties = snapshot.properties;
+    rules.addAll(snapshot.rules);
+    for (Script script : snapshot.scripts) {
+      scripts.append(script);
+    }
+    servletClassNamesByPath.putAll(snapshot.servletClassNamesByPath);
+    for (String style : snapshot.styles) {
+      styles.append(style);
+    }
+  }
+
   /**
    * The final method to call when everything is setup. Before calling this
    * method, several of the getter methods may not be called. After calling this
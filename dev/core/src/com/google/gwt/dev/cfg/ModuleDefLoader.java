@@ -31,6 +31,7 @@ import java.io.File;
 import java.io.Reader;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -95,6 +96,11 @@ public class ModuleDefLoader {
           nestedLoad(logger, inherit, dest);
         }
       }
+
+      @Override
+      protected String getCacheKey(String nameOfModuleToLoad) {
+        return super.getCacheKey(nameOfModuleToLoad) + " inherits " + Arrays.toString(inherits);
+      }
     };
 
     ModuleDef module = doLoadModule(loader, logger, moduleName, resources);
@@ -188,10 +194,31 @@ public class ModuleDefLoader {
       throws UnableToCompleteException {
 
     ModuleDef moduleDef = new ModuleDef(moduleName, resources, monolithic, mergePathPrefixes);
-    Event moduleLoadEvent = SpeedTracerLogger.start(CompilerEventType.MODULE_DEF,
-        "phase", "strategy.load()");
-    loader.load(logger, moduleName, moduleDef);
-    moduleLoadEvent.end();
+    PersistentModuleDefCache persistentCache = PersistentModuleDefCache.get();
+    String cacheKey = loader.getCacheKey(moduleName) + " monolithic=" + monolithic
+        + " mergePathPrefixes=" + mergePathPrefixes;
+
+    ModuleDefSnapshot snapshot = null;
+    if (persistentCache != null) {
+      Event snapshotLoadEvent = SpeedTracerLogger.start(CompilerEventType.MODULE_DEF,
+          "phase", "loadSnapshot");
+      snapshot = persistentCache.load(logger, cacheKey, resources);
+      snapshotLoadEvent.end();
+    }
+
+    if (snapshot != null) {
+      logger.log(TreeLogger.TRACE, "Loaded module '" + moduleName + "' from snapshot");
+      moduleDef.restoreSnapshot(snapshot);
+    } else {
+      Event moduleLoadEvent = SpeedTracerLogger.start(CompilerEventType.MODULE_DEF,
+          "phase", "strategy.load()");
+      loader.load(logger, moduleName, moduleDef);
+      moduleLoadEvent.end();
+
+      if (persistentCache != null) {
+        persistentCache.store(logger, cacheKey, resources, moduleDef.createSnapshot());
+      }
+    }
 
     // Do any final setup.
     //
@@ -234,6 +261,13 @@ public class ModuleDefLoader {
     this.resourceLoader = loader;
   }
 
+  /**
+   * Returns the key under which the persistent snapshot of the given module is stored.
+   */
+  protected String getCacheKey(String nameOfModuleToLoad) {
+    return nameOfModuleToLoad;
+  }
+
   /**
    * Loads a module and all its included modules, recursively, into the given ModuleDef.
    * @throws UnableToCompleteException
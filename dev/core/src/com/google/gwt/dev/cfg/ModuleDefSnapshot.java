@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.dev.cfg;
+
+import com.google.gwt.core.ext.Linker;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The state of a {@link ModuleDef} right after its module XML has been loaded and before it is
+ * normalized, in a form that can be persisted and replayed into a fresh {@link ModuleDef}.
+ * <p>
+ * Path prefixes are not captured directly because their {@link
+ * com.google.gwt.dev.resource.impl.ResourceFilter ResourceFilters} are opaque; instead the
+ * arguments that created them are recorded and replayed.
+ */
+class ModuleDefSnapshot implements Serializable {
+
+  /**
+   * The arguments of one call to add a public, source, super source or resource path.
+   */
+  static class PathEntry implements Serializable {
+
+    /**
+     * The kinds of paths a module can contribute.
+     */
+    enum Kind {
+      PUBLIC, RESOURCE, SOURCE, SUPER_SOURCE
+    }
+
+    final Kind kind;
+    final String moduleName;
+    final String path;
+    final String[] includeList;
+    final String[] excludeList;
+    final String[] skipList;
+    final boolean defaultExcludes;
+    final boolean caseSensitive;
+
+    PathEntry(Kind kind, String moduleName, String path, String[] includeList,
+        String[] excludeList, String[] skipList, boolean defaultExcludes, boolean caseSensitive) {
+      this.kind = kind;
+      this.moduleName = moduleName;
+      this.path = path;
+      this.includeList = includeList;
+      this.excludeList = excludeList;
+      this.skipList = skipList;
+      this.defaultExcludes = defaultExcludes;
+      this.caseSensitive = caseSensitive;
+    }
+  }
+
+  final Set<String> activeLinkers = new LinkedHashSet<String>();
+  String activePrimaryLinker;
+  boolean collapseAllProperties;
+  final List<String> entryPointTypeNames = new ArrayList<String>();
+  final Set<File> gwtXmlFiles = new LinkedHashSet<File>();
+  final Map<String, String> gwtXmlPathByModuleName = new LinkedHashMap<String, String>();
+  final Set<String> inheritedModules = new LinkedHashSet<String>();
+  final Map<String, Class<? extends Linker>> linkerTypesByName =
+      new LinkedHashMap<String, Class<? extends Linker>>();
+  final String name;
+  String nameOverride;
+  final List<PathEntry> pathEntries = new ArrayList<PathEntry>();
+  Properties properties;
+  final List<Rule> rules = new ArrayList<Rule>();
+  Scripts scripts;
+  final Map<String, String> servletClassNamesByPath = new LinkedHashMap<String, String>();
+  Styles styles;
+
+  ModuleDefSnapshot(String name) {
+    this.name = name;
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.dev.cfg;
+
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.dev.About;
+import com.google.gwt.dev.util.StringInterningObjectInputStream;
+import com.google.gwt.dev.util.Util;
+import com.google.gwt.thirdparty.guava.common.annotations.VisibleForTesting;
+import com.google.gwt.util.tools.Utility;
+import com.google.gwt.util.tools.shared.Md5Utils;
+import com.google.gwt.util.tools.shared.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persists {@link ModuleDefSnapshot}s on disk so that new JVMs can skip parsing module XML when
+ * none of the contributing {@code .gwt.xml} files changed.
+ * <p>
+ * A snapshot records, for every module of the include graph, the URL the module resolved to and
+ * the MD5 of its contents. It is only reused if every module still resolves to the same URL with
+ * the same contents through the current {@link ResourceLoader}. Snapshots whose classes (linkers,
+ * generators...) can no longer be loaded are ignored as well.
+ * <p>
+ * System Properties:
+ * <ul>
+ * <li>gwt.moduledefcachedir=&lt;dir&gt;: enables the cache and sets its directory</li>
+ * </ul>
+ */
+class PersistentModuleDefCache {
+
+  /**
+   * Resolves classes through the context class loader, which is where module XML looks up
+   * linkers and generators.
+   */
+  private static class ContextClassLoaderObjectInputStream
+      extends StringInterningObjectInputStream {
+
+    public ContextClassLoaderObjectInputStream(InputStream inputStream) throws IOException {
+      super(inputStream);
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc)
+        throws IOException, ClassNotFoundException {
+      ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+      if (classLoader != null) {
+        try {
+          return Class.forName(desc.getName(), false, classLoader);
+        } catch (ClassNotFoundException e) {
+          // Fall through to the default lookup, which also handles primitive types.
+        }
+      }
+      return super.resolveClass(desc);
+    }
+  }
+
+  private static final String GWT_MODULEDEFCACHEDIR = "gwt.moduledefcachedir";
+
+  /**
+   * Bump whenever the on-disk format changes.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  private static final PersistentModuleDefCache instance = create();
+
+  /**
+   * Returns the process wide cache, or {@code null} if persistent module caching is disabled.
+   */
+  static PersistentModuleDefCache get() {
+    return instance;
+  }
+
+  private static PersistentModuleDefCache create() {
+    String cacheDirPath = System.getProperty(GWT_MODULEDEFCACHEDIR);
+    if (cacheDirPath == null || cacheDirPath.isEmpty()) {
+      return null;
+    }
+    return new PersistentModuleDefCache(new File(cacheDirPath));
+  }
+
+  private final File cacheDir;
+
+  @VisibleForTesting
+  PersistentModuleDefCache(File cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  /**
+   * Returns the snapshot stored for the given key, or {@code null} if there is none or if any of
+   * the module files it was built from changed.
+   */
+  ModuleDefSnapshot load(TreeLogger logger, String cacheKey, ResourceLoader resources) {
+    File snapshotFile = getSnapshotFile(cacheKey);
+    if (!snapshotFile.isFile()) {
+      return null;
+    }
+    ObjectInputStream in = null;
+    try {
+      in = new ContextClassLoaderObjectInputStream(
+          new BufferedInputStream(new FileInputStream(snapshotFile)));
+      if (in.readInt() != FORMAT_VERSION || !About.getGwtVersion().equals(in.readUTF())
+          || !cacheKey.equals(in.readUTF())) {
+        return null;
+      }
+      @SuppressWarnings("unchecked")
+      Map<String, String> hashesByModuleUrl = (Map<String, String>) in.readObject();
+      if (!hashesByModuleUrl.equals(computeModuleHashes(resources, hashesByModuleUrl.keySet()))) {
+        logger.log(TreeLogger.TRACE, "Ignoring stale module snapshot for " + cacheKey);
+        return null;
+      }
+      return (ModuleDefSnapshot) in.readObject();
+    } catch (IOException e) {
+      logger.log(TreeLogger.TRACE, "Ignoring unreadable module snapshot " + snapshotFile, e);
+      return null;
+    } catch (ClassNotFoundException e) {
+      logger.log(TreeLogger.TRACE, "Ignoring module snapshot " + snapshotFile
+          + " that refers to classes which are no longer available", e);
+      return null;
+    } catch (ClassCastException e) {
+      logger.log(TreeLogger.TRACE, "Ignoring corrupt module snapshot " + snapshotFile, e);
+      return null;
+    } finally {
+      Utility.close(in);
+    }
+  }
+
+  /**
+   * Writes the snapshot of the given module. Failures are logged and otherwise ignored, the cache
+   * is only an optimization.
+   */
+  void store(TreeLogger logger, String cacheKey, ResourceLoader resources,
+      ModuleDefSnapshot snapshot) {
+    Map<String, String> hashesByModuleUrl;
+    try {
+      hashesByModuleUrl = computeModuleHashes(resources, snapshot.inheritedModules);
+    } catch (IOException e) {
+      logger.log(TreeLogger.TRACE, "Unable to hash module files of " + cacheKey, e);
+      return;
+    }
+    if (hashesByModuleUrl == null) {
+      return;
+    }
+
+    File snapshotFile = getSnapshotFile(cacheKey);
+    ObjectOutputStream out = null;
+    try {
+      if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+        logger.log(TreeLogger.TRACE, "Unable to create module cache directory " + cacheDir);
+        return;
+      }
+      // Write to a temporary file first so that concurrent JVMs never see a partial snapshot.
+      File tempFile = File.createTempFile(snapshotFile.getName(), ".tmp", cacheDir);
+      try {
+        out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(About.getGwtVersion());
+        out.writeUTF(cacheKey);
+        out.writeObject(hashesByModuleUrl);
+        out.writeObject(snapshot);
+        out.close();
+        out = null;
+        if (!tempFile.renameTo(snapshotFile)) {
+          snapshotFile.delete();
+          if (!tempFile.renameTo(snapshotFile)) {
+            logger.log(TreeLogger.TRACE, "Unable to write module snapshot " + snapshotFile);
+          }
+        }
+      } finally {
+        Utility.close(out);
+        tempFile.delete();
+      }
+    } catch (IOException e) {
+      // Includes NotSerializableException for modules holding unexpected state.
+      logger.log(TreeLogger.TRACE, "Unable to write module snapshot " + snapshotFile, e);
+    }
+  }
+
+  @VisibleForTesting
+  File getSnapshotFile(String cacheKey) {
+    return new File(cacheDir, StringUtils.toHexString(Md5Utils.getMd5Digest(cacheKey)) + ".ser");
+  }
+
+  /**
+   * Maps "moduleName=url" to the MD5 of the module file for each of the given modules or
+   * previously computed keys. Returns {@code null} if a module cannot be found.
+   */
+  private static Map<String, String> computeModuleHashes(ResourceLoader resources,
+      Iterable<String> modulesOrKeys) throws IOException {
+    Map<String, String> hashesByModuleUrl = new LinkedHashMap<String, String>();
+    for (String moduleOrKey : modulesOrKeys) {
+      int separator = moduleOrKey.indexOf('=');
+      String moduleName = separator < 0 ? moduleOrKey : moduleOrKey.substring(0, separator);
+      URL moduleUrl = resources.getResource(
+          moduleName.replace('.', '/') + ModuleDefLoader.GWT_MODULE_XML_SUFFIX);
+      if (moduleUrl == null) {
+        return null;
+      }
+      InputStream in = moduleUrl.openStream();
+      byte[] content;
+      try {
+        content = Util.readStreamAsBytes(in);
+      } finally {
+        Utility.close(in);
+      }
+      if (content == null) {
+        throw new IOException("Unable to read " + moduleUrl);
+      }
+      hashesByModuleUrl.put(moduleName + "=" + moduleUrl.toExternalForm(),
+          StringUtils.toHexString(Md5Utils.getMd5Digest(content)));
+    }
+    return hashesByModuleUrl;
+  }
+}
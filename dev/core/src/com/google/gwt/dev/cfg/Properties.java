@@ -19,6 +19,7 @@ import com.google.gwt.thirdparty.guava.common.collect.ListMultimap;
 import com.google.gwt.thirdparty.guava.common.collect.Maps;
 import com.google.gwt.thirdparty.guava.common.collect.Sets;
 
+import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.Map.Entry;
@@ -28,7 +29,7 @@ import java.util.SortedSet;
 /**
  * A typed map of deferred binding properties.
  */
-public class Properties {
+public class Properties implements Serializable {
 
   private final SortedSet<BindingProperty> bindingProperties = Sets.newTreeSet();
 
@@ -20,10 +20,12 @@ import com.google.gwt.core.ext.TreeLogger;
 import com.google.gwt.core.ext.UnableToCompleteException;
 import com.google.gwt.dev.javac.StandardGeneratorContext;
 
+import java.io.Serializable;
+
 /**
  * Abstract base class for various kinds of deferred binding rules.
  */
-public abstract class Rule {
+public abstract class Rule implements Serializable {
 
   private int fallbackEvalCost = Integer.MAX_VALUE;
   private final ConditionAll rootCondition = new ConditionAll();
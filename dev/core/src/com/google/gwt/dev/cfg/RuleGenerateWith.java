@@ -44,7 +44,7 @@ public class RuleGenerateWith extends Rule {
     return runsLocal == null ? ALL_PROPERTIES : ImmutableSet.copyOf(runsLocal.requiresProperties());
   }
 
-  private Generator generator;
+  private transient Generator generator;
   private final Class<? extends Generator> generatorClass;
 
   public RuleGenerateWith(Class<? extends Generator> generatorClass) {
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.dev.cfg;
+
+import com.google.gwt.core.ext.BadPropertyValueException;
+import com.google.gwt.core.ext.PropertyOracle;
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.core.ext.typeinfo.JClassType;
+import com.google.gwt.core.ext.typeinfo.TypeOracle;
+import com.google.gwt.thirdparty.guava.common.base.Optional;
+import com.google.gwt.thirdparty.guava.common.collect.ImmutableList;
+import com.google.gwt.thirdparty.guava.common.collect.ImmutableSet;
+import com.google.gwt.thirdparty.guava.common.collect.ImmutableSortedSet;
+import com.google.gwt.thirdparty.guava.common.collect.Lists;
+import com.google.gwt.thirdparty.guava.common.collect.Maps;
+import com.google.gwt.thirdparty.guava.common.collect.Sets;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An index over an ordered collection of deferred binding rules that narrows down the rules to
+ * evaluate for a rebind request and remembers the decisions already made.
+ * <p>
+ * The root condition of most rules starts with {@code <when-type-is>} or {@code <when-assignable>}
+ * tests. Those are evaluated before any property test, so a rule that fails them is neither
+ * applicable nor a fallback match and can be skipped for the requested type. The remaining
+ * candidate rules keep their original order, so evaluating them one after the other gives the
+ * same answer as evaluating every rule.
+ * <p>
+ * Decisions are remembered per requested type and values of the properties the candidate rules
+ * depend on, so that permutations which only differ in unrelated properties share them.
+ * <p>
+ * The index is a snapshot of the rules it was created from and is safe for concurrent use.
+ */
+public class RuleIndex {
+
+  /**
+   * The rules that need to be evaluated for a requested type, along with the decisions already
+   * made between them.
+   */
+  public static class Candidates {
+
+    private final Map<String, Optional<Rule>> decisionsByKey = Maps.newConcurrentMap();
+
+    private final boolean dependsOnLinkers;
+
+    /**
+     * Sorted names of the properties the candidate rules depend on, or {@code null} if decisions
+     * cannot be reused.
+     */
+    private final SortedSet<String> requiredProperties;
+
+    private final List<Rule> rules;
+
+    private Candidates(List<Rule> rules, SortedSet<String> requiredProperties,
+        boolean dependsOnLinkers) {
+      this.rules = rules;
+      this.requiredProperties = requiredProperties;
+      this.dependsOnLinkers = dependsOnLinkers;
+    }
+
+    /**
+     * Returns the previous decision made for the given key, or {@code null} if there is none. A
+     * present decision with no rule means that no rule applies.
+     */
+    public Optional<Rule> getDecision(String decisionKey) {
+      return decisionsByKey.get(decisionKey);
+    }
+
+    /**
+     * Returns a key that captures everything a decision between the candidate rules depends on, or
+     * {@code null} if the decision cannot be reused.
+     */
+    public String getDecisionKey(PropertyOracle propertyOracle, Set<String> linkerNames) {
+      if (requiredProperties == null) {
+        return null;
+      }
+      StringBuilder key = new StringBuilder();
+      for (String propertyName : requiredProperties) {
+        String value = getPropertyValue(propertyOracle, propertyName);
+        if (value == null) {
+          return null;
+        }
+        key.append(propertyName).append('=').append(value).append('\n');
+      }
+      if (dependsOnLinkers) {
+        key.append(ImmutableSortedSet.copyOf(linkerNames));
+      }
+      return key.toString();
+    }
+
+    public List<Rule> getRules() {
+      return rules;
+    }
+
+    /**
+     * Records the decision made for the given key; {@code rule} is {@code null} if no rule applies.
+     */
+    public void putDecision(String decisionKey, Rule rule) {
+      decisionsByKey.put(decisionKey, Optional.fromNullable(rule));
+    }
+  }
+
+  /**
+   * A rule along with what is statically known about its root condition.
+   */
+  private static class IndexedRule {
+
+    private final boolean dependsOnLinkers;
+
+    /**
+     * The type tests at the beginning of the root condition, in evaluation order.
+     */
+    private final List<Condition> leadingTypeConditions;
+
+    /**
+     * The properties the rule depends on, or {@code null} if it holds conditions whose outcome
+     * cannot be predicted from property values.
+     */
+    private final Set<String> requiredProperties;
+
+    private final Rule rule;
+
+    /**
+     * All the types the rule tests assignability to, wherever they appear in its conditions.
+     */
+    private final Set<String> testedAssignableTypeNames;
+
+    private IndexedRule(Rule rule) {
+      this.rule = rule;
+
+      List<Condition> leadingTypeConditions = Lists.newArrayList();
+      for (Condition condition : rule.getRootCondition().getConditions()) {
+        if (condition.getClass() != ConditionWhenTypeIs.class
+            && condition.getClass() != ConditionWhenTypeAssignableTo.class) {
+          break;
+        }
+        leadingTypeConditions.add(condition);
+      }
+      this.leadingTypeConditions = ImmutableList.copyOf(leadingTypeConditions);
+
+      Set<String> testedAssignableTypeNames = Sets.newHashSet();
+      boolean[] dependsOnLinkers = new boolean[1];
+      boolean predictable = collectConditions(rule.getRootCondition(), testedAssignableTypeNames,
+          dependsOnLinkers);
+      this.testedAssignableTypeNames = ImmutableSet.copyOf(testedAssignableTypeNames);
+      this.dependsOnLinkers = dependsOnLinkers[0];
+      this.requiredProperties =
+          predictable ? ImmutableSet.copyOf(rule.getRootCondition().getRequiredProperties()) : null;
+    }
+
+    /**
+     * Returns whether the rule might apply to the given type, or be a fallback match for it.
+     */
+    private boolean mightMatch(JClassType type, String typeName, TypeOracle typeOracle) {
+      for (Condition condition : leadingTypeConditions) {
+        if (condition instanceof ConditionWhenTypeIs) {
+          if (!((ConditionWhenTypeIs) condition).getExactTypeSourceName().equals(typeName)) {
+            return false;
+          }
+        } else {
+          JClassType assignableToType = findType(typeOracle,
+              ((ConditionWhenTypeAssignableTo) condition).getAssignableToTypeName());
+          if (type == null || assignableToType == null) {
+            // Let the evaluation of the condition report the problem.
+            return true;
+          }
+          if (!type.isAssignableTo(assignableToType)) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+  }
+
+  private static final Set<Class<? extends Condition>> PREDICTABLE_CONDITION_TYPES =
+      ImmutableSet.<Class<? extends Condition>>of(ConditionAll.class, ConditionAny.class,
+          ConditionNone.class, ConditionWhenLinkerAdded.class, ConditionWhenPropertyIs.class,
+          ConditionWhenTypeAssignableTo.class, ConditionWhenTypeIs.class);
+
+  /**
+   * Walks the given condition tree, collecting the assignability tests and whether linkers are
+   * tested. Returns whether the outcome of all conditions only depends on the requested type,
+   * property values and linkers.
+   */
+  private static boolean collectConditions(Condition condition,
+      Set<String> testedAssignableTypeNames, boolean[] dependsOnLinkers) {
+    boolean predictable = PREDICTABLE_CONDITION_TYPES.contains(condition.getClass());
+    if (condition instanceof ConditionWhenTypeAssignableTo) {
+      testedAssignableTypeNames.add(
+          ((ConditionWhenTypeAssignableTo) condition).getAssignableToTypeName());
+    } else if (condition instanceof ConditionWhenLinkerAdded) {
+      dependsOnLinkers[0] = true;
+    } else if (condition instanceof CompoundCondition) {
+      for (Condition child : ((CompoundCondition) condition).getConditions()) {
+        predictable &= collectConditions(child, testedAssignableTypeNames, dependsOnLinkers);
+      }
+    }
+    return predictable;
+  }
+
+  private static JClassType findType(TypeOracle typeOracle, String typeName) {
+    return typeOracle == null ? null : typeOracle.findType(typeName);
+  }
+
+  /**
+   * Returns the value of a property the way {@link ConditionWhenPropertyIs} sees it, or
+   * {@code null} if the property is unknown.
+   */
+  private static String getPropertyValue(PropertyOracle propertyOracle, String propertyName) {
+    try {
+      return "selection:"
+          + propertyOracle.getSelectionProperty(TreeLogger.NULL, propertyName).getCurrentValue();
+    } catch (BadPropertyValueException e) {
+      try {
+        return "configuration:"
+            + propertyOracle.getConfigurationProperty(propertyName).getValues();
+      } catch (BadPropertyValueException e2) {
+        return null;
+      }
+    }
+  }
+
+  private final ConcurrentMap<String, Candidates> candidatesByTypeName = Maps.newConcurrentMap();
+
+  private final List<IndexedRule> indexedRules;
+
+  /**
+   * Creates an index over the given rules, which are evaluated in iteration order.
+   */
+  public RuleIndex(Collection<Rule> rules) {
+    List<IndexedRule> indexedRules = Lists.newArrayListWithCapacity(rules.size());
+    for (Rule rule : rules) {
+      indexedRules.add(new IndexedRule(rule));
+    }
+    this.indexedRules = ImmutableList.copyOf(indexedRules);
+  }
+
+  /**
+   * Returns the rules that need to be evaluated, in order, to rebind the given type.
+   *
+   * @param typeOracle the type oracle to check assignability with, may be {@code null}
+   */
+  public Candidates getCandidates(String typeName, TypeOracle typeOracle) {
+    Candidates candidates = candidatesByTypeName.get(typeName);
+    if (candidates != null) {
+      return candidates;
+    }
+
+    JClassType type = findType(typeOracle, typeName);
+    // Assignability can only be relied upon once all the types involved are known; until then
+    // (e.g. before a generator creates one of them) neither candidates nor decisions are reused.
+    boolean allTypesKnown = true;
+    List<Rule> rules = Lists.newArrayList();
+    SortedSet<String> requiredProperties = Sets.newTreeSet();
+    boolean dependsOnLinkers = false;
+    for (IndexedRule indexedRule : indexedRules) {
+      if (!indexedRule.mightMatch(type, typeName, typeOracle)) {
+        continue;
+      }
+      rules.add(indexedRule.rule);
+      dependsOnLinkers |= indexedRule.dependsOnLinkers;
+      if (indexedRule.requiredProperties == null) {
+        requiredProperties = null;
+      } else if (requiredProperties != null) {
+        requiredProperties.addAll(indexedRule.requiredProperties);
+      }
+      if (!indexedRule.testedAssignableTypeNames.isEmpty()) {
+        allTypesKnown &= type != null;
+        for (String assignableTypeName : indexedRule.testedAssignableTypeNames) {
+          allTypesKnown &= findType(typeOracle, assignableTypeName) != null;
+        }
+      }
+    }
+
+    if (!allTypesKnown) {
+      return new Candidates(ImmutableList.copyOf(rules), null, false);
+    }
+    candidates = new Candidates(ImmutableList.copyOf(rules), requiredProperties, dependsOnLinkers);
+    Candidates previous = candidatesByTypeName.putIfAbsent(typeName, candidates);
+    return previous == null ? candidates : previous;
+  }
+
+  public boolean isEmpty() {
+    return indexedRules.isEmpty();
+  }
+}
@@ -15,10 +15,12 @@
  */
 package com.google.gwt.dev.cfg;
 
+import java.io.Serializable;
+
 /**
  * Represents configuration for a dynamically-injected script.
  */
-public class Script {
+public class Script implements Serializable {
 
   private final String src;
 
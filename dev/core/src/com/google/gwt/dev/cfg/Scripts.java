@@ -15,13 +15,14 @@
  */
 package com.google.gwt.dev.cfg;
 
+import java.io.Serializable;
 import java.util.Iterator;
 import java.util.LinkedList;
 
 /**
  * Manages a list of {@link com.google.gwt.dev.cfg.Script} objects.
  */
-public class Scripts implements Iterable<Script> {
+public class Scripts implements Iterable<Script>, Serializable {
 
   private final LinkedList<Script> list = new LinkedList<Script>();
 
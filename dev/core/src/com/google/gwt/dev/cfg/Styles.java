@@ -15,13 +15,14 @@
  */
 package com.google.gwt.dev.cfg;
 
+import java.io.Serializable;
 import java.util.Iterator;
 import java.util.LinkedList;
 
 /**
  * Manages a list of stylesheet urls.
  */
-public class Styles implements Iterable<String> {
+public class Styles implements Iterable<String>, Serializable {
 
   private final LinkedList<String> list = new LinkedList<String>();
 
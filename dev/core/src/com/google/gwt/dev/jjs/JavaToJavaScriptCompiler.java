@@ -1174,8 +1174,10 @@ public final class JavaToJavaScriptCompiler {
 
       // (4) Construct and return a value.
       Event createUnifiedAstEvent = SpeedTracerLogger.start(CompilerEventType.CREATE_UNIFIED_AST);
-      UnifiedAst result = new UnifiedAst(
-          options, new AST(jprogram, jsProgram), singlePermutation, RecordRebinds.exec(jprogram));
+      Set<String> livePropertyRequests = Sets.newHashSet();
+      Set<String> liveRebindRequests = RecordRebinds.exec(jprogram, livePropertyRequests);
+      UnifiedAst result = new UnifiedAst(options, new AST(jprogram, jsProgram), singlePermutation,
+          liveRebindRequests, livePropertyRequests);
       createUnifiedAstEvent.end();
       return result;
     } catch (Throwable e) {
@@ -90,6 +90,11 @@ public class UnifiedAst implements Serializable {
    */
   private PrecompilationMetricsArtifact precompilationMetrics;
 
+  /**
+   * The set of all live property requests in the AST.
+   */
+  private final SortedSet<String> propertyRequests;
+
   /**
    * The set of all live rebind request types in the AST.
    */
@@ -102,9 +107,15 @@ public class UnifiedAst implements Serializable {
 
   public UnifiedAst(PrecompileTaskOptions options, AST initialAst, boolean singlePermutation,
       Set<String> rebindRequests) {
+    this(options, initialAst, singlePermutation, rebindRequests, Collections.<String>emptySet());
+  }
+
+  public UnifiedAst(PrecompileTaskOptions options, AST initialAst, boolean singlePermutation,
+      Set<String> rebindRequests, Set<String> propertyRequests) {
     this.options = new PrecompileTaskOptionsImpl(options);
     this.initialAst = initialAst;
     this.rebindRequests = Collections.unmodifiableSortedSet(Sets.newTreeSet(rebindRequests));
+    this.propertyRequests = Collections.unmodifiableSortedSet(Sets.newTreeSet(propertyRequests));
     this.serializedAstToken = singlePermutation ? -1 : diskCache.writeObject(initialAst);
   }
 
@@ -151,6 +162,13 @@ public class UnifiedAst implements Serializable {
     return precompilationMetrics;
   }
 
+  /**
+   * Returns the set of properties whose value is read by live code in the AST.
+   */
+  public SortedSet<String> getPropertyRequests() {
+    return propertyRequests;
+  }
+
   /**
    * Returns the set of live rebind requests in the AST.
    */
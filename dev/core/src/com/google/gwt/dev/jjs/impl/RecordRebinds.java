@@ -27,7 +27,7 @@ import com.google.gwt.thirdparty.guava.common.collect.Sets;
 import java.util.Set;
 
 /**
- * Records all live rebinds.
+ * Records all live rebinds and, optionally, all live binding property reads.
  */
 public class RecordRebinds {
 
@@ -36,24 +36,37 @@ public class RecordRebinds {
     public void endVisit(JPermutationDependentValue x, Context ctx) {
       if (x.isTypeRebind()) {
         liveRebindRequests.add(x.getRequestedValue());
+      } else if (livePropertyRequests != null) {
+        livePropertyRequests.add(x.getRequestedValue());
       }
     }
   }
 
   public static Set<String> exec(JProgram program) {
+    return exec(program, null);
+  }
+
+  /**
+   * Returns the live rebind requests, and adds the names of the properties read through
+   * {@code System.getProperty()} to {@code livePropertyRequests} if it is not {@code null}.
+   */
+  public static Set<String> exec(JProgram program, Set<String> livePropertyRequests) {
     Event recordRebindsEvent = SpeedTracerLogger.start(CompilerEventType.RECORD_REBINDS);
     Set<String> liveRebindRequests = Sets.newHashSet();
-    new RecordRebinds(program, liveRebindRequests).execImpl();
+    new RecordRebinds(program, liveRebindRequests, livePropertyRequests).execImpl();
     recordRebindsEvent.end();
     return liveRebindRequests;
   }
 
+  private final Set<String> livePropertyRequests;
   private final Set<String> liveRebindRequests;
   private final JProgram program;
 
-  private RecordRebinds(JProgram program, Set<String> liveRebindRequests) {
+  private RecordRebinds(JProgram program, Set<String> liveRebindRequests,
+      Set<String> livePropertyRequests) {
     this.program = program;
     this.liveRebindRequests = liveRebindRequests;
+    this.livePropertyRequests = livePropertyRequests;
   }
 
   private void execImpl() {
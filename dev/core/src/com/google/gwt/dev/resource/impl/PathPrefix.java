@@ -64,6 +64,12 @@ public final class PathPrefix {
   }
 
   private final Set<String> exclusions;
+
+  /**
+   * Matches the exclusions, or <code>null</code> if there are none. Built
+   * eagerly rather than on the first judgement, since judgements are made from
+   * several scanning threads at once.
+   */
   private ZipScanner exclusionScanner;
   private final List<ResourceFilter> filters;
   private final String prefix;
@@ -135,6 +141,7 @@ public final class PathPrefix {
         exclusions.add(exclude);
       }
     }
+    exclusionScanner = createExcludeFilter(exclusions);
   }
 
   /**
@@ -155,7 +162,6 @@ public final class PathPrefix {
       path = getRerootedPath(path);
     }
 
-    createExcludeFilter();
     if (exclusionScanner != null && exclusionScanner.match(path)) {
       return Judgement.EXCLUSION_EXCLUDE;
     }
@@ -218,9 +224,8 @@ public final class PathPrefix {
     for (ResourceFilter filter : pathPrefix.filters) {
       filters.add(filter);
     }
-    exclusions.addAll(pathPrefix.exclusions);
-    if (exclusionScanner != null && !exclusions.isEmpty()) {
-      exclusionScanner = null;  // lose the stale one; we'll recreate later
+    if (exclusions.addAll(pathPrefix.exclusions)) {
+      exclusionScanner = createExcludeFilter(exclusions);
     }
   }
 
@@ -252,12 +257,13 @@ public final class PathPrefix {
         && !prefix.endsWith("//") : "malformed prefix";
   }
 
-  private void createExcludeFilter() {
-    if (exclusionScanner == null && !exclusions.isEmpty()) {
-      exclusionScanner = new ZipScanner();
-      exclusionScanner.setIncludes(exclusions.toArray(new String[exclusions.size()]));
-      exclusionScanner.init();
-      exclusions.clear();
+  private static ZipScanner createExcludeFilter(Set<String> exclusions) {
+    if (exclusions.isEmpty()) {
+      return null;
     }
+    ZipScanner scanner = new ZipScanner();
+    scanner.setIncludes(exclusions.toArray(new String[exclusions.size()]));
+    scanner.init();
+    return scanner;
   }
 }
@@ -26,9 +26,11 @@ import com.google.gwt.dev.util.msg.Message0;
 import com.google.gwt.dev.util.msg.Message1String;
 import com.google.gwt.thirdparty.guava.common.collect.HashMultimap;
 import com.google.gwt.thirdparty.guava.common.collect.MapMaker;
+import com.google.gwt.thirdparty.guava.common.collect.Queues;
 import com.google.gwt.thirdparty.guava.common.collect.SetMultimap;
 import com.google.gwt.thirdparty.guava.common.collect.Sets;
 import com.google.gwt.thirdparty.guava.common.io.Files;
+import com.google.gwt.thirdparty.guava.common.util.concurrent.ThreadFactoryBuilder;
 
 import java.io.File;
 import java.io.IOException;
@@ -47,6 +49,12 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The normal implementation of {@code ResourceOracle}.
@@ -156,6 +164,11 @@ public class ResourceOracleImpl extends AbstractResourceOracle {
   private static final Map<ResourceLoader, List<ClassPathEntry>> classPathCache =
       new MapMaker().weakKeys().makeMap();
 
+  /**
+   * An executor service to scan and index classpath entries in parallel.
+   */
+  private static final ExecutorService executor = createExecutor();
+
   /**
    * A mapping from resource paths to the name of the module that
    * created the PathPrefix (usually because of a <source> entry) that made
@@ -166,6 +179,21 @@ public class ResourceOracleImpl extends AbstractResourceOracle {
    */
   private SetMultimap<String, String> sourceModulesByTypeSourceName = HashMultimap.create();
 
+  /**
+   * Creates a pool of one thread per processor. An unbounded queue never rejects tasks, so a pool
+   * would not grow past its core size; the core threads time out instead when idle.
+   */
+  private static ExecutorService createExecutor() {
+    int threads = Runtime.getRuntime().availableProcessors();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+        Queues.<Runnable>newLinkedBlockingQueue(),
+        // Make sure this executor lets the whole process terminate correctly even if there
+        // are still live threads.
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ResourceOracle-%d").build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   public static void clearCache() {
     classPathCache.clear();
   }
@@ -185,7 +213,10 @@ public class ResourceOracleImpl extends AbstractResourceOracle {
         // It's a file ending in neither jar nor zip, speculatively try to
         // open as jar/zip anyway.
         try {
-          return ZipFileClassPathEntry.get(f);
+          ZipFileClassPathEntry entry = ZipFileClassPathEntry.get(f);
+          // Archives are opened lazily, so open this one now to check that it is one
+          entry.getZipFile();
+          return entry;
         } catch (Exception ignored) {
         }
         if (logger.isLoggable(TreeLogger.TRACE)) {
@@ -214,13 +245,22 @@ public class ResourceOracleImpl extends AbstractResourceOracle {
     Event resourceOracle =
         SpeedTracerLogger.start(CompilerEventType.RESOURCE_ORACLE, "phase", "preload");
     List<ClassPathEntry> entries = getAllClassPathEntries(logger, resources);
+    List<Callable<Void>> indexTasks = new ArrayList<Callable<Void>>();
     for (ClassPathEntry entry : entries) {
       // We only handle pre-indexing jars, the file system could change.
       if (entry instanceof ZipFileClassPathEntry) {
-        ZipFileClassPathEntry zpe = (ZipFileClassPathEntry) entry;
-        zpe.index(logger);
+        final ZipFileClassPathEntry zpe = (ZipFileClassPathEntry) entry;
+        final TreeLogger entryLogger = logger;
+        indexTasks.add(new Callable<Void>() {
+          @Override
+          public Void call() {
+            zpe.index(entryLogger);
+            return null;
+          }
+        });
       }
     }
+    invokeAllInOrder(indexTasks);
     resourceOracle.end();
   }
 
@@ -248,12 +288,30 @@ public class ResourceOracleImpl extends AbstractResourceOracle {
     Map<String, ResourceDescription> resourceDescriptionsByPath =
         new LinkedHashMap<String, ResourceDescription>();
 
-    for (ClassPathEntry classPathEntry : classPathEntries) {
-      TreeLogger branchForClassPathEntry =
+    // Scan and index every classpath entry in parallel, but merge the results in classpath order
+    // so that shadowing is resolved exactly as a sequential scan would resolve it.
+    List<TreeLogger> branchesForClassPathEntries = new ArrayList<TreeLogger>();
+    List<Callable<Map<AbstractResource, ResourceResolution>>> scanTasks =
+        new ArrayList<Callable<Map<AbstractResource, ResourceResolution>>>();
+    for (final ClassPathEntry classPathEntry : classPathEntries) {
+      final TreeLogger branchForClassPathEntry =
           Messages.EXAMINING_PATH_ROOT.branch(refreshBranch, classPathEntry.getLocation(), null);
+      final PathPrefixSet pathPrefixSet = this.pathPrefixSet;
+      branchesForClassPathEntries.add(branchForClassPathEntry);
+      scanTasks.add(new Callable<Map<AbstractResource, ResourceResolution>>() {
+        @Override
+        public Map<AbstractResource, ResourceResolution> call() {
+          return classPathEntry.findApplicableResources(branchForClassPathEntry, pathPrefixSet);
+        }
+      });
+    }
+    List<Map<AbstractResource, ResourceResolution>> prefixesByResourceByEntry =
+        invokeAllInOrder(scanTasks);
 
+    for (int i = 0; i < prefixesByResourceByEntry.size(); i++) {
+      TreeLogger branchForClassPathEntry = branchesForClassPathEntries.get(i);
       Map<AbstractResource, ResourceResolution> prefixesByResource =
-          classPathEntry.findApplicableResources(branchForClassPathEntry, pathPrefixSet);
+          prefixesByResourceByEntry.get(i);
       for (Entry<AbstractResource, ResourceResolution> entry : prefixesByResource.entrySet()) {
         AbstractResource resource = entry.getKey();
         ResourceResolution resourceResolution = entry.getValue();
@@ -345,6 +403,62 @@ public class ResourceOracleImpl extends AbstractResourceOracle {
     }
   }
 
+  /**
+   * Runs the given tasks on the shared executor and returns their results in the same order as the
+   * tasks. Falls back to running the remaining tasks on the calling thread if interrupted.
+   */
+  private static <T> List<T> invokeAllInOrder(List<? extends Callable<T>> tasks) {
+    List<T> results = new ArrayList<T>(tasks.size());
+    if (tasks.size() <= 1) {
+      for (Callable<T> task : tasks) {
+        results.add(callUnchecked(task));
+      }
+      return results;
+    }
+
+    List<Future<T>> futures;
+    try {
+      futures = executor.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      // Nothing has been lost, the work is simply redone sequentially. Restore the interrupted
+      // state just in case.
+      Thread.currentThread().interrupt();
+      for (Callable<T> task : tasks) {
+        results.add(callUnchecked(task));
+      }
+      return results;
+    }
+
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        results.add(futures.get(i).get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        results.add(callUnchecked(tasks.get(i)));
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new RuntimeException(cause);
+      }
+    }
+    return results;
+  }
+
+  private static <T> T callUnchecked(Callable<T> task) {
+    try {
+      return task.call();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private static synchronized List<ClassPathEntry> getAllClassPathEntries(TreeLogger logger,
       ResourceLoader resources) {
     List<ClassPathEntry> classPath = classPathCache.get(resources);
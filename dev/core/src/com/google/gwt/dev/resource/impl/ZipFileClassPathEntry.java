@@ -26,7 +26,9 @@ import com.google.gwt.thirdparty.guava.common.collect.Maps;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.zip.ZipEntry;
@@ -44,6 +46,9 @@ public class ZipFileClassPathEntry extends ClassPathEntry {
     static final Message1String BUILDING_INDEX = new Message1String(
         TreeLogger.TRACE, "Indexing zip file: $0");
 
+    static final Message1String LOADED_CACHED_INDEX = new Message1String(
+        TreeLogger.TRACE, "Loaded cached index of zip file: $0");
+
     static final Message1String EXCLUDING_RESOURCE = new Message1String(
         TreeLogger.DEBUG, "Excluding $0");
 
@@ -103,14 +108,22 @@ public class ZipFileClassPathEntry extends ClassPathEntry {
    */
   private final Map<PathPrefixSet, ZipFileSnapshot> cachedSnapshots = new MapMaker().weakKeys().makeMap();
 
+  private final File file;
   private final long lastModified;
+  private final long length;
   private final String location;
-  private final ZipFile zipFile;
 
-  private ZipFileClassPathEntry(File zipFile) throws IOException {
+  /**
+   * Opened on the first read of a resource or index of the archive, since a cached index makes
+   * opening it unnecessary for resources that are never read.
+   */
+  private volatile ZipFile zipFile;
+
+  private ZipFileClassPathEntry(File zipFile) {
     assert zipFile.isAbsolute();
+    this.file = zipFile;
     this.lastModified = zipFile.lastModified();
-    this.zipFile = new ZipFile(zipFile);
+    this.length = zipFile.length();
     this.location = zipFile.toURI().toString();
   }
 
@@ -135,8 +148,20 @@ public class ZipFileClassPathEntry extends ClassPathEntry {
     return location;
   }
 
-  public ZipFile getZipFile() {
-    return zipFile;
+  /**
+   * Returns the archive, opening it on first use.
+   */
+  public ZipFile getZipFile() throws IOException {
+    ZipFile result = zipFile;
+    if (result == null) {
+      synchronized (file) {
+        result = zipFile;
+        if (result == null) {
+          zipFile = result = new ZipFile(file);
+        }
+      }
+    }
+    return result;
   }
 
   public long lastModified() {
@@ -151,10 +176,30 @@ public class ZipFileClassPathEntry extends ClassPathEntry {
   }
 
   private Set<ZipFileResource> buildIndex(TreeLogger logger) {
-    logger = Messages.BUILDING_INDEX.branch(logger, zipFile.getName(), null);
+    ZipFileIndexCache indexCache = ZipFileIndexCache.get();
+    if (indexCache != null) {
+      List<String> entryNames = indexCache.load(logger, file);
+      if (entryNames != null) {
+        Messages.LOADED_CACHED_INDEX.log(logger, file.getPath(), null);
+        Set<ZipFileResource> results = new IdentityHashSet<ZipFileResource>();
+        for (String entryName : entryNames) {
+          results.add(new ZipFileResource(this, entryName));
+        }
+        return Sets.normalize(results);
+      }
+    }
 
+    logger = Messages.BUILDING_INDEX.branch(logger, file.getPath(), null);
+
+    Enumeration<? extends ZipEntry> e;
+    try {
+      e = getZipFile().entries();
+    } catch (IOException ex) {
+      logger.log(TreeLogger.WARN, "Unable to open zip file " + file, ex);
+      return Sets.create();
+    }
     Set<ZipFileResource> results = new IdentityHashSet<ZipFileResource>();
-    Enumeration<? extends ZipEntry> e = zipFile.entries();
+    List<String> entryNames = new ArrayList<String>();
     while (e.hasMoreElements()) {
       ZipEntry zipEntry = e.nextElement();
       if (zipEntry.isDirectory()) {
@@ -167,15 +212,19 @@ public class ZipFileClassPathEntry extends ClassPathEntry {
       }
       ZipFileResource zipResource = new ZipFileResource(this, zipEntry.getName());
       results.add(zipResource);
+      entryNames.add(zipEntry.getName());
       Messages.READ_ZIP_ENTRY.log(logger, zipEntry.getName(), null);
     }
+    if (indexCache != null) {
+      indexCache.store(logger, file, length, lastModified, entryNames);
+    }
     return Sets.normalize(results);
   }
 
   private Map<AbstractResource, ResourceResolution> computeApplicableResources(
       TreeLogger logger, PathPrefixSet pathPrefixSet) {
     logger = Messages.FINDING_INCLUDED_RESOURCES.branch(logger,
-        zipFile.getName(), null);
+        file.getPath(), null);
 
     Map<AbstractResource, ResourceResolution> results =
         new IdentityHashMap<AbstractResource, ResourceResolution>();
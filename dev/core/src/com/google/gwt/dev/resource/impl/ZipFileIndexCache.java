@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.dev.resource.impl;
+
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.thirdparty.guava.common.annotations.VisibleForTesting;
+import com.google.gwt.util.tools.shared.Md5Utils;
+import com.google.gwt.util.tools.shared.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An on-disk cache of the entry lists of jar and zip files, so that new JVMs can load a ready
+ * index rather than enumerating every entry of every archive on the classpath.
+ * <p>
+ * An index is keyed by the absolute path of the archive and is only reused if the size, the last
+ * modified time and the end of central directory record of the archive all still match. That
+ * record holds the entry count and the size and offset of the central directory, and is read from
+ * the last bytes of the archive, so validating an index costs next to no I/O.
+ * <p>
+ * System Properties:
+ * <ul>
+ * <li>gwt.jarindexcachedir=&lt;dir&gt;: enables the cache and sets its directory</li>
+ * </ul>
+ */
+class ZipFileIndexCache {
+
+  private static final String GWT_JARINDEXCACHEDIR = "gwt.jarindexcachedir";
+
+  /**
+   * Bump whenever the on-disk format changes.
+   */
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * The end of central directory record is at least this long.
+   */
+  private static final int EOCD_MIN_LENGTH = 22;
+
+  /**
+   * The end of central directory record may be followed by a comment of at most this length.
+   */
+  private static final int EOCD_MAX_COMMENT_LENGTH = 0xFFFF;
+
+  private static final int EOCD_SIGNATURE = 0x06054b50;
+
+  private static final ZipFileIndexCache instance = create();
+
+  /**
+   * Returns the process wide cache, or {@code null} if persistent jar indexing is disabled.
+   */
+  static ZipFileIndexCache get() {
+    return instance;
+  }
+
+  private static ZipFileIndexCache create() {
+    String cacheDirPath = System.getProperty(GWT_JARINDEXCACHEDIR);
+    if (cacheDirPath == null || cacheDirPath.isEmpty()) {
+      return null;
+    }
+    return new ZipFileIndexCache(new File(cacheDirPath));
+  }
+
+  /**
+   * Returns the end of central directory record of the given zip file, comment included, or
+   * {@code null} if it cannot be located (e.g. zip64 archives, which are not indexed). Only the
+   * tail of the file is read.
+   */
+  @VisibleForTesting
+  static byte[] readEndOfCentralDirectory(File zipFile) throws IOException {
+    RandomAccessFile file = new RandomAccessFile(zipFile, "r");
+    try {
+      long fileLength = file.length();
+      if (fileLength < EOCD_MIN_LENGTH) {
+        return null;
+      }
+      // Most archives have no comment, so the record is usually the last 22 bytes
+      byte[] tail = readTail(file, fileLength, EOCD_MIN_LENGTH);
+      int offset = findEndOfCentralDirectory(tail, fileLength);
+      if (offset < 0 && fileLength > EOCD_MIN_LENGTH) {
+        tail = readTail(file, fileLength, EOCD_MIN_LENGTH + EOCD_MAX_COMMENT_LENGTH);
+        offset = findEndOfCentralDirectory(tail, fileLength);
+      }
+      return offset < 0 ? null : Arrays.copyOfRange(tail, offset, tail.length);
+    } finally {
+      file.close();
+    }
+  }
+
+  /**
+   * Returns the offset of the end of central directory record in the tail of a zip file, or -1 if
+   * there is none or it describes a zip64 archive.
+   */
+  private static int findEndOfCentralDirectory(byte[] tail, long fileLength) {
+    for (int i = tail.length - EOCD_MIN_LENGTH; i >= 0; i--) {
+      if (readInt(tail, i) != EOCD_SIGNATURE) {
+        continue;
+      }
+      int commentLength = (tail[i + 20] & 0xFF) | (tail[i + 21] & 0xFF) << 8;
+      if (i + EOCD_MIN_LENGTH + commentLength != tail.length) {
+        continue;
+      }
+      long centralDirectorySize = readInt(tail, i + 12) & 0xFFFFFFFFL;
+      long centralDirectoryOffset = readInt(tail, i + 16) & 0xFFFFFFFFL;
+      if (centralDirectorySize == 0xFFFFFFFFL || centralDirectoryOffset == 0xFFFFFFFFL
+          || centralDirectoryOffset + centralDirectorySize > fileLength) {
+        return -1;
+      }
+      return i;
+    }
+    return -1;
+  }
+
+  private static byte[] readTail(RandomAccessFile file, long fileLength, int maxLength)
+      throws IOException {
+    int tailLength = (int) Math.min(fileLength, maxLength);
+    byte[] tail = new byte[tailLength];
+    file.seek(fileLength - tailLength);
+    file.readFully(tail);
+    return tail;
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    // Zip files are little endian.
+    return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8
+        | (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+  }
+
+  private final File cacheDir;
+
+  @VisibleForTesting
+  ZipFileIndexCache(File cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  /**
+   * Returns the cached entry names of the given zip file, or {@code null} if there is no valid
+   * index for its current contents.
+   */
+  List<String> load(TreeLogger logger, File zipFile) {
+    File indexFile = getIndexFile(zipFile);
+    if (!indexFile.isFile()) {
+      return null;
+    }
+    try {
+      DataInputStream in =
+          new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+      try {
+        if (in.readInt() != FORMAT_VERSION
+            || !in.readUTF().equals(zipFile.getAbsolutePath())
+            || in.readLong() != zipFile.length()
+            || in.readLong() != zipFile.lastModified()) {
+          return null;
+        }
+        byte[] expectedRecord = new byte[in.readInt()];
+        in.readFully(expectedRecord);
+        if (!Arrays.equals(expectedRecord, readEndOfCentralDirectory(zipFile))) {
+          return null;
+        }
+        int entryCount = in.readInt();
+        List<String> entryNames = new ArrayList<String>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+          entryNames.add(in.readUTF());
+        }
+        return entryNames;
+      } finally {
+        in.close();
+      }
+    } catch (IOException e) {
+      logger.log(TreeLogger.TRACE, "Ignoring unreadable jar index " + indexFile, e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes the entry names of the given zip file to the cache. Failures are logged and otherwise
+   * ignored, the cache is only an optimization.
+   */
+  void store(TreeLogger logger, File zipFile, long length, long lastModified,
+      List<String> entryNames) {
+    try {
+      byte[] endRecord = readEndOfCentralDirectory(zipFile);
+      if (endRecord == null) {
+        return;
+      }
+      if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+        logger.log(TreeLogger.TRACE, "Unable to create jar index cache directory " + cacheDir);
+        return;
+      }
+      File indexFile = getIndexFile(zipFile);
+      // Write to a temporary file first so that concurrent JVMs never see a partial index.
+      File tempFile = File.createTempFile(indexFile.getName(), ".tmp", cacheDir);
+      DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+      try {
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(zipFile.getAbsolutePath());
+        out.writeLong(length);
+        out.writeLong(lastModified);
+        out.writeInt(endRecord.length);
+        out.write(endRecord);
+        out.writeInt(entryNames.size());
+        for (String entryName : entryNames) {
+          out.writeUTF(entryName);
+        }
+      } finally {
+        out.close();
+      }
+      if (!tempFile.renameTo(indexFile)) {
+        indexFile.delete();
+        if (!tempFile.renameTo(indexFile)) {
+          tempFile.delete();
+        }
+      }
+    } catch (IOException e) {
+      logger.log(TreeLogger.TRACE, "Unable to write jar index for " + zipFile, e);
+    }
+  }
+
+  @VisibleForTesting
+  File getIndexFile(File zipFile) {
+    String key = StringUtils.toHexString(Md5Utils.getMd5Digest(zipFile.getAbsolutePath()));
+    return new File(cacheDir, key + ".idx");
+  }
+}
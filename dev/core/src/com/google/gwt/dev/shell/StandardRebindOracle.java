@@ -25,15 +25,19 @@ import com.google.gwt.core.ext.UnableToCompleteException;
 import com.google.gwt.core.ext.linker.ArtifactSet;
 import com.google.gwt.dev.RebindCache;
 import com.google.gwt.dev.cfg.Rule;
+import com.google.gwt.dev.cfg.RuleIndex;
 import com.google.gwt.dev.javac.CachedGeneratorResultImpl;
+import com.google.gwt.dev.javac.CompilationState;
 import com.google.gwt.dev.javac.StandardGeneratorContext;
 import com.google.gwt.dev.jdt.RebindOracle;
 import com.google.gwt.dev.util.log.speedtracer.DevModeEventType;
 import com.google.gwt.dev.util.log.speedtracer.SpeedTracerLogger;
 import com.google.gwt.dev.util.log.speedtracer.SpeedTracerLogger.Event;
+import com.google.gwt.thirdparty.guava.common.base.Optional;
 import com.google.gwt.thirdparty.guava.common.collect.Maps;
 
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -102,11 +106,38 @@ public class StandardRebindOracle implements RebindOracle {
     private Rule getRebindRule(TreeLogger logger, String typeName) throws UnableToCompleteException {
 
       // Make the rebind decision.
-      if (rules.isEmpty()) {
+      if (ruleIndex.isEmpty()) {
         logger.log(TreeLogger.DEBUG, "No rules are defined, so no substitution can occur", null);
         return null;
       }
 
+      CompilationState compilationState = genCtx.getCompilationState();
+      RuleIndex.Candidates candidates = ruleIndex.getCandidates(typeName,
+          compilationState == null ? null : compilationState.getTypeOracle());
+      String decisionKey = candidates.getDecisionKey(propOracle, genCtx.getActiveLinkerNames());
+      if (decisionKey != null) {
+        Optional<Rule> decision = candidates.getDecision(decisionKey);
+        if (decision != null) {
+          if (logger.isLoggable(TreeLogger.DEBUG)) {
+            logger.log(TreeLogger.DEBUG, "Reusing the rule selected for the same property values: "
+                + decision.orNull());
+          }
+          return decision.orNull();
+        }
+      }
+
+      Rule rule = selectRebindRule(logger, candidates.getRules(), typeName);
+      if (decisionKey != null) {
+        candidates.putDecision(decisionKey, rule);
+      }
+      return rule;
+    }
+
+    /**
+     * Returns the first applicable rule among the given ones, or the closest fallback match.
+     */
+    private Rule selectRebindRule(TreeLogger logger, List<Rule> rules, String typeName)
+        throws UnableToCompleteException {
       Rule minCostRuleSoFar = null;
 
       for (Rule rule : rules) {
@@ -135,8 +166,8 @@ public class StandardRebindOracle implements RebindOracle {
 
       // if we reach this point, it means we did not find an exact match
       // and we may have a partial match based on fall back values
-      assert minCostRuleSoFar != null;
-      if (minCostRuleSoFar.getFallbackEvaluationCost() < Integer.MAX_VALUE) {
+      if (minCostRuleSoFar != null
+          && minCostRuleSoFar.getFallbackEvaluationCost() < Integer.MAX_VALUE) {
         if (logger.isLoggable(TreeLogger.INFO)) {
           logger.log(TreeLogger.INFO, "Could not find an exact match rule. Using 'closest' rule "
               + minCostRuleSoFar
@@ -237,12 +268,21 @@ public class StandardRebindOracle implements RebindOracle {
 
   private RebindCache rebindCache = null;
 
-  private final Deque<Rule> rules;
+  private final RuleIndex ruleIndex;
 
   public StandardRebindOracle(PropertyOracle propOracle, Deque<Rule> rules,
       StandardGeneratorContext genCtx) {
+    this(propOracle, new RuleIndex(rules), genCtx);
+  }
+
+  /**
+   * Creates a rebind oracle that shares the given rule index, and thereby rebind decisions, with
+   * the oracles of other permutations.
+   */
+  public StandardRebindOracle(PropertyOracle propOracle, RuleIndex ruleIndex,
+      StandardGeneratorContext genCtx) {
     this.propOracle = propOracle;
-    this.rules = rules;
+    this.ruleIndex = ruleIndex;
     this.genCtx = genCtx;
   }
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.dev;
+
+import com.google.gwt.thirdparty.guava.common.collect.ImmutableSet;
+import com.google.gwt.thirdparty.guava.common.collect.Lists;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests {@link PermutationCollapsingAnalysis}.
+ */
+public class PermutationCollapsingAnalysisTest extends TestCase {
+
+  private static final Set<String> REBIND_REQUESTS = ImmutableSet.of("Foo");
+
+  public void testPropertyWithoutEffectIsIrrelevant() {
+    // user.agent changes the answer for Foo, locale changes nothing.
+    List<PropertyAndBindingInfo> infos = Lists.newArrayList(
+        createInfo("safari", "en", "FooSafari"),
+        createInfo("safari", "fr", "FooSafari"),
+        createInfo("gecko", "en", "FooGecko"),
+        createInfo("gecko", "fr", "FooGecko"));
+
+    PermutationCollapsingAnalysis analysis = new PermutationCollapsingAnalysis(infos,
+        REBIND_REQUESTS, Collections.<String>emptySet());
+    assertEquals(2, analysis.getDistinctProgramCount());
+    assertEquals(Arrays.asList("locale"), analysis.getIrrelevantPropertyNames());
+  }
+
+  public void testPropertyReadsAreRelevant() {
+    List<PropertyAndBindingInfo> infos = Lists.newArrayList(
+        createInfo("safari", "en", "FooSafari"),
+        createInfo("safari", "fr", "FooSafari"),
+        createInfo("gecko", "en", "FooGecko"),
+        createInfo("gecko", "fr", "FooGecko"));
+
+    PermutationCollapsingAnalysis analysis = new PermutationCollapsingAnalysis(infos,
+        REBIND_REQUESTS, ImmutableSet.of("locale"));
+    assertEquals(4, analysis.getDistinctProgramCount());
+    assertTrue(analysis.getIrrelevantPropertyNames().isEmpty());
+  }
+
+  public void testDeadRebindsAreIgnored() {
+    List<PropertyAndBindingInfo> infos = Lists.newArrayList(
+        createInfo("safari", "en", "FooSafari"),
+        createInfo("gecko", "en", "FooGecko"));
+
+    PermutationCollapsingAnalysis analysis = new PermutationCollapsingAnalysis(infos,
+        Collections.<String>emptySet(), Collections.<String>emptySet());
+    assertEquals(1, analysis.getDistinctProgramCount());
+    // locale only takes one value, so there is nothing to collapse.
+    assertEquals(Arrays.asList("user.agent"), analysis.getIrrelevantPropertyNames());
+  }
+
+  private static PropertyAndBindingInfo createInfo(String userAgent, String locale,
+      String fooAnswer) {
+    PropertyAndBindingInfo info = new PropertyAndBindingInfo();
+    info.putPropertyValue("user.agent", userAgent);
+    info.putPropertyValue("locale", locale);
+    info.putReboundType("Foo", fooAnswer);
+    return info;
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.dev.cfg;
+
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.dev.util.Empty;
+import com.google.gwt.thirdparty.guava.common.collect.Lists;
+import com.google.gwt.thirdparty.guava.common.io.Files;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link PersistentModuleDefCache} and {@link ModuleDefSnapshot}.
+ */
+public class PersistentModuleDefCacheTest extends TestCase {
+
+  private static final String MODULE_NAME = "com.google.gwt.dev.cfg.testdata.merging.One";
+
+  private PersistentModuleDefCache cache;
+
+  public void testRoundTrip() {
+    ResourceLoader resources = ResourceLoaders.fromContextClassLoader();
+    ModuleDef original = createModule(resources);
+    cache.store(TreeLogger.NULL, MODULE_NAME, resources, original.createSnapshot());
+    assertTrue(cache.getSnapshotFile(MODULE_NAME).isFile());
+
+    ModuleDefSnapshot snapshot = cache.load(TreeLogger.NULL, MODULE_NAME, resources);
+    assertNotNull(snapshot);
+    ModuleDef restored = new ModuleDef(MODULE_NAME, resources);
+    restored.restoreSnapshot(snapshot);
+
+    assertEquals(Arrays.asList(original.getEntryPointTypeNames()),
+        Arrays.asList(restored.getEntryPointTypeNames()));
+    assertEquals(original.getName(), restored.getName());
+    assertTrue(restored.isInherited(MODULE_NAME));
+    assertEquals(1, restored.getRules().size());
+    RuleReplaceWith rule = (RuleReplaceWith) restored.getRules().getFirst();
+    assertEquals("com.example.Replacement", rule.getReplacementTypeName());
+    assertEquals(Lists.newArrayList(new ConditionWhenTypeIs("com.example.Original")),
+        Lists.newArrayList(rule.getRootCondition().getConditions()));
+    assertEquals(Arrays.asList("no", "yes"), Arrays.asList(restored.getProperties()
+        .findBindingProp("snapshot.property").getDefinedValues()));
+
+    original.normalize(TreeLogger.NULL);
+    restored.normalize(TreeLogger.NULL);
+    String sourcePath = "com/google/gwt/dev/cfg/testdata/merging/client/";
+    assertNotNull(restored.findSourceFile(sourcePath + "InOne.java"));
+    assertNull(restored.findSourceFile(sourcePath + "Toxic.java"));
+    assertEquals(original.getSourceResourceOracle().getPathNames(),
+        restored.getSourceResourceOracle().getPathNames());
+    assertEquals(original.getBuildResourceOracle().getPathNames(),
+        restored.getBuildResourceOracle().getPathNames());
+  }
+
+  public void testStaleModuleFileIsDetected() {
+    ResourceLoader resources = ResourceLoaders.fromContextClassLoader();
+    cache.store(TreeLogger.NULL, MODULE_NAME, resources, createModule(resources).createSnapshot());
+
+    // Resolve the module file to different contents.
+    final URL otherModule = ResourceLoaders.fromContextClassLoader().getResource(
+        "com/google/gwt/dev/cfg/testdata/merging/Two.gwt.xml");
+    final ResourceLoader delegate = resources;
+    ResourceLoader changedResources = new ResourceLoader() {
+      @Override
+      public List<URL> getClassPath() {
+        return delegate.getClassPath();
+      }
+
+      @Override
+      public URL getResource(String resourceName) {
+        if (resourceName.equals(MODULE_NAME.replace('.', '/') + ".gwt.xml")) {
+          return otherModule;
+        }
+        return delegate.getResource(resourceName);
+      }
+    };
+    assertNull(cache.load(TreeLogger.NULL, MODULE_NAME, changedResources));
+    assertNotNull(cache.load(TreeLogger.NULL, MODULE_NAME, resources));
+  }
+
+  public void testMissingSnapshot() {
+    assertNull(cache.load(TreeLogger.NULL, "com.example.DoesNotExist",
+        ResourceLoaders.fromContextClassLoader()));
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    cache = new PersistentModuleDefCache(new File(Files.createTempDir(), "snapshots"));
+  }
+
+  private static ModuleDef createModule(ResourceLoader resources) {
+    ModuleDef module = new ModuleDef(MODULE_NAME, resources);
+    module.addInheritedModules(MODULE_NAME);
+    module.enterModule(MODULE_NAME);
+    module.addSourcePackage("com/google/gwt/dev/cfg/testdata/merging/client/", Empty.STRINGS,
+        new String[] {"Toxic.java"}, new String[] {"InTwo.java"}, true, true);
+    module.addResourcePath("com/google/gwt/dev/cfg/testdata/merging/resources/");
+    module.exitModule();
+    module.addEntryPointTypeName("com.google.gwt.dev.cfg.testdata.merging.client.InOne");
+
+    BindingProperty property = module.getProperties().createBinding("snapshot.property");
+    property.addDefinedValue(property.getRootCondition(), "yes");
+    property.addDefinedValue(property.getRootCondition(), "no");
+
+    RuleReplaceWith rule = new RuleReplaceWith("com.example.Replacement");
+    rule.getRootCondition().getConditions().add(new ConditionWhenTypeIs("com.example.Original"));
+    module.addRule(rule);
+    return module;
+  }
+}
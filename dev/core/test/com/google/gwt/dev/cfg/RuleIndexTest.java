@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.dev.cfg;
+
+import com.google.gwt.core.ext.PropertyOracle;
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.core.ext.typeinfo.TypeOracle;
+import com.google.gwt.dev.javac.TypeOracleTestingUtils;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Tests {@link RuleIndex}.
+ */
+public class RuleIndexTest extends TestCase {
+
+  private static final Set<String> LINKER_NAMES = Collections.singleton("xs");
+
+  private BindingProperty binding1;
+  private BindingProperty binding2;
+  private ConfigurationProperties configurationProperties;
+  private TypeOracle typeOracle;
+
+  @Override
+  public void setUp() {
+    ModuleDef module = new ModuleDef("fake");
+    binding1 = module.getProperties().createBinding("binding1");
+    binding1.addDefinedValue(new ConditionAll(), "true");
+    binding1.addDefinedValue(new ConditionAll(), "false");
+    binding2 = module.getProperties().createBinding("binding2");
+    binding2.addDefinedValue(new ConditionAll(), "a");
+    binding2.addDefinedValue(new ConditionAll(), "b");
+    configurationProperties = new ConfigurationProperties(module);
+
+    typeOracle = TypeOracleTestingUtils.buildStandardCompilationStateWith(TreeLogger.NULL)
+        .getTypeOracle();
+  }
+
+  public void testCandidatesKeepRuleOrder() {
+    Rule isString = createRule(new ConditionWhenTypeIs("java.lang.String"));
+    Rule isObject = createRule(new ConditionWhenTypeIs("java.lang.Object"));
+    Rule assignableToObject = createRule(new ConditionWhenTypeAssignableTo("java.lang.Object"));
+    Rule assignableToString = createRule(new ConditionWhenTypeAssignableTo("java.lang.String"));
+    Rule propertyOnly = createRule(new ConditionWhenPropertyIs("binding1", "true"));
+    RuleIndex index = new RuleIndex(Arrays.asList(
+        isString, propertyOnly, isObject, assignableToObject, assignableToString));
+
+    assertEquals(Arrays.asList(isString, propertyOnly, assignableToObject, assignableToString),
+        index.getCandidates("java.lang.String", typeOracle).getRules());
+    assertEquals(Arrays.asList(propertyOnly, isObject, assignableToObject),
+        index.getCandidates("java.lang.Object", typeOracle).getRules());
+  }
+
+  public void testTypeConditionsAfterPropertyConditionsAreNotIndexed() {
+    // The property test runs first and may record a fallback match, so the rule is kept.
+    Rule rule = createRule(new ConditionWhenPropertyIs("binding1", "true"),
+        new ConditionWhenTypeIs("java.lang.Object"));
+    RuleIndex index = new RuleIndex(Arrays.asList(rule));
+    assertEquals(Arrays.asList(rule),
+        index.getCandidates("java.lang.String", typeOracle).getRules());
+  }
+
+  public void testUnknownTypesAreNotPruned() {
+    Rule assignableToUnknown = createRule(new ConditionWhenTypeAssignableTo("com.example.Unknown"));
+    RuleIndex index = new RuleIndex(Arrays.asList(assignableToUnknown));
+
+    RuleIndex.Candidates candidates = index.getCandidates("java.lang.String", typeOracle);
+    assertEquals(Arrays.asList(assignableToUnknown), candidates.getRules());
+    // Decisions depending on types that may appear later are not reused.
+    assertNull(candidates.getDecisionKey(createPropertyOracle("true", "a"), LINKER_NAMES));
+  }
+
+  public void testDecisionKeysOnlyDependOnRequiredProperties() {
+    Rule rule = createRule(new ConditionWhenTypeIs("java.lang.String"),
+        new ConditionWhenPropertyIs("binding1", "true"));
+    RuleIndex index = new RuleIndex(Arrays.asList(rule));
+    RuleIndex.Candidates candidates = index.getCandidates("java.lang.String", typeOracle);
+
+    String key = candidates.getDecisionKey(createPropertyOracle("true", "a"), LINKER_NAMES);
+    assertNotNull(key);
+    assertEquals(key, candidates.getDecisionKey(createPropertyOracle("true", "b"), LINKER_NAMES));
+    assertFalse(key.equals(
+        candidates.getDecisionKey(createPropertyOracle("false", "a"), LINKER_NAMES)));
+
+    assertNull(candidates.getDecision(key));
+    candidates.putDecision(key, null);
+    assertFalse(candidates.getDecision(key).isPresent());
+    candidates.putDecision(key, rule);
+    assertSame(rule, candidates.getDecision(key).get());
+    assertSame(candidates, index.getCandidates("java.lang.String", typeOracle));
+  }
+
+  public void testUnknownConditionsAreNotReused() {
+    Condition custom = new ConditionWhenLinkerAdded("xs") {
+    };
+    Rule rule = createRule(custom);
+    RuleIndex.Candidates candidates =
+        new RuleIndex(Arrays.asList(rule)).getCandidates("java.lang.String", typeOracle);
+    assertEquals(Arrays.asList(rule), candidates.getRules());
+    assertNull(candidates.getDecisionKey(createPropertyOracle("true", "a"), LINKER_NAMES));
+  }
+
+  private PropertyOracle createPropertyOracle(String binding1Value, String binding2Value) {
+    return new BindingProperties(new BindingProperty[] {binding1, binding2},
+        new String[] {binding1Value, binding2Value}, configurationProperties).toPropertyOracle();
+  }
+
+  private static Rule createRule(Condition... conditions) {
+    Rule rule = new RuleReplaceWith("com.example.Replacement");
+    for (Condition condition : conditions) {
+      rule.getRootCondition().getConditions().add(condition);
+    }
+    return rule;
+  }
+}
@@ -262,6 +262,58 @@ public class ResourceOracleImplTest extends AbstractResourceOrientedTestBase {
         makeRerootBarPrefix());
   }
 
+  /**
+   * Test that classpath order is honored when there are enough entries for them to be scanned in
+   * parallel.
+   */
+  public void testClassPathOrderIsHonoredForManyEntries() {
+    TreeLogger logger = createTestTreeLogger();
+    String resKey = "org/example/bar/client/BarClient1.txt";
+
+    ClassPathEntry[] classPath = new ClassPathEntry[64];
+    for (int i = 0; i < classPath.length; i++) {
+      MockClassPathEntry cpe = new MockClassPathEntry("/cpe" + i + "/");
+      cpe.addResource(resKey);
+      classPath[i] = cpe;
+    }
+    testResourceInCPE(logger, resKey, classPath[0], classPath, makeBarPrefix());
+
+    ClassPathEntry[] reversed = new ClassPathEntry[classPath.length];
+    for (int i = 0; i < classPath.length; i++) {
+      reversed[i] = classPath[classPath.length - 1 - i];
+    }
+    testResourceInCPE(logger, resKey, reversed[0], reversed, makeBarPrefix());
+  }
+
+  /**
+   * Test that exclusions are honored when the classpath entries sharing a path prefix are scanned
+   * in parallel.
+   */
+  public void testExclusionsAreHonoredForManyEntries() {
+    TreeLogger logger = createTestTreeLogger();
+    ClassPathEntry[] classPath = new ClassPathEntry[64];
+    for (int i = 0; i < classPath.length; i++) {
+      MockClassPathEntry cpe = new MockClassPathEntry("/cpe" + i + "/");
+      cpe.addResource("org/example/bar/client/BarClient" + i + ".txt");
+      cpe.addResource("org/example/bar/client/Excluded" + i + ".txt");
+      classPath[i] = cpe;
+    }
+
+    // A fresh prefix each time, so that its exclusions are first matched by the scanning threads
+    for (int round = 0; round < 50; round++) {
+      PathPrefixSet pps = new PathPrefixSet();
+      pps.add(new PathPrefix("", "org/example/bar/client/", null, false,
+          new String[] {"**/Excluded*.txt"}));
+      ResourceOracleImpl oracle = new ResourceOracleImpl(Arrays.asList(classPath));
+      oracle.setPathPrefixes(pps);
+      oracle.scanResources(logger);
+      assertEquals(classPath.length, oracle.getPathNames().size());
+      for (String path : oracle.getPathNames()) {
+        assertTrue(path, path.startsWith("org/example/bar/client/BarClient"));
+      }
+    }
+  }
+
   public void testNoClassPathEntries() {
     TreeLogger logger = createTestTreeLogger();
     ResourceOracleImpl oracle = createResourceOracle(new MOCK_CPE0());
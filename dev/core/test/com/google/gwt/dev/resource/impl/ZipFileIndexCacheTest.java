@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.dev.resource.impl;
+
+import com.google.gwt.core.ext.TreeLogger;
+import com.google.gwt.dev.util.Util;
+import com.google.gwt.thirdparty.guava.common.io.Files;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Tests {@link ZipFileIndexCache}.
+ */
+public class ZipFileIndexCacheTest extends TestCase {
+
+  private File cacheDir;
+  private File tempDir;
+  private File zipFile;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    tempDir = Files.createTempDir();
+    cacheDir = new File(tempDir, "cache");
+    zipFile = new File(tempDir, "test.jar");
+    writeZip(zipFile, "org/example/Foo.java", "org/example/Bar.java");
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Util.recursiveDelete(tempDir, false);
+    super.tearDown();
+  }
+
+  public void testLoadWithoutIndex() {
+    ZipFileIndexCache cache = new ZipFileIndexCache(cacheDir);
+    assertNull(cache.load(TreeLogger.NULL, zipFile));
+  }
+
+  public void testStoreAndLoad() {
+    ZipFileIndexCache cache = new ZipFileIndexCache(cacheDir);
+    List<String> entryNames = Arrays.asList("org/example/Foo.java", "org/example/Bar.java");
+    cache.store(TreeLogger.NULL, zipFile, zipFile.length(), zipFile.lastModified(), entryNames);
+
+    assertTrue(cache.getIndexFile(zipFile).isFile());
+    assertEquals(entryNames, cache.load(TreeLogger.NULL, zipFile));
+    // A fresh cache over the same directory sees the same index.
+    assertEquals(entryNames, new ZipFileIndexCache(cacheDir).load(TreeLogger.NULL, zipFile));
+  }
+
+  public void testStaleIndexIsIgnored() throws IOException {
+    ZipFileIndexCache cache = new ZipFileIndexCache(cacheDir);
+    cache.store(TreeLogger.NULL, zipFile, zipFile.length(), zipFile.lastModified(),
+        Arrays.asList("org/example/Foo.java", "org/example/Bar.java"));
+
+    long length = zipFile.length();
+    long lastModified = zipFile.lastModified();
+    writeZip(zipFile, "org/example/Baz.java");
+    // Pad with a comment and keep the timestamp so that only the end of central directory record
+    // can tell the difference.
+    char[] padding = new char[(int) (length - zipFile.length())];
+    Arrays.fill(padding, ' ');
+    writeZipWithComment(zipFile, new String(padding), "org/example/Baz.java");
+    assertEquals(length, zipFile.length());
+    zipFile.setLastModified(lastModified);
+
+    assertNull(cache.load(TreeLogger.NULL, zipFile));
+  }
+
+  public void testChangedLengthIsIgnored() throws IOException {
+    ZipFileIndexCache cache = new ZipFileIndexCache(cacheDir);
+    cache.store(TreeLogger.NULL, zipFile, zipFile.length(), zipFile.lastModified(),
+        Arrays.asList("org/example/Foo.java", "org/example/Bar.java"));
+
+    long lastModified = zipFile.lastModified();
+    writeZip(zipFile, "org/example/Baz.java");
+    zipFile.setLastModified(lastModified);
+
+    assertNull(cache.load(TreeLogger.NULL, zipFile));
+  }
+
+  public void testEndOfCentralDirectory() throws IOException {
+    byte[] record = ZipFileIndexCache.readEndOfCentralDirectory(zipFile);
+    assertNotNull(record);
+    assertTrue(Arrays.equals(record, ZipFileIndexCache.readEndOfCentralDirectory(zipFile)));
+
+    writeZip(zipFile, "org/example/Foo.java");
+    assertFalse(Arrays.equals(record, ZipFileIndexCache.readEndOfCentralDirectory(zipFile)));
+  }
+
+  public void testEndOfCentralDirectoryWithComment() throws IOException {
+    writeZipWithComment(zipFile, "A comment", "org/example/Foo.java");
+    byte[] record = ZipFileIndexCache.readEndOfCentralDirectory(zipFile);
+    assertNotNull(record);
+    assertEquals(22 + "A comment".length(), record.length);
+  }
+
+  public void testEndOfCentralDirectoryOfNonZip() throws IOException {
+    File notAZip = new File(cacheDir.getParentFile(), "notazip.jar");
+    Files.write(new byte[100], notAZip);
+    assertNull(ZipFileIndexCache.readEndOfCentralDirectory(notAZip));
+  }
+
+  private static void writeZip(File file, String... entryNames) throws IOException {
+    writeZipWithComment(file, null, entryNames);
+  }
+
+  private static void writeZipWithComment(File file, String comment, String... entryNames)
+      throws IOException {
+    ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file));
+    try {
+      out.setComment(comment);
+      for (String entryName : entryNames) {
+        out.putNextEntry(new ZipEntry(entryName));
+        out.write(entryName.getBytes("UTF-8"));
+        out.closeEntry();
+      }
+    } finally {
+      out.close();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.core.benchmarks.client;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.core.client.EntryPoint;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures the lookups per second of the emulated {@link HashMap} for each kind of key it stores
+ * differently: Strings, Doubles and Booleans go to native JavaScript Maps, the rest through their
+ * hash codes. Compiled with the d8 linker, the results are printed to the console.
+ */
+public class HashMapBenchmark implements EntryPoint {
+
+  private static final int KEY_COUNT = 1000;
+
+  private static final int RUN_MILLIS = 2000;
+
+  private static final int WARMUP_ROUNDS = 1000;
+
+  private static native void log(String message) /*-{
+    $wnd.console.log(message);
+  }-*/;
+
+  @Override
+  public void onModuleLoad() {
+    Object[] strings = new Object[KEY_COUNT];
+    Object[] doubles = new Object[KEY_COUNT];
+    Object[] booleans = new Object[KEY_COUNT];
+    Object[] integers = new Object[KEY_COUNT];
+    Object[] objects = new Object[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i++) {
+      strings[i] = "key" + i;
+      doubles[i] = i + 0.5;
+      booleans[i] = i % 2 == 0;
+      integers[i] = Integer.valueOf(i);
+      objects[i] = new Object();
+    }
+
+    run("String", strings);
+    run("Double", doubles);
+    run("Boolean", booleans);
+    run("Integer", integers);
+    run("Object", objects);
+  }
+
+  /**
+   * Looks up every key once.
+   *
+   * @return the number of keys found, which keeps the lookups from being optimized away
+   */
+  private int lookUp(Map<Object, Object> map, Object[] keys) {
+    int found = 0;
+    for (Object key : keys) {
+      if (map.get(key) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  private void run(String name, Object[] keys) {
+    Map<Object, Object> map = new HashMap<Object, Object>();
+    for (Object key : keys) {
+      map.put(key, key);
+    }
+
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      lookUp(map, keys);
+    }
+
+    // A double rather than an emulated long, and wide enough for any count
+    double found = 0;
+    int rounds = 0;
+    Duration duration = new Duration();
+    while (duration.elapsedMillis() < RUN_MILLIS) {
+      found += lookUp(map, keys);
+      rounds++;
+    }
+    int elapsed = duration.elapsedMillis();
+
+    double expected = (double) rounds * keys.length;
+    if (found != expected) {
+      log(name + " keys: missed " + Math.round(expected - found) + " lookups");
+      return;
+    }
+    log(name + " keys: " + Math.round(found * 1000 / elapsed) + " lookups/s");
+  }
+}
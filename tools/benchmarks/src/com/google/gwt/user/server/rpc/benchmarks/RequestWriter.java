@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.benchmarks;
+
+import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.client.rpc.SerializationStreamWriter;
+import com.google.gwt.user.client.rpc.impl.AbstractSerializationStreamWriter;
+import com.google.gwt.user.server.Base64Utils;
+import com.google.gwt.user.server.rpc.SerializationPolicy;
+import com.google.gwt.user.server.rpc.impl.SerializabilityUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Encodes GWT-RPC requests on the JVM the way the client does in the browser,
+ * using reflection instead of generated field serializers. Arrays and enhanced
+ * classes are not supported.
+ */
+public final class RequestWriter extends AbstractSerializationStreamWriter {
+
+  /**
+   * Returns the request that calls the given method with the given arguments.
+   */
+  public static String encodeRequest(SerializationPolicy policy, Method method,
+      Object... args) throws SerializationException {
+    RequestWriter writer = new RequestWriter(policy);
+    writer.prepareToWrite();
+    writer.writeString(method.getDeclaringClass().getName());
+    writer.writeString(method.getName());
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    writer.writeInt(parameterTypes.length);
+    for (Class<?> parameterType : parameterTypes) {
+      writer.writeString(SerializabilityUtil.getSerializedTypeName(parameterType));
+    }
+    for (int i = 0; i < args.length; i++) {
+      writer.writeValue(args[i], parameterTypes[i]);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Returns a stream that only holds the given object, which a
+   * {@link com.google.gwt.user.server.rpc.impl.ServerSerializationStreamReader}
+   * reads back with <code>readObject()</code>.
+   */
+  public static String encodeObject(SerializationPolicy policy, Object object)
+      throws SerializationException {
+    RequestWriter writer = new RequestWriter(policy);
+    writer.prepareToWrite();
+    writer.writeObject(object);
+    return writer.toString();
+  }
+
+  private static void append(StringBuilder buffer, String token) {
+    buffer.append(token).append(RPC_SEPARATOR_CHAR);
+  }
+
+  private static String quoteString(String string) {
+    StringBuilder quoted = new StringBuilder(string.length());
+    for (int i = 0; i < string.length(); i++) {
+      char ch = string.charAt(i);
+      if (ch == '\u0000') {
+        quoted.append("\\0");
+      } else if (ch == '\\') {
+        quoted.append("\\\\");
+      } else if (ch == RPC_SEPARATOR_CHAR) {
+        quoted.append("\\!");
+      } else {
+        quoted.append(ch);
+      }
+    }
+    return quoted.toString();
+  }
+
+  private final StringBuilder payload = new StringBuilder();
+
+  private final SerializationPolicy policy;
+
+  private RequestWriter(SerializationPolicy policy) {
+    this.policy = policy;
+  }
+
+  @Override
+  public void prepareToWrite() {
+    super.prepareToWrite();
+    payload.setLength(0);
+    writeString(RpcPayloads.MODULE_BASE_URL);
+    writeString(RpcPayloads.POLICY_STRONG_NAME);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buffer = new StringBuilder();
+    append(buffer, String.valueOf(getVersion()));
+    append(buffer, String.valueOf(getFlags()));
+    List<String> stringTable = getStringTable();
+    append(buffer, String.valueOf(stringTable.size()));
+    for (String string : stringTable) {
+      append(buffer, quoteString(string));
+    }
+    return buffer.append(payload).toString();
+  }
+
+  @Override
+  public void writeLong(long value) {
+    append(Base64Utils.toBase64(value));
+  }
+
+  @Override
+  protected void append(String token) {
+    append(payload, token);
+  }
+
+  @Override
+  protected String getObjectTypeSignature(Object instance) {
+    return SerializabilityUtil.encodeSerializedInstanceReference(getClassForSerialization(
+        instance), policy);
+  }
+
+  @Override
+  protected void serialize(Object instance, String typeSignature)
+      throws SerializationException {
+    serialize(instance, getClassForSerialization(instance));
+  }
+
+  private Class<?> getClassForSerialization(Object instance) {
+    return instance instanceof Enum<?> ? ((Enum<?>) instance).getDeclaringClass()
+        : instance.getClass();
+  }
+
+  private void serialize(Object instance, Class<?> clazz) throws SerializationException {
+    Class<?> customSerializer = SerializabilityUtil.hasCustomFieldSerializer(clazz);
+    if (customSerializer != null) {
+      serializeWithCustomSerializer(customSerializer, instance);
+    } else if (clazz.isEnum()) {
+      writeInt(((Enum<?>) instance).ordinal());
+    } else if (clazz.isArray()) {
+      throw new SerializationException("Arrays are not supported: " + clazz.getName());
+    } else {
+      try {
+        for (Field field : SerializabilityUtil.applyFieldSerializationPolicy(clazz, policy)) {
+          field.setAccessible(true);
+          writeValue(field.get(instance), field.getType());
+        }
+      } catch (IllegalAccessException e) {
+        throw new SerializationException(e);
+      }
+      Class<?> superClass = clazz.getSuperclass();
+      if (policy.shouldSerializeFields(superClass)) {
+        serialize(instance, superClass);
+      }
+    }
+  }
+
+  private void serializeWithCustomSerializer(Class<?> customSerializer, Object instance)
+      throws SerializationException {
+    try {
+      for (Method method : customSerializer.getMethods()) {
+        if ("serialize".equals(method.getName())
+            && method.getParameterTypes()[0] == SerializationStreamWriter.class) {
+          method.invoke(null, this, instance);
+          return;
+        }
+      }
+      throw new SerializationException("No serialize method in " + customSerializer.getName());
+    } catch (IllegalAccessException e) {
+      throw new SerializationException(e);
+    } catch (InvocationTargetException e) {
+      throw new SerializationException(e);
+    }
+  }
+
+  private void writeValue(Object value, Class<?> type) throws SerializationException {
+    if (type == boolean.class) {
+      writeBoolean((Boolean) value);
+    } else if (type == byte.class) {
+      writeByte((Byte) value);
+    } else if (type == char.class) {
+      writeChar((Character) value);
+    } else if (type == double.class) {
+      writeDouble((Double) value);
+    } else if (type == float.class) {
+      writeFloat((Float) value);
+    } else if (type == int.class) {
+      writeInt((Integer) value);
+    } else if (type == long.class) {
+      writeLong((Long) value);
+    } else if (type == short.class) {
+      writeShort((Short) value);
+    } else if (type == String.class) {
+      writeString((String) value);
+    } else {
+      writeObject(value);
+    }
+  }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.benchmarks;
+
+import com.google.gwt.user.client.rpc.RemoteService;
+import com.google.gwt.user.server.rpc.RPC;
+import com.google.gwt.user.server.rpc.SerializationPolicy;
+import com.google.gwt.user.server.rpc.SerializationPolicyLoader;
+import com.google.gwt.user.server.rpc.SerializationPolicyProvider;
+import com.google.gwt.user.server.rpc.impl.SerializabilityUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The DTO graphs exchanged by the RPC benchmarks, along with the service that
+ * exchanges them and a serialization policy file covering them, as the
+ * compiler would generate it.
+ */
+public final class RpcPayloads {
+
+  /**
+   * The kinds of payloads the benchmarks run over.
+   */
+  public enum Shape {
+    /**
+     * A tree of nodes nested up to {@link RpcPayloads#MAXIMUM_TREE_DEPTH} levels deep.
+     */
+    DEEP_TREE,
+
+    /**
+     * A list of orders, each with a customer and several line items.
+     */
+    LARGE_LIST,
+
+    /**
+     * A map of customers keyed by email address.
+     */
+    LARGE_MAP,
+
+    /**
+     * A list of strings full of characters that have to be escaped on the
+     * wire.
+     */
+    ESCAPED_STRINGS
+  }
+
+  /**
+   * The service whose requests and responses are encoded.
+   */
+  public interface EchoService extends RemoteService {
+    Payload echo(Payload payload);
+  }
+
+  /**
+   * A trivial implementation of {@link EchoService}, which request decoding
+   * checks the request against.
+   */
+  public static class EchoServiceImpl implements EchoService {
+    @Override
+    public Payload echo(Payload payload) {
+      return payload;
+    }
+  }
+
+  /**
+   * A postal address.
+   */
+  public static class Address implements Serializable {
+    String city;
+    String country;
+    String postalCode;
+    String street;
+  }
+
+  /**
+   * A customer.
+   */
+  public static class Customer implements Serializable {
+    Address address;
+    Date createdOn;
+    String email;
+    long id;
+    String name;
+  }
+
+  /**
+   * An item of an order.
+   */
+  public static class LineItem implements Serializable {
+    String description;
+    int quantity;
+    String sku;
+    double unitPrice;
+  }
+
+  /**
+   * An order.
+   */
+  public static class Order implements Serializable {
+    HashMap<String, String> attributes;
+    Customer customer;
+    long id;
+    ArrayList<LineItem> items;
+    String notes;
+    OrderStatus status;
+  }
+
+  /**
+   * The status of an order.
+   */
+  public enum OrderStatus {
+    OPEN, PAID, SHIPPED, CANCELLED
+  }
+
+  /**
+   * The root of every payload. Only the parts of the chosen {@link Shape} are
+   * set.
+   */
+  public static class Payload implements Serializable {
+    HashMap<String, Customer> customersByEmail;
+    ArrayList<Order> orders;
+    ArrayList<String> tags;
+    TreeNode tree;
+  }
+
+  /**
+   * A node of a tree.
+   */
+  public static class TreeNode implements Serializable {
+    ArrayList<TreeNode> children;
+    int depth;
+    String label;
+    boolean leaf;
+  }
+
+  /**
+   * How deep {@link Shape#DEEP_TREE} payloads get. Deeper trees would mostly
+   * measure how large the stack of the benchmark thread is.
+   */
+  public static final int MAXIMUM_TREE_DEPTH = 128;
+
+  /**
+   * The module base URL of requests.
+   */
+  public static final String MODULE_BASE_URL = "http://localhost:8888/app/";
+
+  /**
+   * The strong name of the serialization policy of requests.
+   */
+  public static final String POLICY_STRONG_NAME = "0123456789ABCDEF0123456789ABCDEF";
+
+  /**
+   * Strings that need escaping in requests, responses, or both.
+   */
+  private static final String[] ESCAPED_STRINGS = {
+      "pipe | separated | values", "back\\slash and \"double\" 'single' quotes",
+      "</script><script>alert(1)</script>", "line\nfeed\rreturn\ttab",
+      "nul \u0000, line separator \u2028 and paragraph separator \u2029",
+      "accents \u00e9\u00e8\u00ea and CJK \u4e2d\u6587", "surrogates \uD83D\uDE00\uD83D\uDC4D"};
+
+  /**
+   * Classes of the JRE that policy files of real applications usually list,
+   * besides the ones the payloads use.
+   */
+  private static final Class<?>[] JRE_CLASSES = {
+      Boolean.class, Byte.class, Character.class, Double.class, Float.class, Integer.class,
+      Long.class, Short.class, String.class, java.math.BigDecimal.class,
+      java.math.BigInteger.class, java.sql.Date.class, java.sql.Time.class,
+      java.sql.Timestamp.class, java.util.Date.class, java.util.ArrayList.class,
+      java.util.HashMap.class, java.util.HashSet.class, java.util.IdentityHashMap.class,
+      java.util.LinkedHashMap.class, java.util.LinkedHashSet.class, java.util.LinkedList.class,
+      java.util.TreeMap.class, java.util.TreeSet.class, java.util.Vector.class,
+      IllegalArgumentException.class, IllegalStateException.class,
+      NullPointerException.class, RuntimeException.class, Exception.class,
+      UnsupportedOperationException.class};
+
+  private static final Class<?>[] DTO_CLASSES = {
+      Address.class, Customer.class, LineItem.class, Order.class, OrderStatus.class,
+      Payload.class, TreeNode.class};
+
+  /**
+   * Returns a payload of the given shape, whose size grows linearly with
+   * <code>size</code>.
+   */
+  public static Payload create(Shape shape, int size) {
+    Payload payload = new Payload();
+    switch (shape) {
+      case DEEP_TREE:
+        payload.tree = createTree(0, Math.max(1, size / MAXIMUM_TREE_DEPTH));
+        break;
+      case LARGE_LIST:
+        payload.orders = new ArrayList<Order>();
+        for (int i = 0; i < size; i++) {
+          payload.orders.add(createOrder(i));
+        }
+        break;
+      case LARGE_MAP:
+        payload.customersByEmail = new HashMap<String, Customer>();
+        for (int i = 0; i < size; i++) {
+          Customer customer = createCustomer(i);
+          payload.customersByEmail.put(customer.email, customer);
+        }
+        break;
+      case ESCAPED_STRINGS:
+        payload.tags = new ArrayList<String>();
+        for (int i = 0; i < size; i++) {
+          // Distinct strings, so that the string table does not collapse them
+          payload.tags.add(ESCAPED_STRINGS[i % ESCAPED_STRINGS.length] + " #" + i);
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown shape: " + shape);
+    }
+    return payload;
+  }
+
+  /**
+   * Returns the text of a serialization policy file that allows exchanging
+   * every payload, along with the usual classes of the JRE.
+   */
+  public static String createPolicyFile() {
+    List<Class<?>> classes = new ArrayList<Class<?>>(Arrays.asList(JRE_CLASSES));
+    classes.addAll(Arrays.asList(DTO_CLASSES));
+
+    SerializationPolicy legacyPolicy = RPC.getDefaultSerializationPolicy();
+    StringBuilder policyFile = new StringBuilder();
+    for (Class<?> clazz : classes) {
+      String signature = SerializabilityUtil.getSerializationSignature(clazz, legacyPolicy);
+      policyFile.append(clazz.getName()).append(", true, true, true, true, ")
+          .append(clazz.getName()).append('/').append(signature).append(", ")
+          .append(signature).append('\n');
+    }
+    return policyFile.toString();
+  }
+
+  /**
+   * Returns the {@link EchoService#echo(Payload)} method.
+   */
+  public static Method getEchoMethod() {
+    try {
+      return EchoService.class.getMethod("echo", Payload.class);
+    } catch (NoSuchMethodException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * Loads the policy of {@link #createPolicyFile()}.
+   */
+  public static SerializationPolicy loadPolicy(byte[] policyFile) {
+    try {
+      return SerializationPolicyLoader.loadFromStream(new ByteArrayInputStream(policyFile), null);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    } catch (ParseException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Returns a provider that always returns the given policy.
+   */
+  public static SerializationPolicyProvider providerOf(final SerializationPolicy policy) {
+    return new SerializationPolicyProvider() {
+      @Override
+      public SerializationPolicy getSerializationPolicy(String moduleBaseURL,
+          String serializationPolicyStrongName) {
+        return policy;
+      }
+    };
+  }
+
+  /**
+   * Returns the bytes of a policy file.
+   */
+  public static byte[] toBytes(String policyFile) {
+    try {
+      return policyFile.getBytes(SerializationPolicyLoader.SERIALIZATION_POLICY_FILE_ENCODING);
+    } catch (UnsupportedEncodingException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static Address createAddress(int i) {
+    Address address = new Address();
+    address.street = (100 + i) + " Main Street";
+    address.city = "Springfield";
+    address.postalCode = String.valueOf(10000 + i % 90000);
+    address.country = "US";
+    return address;
+  }
+
+  private static Customer createCustomer(int i) {
+    Customer customer = new Customer();
+    customer.id = 1000000000000L + i;
+    customer.name = "Customer " + i;
+    customer.email = "customer" + i + "@example.com";
+    customer.address = createAddress(i);
+    customer.createdOn = new Date(1262304000000L + i * 86400000L);
+    return customer;
+  }
+
+  private static Order createOrder(int i) {
+    Order order = new Order();
+    order.id = i;
+    order.customer = createCustomer(i % 50);
+    order.status = OrderStatus.values()[i % OrderStatus.values().length];
+    order.notes = i % 3 == 0 ? null : "Leave at the door";
+    order.items = new ArrayList<LineItem>();
+    for (int j = 0; j < 3; j++) {
+      LineItem item = new LineItem();
+      item.sku = "SKU-" + (i * 3 + j);
+      item.description = "Item " + j + " of order " + i;
+      item.quantity = j + 1;
+      item.unitPrice = 9.99 + j;
+      order.items.add(item);
+    }
+    order.attributes = new HashMap<String, String>();
+    order.attributes.put("channel", i % 2 == 0 ? "web" : "mobile");
+    order.attributes.put("coupon", "SAVE" + (i % 10));
+    return order;
+  }
+
+  private static TreeNode createTree(int depth, int fanOut) {
+    TreeNode node = new TreeNode();
+    node.depth = depth;
+    node.label = "node at depth " + depth;
+    node.children = new ArrayList<TreeNode>();
+    if (depth + 1 < MAXIMUM_TREE_DEPTH) {
+      node.children.add(createTree(depth + 1, fanOut));
+    }
+    for (int i = 0; i < fanOut; i++) {
+      TreeNode leaf = new TreeNode();
+      leaf.depth = depth + 1;
+      leaf.label = "leaf " + i + " at depth " + (depth + 1);
+      leaf.leaf = true;
+      node.children.add(leaf);
+    }
+    return node;
+  }
+
+  private RpcPayloads() {
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.benchmarks;
+
+import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.server.rpc.RPC;
+import com.google.gwt.user.server.rpc.RPCRequest;
+import com.google.gwt.user.server.rpc.SerializationPolicy;
+import com.google.gwt.user.server.rpc.SerializationPolicyProvider;
+import com.google.gwt.user.server.rpc.benchmarks.RpcPayloads.EchoServiceImpl;
+import com.google.gwt.user.server.rpc.benchmarks.RpcPayloads.Payload;
+import com.google.gwt.user.server.rpc.benchmarks.RpcPayloads.Shape;
+import com.google.gwt.user.server.rpc.impl.ServerSerializationStreamReader;
+import com.google.gwt.user.server.rpc.impl.ServerSerializationStreamWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding of GWT-RPC payloads on the server, from the
+ * streams up to {@link RPC}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class RpcSerializationBenchmark {
+
+  @Param({"DEEP_TREE", "LARGE_LIST", "LARGE_MAP", "ESCAPED_STRINGS"})
+  Shape shape;
+
+  @Param({"10", "1000"})
+  int size;
+
+  private Method echoMethod;
+  private String encodedObject;
+  private String encodedRequest;
+  private Payload payload;
+  private SerializationPolicy policy;
+  private SerializationPolicyProvider policyProvider;
+
+  @Setup
+  public void setUp() throws SerializationException {
+    policy = RpcPayloads.loadPolicy(RpcPayloads.toBytes(RpcPayloads.createPolicyFile()));
+    policyProvider = RpcPayloads.providerOf(policy);
+    echoMethod = RpcPayloads.getEchoMethod();
+    payload = RpcPayloads.create(shape, size);
+    encodedObject = RequestWriter.encodeObject(policy, payload);
+    encodedRequest = RequestWriter.encodeRequest(policy, echoMethod, payload);
+
+    // Fail early rather than measure failures
+    if (readObject() == null || decodeRequest().getParameters()[0] == null) {
+      throw new IllegalStateException("The payload did not survive a round trip");
+    }
+  }
+
+  /**
+   * Decodes a request, including its payload and the lookup of the service
+   * method.
+   */
+  @Benchmark
+  public RPCRequest decodeRequest() {
+    return RPC.decodeRequest(encodedRequest, EchoServiceImpl.class, policyProvider);
+  }
+
+  /**
+   * Encodes a successful response, including the conversion to a string.
+   */
+  @Benchmark
+  public String encodeResponseForSuccess() throws SerializationException {
+    return RPC.encodeResponseForSuccess(echoMethod, payload, policy);
+  }
+
+  /**
+   * Reads the payload alone with a {@link ServerSerializationStreamReader}.
+   */
+  @Benchmark
+  public Object readObject() throws SerializationException {
+    ServerSerializationStreamReader reader =
+        new ServerSerializationStreamReader(getClass().getClassLoader(), policyProvider);
+    reader.prepareToRead(encodedObject);
+    return reader.readObject();
+  }
+
+  /**
+   * Writes the payload alone with a {@link ServerSerializationStreamWriter}.
+   */
+  @Benchmark
+  public String writeObject() throws SerializationException {
+    ServerSerializationStreamWriter writer = new ServerSerializationStreamWriter(policy);
+    writer.prepareToWrite();
+    writer.writeObject(payload);
+    return writer.toString();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.benchmarks;
+
+import com.google.gwt.user.server.rpc.SerializationPolicy;
+import com.google.gwt.user.server.rpc.benchmarks.RpcPayloads.Customer;
+import com.google.gwt.user.server.rpc.benchmarks.RpcPayloads.Order;
+import com.google.gwt.user.server.rpc.benchmarks.RpcPayloads.Payload;
+import com.google.gwt.user.server.rpc.benchmarks.RpcPayloads.TreeNode;
+import com.google.gwt.user.server.rpc.impl.DequeMap;
+import com.google.gwt.user.server.rpc.impl.SerializabilityUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the type resolution of {@link SerializabilityUtil} that the streams
+ * perform for every object they encode or decode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class SerializabilityUtilBenchmark {
+
+  private static final Class<?>[] CLASSES = {
+      Customer.class, Order.class, Payload.class, TreeNode.class, ArrayList.class,
+      HashMap.class, String.class};
+
+  private Type[] genericFieldTypes;
+  private SerializationPolicy policy;
+
+  @Setup
+  public void setUp() {
+    policy = RpcPayloads.loadPolicy(RpcPayloads.toBytes(RpcPayloads.createPolicyFile()));
+    ArrayList<Type> types = new ArrayList<Type>();
+    for (Class<?> clazz : new Class<?>[] {Order.class, Payload.class, TreeNode.class}) {
+      for (Field field : clazz.getDeclaredFields()) {
+        types.add(field.getGenericType());
+      }
+    }
+    genericFieldTypes = types.toArray(new Type[types.size()]);
+  }
+
+  /**
+   * Filters and sorts the serializable fields of classes.
+   */
+  @Benchmark
+  public void applyFieldSerializationPolicy(Blackhole blackhole) {
+    for (Class<?> clazz : CLASSES) {
+      blackhole.consume(SerializabilityUtil.applyFieldSerializationPolicy(clazz, policy));
+    }
+  }
+
+  /**
+   * Encodes type signatures, as done for every object written.
+   */
+  @Benchmark
+  public void encodeSerializedInstanceReference(Blackhole blackhole) {
+    for (Class<?> clazz : CLASSES) {
+      blackhole.consume(SerializabilityUtil.encodeSerializedInstanceReference(clazz, policy));
+    }
+  }
+
+  /**
+   * Looks up custom field serializers, as done for every object written or
+   * read.
+   */
+  @Benchmark
+  public void hasCustomFieldSerializer(Blackhole blackhole) {
+    for (Class<?> clazz : CLASSES) {
+      blackhole.consume(SerializabilityUtil.hasCustomFieldSerializer(clazz));
+    }
+  }
+
+  /**
+   * Resolves and releases the type variables of generic field types, as done
+   * for every field read.
+   */
+  @Benchmark
+  public void resolveTypes(Blackhole blackhole) {
+    DequeMap<TypeVariable<?>, Type> resolvedTypes = new DequeMap<TypeVariable<?>, Type>();
+    for (Type type : genericFieldTypes) {
+      SerializabilityUtil.resolveTypes(type, resolvedTypes);
+      blackhole.consume(SerializabilityUtil.getClassFromType(type, resolvedTypes));
+      SerializabilityUtil.releaseTypes(type, resolvedTypes);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.autobean.benchmarks;
+
+import com.google.web.bindery.autobean.benchmarks.AutoBeanPayloads.Factory;
+import com.google.web.bindery.autobean.benchmarks.AutoBeanPayloads.Payload;
+import com.google.web.bindery.autobean.benchmarks.AutoBeanPayloads.Shape;
+import com.google.web.bindery.autobean.shared.AutoBean;
+import com.google.web.bindery.autobean.shared.AutoBeanCodex;
+import com.google.web.bindery.autobean.shared.AutoBeanUtils;
+import com.google.web.bindery.autobean.vm.AutoBeanFactorySource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AutoBeanCodex} on the JVM, with beans created by
+ * {@link AutoBeanFactorySource}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class AutoBeanCodexBenchmark {
+
+  @Param({"WIDE_BEANS", "DEEP_TREE", "LARGE_LIST"})
+  Shape shape;
+
+  @Param({"10", "1000"})
+  int size;
+
+  private AutoBean<Payload> bean;
+  private String encoded;
+  private Factory factory;
+
+  @Setup
+  public void setUp() {
+    factory = AutoBeanFactorySource.create(Factory.class);
+    bean = AutoBeanPayloads.create(factory, shape, size);
+    encoded = encode();
+
+    // Fail early rather than measure failures
+    if (!AutoBeanUtils.deepEquals(bean, AutoBeanCodex.decode(factory, Payload.class, encoded))) {
+      throw new IllegalStateException("The payload did not survive a round trip");
+    }
+  }
+
+  /**
+   * Decodes a payload without reading it.
+   */
+  @Benchmark
+  public AutoBean<Payload> decode() {
+    return AutoBeanCodex.decode(factory, Payload.class, encoded);
+  }
+
+  /**
+   * Decodes a payload and reads all of its values, which is when lazily
+   * decoded beans do the work.
+   */
+  @Benchmark
+  public int decodeAndRead() {
+    return AutoBeanPayloads.read(decode().as());
+  }
+
+  /**
+   * Encodes a bean graph, including the conversion to a string.
+   */
+  @Benchmark
+  public String encode() {
+    return AutoBeanCodex.encode(bean).getPayload();
+  }
+}
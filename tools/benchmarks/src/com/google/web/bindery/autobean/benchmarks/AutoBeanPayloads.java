@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.autobean.benchmarks;
+
+import com.google.web.bindery.autobean.shared.AutoBean;
+import com.google.web.bindery.autobean.shared.AutoBeanFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The bean graphs encoded and decoded by the AutoBean benchmarks, along with
+ * the factory that creates them.
+ */
+public final class AutoBeanPayloads {
+
+  /**
+   * The kinds of payloads the benchmarks run over.
+   */
+  public enum Shape {
+    /**
+     * A list of customers, each with many properties.
+     */
+    WIDE_BEANS,
+
+    /**
+     * A tree of nodes nested up to {@link AutoBeanPayloads#MAXIMUM_TREE_DEPTH}
+     * levels deep.
+     */
+    DEEP_TREE,
+
+    /**
+     * A list of small orders, each with a few line items.
+     */
+    LARGE_LIST
+  }
+
+  /**
+   * A bean with many properties of different types.
+   */
+  public interface Customer {
+    int getAge();
+
+    Map<String, String> getAttributes();
+
+    double getBalance();
+
+    String getCity();
+
+    Date getCreated();
+
+    String getEmail();
+
+    String getName();
+
+    String getPhone();
+
+    long getPoints();
+
+    String getStreet();
+
+    List<String> getTags();
+
+    boolean isActive();
+
+    void setActive(boolean active);
+
+    void setAge(int age);
+
+    void setAttributes(Map<String, String> attributes);
+
+    void setBalance(double balance);
+
+    void setCity(String city);
+
+    void setCreated(Date created);
+
+    void setEmail(String email);
+
+    void setName(String name);
+
+    void setPhone(String phone);
+
+    void setPoints(long points);
+
+    void setStreet(String street);
+
+    void setTags(List<String> tags);
+  }
+
+  /**
+   * Creates the beans.
+   */
+  public interface Factory extends AutoBeanFactory {
+    AutoBean<Customer> customer();
+
+    AutoBean<LineItem> lineItem();
+
+    AutoBean<Node> node();
+
+    AutoBean<Order> order();
+
+    AutoBean<Payload> payload();
+  }
+
+  /**
+   * A line of an order.
+   */
+  public interface LineItem {
+    double getPrice();
+
+    String getProduct();
+
+    int getQuantity();
+
+    void setPrice(double price);
+
+    void setProduct(String product);
+
+    void setQuantity(int quantity);
+  }
+
+  /**
+   * A node of a tree.
+   */
+  public interface Node {
+    List<Node> getChildren();
+
+    String getLabel();
+
+    void setChildren(List<Node> children);
+
+    void setLabel(String label);
+  }
+
+  /**
+   * An order with a few line items.
+   */
+  public interface Order {
+    long getId();
+
+    List<LineItem> getItems();
+
+    String getNote();
+
+    void setId(long id);
+
+    void setItems(List<LineItem> items);
+
+    void setNote(String note);
+  }
+
+  /**
+   * The root of every payload, of which only the properties for its
+   * {@link Shape} are set.
+   */
+  public interface Payload {
+    List<Customer> getCustomers();
+
+    List<Order> getOrders();
+
+    Node getTree();
+
+    void setCustomers(List<Customer> customers);
+
+    void setOrders(List<Order> orders);
+
+    void setTree(Node tree);
+  }
+
+  public static final int MAXIMUM_TREE_DEPTH = 32;
+
+  /**
+   * Creates a payload holding roughly {@code size} beans.
+   */
+  public static AutoBean<Payload> create(Factory factory, Shape shape, int size) {
+    AutoBean<Payload> bean = factory.payload();
+    Payload payload = bean.as();
+    switch (shape) {
+      case WIDE_BEANS:
+        List<Customer> customers = new ArrayList<Customer>();
+        for (int i = 0; i < size; i++) {
+          customers.add(createCustomer(factory, i));
+        }
+        payload.setCustomers(customers);
+        break;
+      case DEEP_TREE:
+        payload.setTree(createTree(factory, 0, Math.max(1, size / MAXIMUM_TREE_DEPTH)));
+        break;
+      case LARGE_LIST:
+        List<Order> orders = new ArrayList<Order>();
+        for (int i = 0; i < size; i++) {
+          orders.add(createOrder(factory, i));
+        }
+        payload.setOrders(orders);
+        break;
+      default:
+        throw new IllegalArgumentException(shape.name());
+    }
+    return bean;
+  }
+
+  /**
+   * Reads every value of a payload and returns the number of non-null ones.
+   */
+  public static int read(Payload payload) {
+    int values = 0;
+    if (payload.getCustomers() != null) {
+      for (Customer customer : payload.getCustomers()) {
+        values += count(customer.getAge(), customer.getBalance(), customer.getCity(),
+            customer.getCreated(), customer.getEmail(), customer.getName(),
+            customer.getPhone(), customer.getPoints(), customer.getStreet(), customer.isActive());
+        values += customer.getAttributes().size() + customer.getTags().size();
+      }
+    }
+    if (payload.getOrders() != null) {
+      for (Order order : payload.getOrders()) {
+        values += count(order.getId(), order.getNote());
+        for (LineItem item : order.getItems()) {
+          values += count(item.getPrice(), item.getProduct(), item.getQuantity());
+        }
+      }
+    }
+    if (payload.getTree() != null) {
+      values += read(payload.getTree());
+    }
+    return values;
+  }
+
+  private static int count(Object... values) {
+    int count = 0;
+    for (Object value : values) {
+      if (value != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static Customer createCustomer(Factory factory, int i) {
+    Customer customer = factory.customer().as();
+    customer.setActive(i % 2 == 0);
+    customer.setAge(20 + i % 50);
+    Map<String, String> attributes = new HashMap<String, String>();
+    attributes.put("segment", "segment" + i % 7);
+    attributes.put("source", "source" + i % 3);
+    customer.setAttributes(attributes);
+    customer.setBalance(i * 1.5);
+    customer.setCity("City " + i % 100);
+    customer.setCreated(new Date(1000000000000L + i * 1000L));
+    customer.setEmail("customer" + i + "@example.com");
+    customer.setName("Customer " + i);
+    customer.setPhone("+1 555 " + (1000000 + i));
+    customer.setPoints(i * 100L);
+    customer.setStreet(i + " Main Street");
+    customer.setTags(Arrays.asList("tag" + i % 5, "tag" + i % 11));
+    return customer;
+  }
+
+  private static Order createOrder(Factory factory, int i) {
+    Order order = factory.order().as();
+    order.setId(i);
+    List<LineItem> items = new ArrayList<LineItem>();
+    for (int j = 0; j < 3; j++) {
+      LineItem item = factory.lineItem().as();
+      item.setPrice(j + 0.99);
+      item.setProduct("Product " + (i + j) % 50);
+      item.setQuantity(j + 1);
+      items.add(item);
+    }
+    order.setItems(items);
+    order.setNote("Order " + i);
+    return order;
+  }
+
+  private static Node createTree(Factory factory, int depth, int fanOut) {
+    Node node = factory.node().as();
+    node.setLabel("Node " + depth);
+    List<Node> children = new ArrayList<Node>();
+    if (depth + 1 < MAXIMUM_TREE_DEPTH) {
+      children.add(createTree(factory, depth + 1, fanOut));
+    }
+    for (int i = 1; i < fanOut; i++) {
+      Node leaf = factory.node().as();
+      leaf.setLabel("Leaf " + i);
+      children.add(leaf);
+    }
+    node.setChildren(children);
+    return node;
+  }
+
+  private static int read(Node node) {
+    int values = count(node.getLabel());
+    if (node.getChildren() != null) {
+      for (Node child : node.getChildren()) {
+        values += read(child);
+      }
+    }
+    return values;
+  }
+
+  private AutoBeanPayloads() {
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.requestfactory.benchmarks;
+
+import com.google.web.bindery.event.shared.SimpleEventBus;
+import com.google.web.bindery.requestfactory.benchmarks.RfPayloads.Shape;
+import com.google.web.bindery.requestfactory.benchmarks.RfPayloads.StoreFactory;
+import com.google.web.bindery.requestfactory.server.ServiceLayer;
+import com.google.web.bindery.requestfactory.server.SimpleRequestProcessor;
+import com.google.web.bindery.requestfactory.server.testing.InProcessRequestTransport;
+import com.google.web.bindery.requestfactory.shared.Receiver;
+import com.google.web.bindery.requestfactory.shared.RequestTransport;
+import com.google.web.bindery.requestfactory.shared.ServerFailure;
+import com.google.web.bindery.requestfactory.vm.RequestFactorySource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures RequestFactory requests in process, both on the server alone and
+ * as a round trip through an {@code InProcessRequestFactory}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class RequestFactoryBenchmark {
+
+  /**
+   * Keeps the result of a request.
+   */
+  private static class Result extends Receiver<List<?>> {
+    List<?> response;
+
+    @Override
+    public void onFailure(ServerFailure error) {
+      throw new IllegalStateException(error.getMessage());
+    }
+
+    @Override
+    public void onSuccess(List<?> response) {
+      this.response = response;
+    }
+  }
+
+  @Param({"WIDE_ENTITIES", "DEEP_PATHS", "LARGE_LIST"})
+  Shape shape;
+
+  @Param({"10", "1000"})
+  int size;
+
+  private StoreFactory factory;
+  private SimpleRequestProcessor processor;
+  private String request;
+
+  @Setup
+  public void setUp() {
+    RfPayloads.populate(size);
+    processor = new SimpleRequestProcessor(ServiceLayer.create());
+    factory = RequestFactorySource.create(StoreFactory.class);
+    factory.initialize(new SimpleEventBus(), new InProcessRequestTransport(processor));
+
+    // Record the payload of a request, without sending it
+    final String[] payload = new String[1];
+    StoreFactory recorder = RequestFactorySource.create(StoreFactory.class);
+    recorder.initialize(new SimpleEventBus(), new RequestTransport() {
+      @Override
+      public void send(String requestPayload, TransportReceiver receiver) {
+        payload[0] = requestPayload;
+      }
+    });
+    RfPayloads.createRequest(recorder, shape, size).fire();
+    request = payload[0];
+
+    // Fail early rather than measure failures
+    List<?> response = fire();
+    if (response == null || response.size() != size) {
+      throw new IllegalStateException("The request did not return " + size + " objects");
+    }
+  }
+
+  /**
+   * Fires a request and processes the response on the client.
+   */
+  @Benchmark
+  public List<?> fire() {
+    Result result = new Result();
+    RfPayloads.createRequest(factory, shape, size).fire(result);
+    return result.response;
+  }
+
+  /**
+   * Processes a request on the server, from parsing the payload through the
+   * service layer and the resolution of the returned objects to encoding the
+   * response.
+   */
+  @Benchmark
+  public String process() {
+    return processor.process(request);
+  }
+}
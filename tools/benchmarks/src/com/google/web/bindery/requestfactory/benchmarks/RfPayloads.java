@@ -0,0 +1,369 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.requestfactory.benchmarks;
+
+import com.google.web.bindery.requestfactory.shared.EntityProxy;
+import com.google.web.bindery.requestfactory.shared.ProxyFor;
+import com.google.web.bindery.requestfactory.shared.Request;
+import com.google.web.bindery.requestfactory.shared.RequestContext;
+import com.google.web.bindery.requestfactory.shared.RequestFactory;
+import com.google.web.bindery.requestfactory.shared.Service;
+import com.google.web.bindery.requestfactory.shared.ValueProxy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The domain, proxy and RequestFactory types exercised by the RequestFactory
+ * benchmarks, along with the requests that each {@link Shape} fires.
+ * <p>
+ * The domain objects live in static lists, which {@link #populate(int)} fills
+ * before a benchmark runs.
+ */
+public final class RfPayloads {
+
+  /**
+   * The kinds of requests the benchmarks run.
+   */
+  public enum Shape {
+    /**
+     * Returns a list of customers, each with many properties.
+     */
+    WIDE_ENTITIES,
+
+    /**
+     * Returns a list of orders along with the line items and the chain of
+     * {@link RfPayloads#REFERRER_DEPTH} referrers of their customers.
+     */
+    DEEP_PATHS,
+
+    /**
+     * Returns a list of orders with a few properties each.
+     */
+    LARGE_LIST
+  }
+
+  /**
+   * A customer with many properties, who may have been referred by another
+   * customer.
+   */
+  public static class Customer {
+    static final List<Customer> CUSTOMERS = new ArrayList<Customer>();
+
+    public static Customer findCustomer(Long id) {
+      return CUSTOMERS.get(id.intValue());
+    }
+
+    boolean active;
+    int age;
+    double balance;
+    String city;
+    Date created;
+    String email;
+    Long id;
+    String name;
+    String phone;
+    long points;
+    Customer referrer;
+    String street;
+    List<String> tags;
+    Integer version = 1;
+
+    public int getAge() {
+      return age;
+    }
+
+    public double getBalance() {
+      return balance;
+    }
+
+    public String getCity() {
+      return city;
+    }
+
+    public Date getCreated() {
+      return created;
+    }
+
+    public String getEmail() {
+      return email;
+    }
+
+    public Long getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getPhone() {
+      return phone;
+    }
+
+    public long getPoints() {
+      return points;
+    }
+
+    public Customer getReferrer() {
+      return referrer;
+    }
+
+    public String getStreet() {
+      return street;
+    }
+
+    public List<String> getTags() {
+      return tags;
+    }
+
+    public Integer getVersion() {
+      return version;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+  }
+
+  /**
+   * The proxy type of {@link Customer}.
+   */
+  @ProxyFor(Customer.class)
+  public interface CustomerProxy extends EntityProxy {
+    int getAge();
+
+    double getBalance();
+
+    String getCity();
+
+    Date getCreated();
+
+    String getEmail();
+
+    String getName();
+
+    String getPhone();
+
+    long getPoints();
+
+    CustomerProxy getReferrer();
+
+    String getStreet();
+
+    List<String> getTags();
+
+    boolean isActive();
+  }
+
+  /**
+   * A line of an order.
+   */
+  public static class LineItem {
+    double price;
+    String product;
+    int quantity;
+
+    public double getPrice() {
+      return price;
+    }
+
+    public String getProduct() {
+      return product;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+  }
+
+  /**
+   * The proxy type of {@link LineItem}.
+   */
+  @ProxyFor(LineItem.class)
+  public interface LineItemProxy extends ValueProxy {
+    double getPrice();
+
+    String getProduct();
+
+    int getQuantity();
+  }
+
+  /**
+   * An order placed by a customer.
+   */
+  public static class Order {
+    static final List<Order> ORDERS = new ArrayList<Order>();
+
+    public static Order findOrder(Long id) {
+      return ORDERS.get(id.intValue());
+    }
+
+    Customer customer;
+    Long id;
+    List<LineItem> items;
+    String note;
+    Date placed;
+    Integer version = 1;
+
+    public Customer getCustomer() {
+      return customer;
+    }
+
+    public Long getId() {
+      return id;
+    }
+
+    public List<LineItem> getItems() {
+      return items;
+    }
+
+    public String getNote() {
+      return note;
+    }
+
+    public Date getPlaced() {
+      return placed;
+    }
+
+    public Integer getVersion() {
+      return version;
+    }
+  }
+
+  /**
+   * The proxy type of {@link Order}.
+   */
+  @ProxyFor(Order.class)
+  public interface OrderProxy extends EntityProxy {
+    CustomerProxy getCustomer();
+
+    List<LineItemProxy> getItems();
+
+    String getNote();
+
+    Date getPlaced();
+  }
+
+  /**
+   * The service that returns the domain objects.
+   */
+  public static class Store {
+    public static List<Customer> findCustomers(int count) {
+      return new ArrayList<Customer>(Customer.CUSTOMERS.subList(0, count));
+    }
+
+    public static List<Order> findOrders(int count) {
+      return new ArrayList<Order>(Order.ORDERS.subList(0, count));
+    }
+  }
+
+  /**
+   * The RequestFactory.
+   */
+  public interface StoreFactory extends RequestFactory {
+    StoreRequest store();
+  }
+
+  /**
+   * The RequestContext of {@link Store}.
+   */
+  @Service(Store.class)
+  public interface StoreRequest extends RequestContext {
+    Request<List<CustomerProxy>> findCustomers(int count);
+
+    Request<List<OrderProxy>> findOrders(int count);
+  }
+
+  public static final int REFERRER_DEPTH = 8;
+
+  /**
+   * Creates the request that a shape fires for {@code size} objects.
+   */
+  public static Request<? extends List<?>> createRequest(StoreFactory factory, Shape shape,
+      int size) {
+    switch (shape) {
+      case WIDE_ENTITIES:
+        return factory.store().findCustomers(size);
+      case DEEP_PATHS:
+        StringBuilder path = new StringBuilder("customer");
+        for (int i = 0; i < REFERRER_DEPTH; i++) {
+          path.append(".referrer");
+        }
+        return factory.store().findOrders(size).with("items", path.toString());
+      case LARGE_LIST:
+        return factory.store().findOrders(size);
+      default:
+        throw new IllegalArgumentException(shape.name());
+    }
+  }
+
+  /**
+   * Replaces the domain objects with {@code size} customers and orders. Each
+   * customer was referred by the previous one.
+   */
+  public static void populate(int size) {
+    Customer.CUSTOMERS.clear();
+    Order.ORDERS.clear();
+    for (int i = 0; i < size; i++) {
+      Customer customer = createCustomer(i);
+      if (i > 0) {
+        customer.referrer = Customer.CUSTOMERS.get(i - 1);
+      }
+      Customer.CUSTOMERS.add(customer);
+      Order.ORDERS.add(createOrder(i, customer));
+    }
+  }
+
+  private static Customer createCustomer(int i) {
+    Customer customer = new Customer();
+    customer.active = i % 2 == 0;
+    customer.age = 20 + i % 50;
+    customer.balance = i * 1.5;
+    customer.city = "City " + i % 100;
+    customer.created = new Date(1000000000000L + i * 1000L);
+    customer.email = "customer" + i + "@example.com";
+    customer.id = (long) i;
+    customer.name = "Customer " + i;
+    customer.phone = "+1 555 " + (1000000 + i);
+    customer.points = i * 100L;
+    customer.street = i + " Main Street";
+    customer.tags = Arrays.asList("tag" + i % 5, "tag" + i % 11);
+    return customer;
+  }
+
+  private static Order createOrder(int i, Customer customer) {
+    Order order = new Order();
+    order.customer = customer;
+    order.id = (long) i;
+    order.items = new ArrayList<LineItem>();
+    for (int j = 0; j < 3; j++) {
+      LineItem item = new LineItem();
+      item.price = j + 0.99;
+      item.product = "Product " + (i + j) % 50;
+      item.quantity = j + 1;
+      order.items.add(item);
+    }
+    order.note = "Order " + i;
+    order.placed = new Date(1000000000000L + i * 60000L);
+    return order;
+  }
+
+  private RfPayloads() {
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.requestfactory.benchmarks;
+
+import com.google.web.bindery.requestfactory.benchmarks.RfPayloads.Customer;
+import com.google.web.bindery.requestfactory.benchmarks.RfPayloads.CustomerProxy;
+import com.google.web.bindery.requestfactory.benchmarks.RfPayloads.StoreFactory;
+import com.google.web.bindery.requestfactory.server.ServiceLayer;
+import com.google.web.bindery.requestfactory.shared.BaseProxy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the calls that {@code SimpleRequestProcessor} makes on the default
+ * {@link ServiceLayer}, which reach the domain through reflection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class ServiceLayerBenchmark {
+
+  private static final String[] PROPERTIES = {
+      "active", "age", "balance", "city", "created", "email", "name", "phone", "points",
+      "referrer", "street", "tags"};
+
+  @Param({"10", "1000"})
+  int size;
+
+  private List<Object> customers;
+  private List<Object> ids;
+  private ServiceLayer serviceLayer;
+
+  @Setup
+  public void setUp() {
+    RfPayloads.populate(size);
+    serviceLayer = ServiceLayer.create();
+    // Registers the proxy types, as the first request from a factory does
+    serviceLayer.resolveRequestFactory(StoreFactory.class.getName());
+    customers = new ArrayList<Object>(Customer.CUSTOMERS);
+    ids = serviceLayer.getIds(customers);
+  }
+
+  /**
+   * Reads every property of every customer.
+   */
+  @Benchmark
+  public int getProperties() {
+    int found = 0;
+    for (Object customer : customers) {
+      for (String property : PROPERTIES) {
+        if (serviceLayer.getProperty(customer, property) != null) {
+          found++;
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Reads the versions of all customers and checks that they are live.
+   */
+  @Benchmark
+  public int getVersionsAndLiveness() {
+    List<Object> versions = serviceLayer.getVersions(customers);
+    List<Boolean> live = serviceLayer.areLive(customers);
+    return versions.size() + live.size();
+  }
+
+  /**
+   * Loads all customers by id.
+   */
+  @Benchmark
+  public List<Object> loadDomainObjects() {
+    List<Class<?>> classes = Collections.<Class<?>> nCopies(size, Customer.class);
+    return serviceLayer.loadDomainObjects(classes, ids);
+  }
+
+  /**
+   * Maps a domain type to its proxy type and back, as done for every object
+   * in a response.
+   */
+  @Benchmark
+  public Class<?> resolveTypes() {
+    Class<? extends BaseProxy> proxyType =
+        serviceLayer.resolveClientType(Customer.class, BaseProxy.class, true);
+    if (!CustomerProxy.class.equals(proxyType)) {
+      throw new IllegalStateException(String.valueOf(proxyType));
+    }
+    return serviceLayer.resolveDomainClass(proxyType);
+  }
+}
@@ -18,6 +18,7 @@ package com.google.gwt.http.client;
 import com.google.gwt.core.client.JavaScriptException;
 import com.google.gwt.xhr.client.ReadyStateChangeHandler;
 import com.google.gwt.xhr.client.XMLHttpRequest;
+import com.google.gwt.xhr.client.XMLHttpRequest.ResponseType;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -105,6 +106,12 @@ public class RequestBuilder {
    */
   private String requestData;
 
+  /**
+   * Content type of the responses that are read as an ArrayBuffer, or
+   * <code>null</code> if all responses are read as text.
+   */
+  private String arrayBufferContentType;
+
   /**
    * Timeout in milliseconds before the request timeouts and fails.
    */
@@ -203,6 +210,15 @@ public class RequestBuilder {
     return requestData;
   }
 
+  /**
+   * Returns the content type previously set by
+   * {@link #setArrayBufferContentType(String)}, or <code>null</code> if none
+   * was set.
+   */
+  public String getArrayBufferContentType() {
+    return arrayBufferContentType;
+  }
+
   /**
    * Returns the timeoutMillis previously set by {@link #setTimeoutMillis(int)},
    * or <code>0</code> if no timeoutMillis was set.
@@ -323,6 +339,19 @@ public class RequestBuilder {
     this.requestData = requestData;
   }
 
+  /**
+   * Sets the content type of the responses that are read with
+   * {@link Response#getArrayBuffer()} instead of {@link Response#getText()}.
+   * The choice is made once the headers of the response arrive, so responses
+   * of any other content type are still read as text.
+   * 
+   * @param contentType the content type, without parameters, or
+   *          <code>null</code> to read all responses as text
+   */
+  public void setArrayBufferContentType(String contentType) {
+    this.arrayBufferContentType = contentType;
+  }
+
   /**
    * Sets the number of milliseconds to wait for a request to complete. Should
    * the request timeout, the
@@ -403,11 +432,19 @@ public class RequestBuilder {
     }
 
     final Request request = new Request(xmlHttpRequest, timeoutMillis, callback);
+    final String arrayBufferContentType = this.arrayBufferContentType;
 
     // Must set the onreadystatechange handler before calling send().
     xmlHttpRequest.setOnReadyStateChange(new ReadyStateChangeHandler() {
       public void onReadyStateChange(XMLHttpRequest xhr) {
-        if (xhr.getReadyState() == XMLHttpRequest.DONE) {
+        if (arrayBufferContentType != null
+            && xhr.getReadyState() == XMLHttpRequest.HEADERS_RECEIVED) {
+          // The response type can still be changed until the body arrives
+          String contentType = xhr.getResponseHeader("Content-Type");
+          if (contentType != null && contentType.startsWith(arrayBufferContentType)) {
+            xhr.setResponseType(ResponseType.ArrayBuffer);
+          }
+        } else if (xhr.getReadyState() == XMLHttpRequest.DONE) {
           xhr.clearOnReadyStateChange();
           request.fireOnResponseReceived(callback);
         }
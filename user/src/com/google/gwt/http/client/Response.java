@@ -15,6 +15,8 @@
  */
 package com.google.gwt.http.client;
 
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
+
 /**
  * Wrapper which provides access to the components of an HTTP response.
  * 
@@ -65,6 +67,17 @@ public abstract class Response {
   public static final int SC_UNSUPPORTED_MEDIA_TYPE = 415;
   public static final int SC_USE_PROXY = 305;
 
+  /**
+   * Returns the body of the response if it was read as an ArrayBuffer, in
+   * which case {@link #getText()} cannot be used.
+   * 
+   * @return the response body, or <code>null</code> if the response is text
+   * @see RequestBuilder#setArrayBufferContentType
+   */
+  public ArrayBuffer getArrayBuffer() {
+    return null;
+  }
+
   /**
    * Returns the value of the requested header or null if the header was not
    * specified.
@@ -15,7 +15,9 @@
  */
 package com.google.gwt.http.client;
 
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
 import com.google.gwt.xhr.client.XMLHttpRequest;
+import com.google.gwt.xhr.client.XMLHttpRequest.ResponseType;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +35,15 @@ class ResponseImpl extends Response {
     assert isResponseReady();
   }
 
+  @Override
+  public ArrayBuffer getArrayBuffer() {
+    if (ResponseType.ArrayBuffer.getResponseTypeString().equals(
+        xmlHttpRequest.getResponseType())) {
+      return xmlHttpRequest.getResponseArrayBuffer();
+    }
+    return null;
+  }
+
   @Override
   public String getHeader(String header) {
     StringValidator.throwIfEmptyOrNull("header", header);
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from {@code int} keys to values that does not box the keys. Null
+ * values are permitted.
+ * <p>
+ * In client code the entries are kept in a JavaScript {@code Map} with number
+ * keys.
+ *
+ * @param <V> the value type
+ */
+public class IntHashMap<V> {
+
+  /*
+   * The entries live in parallel arrays indexed by open addressing with linear
+   * probing. A key of 0 marks a free slot, so the entry for 0 is kept aside.
+   */
+
+  private static final int MIN_CAPACITY = 8;
+
+  private static int capacityFor(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity - (capacity >> 2) <= expectedSize && capacity < (1 << 30)) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private static int mix(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private boolean hasZeroKey;
+  private int[] keys;
+  private int size;
+  private Object[] values;
+  private V zeroValue;
+
+  public IntHashMap() {
+    this(0);
+  }
+
+  /**
+   * Creates a map that holds {@code expectedSize} entries without growing.
+   */
+  public IntHashMap(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Negative size: " + expectedSize);
+    }
+    allocate(capacityFor(expectedSize));
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0);
+    Arrays.fill(values, null);
+    size = 0;
+    hasZeroKey = false;
+    zeroValue = null;
+  }
+
+  public boolean containsKey(int key) {
+    return key == 0 ? hasZeroKey : find(key) >= 0;
+  }
+
+  /**
+   * Returns the value mapped to a key, or {@code null} if there is none.
+   */
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    if (key == 0) {
+      return zeroValue;
+    }
+    int index = find(key);
+    return index < 0 ? null : (V) values[index];
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Returns a new array holding the keys of the map, in no particular order.
+   */
+  public int[] keys() {
+    int[] toReturn = new int[size()];
+    int i = 0;
+    if (hasZeroKey) {
+      toReturn[i++] = 0;
+    }
+    for (int key : keys) {
+      if (key != 0) {
+        toReturn[i++] = key;
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Maps a key to a value.
+   *
+   * @return the value previously mapped to the key, or {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public V put(int key, V value) {
+    if (key == 0) {
+      V previous = zeroValue;
+      hasZeroKey = true;
+      zeroValue = value;
+      return previous;
+    }
+    int mask = keys.length - 1;
+    int index = mix(key) & mask;
+    while (keys[index] != 0) {
+      if (keys[index] == key) {
+        V previous = (V) values[index];
+        values[index] = value;
+        return previous;
+      }
+      index = (index + 1) & mask;
+    }
+    keys[index] = key;
+    values[index] = value;
+    if (++size > keys.length - (keys.length >> 2)) {
+      rehash(keys.length << 1);
+    }
+    return null;
+  }
+
+  /**
+   * Removes the entry for a key.
+   *
+   * @return the value that was mapped to the key, or {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(int key) {
+    if (key == 0) {
+      V previous = zeroValue;
+      hasZeroKey = false;
+      zeroValue = null;
+      return previous;
+    }
+    int index = find(key);
+    if (index < 0) {
+      return null;
+    }
+    V previous = (V) values[index];
+    free(index);
+    size--;
+    return previous;
+  }
+
+  public int size() {
+    return hasZeroKey ? size + 1 : size;
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new Object[capacity];
+  }
+
+  private int find(int key) {
+    int mask = keys.length - 1;
+    int index = mix(key) & mask;
+    while (keys[index] != 0) {
+      if (keys[index] == key) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Frees a slot, moving back the entries of its probe sequence so that no
+   * lookup stops short of them.
+   */
+  private void free(int index) {
+    int mask = keys.length - 1;
+    int next = index;
+    while (true) {
+      next = (next + 1) & mask;
+      int key = keys[next];
+      if (key == 0) {
+        break;
+      }
+      int home = mix(key) & mask;
+      // Move the entry unless its home slot lies cyclically in (index, next]
+      if (index <= next ? (home <= index || home > next) : (home <= index && home > next)) {
+        keys[index] = key;
+        values[index] = values[next];
+        index = next;
+      }
+    }
+    keys[index] = 0;
+    values[index] = null;
+  }
+
+  private void rehash(int capacity) {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      int key = oldKeys[i];
+      if (key != 0) {
+        int index = mix(key) & mask;
+        while (keys[index] != 0) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = oldValues[i];
+      }
+    }
+  }
+}
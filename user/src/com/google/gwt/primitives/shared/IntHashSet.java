@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import java.util.Arrays;
+
+/**
+ * A hash set of {@code int} values that does not box them.
+ * <p>
+ * In client code the values are kept in a JavaScript {@code Map} with number
+ * keys.
+ */
+public class IntHashSet {
+
+  /*
+   * The values live in an array indexed by open addressing with linear
+   * probing. A value of 0 marks a free slot, so 0 itself is tracked aside.
+   */
+
+  private static final int MIN_CAPACITY = 8;
+
+  private static int capacityFor(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity - (capacity >> 2) <= expectedSize && capacity < (1 << 30)) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private static int mix(int value) {
+    int h = value * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private boolean hasZero;
+  private int size;
+  private int[] values;
+
+  public IntHashSet() {
+    this(0);
+  }
+
+  /**
+   * Creates a set that holds {@code expectedSize} values without growing.
+   */
+  public IntHashSet(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Negative size: " + expectedSize);
+    }
+    values = new int[capacityFor(expectedSize)];
+  }
+
+  /**
+   * Adds a value to the set.
+   *
+   * @return {@code true} if the set did not contain the value
+   */
+  public boolean add(int value) {
+    if (value == 0) {
+      boolean added = !hasZero;
+      hasZero = true;
+      return added;
+    }
+    int mask = values.length - 1;
+    int index = mix(value) & mask;
+    while (values[index] != 0) {
+      if (values[index] == value) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+    values[index] = value;
+    if (++size > values.length - (values.length >> 2)) {
+      rehash(values.length << 1);
+    }
+    return true;
+  }
+
+  public void clear() {
+    Arrays.fill(values, 0);
+    size = 0;
+    hasZero = false;
+  }
+
+  public boolean contains(int value) {
+    return value == 0 ? hasZero : find(value) >= 0;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Removes a value from the set.
+   *
+   * @return {@code true} if the set contained the value
+   */
+  public boolean remove(int value) {
+    if (value == 0) {
+      boolean removed = hasZero;
+      hasZero = false;
+      return removed;
+    }
+    int index = find(value);
+    if (index < 0) {
+      return false;
+    }
+    free(index);
+    size--;
+    return true;
+  }
+
+  public int size() {
+    return hasZero ? size + 1 : size;
+  }
+
+  /**
+   * Returns a new array holding the values of the set, in no particular order.
+   */
+  public int[] toArray() {
+    int[] toReturn = new int[size()];
+    int i = 0;
+    if (hasZero) {
+      toReturn[i++] = 0;
+    }
+    for (int value : values) {
+      if (value != 0) {
+        toReturn[i++] = value;
+      }
+    }
+    return toReturn;
+  }
+
+  private int find(int value) {
+    int mask = values.length - 1;
+    int index = mix(value) & mask;
+    while (values[index] != 0) {
+      if (values[index] == value) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Frees a slot, moving back the values of its probe sequence so that no
+   * lookup stops short of them.
+   */
+  private void free(int index) {
+    int mask = values.length - 1;
+    int next = index;
+    while (true) {
+      next = (next + 1) & mask;
+      int value = values[next];
+      if (value == 0) {
+        break;
+      }
+      int home = mix(value) & mask;
+      // Move the value unless its home slot lies cyclically in (index, next]
+      if (index <= next ? (home <= index || home > next) : (home <= index && home > next)) {
+        values[index] = value;
+        index = next;
+      }
+    }
+    values[index] = 0;
+  }
+
+  private void rehash(int capacity) {
+    int[] oldValues = values;
+    values = new int[capacity];
+    int mask = capacity - 1;
+    for (int value : oldValues) {
+      if (value != 0) {
+        int index = mix(value) & mask;
+        while (values[index] != 0) {
+          index = (index + 1) & mask;
+        }
+        values[index] = value;
+      }
+    }
+  }
+}
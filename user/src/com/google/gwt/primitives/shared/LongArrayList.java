@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of {@code long} values that does not box them.
+ * <p>
+ * Client code keeps the values in a {@code long[]}, since JavaScript numbers
+ * cannot hold every {@code long}.
+ */
+public class LongArrayList {
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private static int hash(long value) {
+    return (int) (value ^ (value >>> 32));
+  }
+
+  private long[] elements;
+  private int size;
+
+  public LongArrayList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public LongArrayList(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+    }
+    elements = new long[initialCapacity];
+  }
+
+  /**
+   * Appends a value to the end of the list.
+   */
+  public void add(long value) {
+    ensureCapacity(size + 1);
+    elements[size++] = value;
+  }
+
+  /**
+   * Inserts a value at a position, shifting the following values up.
+   */
+  public void add(int index, long value) {
+    if (index < 0 || index > size) {
+      throw outOfBounds(index);
+    }
+    ensureCapacity(size + 1);
+    System.arraycopy(elements, index, elements, index + 1, size - index);
+    elements[index] = value;
+    size++;
+  }
+
+  /**
+   * Appends values to the end of the list.
+   */
+  public void addAll(long... values) {
+    ensureCapacity(size + values.length);
+    System.arraycopy(values, 0, elements, size, values.length);
+    size += values.length;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  public boolean contains(long value) {
+    return indexOf(value) != -1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof LongArrayList)) {
+      return false;
+    }
+    LongArrayList other = (LongArrayList) o;
+    if (other.size != size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (elements[i] != other.elements[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long get(int index) {
+    checkIndex(index);
+    return elements[index];
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 1;
+    for (int i = 0; i < size; i++) {
+      // Coerce to 32 bits, since ints do not overflow in JavaScript
+      hashCode = (31 * hashCode + hash(elements[i])) | 0;
+    }
+    return hashCode;
+  }
+
+  /**
+   * Returns the index of the first occurrence of a value, or -1 if the list
+   * does not contain it.
+   */
+  public int indexOf(long value) {
+    for (int i = 0; i < size; i++) {
+      if (elements[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes the value at a position, shifting the following values down.
+   *
+   * @return the removed value
+   */
+  public long removeAt(int index) {
+    checkIndex(index);
+    long value = elements[index];
+    System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+    size--;
+    return value;
+  }
+
+  /**
+   * Replaces the value at a position.
+   *
+   * @return the previous value
+   */
+  public long set(int index, long value) {
+    checkIndex(index);
+    long previous = elements[index];
+    elements[index] = value;
+    return previous;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Sorts the values into ascending order.
+   */
+  public void sort() {
+    Arrays.sort(elements, 0, size);
+  }
+
+  /**
+   * Returns a new array holding the values of the list.
+   */
+  public long[] toArray() {
+    long[] array = new long[size];
+    System.arraycopy(elements, 0, array, 0, size);
+    return array;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(elements[i]);
+    }
+    return sb.append(']').toString();
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw outOfBounds(index);
+    }
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > elements.length) {
+      int newCapacity = Math.max(capacity, elements.length + (elements.length >> 1) + 1);
+      long[] grown = new long[newCapacity];
+      System.arraycopy(elements, 0, grown, 0, size);
+      elements = grown;
+    }
+  }
+
+  private IndexOutOfBoundsException outOfBounds(int index) {
+    return new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.client.rpc;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes the client-side proxy of a {@link RemoteService} send the calls made
+ * while the browser handles one event in a single HTTP request, which the
+ * server answers with a single response. This saves round trips on screens
+ * that make many calls at once.
+ * <p>
+ * Only the calls of methods that return <code>void</code> or
+ * {@link com.google.gwt.http.client.Request Request} are batched; those that
+ * return a {@link com.google.gwt.http.client.RequestBuilder RequestBuilder}
+ * are sent by the caller. Canceling a batched call that has been sent only
+ * keeps its callback from being called, unless the other calls of its batch
+ * are canceled too. Batched calls do not ask for binary responses, see
+ * {@link BinaryResponse}.
+ * </p>
+ * <p>
+ * The servlet must support batched requests, as
+ * <code>RemoteServiceServlet</code> does.
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BatchRequests {
+}
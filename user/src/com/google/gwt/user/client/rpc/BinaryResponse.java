@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.client.rpc;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes the client-side proxy of a {@link RemoteService} ask for binary
+ * responses, which encode numbers and strings more compactly than the default
+ * JavaScript array and are decoded without parsing. This pays off for
+ * responses that hold many numbers, such as grids of doubles or longs.
+ * <p>
+ * The server decides whether to honor the request; see
+ * <code>RemoteServiceServlet.shouldStreamResponse</code>. The proxy accepts
+ * both formats, and only asks for binary responses in browsers that support
+ * typed arrays.
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BinaryResponse {
+}
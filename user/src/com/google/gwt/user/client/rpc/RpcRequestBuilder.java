@@ -27,6 +27,14 @@ import com.google.gwt.http.client.RequestCallback;
  * {@link ServiceDefTarget#setRpcRequestBuilder}.
  */
 public class RpcRequestBuilder {
+  /**
+   * Used by {@link #doSetBatchSize}.
+   */
+  /*
+   * NB: Also used by RemoteServiceServlet.
+   */
+  public static final String BATCH_SIZE_HEADER = "X-GWT-RPC-Batch";
+
   /**
    * Used by {@link #doSetContentType}.
    */
@@ -89,6 +97,20 @@ public class RpcRequestBuilder {
     }
   }
 
+  /**
+   * Sets the number of calls carried by a batched request. Delegates to
+   * {@link #doSetBatchSize}.
+   *
+   * @param size the number of calls in the request
+   * @return <code>this</code>
+   * @see BatchRequests
+   */
+  public final RpcRequestBuilder setBatchSize(int size) {
+    assert builder != null : "Call create() first";
+    doSetBatchSize(builder, size);
+    return this;
+  }
+
   /**
    * Sets the RequestCallback to be used by the RequestBuilder. Delegates to
    * {@link #doSetCallback}.
@@ -140,6 +162,19 @@ public class RpcRequestBuilder {
     return this;
   }
 
+  /**
+   * Sets the content type of the responses that are read as an ArrayBuffer.
+   * Delegates to {@link #doSetArrayBufferContentType}.
+   * 
+   * @param contentType the content type of binary responses
+   * @return <code>this</code>
+   */
+  public final RpcRequestBuilder setArrayBufferContentType(String contentType) {
+    assert builder != null : "Call create() first";
+    doSetArrayBufferContentType(builder, contentType);
+    return this;
+  }
+
   /**
    * Called by {@link #create} to instantiate the RequestBuilder object.
    * <p>
@@ -168,6 +203,19 @@ public class RpcRequestBuilder {
     rb.setHeader(MODULE_BASE_HEADER, GWT.getModuleBaseURL());
   }
 
+  /**
+   * Called by {@link #setBatchSize}.
+   * <p>
+   * The default implementation sets the {@value #BATCH_SIZE_HEADER} header to
+   * the number of calls, which tells the server that the request is batched.
+   *
+   * @param rb the RequestBuilder that is currently being configured
+   * @param size the number of calls in the request
+   */
+  protected void doSetBatchSize(RequestBuilder rb, int size) {
+    rb.setHeader(BATCH_SIZE_HEADER, String.valueOf(size));
+  }
+
   /**
    * Called by {@link #setCallback}.
    * <p>
@@ -208,6 +256,19 @@ public class RpcRequestBuilder {
     rb.setRequestData(data);
   }
 
+  /**
+   * Called by {@link #setArrayBufferContentType}.
+   * <p>
+   * The default implementation invokes
+   * {@link RequestBuilder#setArrayBufferContentType(String)}.
+   * 
+   * @param rb the RequestBuilder that is currently being configured
+   * @param contentType the content type of binary responses
+   */
+  protected void doSetArrayBufferContentType(RequestBuilder rb, String contentType) {
+    rb.setArrayBufferContentType(contentType);
+  }
+
   /**
    * Called by {@link #setRequestId}.
    * <p>
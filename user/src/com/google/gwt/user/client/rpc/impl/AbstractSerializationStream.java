@@ -68,11 +68,17 @@ public abstract class AbstractSerializationStream {
    * Indicates that RPC token is included in the RPC payload.
    */
   public static final int FLAG_RPC_TOKEN_INCLUDED = 0x2;
+
+  /**
+   * Indicates that the client accepts a binary response, as read by
+   * {@link ClientBinarySerializationStreamReader}.
+   */
+  public static final int FLAG_BINARY_RESPONSE = 0x4;
   
   /**
    * Bit mask representing all valid flags.
    */
-  public static final int VALID_FLAGS_MASK = 0x3;
+  public static final int VALID_FLAGS_MASK = 0x7;
 
   private int flags = DEFAULT_FLAGS;
   private int version = SERIALIZATION_STREAM_VERSION;
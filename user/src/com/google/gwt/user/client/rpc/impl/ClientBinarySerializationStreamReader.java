@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.client.rpc.impl;
+
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
+import com.google.gwt.typedarrays.shared.DataViewStream;
+import com.google.gwt.typedarrays.shared.TypedArrays;
+import com.google.gwt.typedarrays.shared.Uint8Array;
+import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
+import com.google.gwt.user.client.rpc.SerializationException;
+
+/**
+ * Reads the binary responses that the server sends when the request has the
+ * {@link #FLAG_BINARY_RESPONSE} flag. Unlike the text format, which is read
+ * from its end, a binary response is read from its start:
+ * <ul>
+ * <li>{@link #RETURN_VALUE} or {@link #THROWN_EXCEPTION}, as one byte</li>
+ * <li>the version, the flags and the number of strings in the string table</li>
+ * <li>the string table, each string as its length in bytes followed by one to
+ * three bytes for each of its UTF-16 code units, encoded like UTF-8</li>
+ * <li>the payload, in the order it was written</li>
+ * </ul>
+ * Ints, shorts and bytes are zigzag varints, chars are varints and booleans
+ * are single bytes. Longs and doubles take eight bytes and floats four, all
+ * little-endian. References to strings and objects are ints, as in the text
+ * format.
+ * <p>
+ * This class is used both in web mode and on the JVM.
+ * </p>
+ */
+public final class ClientBinarySerializationStreamReader extends
+    AbstractSerializationStreamReader {
+
+  /**
+   * The first byte of a response that encodes the value returned by the
+   * service method.
+   */
+  public static final int RETURN_VALUE = 0;
+
+  /**
+   * The first byte of a response that encodes an exception thrown by the
+   * service method.
+   */
+  public static final int THROWN_EXCEPTION = 1;
+
+  /**
+   * Decodes a response that is not binary, such as a text response or an
+   * error page, as UTF-8.
+   */
+  public static String decodeText(ArrayBuffer encoded) {
+    DataViewStream stream = new DataViewStream(TypedArrays.createDataView(encoded));
+    return decodeString(stream, encoded.byteLength());
+  }
+
+  /**
+   * Returns <code>true</code> if the response is binary rather than text,
+   * which starts with <code>//</code>.
+   */
+  public static boolean isBinary(ArrayBuffer encoded) {
+    return isReturnValue(encoded) || isThrownException(encoded);
+  }
+
+  /**
+   * Returns <code>true</code> if the binary response encodes the value
+   * returned by the service method.
+   */
+  public static boolean isReturnValue(ArrayBuffer encoded) {
+    return getFirstByte(encoded) == RETURN_VALUE;
+  }
+
+  /**
+   * Returns <code>true</code> if the binary response encodes an exception
+   * thrown by the service method.
+   */
+  public static boolean isThrownException(ArrayBuffer encoded) {
+    return getFirstByte(encoded) == THROWN_EXCEPTION;
+  }
+
+  private static String decodeString(DataViewStream stream, int byteLength) {
+    // Each byte decodes to at most one char
+    char[] chars = new char[byteLength];
+    int length = 0;
+    int end = stream.position() + byteLength;
+    while (stream.position() < end) {
+      int b = stream.getUint8();
+      if (b < 0x80) {
+        chars[length++] = (char) b;
+      } else if (b < 0xE0) {
+        chars[length++] = (char) (((b & 0x1F) << 6) | (stream.getUint8() & 0x3F));
+      } else if (b < 0xF0) {
+        int b1 = stream.getUint8() & 0x3F;
+        chars[length++] = (char) (((b & 0x0F) << 12) | (b1 << 6) | (stream.getUint8() & 0x3F));
+      } else {
+        // Four bytes, as written by UTF-8 encoders for supplementary characters
+        int b1 = stream.getUint8() & 0x3F;
+        int b2 = stream.getUint8() & 0x3F;
+        int codePoint = (((b & 0x07) << 18) | (b1 << 12) | (b2 << 6)
+            | (stream.getUint8() & 0x3F)) - 0x10000;
+        chars[length++] = (char) (0xD800 | (codePoint >> 10));
+        chars[length++] = (char) (0xDC00 | (codePoint & 0x3FF));
+      }
+    }
+    return new String(chars, 0, length);
+  }
+
+  private static int getFirstByte(ArrayBuffer encoded) {
+    return encoded.byteLength() == 0 ? -1 : TypedArrays.createDataView(encoded).getUint8(0);
+  }
+
+  private final Serializer serializer;
+
+  private DataViewStream stream;
+
+  private String[] stringTable;
+
+  public ClientBinarySerializationStreamReader(Serializer serializer) {
+    this.serializer = serializer;
+  }
+
+  /**
+   * Prepares to read a binary response.
+   */
+  public void prepareToRead(ArrayBuffer encoded) throws SerializationException {
+    stream = new DataViewStream(TypedArrays.createDataView(encoded));
+
+    // Skip RETURN_VALUE or THROWN_EXCEPTION
+    stream.getUint8();
+    super.prepareToRead(null);
+
+    if (getVersion() < SERIALIZATION_STREAM_MIN_VERSION
+        || getVersion() > SERIALIZATION_STREAM_MAX_VERSION) {
+      throw new IncompatibleRemoteServiceException("Got version " + getVersion()
+          + ", expected version between " + SERIALIZATION_STREAM_MIN_VERSION + " and "
+          + SERIALIZATION_STREAM_MAX_VERSION);
+    }
+
+    if (!areFlagsValid()) {
+      throw new IncompatibleRemoteServiceException("Got an unknown flag from "
+          + "server: " + getFlags());
+    }
+
+    stringTable = new String[readInt()];
+    for (int i = 0; i < stringTable.length; i++) {
+      stringTable[i] = decodeString(stream, readVarint());
+    }
+  }
+
+  /**
+   * Prepares to read a binary response held in a string with one char for
+   * each byte, such as the result of <code>window.atob</code>.
+   */
+  @Override
+  public void prepareToRead(String encoded) throws SerializationException {
+    Uint8Array bytes = TypedArrays.createUint8Array(encoded.length());
+    for (int i = 0; i < bytes.length(); i++) {
+      char c = encoded.charAt(i);
+      if (c > 0xFF) {
+        throw new SerializationException("Not a binary string, found char " + (int) c
+            + " at index " + i);
+      }
+      bytes.set(i, c);
+    }
+    prepareToRead(bytes.buffer());
+  }
+
+  @Override
+  public boolean readBoolean() {
+    return stream.getUint8() != 0;
+  }
+
+  @Override
+  public byte readByte() {
+    return (byte) readInt();
+  }
+
+  @Override
+  public char readChar() {
+    return (char) readVarint();
+  }
+
+  @Override
+  public double readDouble() {
+    return stream.getFloat64(true);
+  }
+
+  @Override
+  public float readFloat() {
+    return stream.getFloat32(true);
+  }
+
+  @Override
+  public int readInt() {
+    int value = readVarint();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  @Override
+  public long readLong() {
+    int low = stream.getInt32(true);
+    int high = stream.getInt32(true);
+    return ((long) high << 32) | (low & 0xFFFFFFFFL);
+  }
+
+  @Override
+  public short readShort() {
+    return (short) readInt();
+  }
+
+  @Override
+  public String readString() {
+    return getString(readInt());
+  }
+
+  @Override
+  protected Object deserialize(String typeSignature)
+      throws SerializationException {
+    int id = reserveDecodedObjectIndex();
+    Object instance = serializer.instantiate(this, typeSignature);
+    rememberDecodedObject(id, instance);
+    serializer.deserialize(this, instance, typeSignature);
+    return instance;
+  }
+
+  @Override
+  protected String getString(int index) {
+    // index is 1-based
+    return index > 0 ? stringTable[index - 1] : null;
+  }
+
+  /**
+   * Reads an unsigned value written seven bits at a time, least significant
+   * first.
+   */
+  private int readVarint() {
+    int value = 0;
+    int shift = 0;
+    int b;
+    do {
+      b = stream.getUint8();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
@@ -20,6 +20,8 @@ import com.google.gwt.http.client.Request;
 import com.google.gwt.http.client.RequestBuilder;
 import com.google.gwt.http.client.RequestCallback;
 import com.google.gwt.http.client.RequestException;
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
+import com.google.gwt.typedarrays.shared.TypedArrays;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.gwt.user.client.rpc.HasRpcToken;
 import com.google.gwt.user.client.rpc.InvocationException;
@@ -47,6 +49,12 @@ public abstract class RemoteServiceProxy implements SerializationStreamFactory,
    */
   private static final String RPC_CONTENT_TYPE = "text/x-gwt-rpc; charset=utf-8";
 
+  /**
+   * The content type of binary responses, which the server only sends to
+   * clients that ask for them.
+   */
+  private static final String BINARY_RESPONSE_CONTENT_TYPE = "application/octet-stream";
+
   /**
    * A helper class that prepares the service to serialize data.
    */
@@ -209,6 +217,8 @@ public abstract class RemoteServiceProxy implements SerializationStreamFactory,
    */
   private String remoteServiceURL;
 
+  private RequestBatcher requestBatcher;
+
   private RpcRequestBuilder rpcRequestBuilder;
 
   private RpcToken rpcToken;
@@ -260,6 +270,24 @@ public abstract class RemoteServiceProxy implements SerializationStreamFactory,
     return clientSerializationStreamReader;
   }
 
+  /**
+   * Returns a {@link com.google.gwt.user.client.rpc.SerializationStreamReader
+   * SerializationStreamReader} that is ready for reading a binary response.
+   *
+   * @param encoded the binary response of an RPC request
+   * @return {@link com.google.gwt.user.client.rpc.SerializationStreamReader
+   *         SerializationStreamReader} that is ready for reading
+   * @throws SerializationException
+   * @see ClientBinarySerializationStreamReader
+   */
+  public SerializationStreamReader createStreamReader(ArrayBuffer encoded)
+      throws SerializationException {
+    ClientBinarySerializationStreamReader clientBinarySerializationStreamReader =
+        new ClientBinarySerializationStreamReader(serializer);
+    clientBinarySerializationStreamReader.prepareToRead(encoded);
+    return clientBinarySerializationStreamReader;
+  }
+
   /**
    * Returns a {@link com.google.gwt.user.client.rpc.SerializationStreamWriter
    * SerializationStreamWriter} that has had
@@ -277,6 +305,10 @@ public abstract class RemoteServiceProxy implements SerializationStreamFactory,
     ClientSerializationStreamWriter clientSerializationStreamWriter = new ClientSerializationStreamWriter(
         serializer, moduleBaseURL, serializationPolicyName);
     clientSerializationStreamWriter.prepareToWrite();
+    if (acceptsBinaryResponse()) {
+      clientSerializationStreamWriter.addFlags(
+          AbstractSerializationStream.FLAG_BINARY_RESPONSE);
+    }
     return clientSerializationStreamWriter;
   }
 
@@ -341,6 +373,28 @@ public abstract class RemoteServiceProxy implements SerializationStreamFactory,
   protected void checkRpcTokenType(RpcToken token) {
   }
 
+  /**
+   * This method is overridden by generated proxy classes to return
+   * <code>true</code> if the service is annotated with
+   * {@link com.google.gwt.user.client.rpc.BinaryResponse}.
+   *
+   * @return <code>true</code> if the service asks for binary responses
+   */
+  protected boolean isBinaryResponseRequested() {
+    return false;
+  }
+
+  /**
+   * This method is overridden by generated proxy classes to return
+   * <code>true</code> if the service is annotated with
+   * {@link com.google.gwt.user.client.rpc.BatchRequests}.
+   *
+   * @return <code>true</code> if the calls of the service are batched
+   */
+  protected boolean isRequestBatchingEnabled() {
+    return false;
+  }
+
   protected <T> RequestCallback doCreateRequestCallback(
       ResponseReader responseReader, String methodName, RpcStatsContext statsContext,
       AsyncCallback<T> callback) {
@@ -350,7 +404,9 @@ public abstract class RemoteServiceProxy implements SerializationStreamFactory,
 
   /**
    * Performs a remote service method invocation. This method is called by
-   * generated proxy classes.
+   * generated proxy classes. If {@link #isRequestBatchingEnabled()}, the
+   * invocation is sent along with the other invocations made while the browser
+   * handles the current event.
    *
    * @param <T> return type for the AsyncCallback
    * @param responseReader instance used to read the return value of the
@@ -365,6 +421,17 @@ public abstract class RemoteServiceProxy implements SerializationStreamFactory,
       String methodName, RpcStatsContext statsContext, String requestData,
       AsyncCallback<T> callback) {
 
+    if (isRequestBatchingEnabled()) {
+      if (getServiceEntryPoint() == null) {
+        throw new NoServiceEntryPointSpecifiedException();
+      }
+      if (requestBatcher == null) {
+        requestBatcher = new RequestBatcher(this);
+      }
+      return requestBatcher.add(methodName, statsContext, requestData,
+          doCreateRequestCallback(responseReader, methodName, statsContext, callback));
+    }
+
     RequestBuilder rb = doPrepareRequestBuilderImpl(responseReader, methodName,
         statsContext, requestData, callback);
 
@@ -433,16 +500,46 @@ public abstract class RemoteServiceProxy implements SerializationStreamFactory,
     RequestCallback responseHandler = doCreateRequestCallback(responseReader,
         methodName, statsContext, callback);
 
+    return prepareRequestBuilder(responseHandler, requestData, statsContext.getRequestId(), 1);
+  }
+
+  /**
+   * Configures a RequestBuilder to send the payload of one or more RPC calls.
+   * Used by {@link RequestBatcher}.
+   *
+   * @param callback the callback that handles the response
+   * @param requestData the payload of a call, or the batched payloads of
+   *          <code>batchSize</code> calls
+   * @param requestId the id of the request
+   * @param batchSize the number of calls in the payload
+   * @return a RequestBuilder object that is ready to have its
+   *         {@link RequestBuilder#send()} method invoked.
+   */
+  RequestBuilder prepareRequestBuilder(RequestCallback callback, String requestData,
+      int requestId, int batchSize) {
     ensureRpcRequestBuilder();
 
     rpcRequestBuilder.create(getServiceEntryPoint());
-    rpcRequestBuilder.setCallback(responseHandler);
+    rpcRequestBuilder.setCallback(callback);
     rpcRequestBuilder.setContentType(RPC_CONTENT_TYPE);
     rpcRequestBuilder.setRequestData(requestData);
-    rpcRequestBuilder.setRequestId(statsContext.getRequestId());
+    rpcRequestBuilder.setRequestId(requestId);
+    if (batchSize > 1) {
+      rpcRequestBuilder.setBatchSize(batchSize);
+    }
+    if (acceptsBinaryResponse()) {
+      // Servers that do not support binary responses answer in text
+      rpcRequestBuilder.setArrayBufferContentType(BINARY_RESPONSE_CONTENT_TYPE);
+    }
     return rpcRequestBuilder.finish();
   }
 
+  private boolean acceptsBinaryResponse() {
+    // Batched responses are text
+    return isBinaryResponseRequested() && !isRequestBatchingEnabled()
+        && TypedArrays.isSupported();
+  }
+
   private void ensureRpcRequestBuilder() {
     if (rpcRequestBuilder == null) {
       rpcRequestBuilder = new RpcRequestBuilder();
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.client.rpc.impl;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.http.client.Header;
+import com.google.gwt.http.client.Request;
+import com.google.gwt.http.client.RequestCallback;
+import com.google.gwt.http.client.RequestException;
+import com.google.gwt.http.client.Response;
+import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
+import com.google.gwt.user.client.rpc.InvocationException;
+import com.google.gwt.user.client.rpc.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the calls that a {@link RemoteServiceProxy} makes while the browser
+ * handles one event and sends them in a single request, then hands each call
+ * its part of the response. A lone call is sent as an ordinary request.
+ *
+ * @see com.google.gwt.user.client.rpc.BatchRequests
+ * @see RpcBatch
+ */
+final class RequestBatcher implements ScheduledCommand {
+
+  /**
+   * The calls sent in one request.
+   */
+  private static class Batch implements RequestCallback {
+    private final List<Call> calls;
+    private int pendingCalls;
+    private Request request;
+
+    Batch(List<Call> calls) {
+      this.calls = calls;
+      this.pendingCalls = calls.size();
+    }
+
+    public void onError(Request request, Throwable exception) {
+      for (Call call : calls) {
+        if (call.complete()) {
+          call.onError(exception);
+        }
+      }
+    }
+
+    public void onResponseReceived(Request request, Response response) {
+      List<String> responses = null;
+      Throwable caught = null;
+      String text = response.getText();
+      // Anything but a batched response, like an error page, is every call's
+      if (calls.size() > 1 && response.getStatusCode() == Response.SC_OK && text != null
+          && RpcBatch.isResponse(text)) {
+        try {
+          responses = RpcBatch.decodeResponse(text);
+          if (responses.size() != calls.size()) {
+            caught = new InvocationException("Got " + responses.size()
+                + " responses to a batch of " + calls.size() + " calls");
+          }
+        } catch (SerializationException e) {
+          caught = new IncompatibleRemoteServiceException(
+              "The batched response could not be decoded", e);
+        }
+      }
+
+      for (int i = 0; i < calls.size(); i++) {
+        Call call = calls.get(i);
+        if (!call.complete()) {
+          continue;
+        }
+        if (caught != null) {
+          call.onError(caught);
+        } else if (responses != null) {
+          call.onResponseReceived(new BatchedResponse(response, responses.get(i)));
+        } else {
+          call.onResponseReceived(response);
+        }
+      }
+    }
+
+    void onCancel() {
+      if (--pendingCalls == 0 && request != null) {
+        request.cancel();
+      }
+    }
+  }
+
+  /**
+   * The part of a batched response that belongs to one call.
+   */
+  private static class BatchedResponse extends Response {
+    private final Response response;
+    private final String text;
+
+    BatchedResponse(Response response, String text) {
+      this.response = response;
+      this.text = text;
+    }
+
+    @Override
+    public String getHeader(String header) {
+      return response.getHeader(header);
+    }
+
+    @Override
+    public Header[] getHeaders() {
+      return response.getHeaders();
+    }
+
+    @Override
+    public String getHeadersAsString() {
+      return response.getHeadersAsString();
+    }
+
+    @Override
+    public int getStatusCode() {
+      // An empty response stands for a call that failed on the server
+      return text.length() == 0 ? SC_INTERNAL_SERVER_ERROR : response.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() {
+      return text.length() == 0 ? "Internal Server Error" : response.getStatusText();
+    }
+
+    @Override
+    public String getText() {
+      return text;
+    }
+  }
+
+  /**
+   * A call, which is returned to the caller of the service method.
+   */
+  private class Call extends Request {
+    private Batch batch;
+    private final RequestCallback callback;
+    private boolean complete;
+    private final String methodName;
+    private final String requestData;
+    private final RpcStatsContext statsContext;
+
+    Call(String methodName, RpcStatsContext statsContext, String requestData,
+        RequestCallback callback) {
+      this.methodName = methodName;
+      this.statsContext = statsContext;
+      this.requestData = requestData;
+      this.callback = callback;
+    }
+
+    /**
+     * Cancels the call. Once its batch has been sent, the request is only
+     * canceled with the last of its calls.
+     */
+    @Override
+    public void cancel() {
+      if (!complete()) {
+        return;
+      }
+      if (batch == null) {
+        pendingCalls.remove(this);
+      } else {
+        batch.onCancel();
+      }
+    }
+
+    @Override
+    public boolean isPending() {
+      return !complete;
+    }
+
+    /**
+     * Marks the call as complete. Returns <code>false</code> if it already
+     * was.
+     */
+    boolean complete() {
+      if (complete) {
+        return false;
+      }
+      complete = true;
+      return true;
+    }
+
+    void onError(Throwable exception) {
+      try {
+        callback.onError(this, exception);
+      } catch (Throwable e) {
+        // Do not keep the other calls of the batch from completing
+        GWT.reportUncaughtException(e);
+      }
+    }
+
+    void onResponseReceived(Response response) {
+      try {
+        callback.onResponseReceived(this, response);
+      } catch (Throwable e) {
+        GWT.reportUncaughtException(e);
+      }
+    }
+  }
+
+  private List<Call> pendingCalls = new ArrayList<Call>();
+
+  private final RemoteServiceProxy proxy;
+
+  RequestBatcher(RemoteServiceProxy proxy) {
+    this.proxy = proxy;
+  }
+
+  /**
+   * Adds a call to the next batch, which is sent once the browser is done
+   * handling the current event.
+   *
+   * @param methodName the name of the service method, for statistics
+   * @param statsContext the statistics context of the call
+   * @param requestData the payload of the call
+   * @param callback the callback that reads the response of the call
+   * @return a {@link Request} that can be used to cancel the call
+   */
+  Request add(String methodName, RpcStatsContext statsContext, String requestData,
+      RequestCallback callback) {
+    if (pendingCalls.isEmpty()) {
+      Scheduler.get().scheduleFinally(this);
+    }
+    Call call = new Call(methodName, statsContext, requestData, callback);
+    pendingCalls.add(call);
+    return call;
+  }
+
+  /**
+   * Sends the pending calls.
+   */
+  public void execute() {
+    List<Call> calls = pendingCalls;
+    if (calls.isEmpty()) {
+      return;
+    }
+    pendingCalls = new ArrayList<Call>();
+
+    Batch batch = new Batch(calls);
+    String requestData;
+    if (calls.size() == 1) {
+      requestData = calls.get(0).requestData;
+    } else {
+      List<String> payloads = new ArrayList<String>(calls.size());
+      for (Call call : calls) {
+        payloads.add(call.requestData);
+      }
+      requestData = RpcBatch.encode(payloads);
+    }
+    for (Call call : calls) {
+      call.batch = batch;
+    }
+
+    Call first = calls.get(0);
+    try {
+      batch.request = proxy.prepareRequestBuilder(batch, requestData,
+          first.statsContext.getRequestId(), calls.size()).send();
+    } catch (RequestException ex) {
+      for (Call call : calls) {
+        if (call.complete()) {
+          call.onError(new InvocationException(
+              "Unable to initiate the asynchronous service invocation ("
+              + call.methodName + ") -- check the network connection", ex));
+        }
+      }
+    } finally {
+      for (Call call : calls) {
+        if (call.statsContext.isStatsAvailable()) {
+          call.statsContext.stats(call.statsContext.bytesStat(call.methodName,
+              call.requestData.length(), "requestSent"));
+        }
+      }
+    }
+  }
+}
@@ -18,6 +18,7 @@ package com.google.gwt.user.client.rpc.impl;
 import com.google.gwt.http.client.Request;
 import com.google.gwt.http.client.RequestCallback;
 import com.google.gwt.http.client.Response;
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
 import com.google.gwt.user.client.rpc.InvocationException;
@@ -199,13 +200,30 @@ public class RequestCallbackAdapter<T> implements RequestCallback {
     T result = null;
     Throwable caught = null;
     try {
-      String encodedResponse = response.getText();
+      ArrayBuffer binaryResponse = response.getArrayBuffer();
       int statusCode = response.getStatusCode();
+      // The server may answer a request for a binary response with text
+      boolean isBinary = binaryResponse != null && statusCode == Response.SC_OK
+          && ClientBinarySerializationStreamReader.isBinary(binaryResponse);
+      String encodedResponse = null;
+      if (!isBinary) {
+        encodedResponse = binaryResponse != null
+            ? ClientBinarySerializationStreamReader.decodeText(binaryResponse) : response.getText();
+      }
+      int responseLength = isBinary ? binaryResponse.byteLength()
+          : encodedResponse == null ? 0 : encodedResponse.length();
       boolean toss = statsContext.isStatsAvailable()
           && statsContext.stats(
-              statsContext.bytesStat(methodName, encodedResponse.length(), "responseReceived"));
+              statsContext.bytesStat(methodName, responseLength, "responseReceived"));
 
-      if (statusCode != Response.SC_OK) {
+      if (isBinary) {
+        SerializationStreamReader streamReader = createStreamReader(binaryResponse);
+        if (ClientBinarySerializationStreamReader.isReturnValue(binaryResponse)) {
+          result = (T) responseReader.read(streamReader);
+        } else {
+          caught = (Throwable) streamReader.readObject();
+        }
+      } else if (statusCode != Response.SC_OK) {
         caught = new StatusCodeException(statusCode, response.getStatusText(), encodedResponse);
       } else if (encodedResponse == null) {
         // This can happen if the XHR is interrupted by the server dying
@@ -242,4 +260,13 @@ public class RequestCallbackAdapter<T> implements RequestCallback {
           && statsContext.stats(statsContext.timeStat(methodName, returned, "end"));
     }
   }
+
+  private SerializationStreamReader createStreamReader(ArrayBuffer encodedResponse)
+      throws SerializationException {
+    if (!(streamFactory instanceof RemoteServiceProxy)) {
+      throw new SerializationException("Binary responses can only be read by a "
+          + RemoteServiceProxy.class.getName());
+    }
+    return ((RemoteServiceProxy) streamFactory).createStreamReader(encodedResponse);
+  }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.client.rpc.impl;
+
+import com.google.gwt.user.client.rpc.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes and decodes the payloads of batched RPC calls, which carry the
+ * requests or the responses of several calls in one HTTP request or response.
+ * Each call is encoded as its length in characters, a colon and its payload,
+ * with no separator between calls. Responses are preceded by
+ * {@link #RESPONSE_PREFIX}, so that they can be told apart from the response
+ * of a server that does not support batching.
+ * <p>
+ * An empty response stands for a call that failed on the server without
+ * producing a response, which would have been reported with a
+ * <code>500</code> status code had it not been batched.
+ * </p>
+ * <p>
+ * This class is used both in web mode and on the JVM.
+ * </p>
+ */
+public final class RpcBatch {
+
+  /**
+   * The prefix of batched responses.
+   */
+  public static final String RESPONSE_PREFIX = "//BATCH";
+
+  /**
+   * Decodes the payloads of a batched request.
+   *
+   * @param encoded the encoded payloads
+   * @return the payloads, in the order they were encoded
+   * @throws SerializationException if <code>encoded</code> is malformed
+   */
+  public static List<String> decode(String encoded) throws SerializationException {
+    return decode(encoded, 0);
+  }
+
+  /**
+   * Decodes the payloads of a batched response.
+   *
+   * @param encoded the encoded response, including {@link #RESPONSE_PREFIX}
+   * @return the payloads, in the order they were encoded
+   * @throws SerializationException if <code>encoded</code> is malformed
+   */
+  public static List<String> decodeResponse(String encoded) throws SerializationException {
+    if (!isResponse(encoded)) {
+      throw new SerializationException("Not a batched response");
+    }
+    return decode(encoded, RESPONSE_PREFIX.length());
+  }
+
+  /**
+   * Encodes the payloads of a batched request.
+   *
+   * @param payloads the payloads of the calls
+   * @return the encoded payloads
+   */
+  public static String encode(List<String> payloads) {
+    StringBuilder encoded = new StringBuilder();
+    encode(encoded, payloads);
+    return encoded.toString();
+  }
+
+  /**
+   * Encodes the payloads of a batched response.
+   *
+   * @param payloads the payloads of the responses, empty for calls that failed
+   * @return the encoded response, including {@link #RESPONSE_PREFIX}
+   */
+  public static String encodeResponse(List<String> payloads) {
+    StringBuilder encoded = new StringBuilder(RESPONSE_PREFIX);
+    encode(encoded, payloads);
+    return encoded.toString();
+  }
+
+  /**
+   * Returns <code>true</code> if the response is a batched response.
+   */
+  public static boolean isResponse(String encoded) {
+    return encoded.startsWith(RESPONSE_PREFIX);
+  }
+
+  private static List<String> decode(String encoded, int index) throws SerializationException {
+    List<String> payloads = new ArrayList<String>();
+    while (index < encoded.length()) {
+      int colon = encoded.indexOf(':', index);
+      if (colon < 0) {
+        throw new SerializationException("Missing length at " + index);
+      }
+      int length;
+      try {
+        length = Integer.parseInt(encoded.substring(index, colon));
+      } catch (NumberFormatException e) {
+        throw new SerializationException("Malformed length at " + index, e);
+      }
+      if (length < 0 || length > encoded.length() - colon - 1) {
+        throw new SerializationException("Invalid length " + length + " at " + index);
+      }
+      int end = colon + 1 + length;
+      payloads.add(encoded.substring(colon + 1, end));
+      index = end;
+    }
+    return payloads;
+  }
+
+  private static void encode(StringBuilder encoded, List<String> payloads) {
+    for (String payload : payloads) {
+      encoded.append(payload.length()).append(':').append(payload);
+    }
+  }
+
+  private RpcBatch() {
+  }
+}
@@ -46,6 +46,8 @@ import com.google.gwt.dev.util.log.speedtracer.SpeedTracerLogger;
 import com.google.gwt.dev.util.log.speedtracer.SpeedTracerLogger.Event;
 import com.google.gwt.http.client.Request;
 import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.user.client.rpc.BatchRequests;
+import com.google.gwt.user.client.rpc.BinaryResponse;
 import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
 import com.google.gwt.user.client.rpc.RemoteServiceRelativePath;
 import com.google.gwt.user.client.rpc.RpcToken;
@@ -372,6 +374,10 @@ public class ProxyCreator {
 
     generateStreamWriterOverride(srcWriter);
 
+    generateBinaryResponseOverride(srcWriter);
+
+    generateBatchRequestsOverride(srcWriter);
+
     generateCheckRpcTokenTypeOverride(srcWriter, typeOracle, typesSentFromBrowser);
 
     srcWriter.commit(logger);
@@ -434,6 +440,34 @@ public class ProxyCreator {
     return typeName == null ? null : ('"' + typeName + '"');
   }
 
+  /**
+   * Generates an override that makes the proxy batch its calls if the service
+   * is annotated with {@link BatchRequests}.
+   */
+  protected void generateBatchRequestsOverride(SourceWriter srcWriter) {
+    if (serviceIntf.getAnnotation(BatchRequests.class) == null) {
+      return;
+    }
+    srcWriter.println("@Override");
+    srcWriter.println("protected boolean isRequestBatchingEnabled() {");
+    srcWriter.indentln("return true;");
+    srcWriter.println("}");
+  }
+
+  /**
+   * Generates an override that makes the proxy ask for binary responses if the
+   * service is annotated with {@link BinaryResponse}.
+   */
+  protected void generateBinaryResponseOverride(SourceWriter srcWriter) {
+    if (serviceIntf.getAnnotation(BinaryResponse.class) == null) {
+      return;
+    }
+    srcWriter.println("@Override");
+    srcWriter.println("protected boolean isBinaryResponseRequested() {");
+    srcWriter.indentln("return true;");
+    srcWriter.println("}");
+  }
+
   protected void generateCheckRpcTokenTypeOverride(SourceWriter srcWriter, TypeOracle typeOracle,
       SerializableTypeOracle typesSentFromBrowser) {
     JClassType rpcTokenType = typeOracle.findType(RpcToken.class.getName());
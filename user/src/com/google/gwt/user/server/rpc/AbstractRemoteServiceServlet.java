@@ -18,6 +18,7 @@ package com.google.gwt.user.server.rpc;
 import static com.google.gwt.user.client.rpc.RpcRequestBuilder.STRONG_NAME_HEADER;
 
 import java.io.IOException;
+import java.io.Reader;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -182,6 +183,21 @@ public abstract class AbstractRemoteServiceServlet extends HttpServlet {
     return RPCServletUtils.readContentAsGwtRpc(request);
   }
 
+  /**
+   * Like {@link #readContent(HttpServletRequest)}, but returns a reader of the
+   * content of the incoming request, so that the request can be decoded while
+   * it is being read. Subclasses that override <code>readContent</code> to
+   * bypass header checks should override this method too.
+   *
+   * @param request the incoming request
+   * @return a reader of the content of the incoming request, which the caller
+   *         must close
+   */
+  protected Reader getContentReader(HttpServletRequest request)
+      throws ServletException, IOException {
+    return RPCServletUtils.getContentReaderAsGwtRpc(request);
+  }
+
   /**
    * Initializes the perThreadRequest and perThreadResponse fields if they are
    * null. This will occur the first time they are accessed after an instance of
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
+import com.google.gwt.user.client.rpc.RpcTokenException;
+import com.google.gwt.user.client.rpc.SerializationException;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * A {@link RemoteServiceServlet} that does not hold on to a container thread
+ * while a service method waits for its result, using the asynchronous
+ * processing of Servlet 3.
+ * <p>
+ * A service method is implemented asynchronously by a public method with the
+ * same name which takes the parameters of the service method followed by an
+ * {@link AsyncCallback} for its result, just like the corresponding method of
+ * the client-side asynchronous interface:
+ * </p>
+ *
+ * <pre>
+ * public class StockServiceImpl extends AsyncRemoteServiceServlet
+ *     implements StockService {
+ *   public StockPrice getPrice(String symbol) {
+ *     ...
+ *   }
+ *
+ *   public void getPrice(String symbol, AsyncCallback&lt;StockPrice&gt; callback) {
+ *     quoteClient.fetch(symbol, callback);
+ *   }
+ * }
+ * </pre>
+ * <p>
+ * The response is encoded and written when the callback is called, which may
+ * happen on any thread. Until then, the request is suspended. The synchronous
+ * method is still used for requests that cannot be processed asynchronously,
+ * e.g. because the servlet is not declared with
+ * <code>&lt;async-supported&gt;true&lt;/async-supported&gt;</code>. Methods
+ * that have no asynchronous implementation are processed as by
+ * {@link RemoteServiceServlet#processStreamingCall(RPCRequest)}.
+ * </p>
+ * <p>
+ * {@link #getThreadLocalRequest()} and {@link #getThreadLocalResponse()} are
+ * only available until the asynchronous implementation returns, on the thread
+ * that called it. Failures that cannot be encoded for the client are logged
+ * and answered with a generic failure response, without calling
+ * {@link #doUnexpectedFailure(Throwable)}.
+ * </p>
+ */
+public class AsyncRemoteServiceServlet extends RemoteServiceServlet {
+
+  /**
+   * Writes the encoded response of a suspended request and resumes it.
+   */
+  private class ResponseWriter implements AsyncCallback<RPCResponse>, AsyncListener {
+    private final AsyncContext asyncContext;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+
+    ResponseWriter(AsyncContext asyncContext, HttpServletRequest request,
+        HttpServletResponse response) {
+      this.asyncContext = asyncContext;
+      this.request = request;
+      this.response = response;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      done.set(true);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      done.set(true);
+    }
+
+    @Override
+    public void onFailure(Throwable caught) {
+      if (!done.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        try {
+          response.reset();
+        } catch (IllegalStateException e) {
+          log("Unable to report failure", e);
+          return;
+        }
+        RPCServletUtils.writeResponseForUnexpectedFailure(getServletContext(), response, caught);
+      } finally {
+        asyncContext.complete();
+      }
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    @Override
+    public void onSuccess(RPCResponse responsePayload) {
+      if (!done.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        writeResponse(request, response, responsePayload);
+      } catch (Throwable e) {
+        log("Exception while writing the response to an asynchronous RPC call", e);
+      } finally {
+        asyncContext.complete();
+      }
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      onFailure(new TimeoutException("The asynchronous RPC call did not complete in time"));
+    }
+
+    boolean isDone() {
+      return done.get();
+    }
+  }
+
+  /**
+   * Asynchronous implementations by service method. Methods without an
+   * asynchronous implementation are mapped to themselves.
+   */
+  private final ConcurrentHashMap<Method, Method> asyncImplementations =
+      new ConcurrentHashMap<Method, Method>();
+
+  /**
+   * The default constructor used by service implementations that
+   * extend this class.  The servlet will delegate AJAX requests to
+   * the appropriate method in the subclass.
+   */
+  public AsyncRemoteServiceServlet() {
+    super();
+  }
+
+  /**
+   * The wrapping constructor used by service implementations that are
+   * separate from this class.  The servlet will delegate AJAX
+   * requests to the appropriate method in the given object.
+   */
+  public AsyncRemoteServiceServlet(Object delegate) {
+    super(delegate);
+  }
+
+  @Override
+  boolean processPostAsync(HttpServletRequest request, HttpServletResponse response)
+      throws IOException, ServletException, SerializationException {
+    if (!request.isAsyncSupported()) {
+      return false;
+    }
+
+    String requestPayload = readContent(request);
+    onBeforeRequestDeserialized(requestPayload);
+
+    // First, check for possible XSRF situation
+    checkPermutationStrongName();
+
+    RPCRequest rpcRequest;
+    try {
+      rpcRequest = RPC.decodeRequest(requestPayload, getDelegate().getClass(), this);
+    } catch (IncompatibleRemoteServiceException ex) {
+      log(
+          "An IncompatibleRemoteServiceException was thrown while processing this call.",
+          ex);
+      writeResponse(request, response, RPC.encodeStreamingResponseForFailedRequest(null, ex));
+      return true;
+    }
+
+    Method asyncMethod = getAsyncImplementation(rpcRequest.getMethod());
+    if (asyncMethod == null) {
+      writeResponse(request, response, processStreamingCall(rpcRequest));
+      return true;
+    }
+
+    try {
+      onAfterRequestDeserialized(rpcRequest);
+    } catch (IncompatibleRemoteServiceException ex) {
+      log(
+          "An IncompatibleRemoteServiceException was thrown while processing this call.",
+          ex);
+      writeResponse(request, response, RPC.encodeStreamingResponseForFailedRequest(rpcRequest, ex));
+      return true;
+    } catch (RpcTokenException tokenException) {
+      log("An RpcTokenException was thrown while processing this call.",
+          tokenException);
+      writeResponse(request, response,
+          RPC.encodeStreamingResponseForFailedRequest(rpcRequest, tokenException));
+      return true;
+    }
+
+    AsyncContext asyncContext = request.startAsync(request, response);
+    ResponseWriter responseWriter = new ResponseWriter(asyncContext, request, response);
+    asyncContext.addListener(responseWriter);
+    try {
+      RPC.invokeAndEncodeResponseAsync(getDelegate(), asyncMethod, rpcRequest.getMethod(),
+          rpcRequest.getParameters(), rpcRequest.getSerializationPolicy(), rpcRequest.getFlags(),
+          responseWriter);
+    } catch (RuntimeException e) {
+      if (responseWriter.isDone()) {
+        log("Exception after an asynchronous RPC call completed", e);
+      } else {
+        responseWriter.onFailure(e);
+      }
+    }
+    return true;
+  }
+
+  private Method getAsyncImplementation(Method serviceMethod) {
+    Method asyncMethod = asyncImplementations.get(serviceMethod);
+    if (asyncMethod == null) {
+      asyncMethod = RPC.getAsyncImplementation(getDelegate().getClass(), serviceMethod);
+      asyncImplementations.put(serviceMethod, asyncMethod == null ? serviceMethod : asyncMethod);
+    }
+    return asyncMethod == serviceMethod ? null : asyncMethod;
+  }
+}
@@ -15,6 +15,7 @@
  */
 package com.google.gwt.user.server.rpc;
 
+import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
 import com.google.gwt.user.client.rpc.RemoteService;
 import com.google.gwt.user.client.rpc.RpcToken;
@@ -27,6 +28,8 @@ import com.google.gwt.user.server.rpc.impl.ServerSerializationStreamReader;
 import com.google.gwt.user.server.rpc.impl.ServerSerializationStreamWriter;
 import com.google.gwt.user.server.rpc.impl.TypeNameObfuscator;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
@@ -36,6 +39,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Utility class for integrating with the RPC system. This class exposes methods
@@ -56,6 +60,64 @@ import java.util.Set;
  */
 public final class RPC {
 
+  /**
+   * Encodes the result of an asynchronous service method implementation.
+   */
+  private static class EncodingCallback implements AsyncCallback<Object> {
+    private final AsyncCallback<RPCResponse> callback;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private final int flags;
+    private final SerializationPolicy serializationPolicy;
+    private final Method serviceMethod;
+
+    EncodingCallback(Method serviceMethod, SerializationPolicy serializationPolicy, int flags,
+        AsyncCallback<RPCResponse> callback) {
+      this.serviceMethod = serviceMethod;
+      this.serializationPolicy = serializationPolicy;
+      this.flags = flags;
+      this.callback = callback;
+    }
+
+    public boolean isDone() {
+      return done.get();
+    }
+
+    @Override
+    public void onFailure(Throwable caught) {
+      markDone();
+      RPCResponse responsePayload;
+      try {
+        responsePayload =
+            encodeStreamingResponseForFailure(serviceMethod, caught, serializationPolicy, flags);
+      } catch (Throwable e) {
+        callback.onFailure(e);
+        return;
+      }
+      callback.onSuccess(responsePayload);
+    }
+
+    @Override
+    public void onSuccess(Object result) {
+      markDone();
+      RPCResponse responsePayload;
+      try {
+        responsePayload =
+            encodeStreamingResponseForSuccess(serviceMethod, result, serializationPolicy, flags);
+      } catch (Throwable e) {
+        callback.onFailure(e);
+        return;
+      }
+      callback.onSuccess(responsePayload);
+    }
+
+    private void markDone() {
+      if (!done.compareAndSet(false, true)) {
+        throw new IllegalStateException("The call to '" + getSourceRepresentation(serviceMethod)
+            + "' has already completed");
+      }
+    }
+  }
+
   /**
    * Maps primitive wrapper classes to their corresponding primitive class.
    */
@@ -238,89 +300,141 @@ public final class RPC {
       ServerSerializationStreamReader streamReader =
           new ServerSerializationStreamReader(classLoader, serializationPolicyProvider);
       streamReader.prepareToRead(encodedRequest);
+      return decodeRequest(streamReader, type, classLoader);
+    } catch (SerializationException ex) {
+      throw new IncompatibleRemoteServiceException(ex.getMessage(), ex);
+    }
+  }
 
-      RpcToken rpcToken = null;
-      if (streamReader.hasFlags(AbstractSerializationStream.FLAG_RPC_TOKEN_INCLUDED)) {
-        // Read the RPC token
-        rpcToken = (RpcToken) streamReader.deserializeValue(RpcToken.class);
-      }
+  /**
+   * Returns an {@link RPCRequest} that is built by decoding the contents of an
+   * encoded RPC request as they are read from the given reader, without
+   * holding the whole encoded request in memory. Otherwise the same as
+   * {@link #decodeRequest(String, Class, SerializationPolicyProvider)}.
+   *
+   * @param encodedRequest a reader of the encoded request, which is read until
+   *          its end but not closed
+   * @param type if not <code>null</code>, the implementation checks that the
+   *          type is assignable to the {@link RemoteService} interface encoded
+   *          in the encoded request
+   * @param serializationPolicyProvider if not <code>null</code>, the
+   *          implementation asks this provider for a
+   *          {@link SerializationPolicy} which will be used to restrict the set
+   *          of types that can be decoded from this request
+   * @param maxLength the maximum number of characters of the encoded request;
+   *          reading stops as soon as the request turns out to be longer
+   * @return an {@link RPCRequest} instance
+   *
+   * @throws IOException if reading the encoded request fails
+   * @throws NullPointerException if the encodedRequest is <code>null</code>
+   * @throws IncompatibleRemoteServiceException if the encoded request is
+   *           longer than <code>maxLength</code>, or for any of the reasons
+   *           listed in
+   *           {@link #decodeRequest(String, Class, SerializationPolicyProvider)}
+   */
+  public static RPCRequest decodeRequest(Reader encodedRequest, Class<?> type,
+      SerializationPolicyProvider serializationPolicyProvider, int maxLength)
+      throws IOException {
+    if (encodedRequest == null) {
+      throw new NullPointerException("encodedRequest cannot be null");
+    }
 
-      // Read the name of the RemoteService interface
-      String serviceIntfName = maybeDeobfuscate(streamReader, streamReader.readString());
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
 
-      if (type != null) {
-        if (!implementsInterface(type, serviceIntfName)) {
-          // The service does not implement the requested interface
-          throw new IncompatibleRemoteServiceException("Blocked attempt to access interface '"
-              + serviceIntfName + "', which is not implemented by '" + printTypeName(type)
-              + "'; this is either misconfiguration or a hack attempt");
-        }
-      }
+    try {
+      ServerSerializationStreamReader streamReader =
+          new ServerSerializationStreamReader(classLoader, serializationPolicyProvider);
+      streamReader.prepareToRead(encodedRequest, maxLength);
+      return decodeRequest(streamReader, type, classLoader);
+    } catch (SerializationException ex) {
+      throw new IncompatibleRemoteServiceException(ex.getMessage(), ex);
+    }
+  }
 
-      SerializationPolicy serializationPolicy = streamReader.getSerializationPolicy();
-      Class<?> serviceIntf;
-      try {
-        serviceIntf = getClassFromSerializedName(serviceIntfName, classLoader);
-        if (!RemoteService.class.isAssignableFrom(serviceIntf)) {
-          // The requested interface is not a RemoteService interface
-          throw new IncompatibleRemoteServiceException(
-              "Blocked attempt to access interface '"
-                  + printTypeName(serviceIntf)
-                  + "', which doesn't extend RemoteService; this is either "
-                  + "misconfiguration or a hack attempt");
-        }
-      } catch (ClassNotFoundException e) {
-        throw new IncompatibleRemoteServiceException("Could not locate requested interface '"
-            + serviceIntfName + "' in default classloader", e);
-      }
+  /**
+   * Decodes a request from a stream reader that is prepared to read.
+   */
+  private static RPCRequest decodeRequest(ServerSerializationStreamReader streamReader,
+      Class<?> type, ClassLoader classLoader) throws SerializationException {
+    RpcToken rpcToken = null;
+    if (streamReader.hasFlags(AbstractSerializationStream.FLAG_RPC_TOKEN_INCLUDED)) {
+      // Read the RPC token
+      rpcToken = (RpcToken) streamReader.deserializeValue(RpcToken.class);
+    }
 
-      String serviceMethodName = streamReader.readString();
+    // Read the name of the RemoteService interface
+    String serviceIntfName = maybeDeobfuscate(streamReader, streamReader.readString());
 
-      int paramCount = streamReader.readInt();
-      if (paramCount > streamReader.getNumberOfTokens()) {
-        throw new IncompatibleRemoteServiceException("Invalid number of parameters");
+    if (type != null) {
+      if (!implementsInterface(type, serviceIntfName)) {
+        // The service does not implement the requested interface
+        throw new IncompatibleRemoteServiceException("Blocked attempt to access interface '"
+            + serviceIntfName + "', which is not implemented by '" + printTypeName(type)
+            + "'; this is either misconfiguration or a hack attempt");
       }
-      Class<?>[] parameterTypes = new Class[paramCount];
-
-      for (int i = 0; i < parameterTypes.length; i++) {
-        String paramClassName = maybeDeobfuscate(streamReader, streamReader.readString());
+    }
 
-        try {
-          parameterTypes[i] = getClassFromSerializedName(paramClassName, classLoader);
-        } catch (ClassNotFoundException e) {
-          throw new IncompatibleRemoteServiceException("Parameter " + i
-              + " of is of an unknown type '" + paramClassName + "'", e);
-        }
+    SerializationPolicy serializationPolicy = streamReader.getSerializationPolicy();
+    Class<?> serviceIntf;
+    try {
+      serviceIntf = getClassFromSerializedName(serviceIntfName, classLoader);
+      if (!RemoteService.class.isAssignableFrom(serviceIntf)) {
+        // The requested interface is not a RemoteService interface
+        throw new IncompatibleRemoteServiceException(
+            "Blocked attempt to access interface '"
+                + printTypeName(serviceIntf)
+                + "', which doesn't extend RemoteService; this is either "
+                + "misconfiguration or a hack attempt");
       }
+    } catch (ClassNotFoundException e) {
+      throw new IncompatibleRemoteServiceException("Could not locate requested interface '"
+          + serviceIntfName + "' in default classloader", e);
+    }
+
+    String serviceMethodName = streamReader.readString();
+
+    int paramCount = streamReader.readInt();
+    if (paramCount > streamReader.getNumberOfTokens()) {
+      throw new IncompatibleRemoteServiceException("Invalid number of parameters");
+    }
+    Class<?>[] parameterTypes = new Class[paramCount];
+
+    for (int i = 0; i < parameterTypes.length; i++) {
+      String paramClassName = maybeDeobfuscate(streamReader, streamReader.readString());
 
       try {
-        Method method = serviceIntf.getMethod(serviceMethodName, parameterTypes);
+        parameterTypes[i] = getClassFromSerializedName(paramClassName, classLoader);
+      } catch (ClassNotFoundException e) {
+        throw new IncompatibleRemoteServiceException("Parameter " + i
+            + " of is of an unknown type '" + paramClassName + "'", e);
+      }
+    }
 
-        // The parameter types we have are the non-parameterized versions in the
-        // RPC stream. For stronger message verification, get the parameterized
-        // types from the method declaration.
-        Type[] methodParameterTypes = method.getGenericParameterTypes();
-        DequeMap<TypeVariable<?>, Type> resolvedTypes = new DequeMap<TypeVariable<?>, Type>();
+    try {
+      Method method = serviceIntf.getMethod(serviceMethodName, parameterTypes);
 
-        TypeVariable<Method>[] methodTypes = method.getTypeParameters();
-        for (TypeVariable<Method> methodType : methodTypes) {
-          SerializabilityUtil.resolveTypes(methodType, resolvedTypes);
-        }
+      // The parameter types we have are the non-parameterized versions in the
+      // RPC stream. For stronger message verification, get the parameterized
+      // types from the method declaration.
+      Type[] methodParameterTypes = method.getGenericParameterTypes();
+      DequeMap<TypeVariable<?>, Type> resolvedTypes = new DequeMap<TypeVariable<?>, Type>();
 
-        Object[] parameterValues = new Object[parameterTypes.length];
-        for (int i = 0; i < parameterValues.length; i++) {
-          parameterValues[i] = streamReader.deserializeValue(parameterTypes[i],
-              methodParameterTypes[i], resolvedTypes);
-        }
+      TypeVariable<Method>[] methodTypes = method.getTypeParameters();
+      for (TypeVariable<Method> methodType : methodTypes) {
+        SerializabilityUtil.resolveTypes(methodType, resolvedTypes);
+      }
 
-        return new RPCRequest(method, parameterValues, rpcToken, serializationPolicy, streamReader
-            .getFlags());
-      } catch (NoSuchMethodException e) {
-        throw new IncompatibleRemoteServiceException(formatMethodNotFoundErrorMessage(serviceIntf,
-            serviceMethodName, parameterTypes));
+      Object[] parameterValues = new Object[parameterTypes.length];
+      for (int i = 0; i < parameterValues.length; i++) {
+        parameterValues[i] = streamReader.deserializeValue(parameterTypes[i],
+            methodParameterTypes[i], resolvedTypes);
       }
-    } catch (SerializationException ex) {
-      throw new IncompatibleRemoteServiceException(ex.getMessage(), ex);
+
+      return new RPCRequest(method, parameterValues, rpcToken, serializationPolicy, streamReader
+          .getFlags());
+    } catch (NoSuchMethodException e) {
+      throw new IncompatibleRemoteServiceException(formatMethodNotFoundErrorMessage(serviceIntf,
+          serviceMethodName, parameterTypes));
     }
   }
 
@@ -342,10 +456,30 @@ public final class RPC {
   public static String encodeResponseForFailedRequest(RPCRequest rpcRequest, Throwable cause)
       throws SerializationException {
     if (rpcRequest == null) {
-      return RPC.encodeResponseForFailure(null, cause,
+      return encodeResponseForFailure(null, cause);
+    } else {
+      return encodeResponseForFailure(null, cause, rpcRequest.getSerializationPolicy(),
+          rpcRequest.getFlags());
+    }
+  }
+
+  /**
+   * Like {@link #encodeResponseForFailedRequest(RPCRequest, Throwable)}, but
+   * returns an {@link RPCResponse} that can be written without building the
+   * encoded string. The response is binary if the request asked for it.
+   *
+   * @param rpcRequest the RPCRequest that failed to execute, may be null
+   * @param cause the {@link Throwable} that was thrown
+   * @return the encoded exception
+   * @throws SerializationException if the result cannot be serialized
+   */
+  public static RPCResponse encodeStreamingResponseForFailedRequest(RPCRequest rpcRequest,
+      Throwable cause) throws SerializationException {
+    if (rpcRequest == null) {
+      return encodeStreamingResponseForFailure(null, cause,
           getDefaultSerializationPolicy(), AbstractSerializationStream.DEFAULT_FLAGS);
     } else {
-      return RPC.encodeResponseForFailure(null, cause,
+      return encodeStreamingResponseForFailure(null, cause,
           rpcRequest.getSerializationPolicy(), rpcRequest.getFlags());
     }
   }
@@ -403,6 +537,13 @@ public final class RPC {
 
   public static String encodeResponseForFailure(Method serviceMethod, Throwable cause,
       SerializationPolicy serializationPolicy, int flags) throws SerializationException {
+    return encodeStreamingResponseForFailure(serviceMethod, cause, serializationPolicy,
+        getTextFlags(flags)).toString();
+  }
+
+  private static RPCResponse encodeStreamingResponseForFailure(Method serviceMethod,
+      Throwable cause, SerializationPolicy serializationPolicy, int flags)
+      throws SerializationException {
     if (cause == null) {
       throw new NullPointerException("cause cannot be null");
     }
@@ -470,6 +611,13 @@ public final class RPC {
 
   public static String encodeResponseForSuccess(Method serviceMethod, Object object,
       SerializationPolicy serializationPolicy, int flags) throws SerializationException {
+    return encodeStreamingResponseForSuccess(serviceMethod, object, serializationPolicy,
+        getTextFlags(flags)).toString();
+  }
+
+  private static RPCResponse encodeStreamingResponseForSuccess(Method serviceMethod,
+      Object object, SerializationPolicy serializationPolicy, int flags)
+      throws SerializationException {
     if (serviceMethod == null) {
       throw new NullPointerException("serviceMethod cannot be null");
     }
@@ -574,6 +722,38 @@ public final class RPC {
 
   public static String invokeAndEncodeResponse(Object target, Method serviceMethod, Object[] args,
       SerializationPolicy serializationPolicy, int flags) throws SerializationException {
+    return invokeAndEncodeStreamingResponse(target, serviceMethod, args, serializationPolicy,
+        getTextFlags(flags)).toString();
+  }
+
+  /**
+   * Like
+   * {@link #invokeAndEncodeResponse(Object, Method, Object[], SerializationPolicy, int)},
+   * but returns an {@link RPCResponse} that can be written to the client
+   * without building the encoded string, which keeps the memory needed for
+   * large responses down. The response is binary if the flags include
+   * {@link AbstractSerializationStream#FLAG_BINARY_RESPONSE}.
+   *
+   * @param target instance on which to invoke the serviceMethod
+   * @param serviceMethod the method to invoke
+   * @param args arguments used for the method invocation
+   * @param serializationPolicy determines the serialization policy to be used
+   * @param flags the flags of the request
+   * @return the encoded method's return or checked exception thrown by the
+   *         method
+   *
+   * @throws NullPointerException if the serviceMethod or the
+   *           serializationPolicy are <code>null</code>
+   * @throws SecurityException if the method cannot be accessed or if the number
+   *           or type of actual and formal arguments differ
+   * @throws SerializationException if an object could not be serialized by the
+   *           stream
+   * @throws UnexpectedException if the serviceMethod throws a checked exception
+   *           that is not declared in its signature
+   */
+  public static RPCResponse invokeAndEncodeStreamingResponse(Object target, Method serviceMethod,
+      Object[] args, SerializationPolicy serializationPolicy, int flags)
+      throws SerializationException {
     if (serviceMethod == null) {
       throw new NullPointerException("serviceMethod");
     }
@@ -582,11 +762,12 @@ public final class RPC {
       throw new NullPointerException("serializationPolicy");
     }
 
-    String responsePayload;
+    RPCResponse responsePayload;
     try {
       Object result = serviceMethod.invoke(target, args);
 
-      responsePayload = encodeResponseForSuccess(serviceMethod, result, serializationPolicy, flags);
+      responsePayload =
+          encodeStreamingResponseForSuccess(serviceMethod, result, serializationPolicy, flags);
     } catch (IllegalAccessException e) {
       SecurityException securityException =
           new SecurityException(formatIllegalAccessErrorMessage(target, serviceMethod));
@@ -602,12 +783,119 @@ public final class RPC {
       //
       Throwable cause = e.getCause();
 
-      responsePayload = encodeResponseForFailure(serviceMethod, cause, serializationPolicy, flags);
+      responsePayload =
+          encodeStreamingResponseForFailure(serviceMethod, cause, serializationPolicy, flags);
     }
 
     return responsePayload;
   }
 
+  /**
+   * Returns the method of a service implementation that implements a service
+   * method asynchronously, or <code>null</code> if there is none. Such a
+   * method is public, returns <code>void</code> and takes the parameters of
+   * the service method followed by an {@link AsyncCallback} for its result,
+   * like the corresponding method of the client-side asynchronous interface.
+   *
+   * @param implementation the class of the service implementation
+   * @param serviceMethod the service method
+   * @return the asynchronous implementation of the method or <code>null</code>
+   */
+  public static Method getAsyncImplementation(Class<?> implementation, Method serviceMethod) {
+    Class<?>[] parameterTypes = serviceMethod.getParameterTypes();
+    Class<?>[] asyncParameterTypes = Arrays.copyOf(parameterTypes, parameterTypes.length + 1);
+    asyncParameterTypes[parameterTypes.length] = AsyncCallback.class;
+    try {
+      Method asyncMethod = implementation.getMethod(serviceMethod.getName(), asyncParameterTypes);
+      return asyncMethod.getReturnType() == void.class ? asyncMethod : null;
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Calls the asynchronous implementation of a service method, and encodes the
+   * value it passes to its callback or the exception it fails with once it
+   * completes. The encoded response is passed to the given callback, which may
+   * be called by any thread, possibly before this method returns.
+   * <p>
+   * The given callback fails if the result cannot be encoded, e.g. because the
+   * implementation failed with an exception that is not declared by the
+   * service method ({@link UnexpectedException}) or the result cannot be
+   * serialized ({@link SerializationException}).
+   * </p>
+   * <p>
+   * This method does no security checking; security checking must be done on
+   * the method prior to this invocation.
+   * </p>
+   *
+   * @param target instance on which to invoke the asyncMethod
+   * @param asyncMethod the asynchronous implementation of the serviceMethod, as
+   *          returned by {@link #getAsyncImplementation(Class, Method)}
+   * @param serviceMethod the service method whose result is encoded
+   * @param args arguments of the serviceMethod
+   * @param serializationPolicy determines the serialization policy to be used
+   * @param flags the flags of the request
+   * @param callback called with the encoded response
+   *
+   * @throws NullPointerException if the asyncMethod, the serviceMethod or the
+   *           serializationPolicy are <code>null</code>
+   * @throws SecurityException if the method cannot be accessed or if the number
+   *           or type of actual and formal arguments differ
+   */
+  public static void invokeAndEncodeResponseAsync(Object target, Method asyncMethod,
+      Method serviceMethod, Object[] args, SerializationPolicy serializationPolicy, int flags,
+      AsyncCallback<RPCResponse> callback) {
+    if (asyncMethod == null) {
+      throw new NullPointerException("asyncMethod");
+    }
+
+    if (serviceMethod == null) {
+      throw new NullPointerException("serviceMethod");
+    }
+
+    if (serializationPolicy == null) {
+      throw new NullPointerException("serializationPolicy");
+    }
+
+    EncodingCallback resultCallback =
+        new EncodingCallback(serviceMethod, serializationPolicy, flags, callback);
+
+    Object[] asyncArgs = args == null ? new Object[1] : Arrays.copyOf(args, args.length + 1);
+    asyncArgs[asyncArgs.length - 1] = resultCallback;
+    try {
+      asyncMethod.invoke(target, asyncArgs);
+    } catch (IllegalAccessException e) {
+      SecurityException securityException =
+          new SecurityException(formatIllegalAccessErrorMessage(target, asyncMethod));
+      securityException.initCause(e);
+      throw securityException;
+    } catch (IllegalArgumentException e) {
+      SecurityException securityException =
+          new SecurityException(formatIllegalArgumentErrorMessage(target, asyncMethod, asyncArgs));
+      securityException.initCause(e);
+      throw securityException;
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (resultCallback.isDone()) {
+        throw new UnexpectedException("Service method '" + getSourceRepresentation(asyncMethod)
+            + "' threw an exception after completing: " + cause.toString(), cause);
+      }
+
+      // Try to encode the caught exception
+      //
+      resultCallback.onFailure(cause);
+    }
+  }
+
+  /**
+   * Returns the flags of a response that is turned into a string, which cannot
+   * be binary.
+   */
+  private static int getTextFlags(int flags) {
+    return flags & ~AbstractSerializationStream.FLAG_BINARY_RESPONSE;
+  }
+
   private static int getRpcVersion() throws SerializationException {
     int version =
         Integer.getInteger("gwt.rpc.version",
@@ -622,18 +910,19 @@ public final class RPC {
   }
 
   /**
-   * Returns a string that encodes the results of an RPC call. Private overload
-   * that takes a flag signaling the preamble of the response payload.
+   * Encodes the results of an RPC call. Private overload that takes a flag
+   * signaling the preamble of the response payload.
    * 
    * @param object the object that we wish to send back to the client
    * @param wasThrown if true, the object being returned was an exception thrown
    *          by the service method; if false, it was the result of the service
    *          method's invocation
-   * @return a string that encodes the response from a service method
+   * @return the encoded response from a service method
    * @throws SerializationException if the object cannot be serialized
    */
-  private static String encodeResponse(Class<?> responseClass, Object object, boolean wasThrown,
-      int flags, SerializationPolicy serializationPolicy) throws SerializationException {
+  private static RPCResponse encodeResponse(Class<?> responseClass, Object object,
+      boolean wasThrown, int flags, SerializationPolicy serializationPolicy)
+      throws SerializationException {
 
     ServerSerializationStreamWriter stream =
         new ServerSerializationStreamWriter(serializationPolicy, getRpcVersion());
@@ -644,8 +933,7 @@ public final class RPC {
       stream.serializeValue(object, responseClass);
     }
 
-    String bufferStr = (wasThrown ? "//EX" : "//OK") + stream.toString();
-    return bufferStr;
+    return new RPCResponse(wasThrown, stream);
   }
 
   private static String formatIllegalAccessErrorMessage(Object target, Method serviceMethod) {
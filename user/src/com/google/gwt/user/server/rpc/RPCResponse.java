@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc;
+
+import com.google.gwt.user.client.rpc.impl.ClientBinarySerializationStreamReader;
+import com.google.gwt.user.server.rpc.impl.ServerSerializationStreamWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Describes an encoded RPC response that has not been turned into a string
+ * yet. Writing it with {@link #writeTo(Writer)} produces the same characters
+ * as {@link #toString()} without holding the whole payload in memory.
+ * <p>
+ * If the client asked for a binary response with
+ * {@link com.google.gwt.user.client.rpc.impl.AbstractSerializationStream#FLAG_BINARY_RESPONSE},
+ * the response is binary instead, see {@link #isBinary()}.
+ * </p>
+ */
+public final class RPCResponse {
+
+  private final ServerSerializationStreamWriter stream;
+
+  private final boolean wasThrown;
+
+  RPCResponse(boolean wasThrown, ServerSerializationStreamWriter stream) {
+    this.wasThrown = wasThrown;
+    this.stream = stream;
+  }
+
+  /**
+   * Returns an estimate of the number of characters, or bytes if the response
+   * is binary, of the encoded response.
+   */
+  public int getEstimatedLength() {
+    return (isBinary() ? 1 : getPrefix().length()) + stream.getEstimatedLength();
+  }
+
+  /**
+   * Returns <code>true</code> if the response is binary, in which case it can
+   * only be written with {@link #writeTo(OutputStream)}.
+   */
+  public boolean isBinary() {
+    return stream.isBinary();
+  }
+
+  /**
+   * Returns <code>true</code> if the response encodes an exception thrown by
+   * the service method.
+   */
+  public boolean wasThrown() {
+    return wasThrown;
+  }
+
+  /**
+   * Returns the encoded response.
+   *
+   * @throws IllegalStateException if the response is binary
+   */
+  @Override
+  public String toString() {
+    return getPrefix() + stream.toString();
+  }
+
+  /**
+   * Writes the binary response to the given output stream, which should be
+   * buffered. The first byte is
+   * {@link ClientBinarySerializationStreamReader#RETURN_VALUE} or
+   * {@link ClientBinarySerializationStreamReader#THROWN_EXCEPTION}.
+   *
+   * @throws IOException if writing fails
+   * @throws IllegalStateException if the response is not binary
+   */
+  public void writeTo(OutputStream output) throws IOException {
+    if (!isBinary()) {
+      throw new IllegalStateException("The response is not binary");
+    }
+    output.write(wasThrown ? ClientBinarySerializationStreamReader.THROWN_EXCEPTION
+        : ClientBinarySerializationStreamReader.RETURN_VALUE);
+    stream.writeTo(output);
+  }
+
+  /**
+   * Writes the encoded response to the given writer, which should be buffered.
+   *
+   * @throws IOException if writing fails
+   * @throws IllegalStateException if the response is binary
+   */
+  public void writeTo(Writer writer) throws IOException {
+    writer.write(getPrefix());
+    stream.writeTo(writer);
+  }
+
+  private String getPrefix() {
+    return wasThrown ? "//EX" : "//OK";
+  }
+}
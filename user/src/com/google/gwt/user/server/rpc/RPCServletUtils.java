@@ -16,9 +16,16 @@
 package com.google.gwt.user.server.rpc;
 
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
 import java.util.Locale;
@@ -62,6 +69,8 @@ public class RPCServletUtils {
 
   private static final String CONTENT_TYPE_APPLICATION_JSON_UTF8 = "application/json; charset=utf-8";
 
+  private static final String CONTENT_TYPE_APPLICATION_OCTET_STREAM = "application/octet-stream";
+
   private static final String GENERIC_FAILURE_MSG = "The call failed on the server; see server log for details";
 
   private static final String GWT_RPC_CONTENT_TYPE = "text/x-gwt-rpc";
@@ -115,7 +124,19 @@ public class RPCServletUtils {
    *         length exceeds 256 bytes
    */
   public static boolean exceedsUncompressedContentLengthLimit(String content) {
-    return (content.length() * 2) > UNCOMPRESSED_BYTE_SIZE_LIMIT;
+    return exceedsUncompressedContentLengthLimit(content.length());
+  }
+
+  /**
+   * Returns <code>true</code> if the estimated UTF-8 byte length of a response
+   * content of the given number of characters exceeds 256 bytes.
+   *
+   * @param contentLength the number of characters of the response
+   * @return <code>true</code> if the response content's estimated UTF-8 byte
+   *         length exceeds 256 bytes
+   */
+  public static boolean exceedsUncompressedContentLengthLimit(int contentLength) {
+    return ((long) contentLength * 2) > UNCOMPRESSED_BYTE_SIZE_LIMIT;
   }
 
   /**
@@ -235,6 +256,56 @@ public class RPCServletUtils {
     }
   }
 
+  /**
+   * Returns a reader of the content of an {@link HttpServletRequest}, which
+   * decodes it using <code>expectedCharSet</code>, or <code>UTF-8</code> if
+   * <code>expectedCharSet</code> is <code>null</code>. Unlike
+   * {@link #readContent(HttpServletRequest, String, String)}, the content is
+   * not read up front; the caller must close the returned reader.
+   *
+   * @param request the servlet request whose content we want to read
+   * @param expectedContentType the expected content (i.e. 'type/subtype' only)
+   *          in the Content-Type request header, or <code>null</code> if no
+   *          validation is to be performed, and you are willing to allow for
+   *          some types of cross type security attacks
+   * @param expectedCharSet the expected request charset, or <code>null</code>
+   *          if no charset validation is to be performed and <code>UTF-8</code>
+   *          should be assumed
+   * @return a reader of the content of an {@link HttpServletRequest}
+   * @throws IOException if the request's input stream cannot be accessed
+   * @throws ServletException if the request's content type does not
+   *         equal the supplied <code>expectedContentType</code> or
+   *         <code>expectedCharSet</code>
+   */
+  public static Reader getContentReader(HttpServletRequest request,
+      String expectedContentType, String expectedCharSet)
+      throws IOException, ServletException {
+    if (expectedContentType != null) {
+      checkContentTypeIgnoreCase(request, expectedContentType);
+    }
+    if (expectedCharSet != null) {
+      checkCharacterEncodingIgnoreCase(request, expectedCharSet);
+    }
+
+    return new InputStreamReader(request.getInputStream(), getCharset(expectedCharSet));
+  }
+
+  /**
+   * Returns a reader of the content of an {@link HttpServletRequest}, after
+   * verifying a <code>gwt/x-gwt-rpc; charset=utf-8</code> content type.
+   *
+   * @param request the servlet request whose content we want to read
+   * @return a reader of the content of an {@link HttpServletRequest}, which
+   *         decodes it using <code>UTF-8</code>
+   * @throws IOException if the request's input stream cannot be accessed
+   * @throws ServletException if the request's content type is not
+   *         <code>gwt/x-gwt-rpc; charset=utf-8</code>, ignoring case
+   */
+  public static Reader getContentReaderAsGwtRpc(HttpServletRequest request)
+      throws IOException, ServletException {
+    return getContentReader(request, GWT_RPC_CONTENT_TYPE, CHARSET_UTF8_NAME);
+  }
+
   /**
    * Returns the content of an {@link HttpServletRequest}, after verifying a
    * <code>gwt/x-gwt-rpc; charset=utf-8</code> content type.
@@ -377,6 +448,57 @@ public class RPCServletUtils {
     response.getOutputStream().write(responseBytes);
   }
 
+  /**
+   * Write an encoded RPC response into the {@link HttpServletResponse} as it is
+   * being encoded, without building it as a string or byte array first. If
+   * <code>gzipResponse</code> is <code>true</code>, the response content is
+   * gzipped on the fly.
+   * <p>
+   * Since the length of the content is not known up front, no Content-Length
+   * header is set. Binary responses are written as
+   * <code>application/octet-stream</code>.
+   * </p>
+   *
+   * @param servletContext servlet context for this response
+   * @param response response instance
+   * @param responseContent the encoded response
+   * @param gzipResponse if <code>true</code> the response content will be gzip
+   *          encoded while being written into the response
+   * @throws IOException if writing to or closing the response's output stream
+   *           fails
+   */
+  public static void writeResponse(ServletContext servletContext,
+      HttpServletResponse response, RPCResponse responseContent, boolean gzipResponse)
+      throws IOException {
+    response.setContentType(responseContent.isBinary() ? CONTENT_TYPE_APPLICATION_OCTET_STREAM
+        : CONTENT_TYPE_APPLICATION_JSON_UTF8);
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setHeader(CONTENT_DISPOSITION, ATTACHMENT);
+
+    OutputStream output = response.getOutputStream();
+    GZIPOutputStream gzipOutputStream = null;
+    if (gzipResponse) {
+      setGzipEncodingHeader(response);
+      gzipOutputStream = new GZIPOutputStream(output, BUFFER_SIZE);
+      output = gzipOutputStream;
+    }
+
+    if (responseContent.isBinary()) {
+      OutputStream bufferedOutput = new BufferedOutputStream(output, BUFFER_SIZE);
+      responseContent.writeTo(bufferedOutput);
+      bufferedOutput.flush();
+    } else {
+      Writer writer =
+          new BufferedWriter(new OutputStreamWriter(output, CHARSET_UTF8), BUFFER_SIZE);
+      responseContent.writeTo(writer);
+      writer.flush();
+    }
+    if (gzipOutputStream != null) {
+      // Write the trailer without closing the servlet's stream.
+      gzipOutputStream.finish();
+    }
+  }
+
   /**
    * Called when the servlet itself has a problem, rather than the invoked
    * third-party method. It writes a simple 500 message back to the client.
@@ -15,19 +15,29 @@
  */
 package com.google.gwt.user.server.rpc;
 
+import static com.google.gwt.user.client.rpc.RpcRequestBuilder.BATCH_SIZE_HEADER;
 import static com.google.gwt.user.client.rpc.RpcRequestBuilder.MODULE_BASE_HEADER;
 
 import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
 import com.google.gwt.user.client.rpc.RpcTokenException;
 import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.client.rpc.impl.RpcBatch;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.text.ParseException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
@@ -43,6 +53,19 @@ import javax.servlet.http.HttpServletResponse;
 public class RemoteServiceServlet extends AbstractRemoteServiceServlet
     implements SerializationPolicyProvider {
 
+  /**
+   * The name of the init parameter, of the servlet or of its context, that sets
+   * the maximum number of cached serialization policies.
+   */
+  public static final String POLICY_CACHE_SIZE_PARAM = "gwt.rpc.policy_cache_size";
+
+  /**
+   * The name of the init parameter, of the servlet or of its context, that
+   * enables loading every serialization policy file of the web application when
+   * the servlet is initialized, if set to <code>true</code>.
+   */
+  public static final String PRELOAD_POLICIES_PARAM = "gwt.rpc.preload_policies";
+
   /**
    * Loads a serialization policy stored as a servlet resource in the same
    * ServletContext as this servlet. Returns null if not found.
@@ -50,6 +73,21 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
    */
   static SerializationPolicy loadSerializationPolicy(HttpServlet servlet,
       HttpServletRequest request, String moduleBaseURL, String strongName) {
+    String serializationPolicyFilePath = getSerializationPolicyFilePath(servlet,
+        request, moduleBaseURL, strongName);
+    if (serializationPolicyFilePath == null) {
+      return null;
+    }
+    return loadSerializationPolicy(servlet, serializationPolicyFilePath);
+  }
+
+  /**
+   * Returns the path of the serialization policy file of the given module
+   * relative to the ServletContext of the servlet, or <code>null</code> if the
+   * module is not in the same web application as the servlet.
+   */
+  private static String getSerializationPolicyFilePath(HttpServlet servlet,
+      HttpServletRequest request, String moduleBaseURL, String strongName) {
     // The request can tell you the path of the web app relative to the
     // container root.
     String contextPath = request.getContextPath();
@@ -64,8 +102,6 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
       }
     }
 
-    SerializationPolicy serializationPolicy = null;
-
     /*
      * Check that the module path must be in the same web app as the servlet
      * itself. If you need to implement a scheme different than this, override
@@ -78,42 +114,52 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
           + contextPath
           + ".  Your module may not be properly configured or your client and server code maybe out of date.";
       servlet.log(message);
-    } else {
-      // Strip off the context path from the module base URL. It should be a
-      // strict prefix.
-      String contextRelativePath = modulePath.substring(contextPath.length());
+      return null;
+    }
 
-      String serializationPolicyFilePath = SerializationPolicyLoader.getSerializationPolicyFileName(contextRelativePath
-          + strongName);
+    // Strip off the context path from the module base URL. It should be a
+    // strict prefix.
+    String contextRelativePath = modulePath.substring(contextPath.length());
 
-      // Open the RPC resource file and read its contents.
-      InputStream is = servlet.getServletContext().getResourceAsStream(
-          serializationPolicyFilePath);
-      try {
-        if (is != null) {
-          try {
-            serializationPolicy = SerializationPolicyLoader.loadFromStream(is,
-                null);
-          } catch (ParseException e) {
-            servlet.log("ERROR: Failed to parse the policy file '"
-                + serializationPolicyFilePath + "'", e);
-          } catch (IOException e) {
-            servlet.log("ERROR: Could not read the policy file '"
-                + serializationPolicyFilePath + "'", e);
-          }
-        } else {
-          String message = "ERROR: The serialization policy file '"
-              + serializationPolicyFilePath
-              + "' was not found; did you forget to include it in this deployment?";
-          servlet.log(message);
+    return SerializationPolicyLoader.getSerializationPolicyFileName(contextRelativePath
+        + strongName);
+  }
+
+  /**
+   * Loads the serialization policy stored as the given servlet resource.
+   * Returns null if not found.
+   */
+  private static SerializationPolicy loadSerializationPolicy(HttpServlet servlet,
+      String serializationPolicyFilePath) {
+    SerializationPolicy serializationPolicy = null;
+
+    // Open the RPC resource file and read its contents.
+    InputStream is = servlet.getServletContext().getResourceAsStream(
+        serializationPolicyFilePath);
+    try {
+      if (is != null) {
+        try {
+          serializationPolicy = SerializationPolicyLoader.loadFromStream(is,
+              null);
+        } catch (ParseException e) {
+          servlet.log("ERROR: Failed to parse the policy file '"
+              + serializationPolicyFilePath + "'", e);
+        } catch (IOException e) {
+          servlet.log("ERROR: Could not read the policy file '"
+              + serializationPolicyFilePath + "'", e);
         }
-      } finally {
-        if (is != null) {
-          try {
-            is.close();
-          } catch (IOException e) {
-            // Ignore this error
-          }
+      } else {
+        String message = "ERROR: The serialization policy file '"
+            + serializationPolicyFilePath
+            + "' was not found; did you forget to include it in this deployment?";
+        servlet.log(message);
+      }
+    } finally {
+      if (is != null) {
+        try {
+          is.close();
+        } catch (IOException e) {
+          // Ignore this error
         }
       }
     }
@@ -124,11 +170,19 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
   private static final SerializationPolicyClient CODE_SERVER_CLIENT =
       new SerializationPolicyClient(5000, 5000);
 
+  /**
+   * Serialization policies loaded when the servlet was initialized, by the path
+   * of their file relative to the ServletContext.
+   */
+  private final Map<String, SerializationPolicy> preloadedSerializationPolicies =
+      new ConcurrentHashMap<String, SerializationPolicy>();
+
   /**
    * A cache of moduleBaseURL and serialization policy strong name to
    * {@link SerializationPolicy}.
    */
-  private final Map<String, SerializationPolicy> serializationPolicyCache = new HashMap<String, SerializationPolicy>();
+  private volatile SerializationPolicyCache serializationPolicyCache =
+      new SerializationPolicyCache(SerializationPolicyCache.DEFAULT_MAXIMUM_SIZE);
 
   /**
    * The implementation of the service.
@@ -161,12 +215,37 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
   }
 
   /**
-   * Overridden to load the gwt.codeserver.port system property.
+   * Overridden to load the gwt.codeserver.port system property and to set up
+   * the serialization policy cache as configured by the
+   * {@value #POLICY_CACHE_SIZE_PARAM} and {@value #PRELOAD_POLICIES_PARAM}
+   * init parameters.
    */
   @Override
   public void init(ServletConfig config) throws ServletException {
     super.init(config);
     codeServerPort = getCodeServerPort();
+
+    String cacheSize = getInitParameterValue(POLICY_CACHE_SIZE_PARAM);
+    if (cacheSize != null) {
+      try {
+        serializationPolicyCache = new SerializationPolicyCache(Integer.parseInt(cacheSize.trim()));
+      } catch (IllegalArgumentException e) {
+        // Fail loudly so that that a configuration error will be noticed.
+        throw new ServletException("Invalid value of " + POLICY_CACHE_SIZE_PARAM
+            + "; expected a positive integer but got: " + cacheSize, e);
+      }
+    }
+    if (Boolean.parseBoolean(getInitParameterValue(PRELOAD_POLICIES_PARAM))) {
+      preloadSerializationPolicies("/");
+    }
+  }
+
+  /**
+   * Returns the cache of serialization policies of this servlet, which reports
+   * how well it performs.
+   */
+  public final SerializationPolicyCache getSerializationPolicyCache() {
+    return serializationPolicyCache;
   }
 
   /**
@@ -225,12 +304,13 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
   public final SerializationPolicy getSerializationPolicy(String moduleBaseURL,
       String strongName) {
 
-    SerializationPolicy serializationPolicy = getCachedSerializationPolicy(
-        moduleBaseURL, strongName);
+    SerializationPolicyCache cache = serializationPolicyCache;
+    SerializationPolicy serializationPolicy = cache.get(moduleBaseURL + strongName);
     if (serializationPolicy != null) {
       return serializationPolicy;
     }
 
+    long start = System.nanoTime();
     serializationPolicy = doGetSerializationPolicy(getThreadLocalRequest(),
         moduleBaseURL, strongName);
 
@@ -253,9 +333,11 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
       serializationPolicy = RPC.getDefaultSerializationPolicy();
     }
 
-    // This could cache null or an actual instance. Either way we will not
-    // attempt to lookup the policy again.
-    putCachedSerializationPolicy(moduleBaseURL, strongName, serializationPolicy);
+    cache.recordLoad(System.nanoTime() - start);
+
+    // This could cache the default policy or an actual instance. Either way we
+    // will not attempt to lookup the policy again while it is cached.
+    cache.put(moduleBaseURL + strongName, serializationPolicy);
 
     return serializationPolicy;
   }
@@ -345,6 +427,164 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
     }
   }
 
+  /**
+   * Like {@link #processCall(String)}, but returns the encoded response
+   * without turning it into a string. Used instead of
+   * {@link #processCall(String)} when {@link #shouldStreamResponse} returns
+   * <code>true</code>. The response is binary if the client asked for it, see
+   * {@link RPCResponse#isBinary()}.
+   *
+   * @param payload the UTF-8 request payload
+   * @return the encoded method's return, checked exception thrown by the
+   *         method, or {@link IncompatibleRemoteServiceException}
+   * @throws SerializationException if we cannot serialize the response
+   * @throws UnexpectedException if the invocation throws a checked exception
+   *           that is not declared in the service method's signature
+   * @throws RuntimeException if the service method throws an unchecked
+   *           exception (the exception will be the one thrown by the service)
+   */
+  public RPCResponse processStreamingCall(String payload) throws SerializationException {
+    // First, check for possible XSRF situation
+    checkPermutationStrongName();
+
+    RPCRequest rpcRequest;
+    try {
+      rpcRequest = RPC.decodeRequest(payload, delegate.getClass(), this);
+    } catch (IncompatibleRemoteServiceException ex) {
+      log(
+          "An IncompatibleRemoteServiceException was thrown while processing this call.",
+          ex);
+      return RPC.encodeStreamingResponseForFailedRequest(null, ex);
+    }
+    return processStreamingCall(rpcRequest);
+  }
+
+  /**
+   * Like {@link #processStreamingCall(String)}, but decodes the request while
+   * it is being read from the given reader. Used when
+   * {@link #shouldStreamRequest} returns <code>true</code>.
+   *
+   * @param payload a reader of the UTF-8 request payload
+   * @return the encoded method's return, checked exception thrown by the
+   *         method, or {@link IncompatibleRemoteServiceException}
+   * @throws IOException if reading the payload fails
+   * @throws SerializationException if we cannot serialize the response
+   * @throws UnexpectedException if the invocation throws a checked exception
+   *           that is not declared in the service method's signature
+   * @throws RuntimeException if the service method throws an unchecked
+   *           exception (the exception will be the one thrown by the service)
+   */
+  public RPCResponse processStreamingCall(Reader payload)
+      throws IOException, SerializationException {
+    // First, check for possible XSRF situation
+    checkPermutationStrongName();
+
+    RPCRequest rpcRequest;
+    try {
+      rpcRequest = RPC.decodeRequest(payload, delegate.getClass(), this,
+          getMaximumStreamingRequestLength());
+    } catch (IncompatibleRemoteServiceException ex) {
+      log(
+          "An IncompatibleRemoteServiceException was thrown while processing this call.",
+          ex);
+      return RPC.encodeStreamingResponseForFailedRequest(null, ex);
+    }
+    return processStreamingCall(rpcRequest);
+  }
+
+  /**
+   * Like {@link #processCall(RPCRequest)}, but returns the encoded response
+   * without turning it into a string.
+   *
+   * @param rpcRequest the already decoded RPC request
+   * @return the encoded method's return, checked exception thrown by the
+   *         method, or {@link IncompatibleRemoteServiceException}
+   * @throws SerializationException if we cannot serialize the response
+   * @throws UnexpectedException if the invocation throws a checked exception
+   *           that is not declared in the service method's signature
+   * @throws RuntimeException if the service method throws an unchecked
+   *           exception (the exception will be the one thrown by the service)
+   */
+  public RPCResponse processStreamingCall(RPCRequest rpcRequest) throws SerializationException {
+    try {
+      onAfterRequestDeserialized(rpcRequest);
+      return RPC.invokeAndEncodeStreamingResponse(delegate, rpcRequest.getMethod(),
+          rpcRequest.getParameters(), rpcRequest.getSerializationPolicy(),
+          rpcRequest.getFlags());
+    } catch (IncompatibleRemoteServiceException ex) {
+      log(
+          "An IncompatibleRemoteServiceException was thrown while processing this call.",
+          ex);
+      return RPC.encodeStreamingResponseForFailedRequest(rpcRequest, ex);
+    } catch (RpcTokenException tokenException) {
+      log("An RpcTokenException was thrown while processing this call.",
+          tokenException);
+      return RPC.encodeStreamingResponseForFailedRequest(rpcRequest, tokenException);
+    }
+  }
+
+  /**
+   * Processes the calls of a batched request, made by the proxy of a service
+   * annotated with {@link com.google.gwt.user.client.rpc.BatchRequests}. Each
+   * call is processed by {@link #processCall(String)}, one after the other or
+   * on the executor returned by {@link #getBatchExecutor()}. A call that fails
+   * unexpectedly is logged and gets an empty response, which its client
+   * reports as a failure with a 500 status code, while the other calls
+   * complete normally.
+   * <p>
+   * Calls are processed synchronously, even by an
+   * {@link AsyncRemoteServiceServlet}.
+   * </p>
+   * This is public so that it can be unit tested easily without HTTP.
+   *
+   * @param payloads the UTF-8 payloads of the calls
+   * @return the batched responses of the calls, in the same order
+   * @throws SecurityException if {@link #checkPermutationStrongName()} does
+   */
+  public String processBatchCall(List<String> payloads) {
+    // First, check for possible XSRF situation
+    checkPermutationStrongName();
+
+    List<String> responsePayloads = new ArrayList<String>(payloads.size());
+    Executor executor = getBatchExecutor();
+    if (executor == null || payloads.size() == 1) {
+      for (String payload : payloads) {
+        responsePayloads.add(processBatchedCall(payload));
+      }
+      return RpcBatch.encodeResponse(responsePayloads);
+    }
+
+    // Service methods may use the thread-local request and response.
+    final HttpServletRequest request = getThreadLocalRequest();
+    final HttpServletResponse response = getThreadLocalResponse();
+    List<FutureTask<String>> tasks = new ArrayList<FutureTask<String>>(payloads.size());
+    for (final String payload : payloads) {
+      FutureTask<String> task = new FutureTask<String>(new Callable<String>() {
+        @Override
+        public String call() {
+          return processBatchedCall(payload, request, response);
+        }
+      });
+      tasks.add(task);
+      executor.execute(task);
+    }
+
+    try {
+      for (FutureTask<String> task : tasks) {
+        responsePayloads.add(task.get());
+      }
+    } catch (InterruptedException e) {
+      for (FutureTask<String> task : tasks) {
+        task.cancel(true);
+      }
+      Thread.currentThread().interrupt();
+      throw new UnexpectedException("Interrupted while processing batched calls", e);
+    } catch (ExecutionException e) {
+      throw new UnexpectedException("A batched call failed", e.getCause());
+    }
+    return RpcBatch.encodeResponse(responsePayloads);
+  }
+
   /**
    * Standard HttpServlet method: handle the POST.
    * 
@@ -359,6 +599,29 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
   public final void processPost(HttpServletRequest request,
       HttpServletResponse response) throws IOException, ServletException,
       SerializationException {
+    if (request.getHeader(BATCH_SIZE_HEADER) != null) {
+      processBatchPost(request, response);
+      return;
+    }
+
+    if (processPostAsync(request, response)) {
+      return;
+    }
+
+    if (shouldStreamRequest(request)) {
+      // Decode the request while it is being read.
+      //
+      RPCResponse responsePayload;
+      Reader requestReader = getContentReader(request);
+      try {
+        responsePayload = processStreamingCall(requestReader);
+      } finally {
+        requestReader.close();
+      }
+      writeResponse(request, response, responsePayload);
+      return;
+    }
+
     // Read the request fully.
     //
     String requestPayload = readContent(request);
@@ -367,6 +630,13 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
     //
     onBeforeRequestDeserialized(requestPayload);
 
+    if (shouldStreamResponse(request)) {
+      // Write the result while it is being encoded.
+      //
+      writeResponse(request, response, processStreamingCall(requestPayload));
+      return;
+    }
+
     // Invoke the core dispatching logic, which returns the serialized
     // result.
     //
@@ -399,6 +669,25 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
     }
   }
 
+  /**
+   * Returns the executor that processes the calls of a batched request in
+   * parallel, or <code>null</code> to process them one after the other on the
+   * request thread, which this implementation does.
+   * <p>
+   * The executor must run every call eventually, since the request waits for
+   * all of them. Service methods still see the request and response through
+   * {@link #getThreadLocalRequest()} and {@link #getThreadLocalResponse()},
+   * but {@link #processCall(String)} and the methods it calls may run
+   * concurrently for one request.
+   * </p>
+   *
+   * @return the executor of batched calls, or <code>null</code>
+   * @see #processBatchCall(List)
+   */
+  protected Executor getBatchExecutor() {
+    return null;
+  }
+
   /**
    * Loads the {@link SerializationPolicy} for given module base URL and strong name.
    * Returns the policy if successful or null if not found. Due to caching, this method
@@ -417,7 +706,17 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
    */
   protected SerializationPolicy doGetSerializationPolicy(
       HttpServletRequest request, String moduleBaseURL, String strongName) {
-    return RemoteServiceServlet.loadSerializationPolicy(this, request, moduleBaseURL, strongName);
+    String serializationPolicyFilePath = getSerializationPolicyFilePath(this,
+        request, moduleBaseURL, strongName);
+    if (serializationPolicyFilePath == null) {
+      return null;
+    }
+    SerializationPolicy serializationPolicy =
+        preloadedSerializationPolicies.get(serializationPolicyFilePath);
+    if (serializationPolicy != null) {
+      return serializationPolicy;
+    }
+    return loadSerializationPolicy(this, serializationPolicyFilePath);
   }
 
   /**
@@ -505,18 +804,203 @@ public class RemoteServiceServlet extends AbstractRemoteServiceServlet
     return RPCServletUtils.exceedsUncompressedContentLengthLimit(responsePayload);
   }
 
-  private SerializationPolicy getCachedSerializationPolicy(
-      String moduleBaseURL, String strongName) {
-    synchronized (serializationPolicyCache) {
-      return serializationPolicyCache.get(moduleBaseURL + strongName);
+  /**
+   * Like {@link #shouldCompressResponse(HttpServletRequest, HttpServletResponse, String)},
+   * for responses that are streamed to the client.
+   * <p>
+   * This implementation returns <code>true</code> if the response's estimated
+   * byte length is longer than 256 bytes.
+   * </p>
+   *
+   * @param request the request being served
+   * @param response the response that will be written into
+   * @param responsePayload the payload that is about to be sent to the client
+   * @return <code>true</code> if responsePayload should be GZIP compressed,
+   *         otherwise <code>false</code>.
+   */
+  protected boolean shouldCompressResponse(HttpServletRequest request,
+      HttpServletResponse response, RPCResponse responsePayload) {
+    return RPCServletUtils.exceedsUncompressedContentLengthLimit(
+        responsePayload.getEstimatedLength());
+  }
+
+  /**
+   * Returns the maximum number of characters of a request that is decoded
+   * while it is being read. Longer requests are rejected with an
+   * {@link IncompatibleRemoteServiceException} as soon as the limit is
+   * reached, without reading the rest of the request.
+   * <p>
+   * This implementation imposes no limit. Subclasses can override this
+   * method.
+   * </p>
+   *
+   * @return the maximum number of characters of a streamed request
+   */
+  protected int getMaximumStreamingRequestLength() {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * Determines whether a given servlet request is decoded while it is being
+   * read, rather than being read into a string first. Streaming keeps the
+   * memory needed by large requests down.
+   * <p>
+   * When this returns <code>true</code>, the request is read with
+   * {@link #getContentReader(HttpServletRequest)} and processed by
+   * {@link #processStreamingCall(Reader)} instead of
+   * {@link #processCall(String)}, and
+   * {@link #onBeforeRequestDeserialized(String)} is not called. Subclasses
+   * that override these methods should keep returning <code>false</code>,
+   * which this implementation does.
+   * </p>
+   *
+   * @param request the request being served
+   * @return <code>true</code> if the request should be streamed
+   */
+  protected boolean shouldStreamRequest(HttpServletRequest request) {
+    return false;
+  }
+
+  /**
+   * Determines whether the response to a given servlet request is written to
+   * the client while it is being encoded, rather than being built as a string
+   * first. Streaming keeps the memory needed by large responses down.
+   * <p>
+   * When this returns <code>true</code>, the request is processed by
+   * {@link #processStreamingCall(String)} instead of
+   * {@link #processCall(String)}, {@link #onAfterResponseSerialized(String)} is
+   * not called, and the response is sent without a Content-Length header.
+   * Subclasses that override these methods should keep returning
+   * <code>false</code>, which this implementation does.
+   * </p>
+   * <p>
+   * Only streamed responses, and those of asynchronous or streamed requests,
+   * honor the clients of services annotated with
+   * {@link com.google.gwt.user.client.rpc.BinaryResponse} and are sent in the
+   * binary format; these clients also accept the text format.
+   * </p>
+   *
+   * @param request the request being served
+   * @return <code>true</code> if the response should be streamed
+   */
+  protected boolean shouldStreamResponse(HttpServletRequest request) {
+    return false;
+  }
+
+  /**
+   * Returns the implementation of the service.
+   */
+  Object getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Lets {@link AsyncRemoteServiceServlet} process the request. Returns
+   * <code>true</code> if the request has been taken care of.
+   */
+  boolean processPostAsync(HttpServletRequest request, HttpServletResponse response)
+      throws IOException, ServletException, SerializationException {
+    return false;
+  }
+
+  void writeResponse(HttpServletRequest request,
+      HttpServletResponse response, RPCResponse responsePayload) throws IOException {
+    // Binary responses have no string form to pass to onAfterResponseSerialized
+    if (!responsePayload.isBinary() && !shouldStreamResponse(request)) {
+      String serializedResponse = responsePayload.toString();
+      onAfterResponseSerialized(serializedResponse);
+      writeResponse(request, response, serializedResponse);
+      return;
     }
+
+    boolean gzipEncode = RPCServletUtils.acceptsGzipEncoding(request)
+        && shouldCompressResponse(request, response, responsePayload);
+
+    RPCServletUtils.writeResponse(getServletContext(), response,
+        responsePayload, gzipEncode);
+  }
+
+  /**
+   * Processes a call of a batched request, lets subclasses see its serialized
+   * request and response, and turns unexpected failures into an empty
+   * response.
+   */
+  private String processBatchedCall(String payload) {
+    try {
+      onBeforeRequestDeserialized(payload);
+      String responsePayload = processCall(payload);
+      onAfterResponseSerialized(responsePayload);
+      return responsePayload;
+    } catch (Exception e) {
+      log("Exception while dispatching a batched RPC call", e);
+      return "";
+    }
+  }
+
+  /**
+   * Like {@link #processBatchedCall(String)}, on an executor thread that sees
+   * the given request and response as its thread-local ones.
+   */
+  private String processBatchedCall(String payload, HttpServletRequest request,
+      HttpServletResponse response) {
+    // The executor may run the call on the request thread
+    HttpServletRequest previousRequest = getThreadLocalRequest();
+    HttpServletResponse previousResponse = getThreadLocalResponse();
+    perThreadRequest.set(request);
+    perThreadResponse.set(response);
+    try {
+      return processBatchedCall(payload);
+    } finally {
+      perThreadRequest.set(previousRequest);
+      perThreadResponse.set(previousResponse);
+    }
+  }
+
+  private void processBatchPost(HttpServletRequest request, HttpServletResponse response)
+      throws IOException, ServletException, SerializationException {
+    List<String> payloads = RpcBatch.decode(readContent(request));
+    if (!String.valueOf(payloads.size()).equals(request.getHeader(BATCH_SIZE_HEADER))) {
+      throw new SerializationException("Expected " + request.getHeader(BATCH_SIZE_HEADER)
+          + " batched calls, got " + payloads.size());
+    }
+    writeResponse(request, response, processBatchCall(payloads));
+  }
+
+  /**
+   * Retrieves the specified init parameter first from the {@link ServletConfig}
+   * and then from the {@link javax.servlet.ServletContext}.
+   */
+  private String getInitParameterValue(String name) {
+    String value = getServletConfig().getInitParameter(name);
+    if (value == null) {
+      value = getServletContext().getInitParameter(name);
+    }
+    return value;
   }
 
-  private void putCachedSerializationPolicy(String moduleBaseURL,
-      String strongName, SerializationPolicy serializationPolicy) {
-    synchronized (serializationPolicyCache) {
-      serializationPolicyCache.put(moduleBaseURL + strongName,
-          serializationPolicy);
+  /**
+   * Loads the serialization policy files found under the given resource
+   * directory, skipping WEB-INF, so that the first requests of each
+   * permutation do not have to.
+   */
+  private void preloadSerializationPolicies(String directory) {
+    Set<String> paths = getServletContext().getResourcePaths(directory);
+    if (paths == null) {
+      return;
+    }
+    for (String path : paths) {
+      if (path.endsWith("/")) {
+        if (!path.equals("/WEB-INF/")) {
+          preloadSerializationPolicies(path);
+        }
+      } else if (path.endsWith(SerializationPolicyLoader.getSerializationPolicyFileName(""))) {
+        long start = System.nanoTime();
+        SerializationPolicy serializationPolicy = loadSerializationPolicy(this, path);
+        if (serializationPolicy != null) {
+          serializationPolicyCache.recordLoad(System.nanoTime() - start);
+          preloadedSerializationPolicies.put(path, serializationPolicy);
+        }
+      }
     }
   }
 
@@ -16,6 +16,7 @@
 package com.google.gwt.user.server.rpc;
 
 import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.server.rpc.impl.CompactFieldCodec;
 
 import java.util.Set;
 
@@ -40,7 +41,20 @@ public abstract class SerializationPolicy {
     // Ignore the possibility of server-side enhancement for legacy classes.
     return null;
   }
-  
+
+  /**
+   * Returns the codec of the fields of enhanced classes that the client does
+   * not know about. The default codec writes them compactly and reads what
+   * both it and
+   * {@link com.google.gwt.user.server.rpc.impl.JavaSerializationFieldCodec} write.
+   * 
+   * @return the codec of server-only fields
+   * @see #getClientFieldNamesForEnhancedClass(Class)
+   */
+  public ServerOnlyFieldCodec getServerOnlyFieldCodec() {
+    return CompactFieldCodec.getInstance();
+  }
+
   /**
    * Returns <code>true</code> if the class' fields should be deserialized.
    * 
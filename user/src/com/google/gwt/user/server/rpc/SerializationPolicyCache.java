@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cache of {@link SerializationPolicy serialization policies} of a
+ * {@link RemoteServiceServlet}, along with statistics about its use.
+ * <p>
+ * Lookups do not lock. The cache holds at most {@link #getMaximumSize()}
+ * policies; when it grows larger, the least recently used policy is evicted.
+ * </p>
+ */
+public final class SerializationPolicyCache {
+
+  /**
+   * The default maximum number of cached policies.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+  /**
+   * A cached policy and the time it was last used.
+   */
+  private static final class Entry {
+    final SerializationPolicy policy;
+    volatile long lastAccess;
+
+    Entry(SerializationPolicy policy, long lastAccess) {
+      this.policy = policy;
+      this.lastAccess = lastAccess;
+    }
+  }
+
+  /**
+   * Orders accesses; cheaper and more precise than reading the system clock.
+   */
+  private final AtomicLong clock = new AtomicLong();
+
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  private final AtomicLong hitCount = new AtomicLong();
+
+  private final AtomicLong loadCount = new AtomicLong();
+
+  private final int maximumSize;
+
+  private final AtomicLong maximumLoadTime = new AtomicLong();
+
+  private final AtomicLong missCount = new AtomicLong();
+
+  private final AtomicLong totalLoadTime = new AtomicLong();
+
+  SerializationPolicyCache(int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+    }
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Returns the number of policies evicted because the cache was full.
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * Returns the number of lookups that found a cached policy.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of policies loaded, including preloaded ones.
+   */
+  public long getLoadCount() {
+    return loadCount.get();
+  }
+
+  /**
+   * Returns the longest time spent loading a single policy, in nanoseconds.
+   */
+  public long getMaximumLoadTimeNanos() {
+    return maximumLoadTime.get();
+  }
+
+  /**
+   * Returns the maximum number of cached policies.
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Returns the number of lookups that did not find a cached policy.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Returns the total time spent loading policies, in nanoseconds.
+   */
+  public long getTotalLoadTimeNanos() {
+    return totalLoadTime.get();
+  }
+
+  /**
+   * Returns the number of cached policies.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  @Override
+  public String toString() {
+    return "SerializationPolicyCache[size=" + size() + ", maximumSize=" + maximumSize
+        + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", loads="
+        + getLoadCount() + ", evictions=" + getEvictionCount() + ", totalLoadTimeNanos="
+        + getTotalLoadTimeNanos() + "]";
+  }
+
+  /**
+   * Returns the cached policy for the given key, or <code>null</code>.
+   */
+  SerializationPolicy get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      missCount.incrementAndGet();
+      return null;
+    }
+    hitCount.incrementAndGet();
+    entry.lastAccess = clock.incrementAndGet();
+    return entry.policy;
+  }
+
+  /**
+   * Caches a policy, evicting the least recently used ones if the cache grows
+   * too large. <code>null</code> policies are not cached.
+   */
+  void put(String key, SerializationPolicy policy) {
+    if (policy == null) {
+      return;
+    }
+    entries.put(key, new Entry(policy, clock.incrementAndGet()));
+    while (entries.size() > maximumSize) {
+      evictLeastRecentlyUsed();
+    }
+  }
+
+  /**
+   * Records the time spent loading a policy.
+   */
+  void recordLoad(long nanos) {
+    loadCount.incrementAndGet();
+    totalLoadTime.addAndGet(nanos);
+    long max;
+    do {
+      max = maximumLoadTime.get();
+    } while (nanos > max && !maximumLoadTime.compareAndSet(max, nanos));
+  }
+
+  /**
+   * Evicts the least recently used policy. Scanning the cache is linear, but
+   * only happens when it is full, which is rare unless it is much too small.
+   */
+  private void evictLeastRecentlyUsed() {
+    Map.Entry<String, Entry> oldest = null;
+    for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+      if (oldest == null || candidate.getValue().lastAccess < oldest.getValue().lastAccess) {
+        oldest = candidate;
+      }
+    }
+    if (oldest != null && entries.remove(oldest.getKey(), oldest.getValue())) {
+      evictionCount.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc;
+
+import com.google.gwt.user.client.rpc.SerializationException;
+
+import java.lang.reflect.Field;
+
+/**
+ * Encodes the fields of an enhanced class that the client does not know about
+ * into a string, which the client sends back unchanged with the rest of the
+ * object.
+ * 
+ * @see SerializationPolicy#getClientFieldNamesForEnhancedClass(Class)
+ * @see SerializationPolicy#getServerOnlyFieldCodec()
+ */
+public interface ServerOnlyFieldCodec {
+
+  /**
+   * Sets the server-only fields of an instance from their encoded form.
+   * 
+   * @param encoded the string returned by
+   *          {@link #encode(Object, Class, Field[])}
+   * @param instance the instance to set the fields of
+   * @param instanceClass the class that declares the fields
+   * @param fields the server-only fields of the class, in the same order as
+   *          when they were encoded
+   * @throws SerializationException if the string cannot be decoded or does
+   *           not match the fields
+   */
+  void decode(String encoded, Object instance, Class<?> instanceClass, Field[] fields)
+      throws SerializationException;
+
+  /**
+   * Encodes the server-only fields of an instance.
+   * 
+   * @param instance the instance to encode the fields of
+   * @param instanceClass the class that declares the fields
+   * @param fields the server-only fields of the class
+   * @return the encoded fields
+   * @throws SerializationException if a field value cannot be encoded
+   */
+  String encode(Object instance, Class<?> instanceClass, Field[] fields)
+      throws SerializationException;
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Accumulates the bytes of a binary stream, in the format read by
+ * {@link com.google.gwt.user.client.rpc.impl.ClientBinarySerializationStreamReader}. Also used to
+ * encode the server-only fields of enhanced classes.
+ */
+final class BinaryBuffer {
+  private byte[] bytes = new byte[256];
+  private int length;
+
+  /**
+   * Discards the bytes written so far, keeping the allocated capacity.
+   */
+  void reset() {
+    length = 0;
+  }
+
+  int size() {
+    return length;
+  }
+
+  /**
+   * Returns a copy of the bytes written so far.
+   */
+  byte[] toByteArray() {
+    return Arrays.copyOf(bytes, length);
+  }
+
+  void writeByte(int value) {
+    ensureCapacity(1);
+    bytes[length++] = (byte) value;
+  }
+
+  /**
+   * Writes a byte array, preceded by its length.
+   */
+  void writeBytes(byte[] value) {
+    writeVarint(value.length);
+    ensureCapacity(value.length);
+    System.arraycopy(value, 0, bytes, length, value.length);
+    length += value.length;
+  }
+
+  void writeFixed32(int value) {
+    ensureCapacity(4);
+    for (int i = 0; i < 4; i++) {
+      bytes[length++] = (byte) value;
+      value >>>= 8;
+    }
+  }
+
+  void writeFixed64(long value) {
+    ensureCapacity(8);
+    for (int i = 0; i < 8; i++) {
+      bytes[length++] = (byte) value;
+      value >>>= 8;
+    }
+  }
+
+  /**
+   * Writes the UTF-16 code units of a string as one to three bytes each,
+   * preceded by the number of bytes. Unpaired surrogates are preserved, which
+   * standard UTF-8 encoders do not do.
+   */
+  void writeString(String value) {
+    int n = value.length();
+    int byteLength = n;
+    for (int i = 0; i < n; i++) {
+      char ch = value.charAt(i);
+      if (ch >= 0x80) {
+        byteLength += ch >= 0x800 ? 2 : 1;
+      }
+    }
+    writeVarint(byteLength);
+    ensureCapacity(byteLength);
+    for (int i = 0; i < n; i++) {
+      char ch = value.charAt(i);
+      if (ch < 0x80) {
+        bytes[length++] = (byte) ch;
+      } else if (ch < 0x800) {
+        bytes[length++] = (byte) (0xC0 | (ch >> 6));
+        bytes[length++] = (byte) (0x80 | (ch & 0x3F));
+      } else {
+        bytes[length++] = (byte) (0xE0 | (ch >> 12));
+        bytes[length++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+        bytes[length++] = (byte) (0x80 | (ch & 0x3F));
+      }
+    }
+  }
+
+  /**
+   * Writes an unsigned value seven bits at a time, least significant first.
+   */
+  void writeVarint(int value) {
+    ensureCapacity(5);
+    while ((value & ~0x7F) != 0) {
+      bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    bytes[length++] = (byte) value;
+  }
+
+  /**
+   * Writes a signed value so that small negative values stay short.
+   */
+  void writeZigZag(int value) {
+    writeVarint((value << 1) ^ (value >> 31));
+  }
+
+  void writeTo(OutputStream output) throws IOException {
+    output.write(bytes, 0, length);
+  }
+
+  private void ensureCapacity(int count) {
+    if (length + count > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+    }
+  }
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.impl;
+
+import com.google.gwt.core.shared.GWT;
+import com.google.gwt.user.client.rpc.CustomFieldSerializer;
+import com.google.gwt.user.server.rpc.SerializationPolicy;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The serialization metadata that the server computes about classes and types, such as their
+ * signatures, serializable fields, custom field serializers and generic type bindings, for the
+ * classes seen through one class loader.
+ * <p>
+ * There is one registry per context class loader, which is the loader that custom field
+ * serializers and serialized classes are looked up with. A registry holds classes of its loader,
+ * so it must only be reachable from that loader for the classes of a web application that has
+ * been undeployed to be unloaded while the RPC classes are shared with other applications. The
+ * map of registries references them and their loaders weakly, and the classes of the loader that
+ * a registry holds metadata of reference it strongly, through {@link #registriesByClass}.
+ */
+final class ClassMetadataRegistry {
+
+  /**
+   * The metadata of one class. Fields are computed when first needed; concurrent computations
+   * yield the same values.
+   */
+  static final class ClassMetadata {
+    private volatile Class<?> customSerializer;
+    private volatile String serializationSignature;
+    private volatile Field[] serializableFields;
+    private volatile Field[] serializableFieldsWithFinal;
+    private volatile Class<?> serverCustomSerializer;
+
+    /**
+     * Returns the custom field serializer of the class, the class itself if it has none, or
+     * <code>null</code> if it has not been looked up yet.
+     */
+    Class<?> getCustomSerializer() {
+      return customSerializer;
+    }
+
+    Field[] getSerializableFields(boolean includeFinalFields) {
+      return includeFinalFields ? serializableFieldsWithFinal : serializableFields;
+    }
+
+    String getSerializationSignature() {
+      return serializationSignature;
+    }
+
+    /**
+     * Like {@link #getCustomSerializer()}, for type-checking server custom field serializers.
+     */
+    Class<?> getServerCustomSerializer() {
+      return serverCustomSerializer;
+    }
+
+    void setCustomSerializer(Class<?> customSerializer) {
+      this.customSerializer = customSerializer;
+    }
+
+    void setSerializableFields(boolean includeFinalFields, Field[] fields) {
+      if (includeFinalFields) {
+        serializableFieldsWithFinal = fields;
+      } else {
+        serializableFields = fields;
+      }
+    }
+
+    void setSerializationSignature(String serializationSignature) {
+      this.serializationSignature = serializationSignature;
+    }
+
+    void setServerCustomSerializer(Class<?> serverCustomSerializer) {
+      this.serverCustomSerializer = serverCustomSerializer;
+    }
+  }
+
+  /**
+   * The mappings from type variables to actual types that
+   * {@link SerializabilityUtil#resolveTypes} adds for a type, in the order they are added. They
+   * only depend on the type, so they are computed once instead of walking its hierarchy for every
+   * value that is read.
+   */
+  static final class TypeBindings {
+    private final Type[] types;
+    private final TypeVariable<?>[] variables;
+
+    private TypeBindings(List<TypeVariable<?>> variables, List<Type> types) {
+      this.variables = variables.toArray(new TypeVariable<?>[variables.size()]);
+      this.types = types.toArray(new Type[types.size()]);
+    }
+
+    void addTo(DequeMap<TypeVariable<?>, Type> resolvedTypes) {
+      for (int i = 0; i < variables.length; i++) {
+        resolvedTypes.add(variables[i], types[i]);
+      }
+    }
+
+    void removeFrom(DequeMap<TypeVariable<?>, Type> resolvedTypes) {
+      for (TypeVariable<?> variable : variables) {
+        resolvedTypes.remove(variable);
+      }
+    }
+  }
+
+  /**
+   * A map that references its keys weakly and compares them by identity. Lookups take no lock;
+   * callers synchronize on the map to add entries, which also drops the entries of collected keys.
+   */
+  private static final class WeakKeyMap<K, V> {
+
+    /**
+     * The key of a lookup, equal to the entry of its referent.
+     */
+    private static final class LookupKey {
+      private final Object referent;
+
+      LookupKey(Object referent) {
+        this.referent = referent;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+        return o instanceof WeakKey && ((WeakKey) o).get() == referent;
+      }
+
+      @Override
+      public int hashCode() {
+        return System.identityHashCode(referent);
+      }
+    }
+
+    /**
+     * The key of an entry. Once its referent is collected, it is only equal to itself.
+     */
+    private static final class WeakKey extends WeakReference<Object> {
+      private final int hashCode;
+
+      WeakKey(Object referent, ReferenceQueue<Object> queue) {
+        super(referent, queue);
+        hashCode = System.identityHashCode(referent);
+      }
+
+      @Override
+      public boolean equals(Object o) {
+        if (o == this) {
+          return true;
+        }
+        Object referent = get();
+        if (referent == null) {
+          return false;
+        }
+        return o instanceof WeakKey ? ((WeakKey) o).get() == referent
+            : o instanceof LookupKey && ((LookupKey) o).referent == referent;
+      }
+
+      @Override
+      public int hashCode() {
+        return hashCode;
+      }
+    }
+
+    private final Map<Object, V> entries = new ConcurrentHashMap<Object, V>();
+    private volatile V nullKeyValue;
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+
+    V get(K key) {
+      return key == null ? nullKeyValue : entries.get(new LookupKey(key));
+    }
+
+    void put(K key, V value) {
+      for (Object collected = queue.poll(); collected != null; collected = queue.poll()) {
+        entries.remove(collected);
+      }
+      if (key == null) {
+        nullKeyValue = value;
+      } else {
+        entries.put(new WeakKey(key, queue), value);
+      }
+    }
+  }
+
+  /**
+   * The maximum number of types whose bindings are cached. Types are normally the declared types
+   * of service methods and fields, but custom field serializers may create their own.
+   */
+  private static final int MAX_CACHED_TYPE_BINDINGS = 10000;
+
+  private static final WeakKeyMap<ClassLoader, WeakReference<ClassMetadataRegistry>> registries =
+      new WeakKeyMap<ClassLoader, WeakReference<ClassMetadataRegistry>>();
+
+  /**
+   * The registry of the loader of a class, which keeps the registry alive for as long as the class
+   * and so its loader. A registry of a loader none of whose classes have been seen yet may be
+   * collected, which only costs recomputing its metadata.
+   */
+  private static final ClassValue<ClassMetadataRegistry> registriesByClass =
+      new ClassValue<ClassMetadataRegistry>() {
+        @Override
+        protected ClassMetadataRegistry computeValue(Class<?> type) {
+          return ClassMetadataRegistry.get(type.getClassLoader());
+        }
+      };
+
+  /**
+   * Returns the registry of the class loader that serialized classes and their custom field
+   * serializers are looked up with.
+   */
+  static ClassMetadataRegistry get() {
+    /*
+     * This class is called from client code running in Development Mode as well
+     * as server code running in the servlet container. In Development Mode, we
+     * want to load classes through the
+     * CompilingClassLoader$MultiParentClassLoader, not the system classloader.
+     */
+    return get(GWT.isClient() ? SerializabilityUtil.class.getClassLoader()
+        : Thread.currentThread().getContextClassLoader());
+  }
+
+  /**
+   * Returns the registry of the given class loader.
+   */
+  static ClassMetadataRegistry get(ClassLoader classLoader) {
+    WeakReference<ClassMetadataRegistry> reference = registries.get(classLoader);
+    ClassMetadataRegistry registry = reference == null ? null : reference.get();
+    if (registry != null) {
+      return registry;
+    }
+    synchronized (registries) {
+      reference = registries.get(classLoader);
+      registry = reference == null ? null : reference.get();
+      if (registry == null) {
+        registry = new ClassMetadataRegistry(classLoader);
+        registries.put(classLoader, new WeakReference<ClassMetadataRegistry>(registry));
+      }
+      return registry;
+    }
+  }
+
+  /**
+   * Computes the bindings of a type, as described by {@link TypeBindings}.
+   */
+  private static void computeTypeBindings(Type methodType, List<TypeVariable<?>> variables,
+      List<Type> types) {
+    if (methodType instanceof GenericArrayType) {
+      computeTypeBindings(((GenericArrayType) methodType).getGenericComponentType(), variables,
+          types);
+    } else if (methodType instanceof ParameterizedType) {
+      ParameterizedType paramType = (ParameterizedType) methodType;
+      Type rawType = paramType.getRawType();
+      if (rawType instanceof Class) {
+        Class<?> rawClass = (Class<?>) paramType.getRawType();
+        TypeVariable<?>[] classGenericTypes = rawClass.getTypeParameters();
+        Type[] actualTypes = paramType.getActualTypeArguments();
+
+        for (int i = 0; i < actualTypes.length; ++i) {
+          variables.add(classGenericTypes[i]);
+          types.add(actualTypes[i]);
+        }
+
+        Class<?> superClass = rawClass.getSuperclass();
+        if (superClass != null) {
+          computeTypeBindings(rawClass.getGenericSuperclass(), variables, types);
+        }
+
+        for (Type interfaceType : rawClass.getGenericInterfaces()) {
+          computeTypeBindings(interfaceType, variables, types);
+        }
+      }
+    } else if (methodType instanceof WildcardType) {
+      WildcardType wildcardType = (WildcardType) methodType;
+      for (Type type : wildcardType.getLowerBounds()) {
+        computeTypeBindings(type, variables, types);
+      }
+      for (Type type : wildcardType.getUpperBounds()) {
+        computeTypeBindings(type, variables, types);
+      }
+    } else if (methodType instanceof TypeVariable) {
+      for (Type type : ((TypeVariable<?>) methodType).getBounds()) {
+        computeTypeBindings(type, variables, types);
+      }
+    } else if (methodType instanceof Class) {
+      Class<?> classType = (Class<?>) methodType;
+
+      // A type that is of instance Class, with TypeParameters, must be a raw
+      // class, so map its parameters to themselves.
+      for (TypeVariable<?> classParamType : classType.getTypeParameters()) {
+        variables.add(classParamType);
+        types.add(classParamType);
+      }
+
+      Type superGenericType = classType.getGenericSuperclass();
+      if (superGenericType != null) {
+        computeTypeBindings(superGenericType, variables, types);
+      }
+
+      for (Type interfaceType : classType.getGenericInterfaces()) {
+        computeTypeBindings(interfaceType, variables, types);
+      }
+    }
+  }
+
+  private final Map<Class<?>, ClassMetadata> classMetadata =
+      new ConcurrentHashMap<Class<?>, ClassMetadata>();
+
+  private final WeakReference<ClassLoader> classLoader;
+
+  /**
+   * Plans by policy and class. Policies are weakly referenced since applications may create them
+   * on the fly.
+   */
+  private final WeakKeyMap<SerializationPolicy, Map<Class<?>, ClassSerializationPlan>>
+      plansByPolicy = new WeakKeyMap<SerializationPolicy, Map<Class<?>, ClassSerializationPlan>>();
+
+  /**
+   * Singleton instances of custom field serializers by class, or a placeholder for classes that
+   * do not implement {@link CustomFieldSerializer}.
+   */
+  private final Map<Class<?>, CustomFieldSerializer<?>> serializerInstances =
+      new ConcurrentHashMap<Class<?>, CustomFieldSerializer<?>>();
+
+  private final Map<Type, TypeBindings> typeBindings = new ConcurrentHashMap<Type, TypeBindings>();
+
+  private ClassMetadataRegistry(ClassLoader classLoader) {
+    this.classLoader = new WeakReference<ClassLoader>(classLoader);
+  }
+
+  /**
+   * Returns the metadata of the given class.
+   */
+  ClassMetadata getClassMetadata(Class<?> clazz) {
+    ClassMetadata metadata = classMetadata.get(clazz);
+    if (metadata == null) {
+      metadata = new ClassMetadata();
+      classMetadata.put(clazz, metadata);
+      ClassLoader loader = clazz.getClassLoader();
+      if (loader != null && loader == getClassLoader()) {
+        registriesByClass.get(clazz);
+      }
+    }
+    return metadata;
+  }
+
+  /**
+   * Returns the plans of the classes under the given policy, by class.
+   */
+  Map<Class<?>, ClassSerializationPlan> getPlans(SerializationPolicy policy) {
+    Map<Class<?>, ClassSerializationPlan> plans = plansByPolicy.get(policy);
+    if (plans != null) {
+      return plans;
+    }
+    synchronized (plansByPolicy) {
+      plans = plansByPolicy.get(policy);
+      if (plans == null) {
+        plans = new ConcurrentHashMap<Class<?>, ClassSerializationPlan>();
+        plansByPolicy.put(policy, plans);
+      }
+      return plans;
+    }
+  }
+
+  /**
+   * Returns the instances of custom field serializers, by class.
+   */
+  Map<Class<?>, CustomFieldSerializer<?>> getSerializerInstances() {
+    return serializerInstances;
+  }
+
+  /**
+   * Returns the bindings of the given type.
+   */
+  TypeBindings getTypeBindings(Type type) {
+    TypeBindings bindings = typeBindings.get(type);
+    if (bindings == null) {
+      List<TypeVariable<?>> variables = new ArrayList<TypeVariable<?>>();
+      List<Type> types = new ArrayList<Type>();
+      computeTypeBindings(type, variables, types);
+      bindings = new TypeBindings(variables, types);
+      if (typeBindings.size() < MAX_CACHED_TYPE_BINDINGS) {
+        typeBindings.put(type, bindings);
+      }
+    }
+    return bindings;
+  }
+
+  /**
+   * Returns the class loader of this registry, or <code>null</code> for the bootstrap class loader.
+   */
+  ClassLoader getClassLoader() {
+    return classLoader.get();
+  }
+}
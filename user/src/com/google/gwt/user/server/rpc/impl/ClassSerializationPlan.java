@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.impl;
+
+import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.server.rpc.SerializationPolicy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The fields of a class that the server serializes and deserializes under a given
+ * {@link SerializationPolicy}, in wire order, along with accessors for them.
+ * <p>
+ * Plans are computed once per class and policy, so that serializing an object only walks a
+ * precomputed array of accessors instead of filtering fields and changing their accessibility on
+ * every call. Accessors use {@link MethodHandle}s and fall back to reflection for the fields they
+ * cannot be created for.
+ */
+final class ClassSerializationPlan {
+
+  /**
+   * Reads and writes one field of instances of a class.
+   */
+  static final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE =
+        MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE =
+        MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final Type genericType;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    private FieldAccessor(Field field) {
+      this.field = field;
+      this.genericType = field.getGenericType();
+      MethodHandle getter = null;
+      MethodHandle setter = null;
+      try {
+        if (!Modifier.isPublic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+          field.setAccessible(true);
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+      } catch (IllegalAccessException e) {
+        // Use reflection for what could not be looked up, e.g. writing final fields.
+      } catch (RuntimeException e) {
+        // Accessibility may not be changeable (security manager, modules); let reflection report
+        // the problem when the field is actually used.
+      }
+      this.getter = getter;
+      this.setter = setter;
+    }
+
+    Object get(Object instance) throws SerializationException {
+      if (getter != null) {
+        try {
+          return getter.invokeExact(instance);
+        } catch (RuntimeException e) {
+          // Let reflection report the problem as usual.
+        } catch (Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new SerializationException(e);
+        }
+      }
+
+      if (!field.isAccessible() && !Modifier.isPublic(field.getModifiers())) {
+        // Override the access restrictions
+        field.setAccessible(true);
+      }
+      try {
+        return field.get(instance);
+      } catch (IllegalArgumentException e) {
+        throw new SerializationException(e);
+      } catch (IllegalAccessException e) {
+        throw new SerializationException(e);
+      }
+    }
+
+    Type getGenericType() {
+      return genericType;
+    }
+
+    String getName() {
+      return field.getName();
+    }
+
+    Class<?> getType() {
+      return field.getType();
+    }
+
+    void set(Object instance, Object value) throws IllegalAccessException {
+      if (setter != null) {
+        try {
+          setter.invokeExact(instance, value);
+          return;
+        } catch (RuntimeException e) {
+          // Let reflection report the problem (e.g. a type mismatch) as usual.
+        } catch (Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new RuntimeException(e);
+        }
+      }
+
+      if ((!field.isAccessible() && !Modifier.isPublic(field.getModifiers()))
+          || Modifier.isFinal(field.getModifiers())) {
+        // Override access restrictions
+        field.setAccessible(true);
+      }
+      field.set(instance, value);
+    }
+  }
+
+  /**
+   * Returns the plan of the given class under the given policy.
+   */
+  static ClassSerializationPlan get(Class<?> clazz, SerializationPolicy policy) {
+    Map<Class<?>, ClassSerializationPlan> plans = ClassMetadataRegistry.get().getPlans(policy);
+    ClassSerializationPlan plan = plans.get(clazz);
+    if (plan == null) {
+      plan = new ClassSerializationPlan(clazz, policy);
+      plans.put(clazz, plan);
+    }
+    return plan;
+  }
+
+  private final FieldAccessor[] clientFields;
+
+  private final Set<String> clientFieldNames;
+
+  private final Field[] serverOnlyFields;
+
+  private ClassSerializationPlan(Class<?> clazz, SerializationPolicy policy) {
+    Field[] serializableFields = SerializabilityUtil.applyFieldSerializationPolicy(clazz, policy);
+    clientFieldNames = policy.getClientFieldNamesForEnhancedClass(clazz);
+
+    List<FieldAccessor> clientFields = new ArrayList<FieldAccessor>();
+    List<Field> serverOnlyFields = new ArrayList<Field>();
+    for (Field field : serializableFields) {
+      if (clientFieldNames != null && !clientFieldNames.contains(field.getName())) {
+        serverOnlyFields.add(field);
+      } else {
+        clientFields.add(new FieldAccessor(field));
+      }
+    }
+    this.clientFields = clientFields.toArray(new FieldAccessor[clientFields.size()]);
+    this.serverOnlyFields = serverOnlyFields.toArray(new Field[serverOnlyFields.size()]);
+  }
+
+  /**
+   * Returns the accessors of the fields that are sent to and received from the client, in wire
+   * order.
+   */
+  FieldAccessor[] getClientFields() {
+    return clientFields;
+  }
+
+  /**
+   * Returns the serializable fields that the client does not know about. Empty unless the class
+   * is enhanced.
+   */
+  Field[] getServerOnlyFields() {
+    return serverOnlyFields;
+  }
+
+  /**
+   * Returns whether the class is enhanced, i.e. whether the client does not know about all of its
+   * serializable fields and the server-only ones are sent in encoded form.
+   */
+  boolean isEnhanced() {
+    return clientFieldNames != null;
+  }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.impl;
+
+import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.server.Base64Utils;
+import com.google.gwt.user.server.rpc.ServerOnlyFieldCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.util.Date;
+
+/**
+ * Encodes server-only fields in the binary format of GWT-RPC responses, in
+ * Base64. Field names are not written: the fields are written in order,
+ * preceded by a hash of their names and types that is checked when decoding.
+ * Primitives, their wrappers, strings and dates are written directly, and only
+ * other values fall back to Java serialization.
+ * <p>
+ * Strings encoded by {@link JavaSerializationFieldCodec} are also decoded, so
+ * that objects the client received before the server switched codecs can still
+ * be sent back.
+ * </p>
+ */
+public final class CompactFieldCodec implements ServerOnlyFieldCodec {
+
+  /**
+   * Reads the bytes written by a {@link BinaryBuffer}.
+   */
+  private static final class Input {
+    private final byte[] bytes;
+    private int position;
+
+    Input(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    boolean hasMore() {
+      return position < bytes.length;
+    }
+
+    int readByte() {
+      return bytes[position++];
+    }
+
+    byte[] readBytes() throws SerializationException {
+      int length = readLength();
+      byte[] value = new byte[length];
+      System.arraycopy(bytes, position, value, 0, length);
+      position += length;
+      return value;
+    }
+
+    int readFixed32() {
+      int value = 0;
+      for (int i = 0; i < 32; i += 8) {
+        value |= (bytes[position++] & 0xFF) << i;
+      }
+      return value;
+    }
+
+    long readFixed64() {
+      long value = 0;
+      for (int i = 0; i < 64; i += 8) {
+        value |= (bytes[position++] & 0xFFL) << i;
+      }
+      return value;
+    }
+
+    /**
+     * Reads the length of a value that follows, which must fit in the remaining input.
+     */
+    int readLength() throws SerializationException {
+      int length = readVarint();
+      if (length < 0 || length > bytes.length - position) {
+        throw new SerializationException("Invalid length " + length + " at offset " + position);
+      }
+      return length;
+    }
+
+    String readString() throws SerializationException {
+      int end = readLength() + position;
+      // Each byte decodes to at most one char
+      char[] chars = new char[end - position];
+      int length = 0;
+      while (position < end) {
+        int b = bytes[position++] & 0xFF;
+        if (b < 0x80) {
+          chars[length++] = (char) b;
+        } else if (b < 0xE0) {
+          chars[length++] = (char) (((b & 0x1F) << 6) | (bytes[position++] & 0x3F));
+        } else {
+          int b1 = bytes[position++] & 0x3F;
+          chars[length++] = (char) (((b & 0x0F) << 12) | (b1 << 6) | (bytes[position++] & 0x3F));
+        }
+      }
+      return new String(chars, 0, length);
+    }
+
+    int readVarint() {
+      int value = 0;
+      int shift = 0;
+      int b;
+      do {
+        b = bytes[position++];
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return value;
+    }
+
+    int readZigZag() {
+      int value = readVarint();
+      return (value >>> 1) ^ -(value & 1);
+    }
+  }
+
+  /**
+   * The first byte of the encoded fields, which is encoded as <code>A</code>.
+   * Strings encoded with Java serialization start with <code>r</code>.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * Buffers larger than this are not kept for reuse.
+   */
+  private static final int MAX_SHARED_BUFFER_SIZE = 64 * 1024;
+
+  /*
+   * The tags of the values of fields that are not primitive.
+   */
+  private static final int TAG_NULL = 0;
+  private static final int TAG_STRING = 1;
+  private static final int TAG_BOOLEAN = 2;
+  private static final int TAG_BYTE = 3;
+  private static final int TAG_CHAR = 4;
+  private static final int TAG_SHORT = 5;
+  private static final int TAG_INT = 6;
+  private static final int TAG_LONG = 7;
+  private static final int TAG_FLOAT = 8;
+  private static final int TAG_DOUBLE = 9;
+  private static final int TAG_DATE = 10;
+  private static final int TAG_SERIALIZED = 11;
+
+  private static final ThreadLocal<BinaryBuffer> sharedBuffer = new ThreadLocal<BinaryBuffer>() {
+    @Override
+    protected BinaryBuffer initialValue() {
+      return new BinaryBuffer();
+    }
+  };
+
+  private static final CompactFieldCodec sInstance = new CompactFieldCodec();
+
+  public static CompactFieldCodec getInstance() {
+    return sInstance;
+  }
+
+  /**
+   * Returns a hash of the names and types of the fields, which changes when
+   * the server-only fields of a class do.
+   */
+  private static int getLayoutHash(Field[] fields) {
+    int hash = fields.length;
+    for (Field field : fields) {
+      hash = hash * 31 + field.getName().hashCode();
+      hash = hash * 31 + field.getType().getName().hashCode();
+    }
+    return hash;
+  }
+
+  private static Object readObject(Input input) throws IOException, ClassNotFoundException,
+      SerializationException {
+    int tag = input.readByte();
+    switch (tag) {
+      case TAG_NULL:
+        return null;
+      case TAG_STRING:
+        return input.readString();
+      case TAG_BOOLEAN:
+        return input.readByte() != 0;
+      case TAG_BYTE:
+        return (byte) input.readZigZag();
+      case TAG_CHAR:
+        return (char) input.readVarint();
+      case TAG_SHORT:
+        return (short) input.readZigZag();
+      case TAG_INT:
+        return input.readZigZag();
+      case TAG_LONG:
+        return input.readFixed64();
+      case TAG_FLOAT:
+        return Float.intBitsToFloat(input.readFixed32());
+      case TAG_DOUBLE:
+        return Double.longBitsToDouble(input.readFixed64());
+      case TAG_DATE:
+        return new Date(input.readFixed64());
+      case TAG_SERIALIZED:
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(input.readBytes()));
+        return ois.readObject();
+      default:
+        throw new SerializationException("Unknown tag " + tag);
+    }
+  }
+
+  private static Object readValue(Input input, Class<?> type) throws IOException,
+      ClassNotFoundException, SerializationException {
+    if (!type.isPrimitive()) {
+      return readObject(input);
+    } else if (type == boolean.class) {
+      return input.readByte() != 0;
+    } else if (type == byte.class) {
+      return (byte) input.readZigZag();
+    } else if (type == char.class) {
+      return (char) input.readVarint();
+    } else if (type == short.class) {
+      return (short) input.readZigZag();
+    } else if (type == int.class) {
+      return input.readZigZag();
+    } else if (type == long.class) {
+      return input.readFixed64();
+    } else if (type == float.class) {
+      return Float.intBitsToFloat(input.readFixed32());
+    } else {
+      assert type == double.class;
+      return Double.longBitsToDouble(input.readFixed64());
+    }
+  }
+
+  private static void writeObject(BinaryBuffer buffer, Object value) throws IOException {
+    if (value == null) {
+      buffer.writeByte(TAG_NULL);
+      return;
+    }
+
+    Class<?> valueClass = value.getClass();
+    if (valueClass == String.class) {
+      buffer.writeByte(TAG_STRING);
+      buffer.writeString((String) value);
+    } else if (valueClass == Boolean.class) {
+      buffer.writeByte(TAG_BOOLEAN);
+      buffer.writeByte((Boolean) value ? 1 : 0);
+    } else if (valueClass == Byte.class) {
+      buffer.writeByte(TAG_BYTE);
+      buffer.writeZigZag((Byte) value);
+    } else if (valueClass == Character.class) {
+      buffer.writeByte(TAG_CHAR);
+      buffer.writeVarint((Character) value);
+    } else if (valueClass == Short.class) {
+      buffer.writeByte(TAG_SHORT);
+      buffer.writeZigZag((Short) value);
+    } else if (valueClass == Integer.class) {
+      buffer.writeByte(TAG_INT);
+      buffer.writeZigZag((Integer) value);
+    } else if (valueClass == Long.class) {
+      buffer.writeByte(TAG_LONG);
+      buffer.writeFixed64((Long) value);
+    } else if (valueClass == Float.class) {
+      buffer.writeByte(TAG_FLOAT);
+      buffer.writeFixed32(Float.floatToRawIntBits((Float) value));
+    } else if (valueClass == Double.class) {
+      buffer.writeByte(TAG_DOUBLE);
+      buffer.writeFixed64(Double.doubleToRawLongBits((Double) value));
+    } else if (valueClass == Date.class) {
+      // Subclasses such as java.sql.Timestamp have more state
+      buffer.writeByte(TAG_DATE);
+      buffer.writeFixed64(((Date) value).getTime());
+    } else {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      ObjectOutputStream oos = new ObjectOutputStream(baos);
+      oos.writeObject(value);
+      oos.close();
+      buffer.writeByte(TAG_SERIALIZED);
+      buffer.writeBytes(baos.toByteArray());
+    }
+  }
+
+  private static void writeValue(BinaryBuffer buffer, Field field, Object instance)
+      throws IllegalAccessException, IOException {
+    Class<?> type = field.getType();
+    if (!type.isPrimitive()) {
+      writeObject(buffer, field.get(instance));
+    } else if (type == boolean.class) {
+      buffer.writeByte(field.getBoolean(instance) ? 1 : 0);
+    } else if (type == byte.class) {
+      buffer.writeZigZag(field.getByte(instance));
+    } else if (type == char.class) {
+      buffer.writeVarint(field.getChar(instance));
+    } else if (type == short.class) {
+      buffer.writeZigZag(field.getShort(instance));
+    } else if (type == int.class) {
+      buffer.writeZigZag(field.getInt(instance));
+    } else if (type == long.class) {
+      buffer.writeFixed64(field.getLong(instance));
+    } else if (type == float.class) {
+      buffer.writeFixed32(Float.floatToRawIntBits(field.getFloat(instance)));
+    } else {
+      assert type == double.class;
+      buffer.writeFixed64(Double.doubleToRawLongBits(field.getDouble(instance)));
+    }
+  }
+
+  /**
+   * Singleton.
+   */
+  private CompactFieldCodec() {
+  }
+
+  public void decode(String encoded, Object instance, Class<?> instanceClass, Field[] fields)
+      throws SerializationException {
+    if (encoded.length() == 0 || encoded.charAt(0) != 'A') {
+      JavaSerializationFieldCodec.getInstance().decode(encoded, instance, instanceClass, fields);
+      return;
+    }
+
+    if (encoded.length() % 4 != 0) {
+      throw new SerializationException("Malformed server-only fields of "
+          + instanceClass.getName());
+    }
+    try {
+      Input input = new Input(Base64Utils.fromBase64(encoded));
+      int version = input.readByte();
+      if (version != VERSION) {
+        throw new SerializationException("Unknown version " + version
+            + " of the server-only fields of " + instanceClass.getName());
+      }
+      if (input.readFixed32() != getLayoutHash(fields)) {
+        throw new SerializationException("The server-only fields of " + instanceClass.getName()
+            + " have changed since the instance was serialized");
+      }
+      for (Field field : fields) {
+        Object value = readValue(input, field.getType());
+        field.setAccessible(true);
+        field.set(instance, value);
+      }
+      if (input.hasMore()) {
+        throw new SerializationException("Unexpected data after the server-only fields of "
+            + instanceClass.getName());
+      }
+    } catch (ArrayIndexOutOfBoundsException e) {
+      throw new SerializationException("Malformed server-only fields of "
+          + instanceClass.getName(), e);
+    } catch (ClassNotFoundException e) {
+      throw new SerializationException(e);
+    } catch (IllegalAccessException e) {
+      throw new SerializationException(e);
+    } catch (IllegalArgumentException e) {
+      throw new SerializationException(e);
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    }
+  }
+
+  public String encode(Object instance, Class<?> instanceClass, Field[] fields)
+      throws SerializationException {
+    BinaryBuffer buffer = sharedBuffer.get();
+    buffer.reset();
+    try {
+      buffer.writeByte(VERSION);
+      buffer.writeFixed32(getLayoutHash(fields));
+      for (Field field : fields) {
+        field.setAccessible(true);
+        writeValue(buffer, field, instance);
+      }
+      return Base64Utils.toBase64(buffer.toByteArray());
+    } catch (IllegalAccessException e) {
+      throw new SerializationException(e);
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    } finally {
+      if (buffer.size() > MAX_SHARED_BUFFER_SIZE) {
+        sharedBuffer.remove();
+      }
+    }
+  }
+}
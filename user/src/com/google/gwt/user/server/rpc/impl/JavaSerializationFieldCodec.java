@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.impl;
+
+import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.server.Base64Utils;
+import com.google.gwt.user.server.rpc.ServerOnlyFieldCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+
+/**
+ * Encodes server-only fields with Java serialization, as their names and
+ * values, in Base64. This was the only encoding before
+ * {@link CompactFieldCodec}, which still decodes it.
+ */
+public final class JavaSerializationFieldCodec implements ServerOnlyFieldCodec {
+
+  private static final JavaSerializationFieldCodec sInstance = new JavaSerializationFieldCodec();
+
+  public static JavaSerializationFieldCodec getInstance() {
+    return sInstance;
+  }
+
+  /**
+   * Singleton.
+   */
+  private JavaSerializationFieldCodec() {
+  }
+
+  public void decode(String encoded, Object instance, Class<?> instanceClass, Field[] fields)
+      throws SerializationException {
+    try {
+      byte[] serializedData = Base64Utils.fromBase64(encoded);
+      ByteArrayInputStream bais = new ByteArrayInputStream(serializedData);
+      ObjectInputStream ois = new ObjectInputStream(bais);
+
+      int count = ois.readInt();
+      for (int i = 0; i < count; i++) {
+        String fieldName = (String) ois.readObject();
+        Object fieldValue = ois.readObject();
+        Field field = instanceClass.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(instance, fieldValue);
+      }
+    } catch (ClassNotFoundException e) {
+      throw new SerializationException(e);
+    } catch (IllegalAccessException e) {
+      throw new SerializationException(e);
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    } catch (NoSuchFieldException e) {
+      throw new SerializationException(e);
+    }
+  }
+
+  public String encode(Object instance, Class<?> instanceClass, Field[] fields)
+      throws SerializationException {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      ObjectOutputStream oos = new ObjectOutputStream(baos);
+      oos.writeInt(fields.length);
+      for (Field f : fields) {
+        oos.writeObject(f.getName());
+        f.setAccessible(true);
+        Object fieldData = f.get(instance);
+        oos.writeObject(fieldData);
+      }
+      oos.close();
+
+      return Base64Utils.toBase64(baos.toByteArray());
+    } catch (IllegalAccessException e) {
+      throw new SerializationException(e);
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    }
+  }
+}
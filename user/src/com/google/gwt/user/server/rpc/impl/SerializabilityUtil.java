@@ -15,7 +15,6 @@
  */
 package com.google.gwt.user.server.rpc.impl;
 
-import com.google.gwt.core.shared.GWT;
 import com.google.gwt.user.client.rpc.CustomFieldSerializer;
 import com.google.gwt.user.client.rpc.GwtTransient;
 import com.google.gwt.user.client.rpc.SerializationException;
@@ -24,6 +23,7 @@ import com.google.gwt.user.client.rpc.SerializationStreamWriter;
 import com.google.gwt.user.server.rpc.RPCServletUtils;
 import com.google.gwt.user.server.rpc.SerializationPolicy;
 import com.google.gwt.user.server.rpc.ServerCustomFieldSerializer;
+import com.google.gwt.user.server.rpc.impl.ClassMetadataRegistry.ClassMetadata;
 
 import java.io.UnsupportedEncodingException;
 import java.lang.annotation.Annotation;
@@ -41,7 +41,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.CRC32;
 
 /**
@@ -58,45 +57,6 @@ public class SerializabilityUtil {
     }
   };
 
-  /**
-   * A permanent cache of all computed CRCs on classes. This is safe to do
-   * because a Class is guaranteed not to change within the lifetime of a
-   * ClassLoader (and thus, this Map).
-   */
-  private static final Map<Class<?>, String> classCRC32Cache =
-      new ConcurrentHashMap<Class<?>, String>();
-
-  /**
-   * A permanent cache of all serializable fields on classes. This is safe to do
-   * because a Class is guaranteed not to change within the lifetime of a
-   * ClassLoader (and thus, this Map).
-   */
-  private static final Map<Class<?>, Field[]> classSerializableFieldsCache =
-      new ConcurrentHashMap<Class<?>, Field[]>();
-
-  /**
-   * A permanent cache of all which classes onto custom field serializers. This
-   * is safe to do because a Class is guaranteed not to change within the
-   * lifetime of a ClassLoader (and thus, this Map).
-   */
-  private static final Map<Class<?>, Class<?>> classCustomSerializerCache =
-      new ConcurrentHashMap<Class<?>, Class<?>>();
-
-  /**
-   * A permanent cache of all which classes onto server-side custom field
-   * serializers. This is safe to do because a Class is guaranteed not to change
-   * within the lifetime of a ClassLoader (and thus, this Map).
-   */
-  private static final Map<Class<?>, Class<?>> classServerCustomSerializerCache =
-      new ConcurrentHashMap<Class<?>, Class<?>>();
-
-  /**
-   * Map of {@link Class} objects to singleton instances of that
-   * {@link CustomFieldSerializer}.
-   */
-  private static final Map<Class<?>, CustomFieldSerializer<?>> CLASS_TO_SERIALIZER_INSTANCE =
-      new ConcurrentHashMap<Class<?>, CustomFieldSerializer<?>>();
-
   private static final String JRE_SERVER_SERIALIZER_PACKAGE = "com.google.gwt.user.server.rpc.core";
   private static final String JRE_SERIALIZER_PACKAGE = "com.google.gwt.user.client.rpc.core";
 
@@ -186,7 +146,13 @@ public class SerializabilityUtil {
   }
 
   private static Field[] applyFieldSerializationPolicy(Class<?> clazz, boolean includeFinalFields) {
-    Field[] serializableFields = classSerializableFieldsCache.get(clazz);
+    /*
+     * The metadata of classes is cached per class loader. This is safe to do
+     * because a Class is guaranteed not to change within the lifetime of a
+     * ClassLoader.
+     */
+    ClassMetadata metadata = ClassMetadataRegistry.get().getClassMetadata(clazz);
+    Field[] serializableFields = metadata.getSerializableFields(includeFinalFields);
     if (serializableFields == null) {
       ArrayList<Field> fieldList = new ArrayList<Field>();
       Field[] fields = clazz.getDeclaredFields();
@@ -200,7 +166,7 @@ public class SerializabilityUtil {
       // sort the fields by name
       Arrays.sort(serializableFields, 0, serializableFields.length, FIELD_COMPARATOR);
 
-      classSerializableFieldsCache.put(clazz, serializableFields);
+      metadata.setSerializableFields(includeFinalFields, serializableFields);
     }
     return serializableFields;
   }
@@ -361,8 +327,8 @@ public class SerializabilityUtil {
 
   public static String getSerializationSignature(Class<?> instanceType,
       SerializationPolicy policy) {
-    String result;
-    result = classCRC32Cache.get(instanceType);
+    ClassMetadata metadata = ClassMetadataRegistry.get().getClassMetadata(instanceType);
+    String result = metadata.getSerializationSignature();
     if (result == null) {
       CRC32 crc = new CRC32();
       try {
@@ -371,7 +337,7 @@ public class SerializabilityUtil {
         throw new RuntimeException("Could not compute the serialization signature", e);
       }
       result = Long.toString(crc.getValue());
-      classCRC32Cache.put(instanceType, result);
+      metadata.setSerializationSignature(result);
     }
     return result;
   }
@@ -396,10 +362,11 @@ public class SerializabilityUtil {
       return null;
     }
 
-    Class<?> result;
-    result = classCustomSerializerCache.get(instanceType);
+    ClassMetadataRegistry registry = ClassMetadataRegistry.get();
+    ClassMetadata metadata = registry.getClassMetadata(instanceType);
+    Class<?> result = metadata.getCustomSerializer();
     if (result == null) {
-      result = computeHasCustomFieldSerializer(instanceType, false);
+      result = computeHasCustomFieldSerializer(registry, instanceType, false);
       if (result == null) {
         /*
          * Use (result == instanceType) as a sentinel value when the class has
@@ -409,7 +376,7 @@ public class SerializabilityUtil {
          */
         result = instanceType;
       }
-      classCustomSerializerCache.put(instanceType, result);
+      metadata.setCustomSerializer(result);
     }
     return (result == instanceType) ? null : result;
   }
@@ -427,10 +394,11 @@ public class SerializabilityUtil {
       return null;
     }
 
-    Class<?> result;
-    result = classServerCustomSerializerCache.get(instanceType);
+    ClassMetadataRegistry registry = ClassMetadataRegistry.get();
+    ClassMetadata metadata = registry.getClassMetadata(instanceType);
+    Class<?> result = metadata.getServerCustomSerializer();
     if (result == null) {
-      result = computeHasCustomFieldSerializer(instanceType, true);
+      result = computeHasCustomFieldSerializer(registry, instanceType, true);
       if (result == null) {
         /*
          * Use (result == instanceType) as a sentinel value when the class has
@@ -440,7 +408,7 @@ public class SerializabilityUtil {
          */
         result = instanceType;
       }
-      classServerCustomSerializerCache.put(instanceType, result);
+      metadata.setServerCustomSerializer(result);
     }
     return (result == instanceType) ? null : result;
   }
@@ -455,7 +423,9 @@ public class SerializabilityUtil {
    * @param resolvedTypes The types that have been resolved to actual values
    */
   public static void releaseTypes(Type methodType, DequeMap<TypeVariable<?>, Type> resolvedTypes) {
-    SerializabilityUtil.resolveTypesWorker(methodType, resolvedTypes, false);
+    if (methodType != null) {
+      ClassMetadataRegistry.get().getTypeBindings(methodType).removeFrom(resolvedTypes);
+    }
   }
 
   /**
@@ -470,7 +440,9 @@ public class SerializabilityUtil {
    * @param resolvedTypes The types that have been resolved to actual values
    */
   public static void resolveTypes(Type methodType, DequeMap<TypeVariable<?>, Type> resolvedTypes) {
-    SerializabilityUtil.resolveTypesWorker(methodType, resolvedTypes, true);
+    if (methodType != null) {
+      ClassMetadataRegistry.get().getTypeBindings(methodType).addTo(resolvedTypes);
+    }
   }
 
   /**
@@ -510,8 +482,10 @@ public class SerializabilityUtil {
    */
   static CustomFieldSerializer<?> loadCustomFieldSerializer(final Class<?> customSerializerClass)
       throws SerializationException {
+    Map<Class<?>, CustomFieldSerializer<?>> serializerInstances =
+        ClassMetadataRegistry.get().getSerializerInstances();
     CustomFieldSerializer<?> customFieldSerializer =
-        CLASS_TO_SERIALIZER_INSTANCE.get(customSerializerClass);
+        serializerInstances.get(customSerializerClass);
     if (customFieldSerializer == null) {
       if (CustomFieldSerializer.class.isAssignableFrom(customSerializerClass)) {
         try {
@@ -525,7 +499,7 @@ public class SerializabilityUtil {
       } else {
         customFieldSerializer = NO_SUCH_SERIALIZER;
       }
-      CLASS_TO_SERIALIZER_INSTANCE.put(customSerializerClass, customFieldSerializer);
+      serializerInstances.put(customSerializerClass, customFieldSerializer);
     }
     if (customFieldSerializer == NO_SUCH_SERIALIZER) {
       return null;
@@ -537,19 +511,12 @@ public class SerializabilityUtil {
   /**
    * This method treats arrays in a special way.
    */
-  private static Class<?> computeHasCustomFieldSerializer(Class<?> instanceType,
-      Boolean typeChecked) {
+  private static Class<?> computeHasCustomFieldSerializer(ClassMetadataRegistry registry,
+      Class<?> instanceType, Boolean typeChecked) {
     assert (instanceType != null);
     String qualifiedTypeName = instanceType.getName();
-    /*
-     * This class is called from client code running in Development Mode as well
-     * as server code running in the servlet container. In Development Mode, we
-     * want to load classes through the
-     * CompilingClassLoader$MultiParentClassLoader, not the system classloader.
-     */
-    ClassLoader classLoader =
-        GWT.isClient() ? SerializabilityUtil.class.getClassLoader() : Thread.currentThread()
-            .getContextClassLoader();
+    // Custom field serializers are looked up with the loader of the registry
+    ClassLoader classLoader = registry.getClassLoader();
 
     if (typeChecked) {
       /*
@@ -946,78 +913,4 @@ public class SerializabilityUtil {
       return null;
     }
   }
-
-  private static void resolveTypesWorker(Type methodType,
-      DequeMap<TypeVariable<?>, Type> resolvedTypes, boolean addTypes) {
-    if (methodType instanceof GenericArrayType) {
-      SerializabilityUtil.resolveTypesWorker(((GenericArrayType) methodType)
-          .getGenericComponentType(), resolvedTypes, addTypes);
-    } else if (methodType instanceof ParameterizedType) {
-      ParameterizedType paramType = (ParameterizedType) methodType;
-      Type rawType = paramType.getRawType();
-      if (rawType instanceof Class) {
-        Class<?> rawClass = (Class<?>) paramType.getRawType();
-        TypeVariable<?>[] classGenericTypes = rawClass.getTypeParameters();
-        Type[] actualTypes = paramType.getActualTypeArguments();
-
-        for (int i = 0; i < actualTypes.length; ++i) {
-          TypeVariable<?> variableType = classGenericTypes[i];
-          if (addTypes) {
-            resolvedTypes.add(variableType, actualTypes[i]);
-          } else {
-            resolvedTypes.remove(variableType);
-          }
-        }
-
-        Class<?> superClass = rawClass.getSuperclass();
-        if (superClass != null) {
-          Type superGenericType = rawClass.getGenericSuperclass();
-          SerializabilityUtil.resolveTypesWorker(superGenericType, resolvedTypes, addTypes);
-        }
-
-        Type[] interfaceTypes = rawClass.getGenericInterfaces();
-        for (Type interfaceType : interfaceTypes) {
-          SerializabilityUtil.resolveTypesWorker(interfaceType, resolvedTypes, addTypes);
-        }
-      }
-    } else if (methodType instanceof WildcardType) {
-      WildcardType wildcardType = (WildcardType) methodType;
-      Type[] lowerBounds = wildcardType.getLowerBounds();
-      for (Type type : lowerBounds) {
-        SerializabilityUtil.resolveTypesWorker(type, resolvedTypes, addTypes);
-      }
-      Type[] upperBounds = wildcardType.getUpperBounds();
-      for (Type type : upperBounds) {
-        SerializabilityUtil.resolveTypesWorker(type, resolvedTypes, addTypes);
-      }
-    } else if (methodType instanceof TypeVariable) {
-      Type[] bounds = ((TypeVariable<?>) methodType).getBounds();
-      for (Type type : bounds) {
-        SerializabilityUtil.resolveTypesWorker(type, resolvedTypes, addTypes);
-      }
-    } else if (methodType instanceof Class) {
-      Class<?> classType = (Class<?>) methodType;
-
-      // A type that is of instance Class, with TypeParameters, must be a raw
-      // class, so strip off any parameters in the map.
-      TypeVariable<?>[] classParams = classType.getTypeParameters();
-      for (TypeVariable<?> classParamType : classParams) {
-        if (addTypes) {
-          resolvedTypes.add(classParamType, classParamType);
-        } else {
-          resolvedTypes.remove(classParamType);
-        }
-      }
-
-      Type superGenericType = classType.getGenericSuperclass();
-      if (superGenericType != null) {
-        SerializabilityUtil.resolveTypesWorker(superGenericType, resolvedTypes, addTypes);
-      }
-
-      Type[] interfaceTypes = classType.getGenericInterfaces();
-      for (Type interfaceType : interfaceTypes) {
-        SerializabilityUtil.resolveTypesWorker(interfaceType, resolvedTypes, addTypes);
-      }
-    }
-  }
 }
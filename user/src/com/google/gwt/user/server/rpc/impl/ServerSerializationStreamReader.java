@@ -26,16 +26,14 @@ import com.google.gwt.user.server.rpc.SerializationPolicy;
 import com.google.gwt.user.server.rpc.SerializationPolicyProvider;
 import com.google.gwt.user.server.rpc.ServerCustomFieldSerializer;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
+import java.io.Reader;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
@@ -43,7 +41,6 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.Map;
-import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -60,6 +57,11 @@ public final class ServerSerializationStreamReader extends AbstractSerialization
    */
   private static final Pattern ALLOWED_STRONG_NAME = Pattern.compile("[a-zA-Z0-9_]+");
 
+  /**
+   * The size of the buffer used to tokenize requests read from a {@link Reader}.
+   */
+  private static final int READ_BUFFER_SIZE = 8192;
+
   /**
    * Used to accumulate elements while deserializing array types. The generic
    * type of the BoundedList will vary from the component type of the array it
@@ -384,6 +386,11 @@ public final class ServerSerializationStreamReader extends AbstractSerialization
 
   private int tokenListIndex;
 
+  /**
+   * Reused by {@link #prepareToRead(Reader, int)}, allocated on first use.
+   */
+  private char[] readBuffer;
+
   {
     CLASS_TO_VECTOR_READER.put(boolean[].class, VectorReader.BOOLEAN_VECTOR);
     CLASS_TO_VECTOR_READER.put(byte[].class, VectorReader.BYTE_VECTOR);
@@ -456,25 +463,68 @@ public final class ServerSerializationStreamReader extends AbstractSerialization
       idx = nextIdx + 1;
     }
     if (idx == 0) {
-      // Didn't find any separator, assume an older version with different
-      // separators and get the version as the sequence of digits at the
-      // beginning of the encoded string.
-      while (idx < encodedTokens.length() && Character.isDigit(encodedTokens.charAt(idx))) {
-        ++idx;
+      throwIncompatibleVersion(encodedTokens);
+    }
+
+    prepareToReadTokens();
+  }
+
+  /**
+   * Prepares to read a request that is tokenized as it is read from the given
+   * reader, rather than from a string holding the whole request. The reader is
+   * read until its end, but not closed.
+   *
+   * @param encodedTokens the reader of the request
+   * @param maxLength the maximum number of characters of the request; reading
+   *          stops as soon as the request turns out to be longer
+   * @throws IOException if reading fails
+   * @throws SerializationException if the request is longer than
+   *           <code>maxLength</code> or malformed
+   */
+  public void prepareToRead(Reader encodedTokens, int maxLength)
+      throws IOException, SerializationException {
+    tokenList.clear();
+    tokenListIndex = 0;
+    stringTable = null;
+
+    if (readBuffer == null) {
+      readBuffer = new char[READ_BUFFER_SIZE];
+    }
+    StringBuilder current = new StringBuilder();
+    long length = 0;
+    int charCount;
+    while ((charCount = encodedTokens.read(readBuffer)) != -1) {
+      length += charCount;
+      if (length > maxLength) {
+        throw new SerializationException("The RPC request is longer than " + maxLength
+            + " characters");
       }
-      if (idx == 0) {
-        throw new IncompatibleRemoteServiceException(
-            "Malformed or old RPC message received - expecting version between "
-                + SERIALIZATION_STREAM_MIN_VERSION + " and " + SERIALIZATION_STREAM_MAX_VERSION);
-      } else {
-        int version = Integer.valueOf(encodedTokens.substring(0, idx));
-        throw new IncompatibleRemoteServiceException("Expecting version between "
-            + SERIALIZATION_STREAM_MIN_VERSION + " and " + SERIALIZATION_STREAM_MAX_VERSION
-            + " from client, got " + version + ".");
+
+      int idx = 0, nextIdx;
+      while (-1 != (nextIdx = indexOfSeparator(readBuffer, idx, charCount))) {
+        if (current.length() == 0) {
+          tokenList.add(new String(readBuffer, idx, nextIdx - idx));
+        } else {
+          current.append(readBuffer, idx, nextIdx - idx);
+          tokenList.add(current.toString());
+          current.setLength(0);
+        }
+        idx = nextIdx + 1;
       }
+      current.append(readBuffer, idx, charCount - idx);
     }
+    if (tokenList.isEmpty()) {
+      throwIncompatibleVersion(current.toString());
+    }
+
+    prepareToReadTokens();
+  }
 
-    super.prepareToRead(encodedTokens);
+  /**
+   * Checks the header of the tokenized request and reads its string table.
+   */
+  private void prepareToReadTokens() throws SerializationException {
+    super.prepareToRead(null);
 
     // Check the RPC version number sent by the client
     if (getVersion() < SERIALIZATION_STREAM_MIN_VERSION
@@ -789,50 +839,24 @@ public final class ServerSerializationStreamReader extends AbstractSerialization
     Map<String, Method> setters = null;
 
     /**
-     * A list of fields of this class known to the client. If null, assume the
-     * class is not enhanced and don't attempt to deal with server-only fields.
+     * The fields of this class in wire order. If the class is not enhanced,
+     * don't attempt to deal with server-only fields.
      */
-    Set<String> clientFieldNames =
-        serializationPolicy.getClientFieldNamesForEnhancedClass(instanceClass);
-    if (clientFieldNames != null) {
+    ClassSerializationPlan plan = ClassSerializationPlan.get(instanceClass, serializationPolicy);
+    if (plan.isEnhanced()) {
       // Read and set server-only instance fields encoded in the RPC data
-      try {
-        String encodedData = readString();
-        if (encodedData != null) {
-          byte[] serializedData = Base64Utils.fromBase64(encodedData);
-          ByteArrayInputStream baos = new ByteArrayInputStream(serializedData);
-          ObjectInputStream ois = new ObjectInputStream(baos);
-
-          int count = ois.readInt();
-          for (int i = 0; i < count; i++) {
-            String fieldName = (String) ois.readObject();
-            Object fieldValue = ois.readObject();
-            Field field = instanceClass.getDeclaredField(fieldName);
-            field.setAccessible(true);
-            field.set(instance, fieldValue);
-          }
-        }
-      } catch (IOException e) {
-        throw new SerializationException(e);
-      } catch (NoSuchFieldException e) {
-        throw new SerializationException(e);
+      String encodedData = readString();
+      if (encodedData != null) {
+        serializationPolicy.getServerOnlyFieldCodec().decode(encodedData, instance, instanceClass,
+            plan.getServerOnlyFields());
       }
 
       setters = getSetters(instanceClass);
     }
 
-    Field[] serializableFields = SerializabilityUtil.applyFieldSerializationPolicy(instanceClass,
-        serializationPolicy);
-    for (Field declField : serializableFields) {
-      assert (declField != null);
-      if ((clientFieldNames != null) && !clientFieldNames.contains(declField.getName())) {
-        continue;
-      }
-
-      Type declGenericType = declField.getGenericType();
-      Object value = deserializeValue(declField.getType(), declGenericType, resolvedTypes);
+    for (ClassSerializationPlan.FieldAccessor field : plan.getClientFields()) {
+      Object value = deserializeValue(field.getType(), field.getGenericType(), resolvedTypes);
 
-      String fieldName = declField.getName();
       Method setter;
       /*
        * If setters is non-null and there is a setter method for the given
@@ -841,19 +865,10 @@ public final class ServerSerializationStreamReader extends AbstractSerialization
        * manipulate additional object state, causing direct field writes to fail
        * to update the object state properly.
        */
-      if ((setters != null) && ((setter = setters.get(fieldName)) != null)) {
+      if ((setters != null) && ((setter = setters.get(field.getName())) != null)) {
         setter.invoke(instance, value);
       } else {
-        boolean isAccessible = declField.isAccessible();
-        boolean needsAccessOverride = (!isAccessible
-            && !Modifier.isPublic(declField.getModifiers()))
-            || Modifier.isFinal(declField.getModifiers());
-        if (needsAccessOverride) {
-          // Override access restrictions
-          declField.setAccessible(true);
-        }
-
-        declField.set(instance, value);
+        field.set(instance, value);
       }
     }
 
@@ -990,6 +1005,37 @@ public final class ServerSerializationStreamReader extends AbstractSerialization
     throw new NoSuchMethodException("deserialize");
   }
 
+  private static int indexOfSeparator(char[] buffer, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (buffer[i] == RPC_SEPARATOR_CHAR) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Called when a request does not contain any separator. Assumes an older
+   * version with different separators and gets the version as the sequence of
+   * digits at the beginning of the encoded string.
+   */
+  private static void throwIncompatibleVersion(String encodedTokens) {
+    int idx = 0;
+    while (idx < encodedTokens.length() && Character.isDigit(encodedTokens.charAt(idx))) {
+      ++idx;
+    }
+    if (idx == 0) {
+      throw new IncompatibleRemoteServiceException(
+          "Malformed or old RPC message received - expecting version between "
+              + SERIALIZATION_STREAM_MIN_VERSION + " and " + SERIALIZATION_STREAM_MAX_VERSION);
+    } else {
+      int version = Integer.valueOf(encodedTokens.substring(0, idx));
+      throw new IncompatibleRemoteServiceException("Expecting version between "
+          + SERIALIZATION_STREAM_MIN_VERSION + " and " + SERIALIZATION_STREAM_MAX_VERSION
+          + " from client, got " + version + ".");
+    }
+  }
+
   private String extract() throws SerializationException {
     try {
       return tokenList.get(tokenListIndex++);
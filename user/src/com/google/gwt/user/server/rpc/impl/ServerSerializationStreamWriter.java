@@ -21,19 +21,15 @@ import com.google.gwt.user.client.rpc.impl.AbstractSerializationStreamWriter;
 import com.google.gwt.user.server.Base64Utils;
 import com.google.gwt.user.server.rpc.SerializationPolicy;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.lang.reflect.Field;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.IdentityHashMap;
-import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * For internal use only. Used for server call serialization. This class is
@@ -114,6 +110,84 @@ public final class ServerSerializationStreamWriter extends
     }
   }
 
+  /**
+   * Writes the same characters as {@link LengthConstrainedArray} directly to a
+   * {@link Writer}, so that large responses need not be built in memory.
+   */
+  private static class StreamingLengthConstrainedArray {
+    private final Writer writer;
+    private int count = 0;
+    private boolean needsComma = false;
+    private int total = 0;
+    private boolean javascript = false;
+
+    /**
+     * Only tracks whether escaped strings had to be split into several nodes.
+     */
+    private final LengthConstrainedArray splitNodes = new LengthConstrainedArray(0);
+
+    public StreamingLengthConstrainedArray(Writer writer) throws IOException {
+      this.writer = writer;
+      writer.write('[');
+    }
+
+    public void addToken(String token) throws IOException {
+      beginToken();
+      writer.write(String.valueOf(token));
+    }
+
+    public void addEscapedToken(String token) throws IOException {
+      addToken(escapeString(token, true, splitNodes));
+      javascript |= splitNodes.isJavaScript();
+    }
+
+    public void addToken(int i) throws IOException {
+      addToken(String.valueOf(i));
+    }
+
+    /**
+     * Starts a token that is an array itself, which must be closed before
+     * adding further tokens to this array.
+     */
+    public StreamingLengthConstrainedArray addArrayToken() throws IOException {
+      beginToken();
+      return new StreamingLengthConstrainedArray(writer);
+    }
+
+    public void close() throws IOException {
+      writer.write(total > LengthConstrainedArray.MAXIMUM_ARRAY_LENGTH
+          ? LengthConstrainedArray.POSTLUDE : "]");
+    }
+
+    public boolean isJavaScript() {
+      return javascript;
+    }
+
+    public void setJavaScript(boolean javascript) {
+      this.javascript = javascript;
+    }
+
+    private void beginToken() throws IOException {
+      total++;
+      if (count++ == LengthConstrainedArray.MAXIMUM_ARRAY_LENGTH) {
+        if (total == LengthConstrainedArray.MAXIMUM_ARRAY_LENGTH + 1) {
+          writer.write(LengthConstrainedArray.PRELUDE);
+          javascript = true;
+        } else {
+          writer.write("],[");
+        }
+        count = 0;
+        needsComma = false;
+      }
+
+      if (needsComma) {
+        writer.write(',');
+      } else {
+        needsComma = true;
+      }
+    }
+  }
+
   /**
    * Enumeration used to provided typed instance writers.
    */
@@ -574,6 +648,8 @@ public final class ServerSerializationStreamWriter extends
     }
   }
 
+  private BinaryBuffer binaryPayload;
+
   private final SerializationPolicy serializationPolicy;
 
   private ArrayList<String> tokenList = new ArrayList<String>();
@@ -589,11 +665,22 @@ public final class ServerSerializationStreamWriter extends
     setVersion(version);
   }
 
+  /**
+   * Returns <code>true</code> if the stream is binary, which is the case if
+   * {@link #FLAG_BINARY_RESPONSE} was set when {@link #prepareToWrite()} was
+   * called. A binary stream can only be written with
+   * {@link #writeTo(OutputStream)}.
+   */
+  public boolean isBinary() {
+    return binaryPayload != null;
+  }
+
   @Override
   public void prepareToWrite() {
     super.prepareToWrite();
     tokenList.clear();
     tokenListCharCount = 0;
+    binaryPayload = hasFlags(FLAG_BINARY_RESPONSE) ? new BinaryBuffer() : null;
   }
 
   public void serializeValue(Object value, Class<?> type)
@@ -616,6 +703,8 @@ public final class ServerSerializationStreamWriter extends
    */
   @Override
   public String toString() {
+    checkNotBinary();
+
     // Build a JavaScript string (with escaping, of course).
     // We take a guess at how big to make to buffer to avoid numerous resizes.
     //
@@ -627,10 +716,125 @@ public final class ServerSerializationStreamWriter extends
 
     return stream.toString();
   }
-  
+
+  /**
+   * Returns an estimate of the number of characters that {@link #toString()}
+   * and {@link #writeTo(Writer)} produce, without encoding the string table.
+   */
+  public int getEstimatedLength() {
+    int length = isBinary() ? binaryPayload.size() : tokenListCharCount + tokenList.size();
+    for (String s : getStringTable()) {
+      length += s.length() + 3;
+    }
+    return length;
+  }
+
+  /**
+   * Writes the same characters as {@link #toString()} to the given writer.
+   * Tokens are written as they are encoded, so that the whole response is
+   * never held in memory at once; the writer should be buffered.
+   */
+  public void writeTo(Writer writer) throws IOException {
+    checkNotBinary();
+    StreamingLengthConstrainedArray stream = new StreamingLengthConstrainedArray(writer);
+
+    ListIterator<String> tokenIterator = tokenList.listIterator(tokenList.size());
+    while (tokenIterator.hasPrevious()) {
+      stream.addToken(tokenIterator.previous());
+    }
+
+    StreamingLengthConstrainedArray tableStream = stream.addArrayToken();
+    for (String s : getStringTable()) {
+      tableStream.addEscapedToken(s);
+    }
+    tableStream.close();
+    stream.setJavaScript(stream.isJavaScript() || tableStream.isJavaScript());
+
+    stream.addToken(getFlags());
+    stream.addToken(getHeaderVersion(stream.isJavaScript()));
+    stream.close();
+  }
+
+  /**
+   * Writes a binary stream to the given output stream: the version, the flags
+   * and the string table, followed by the payload in the order it was written.
+   *
+   * @throws IllegalStateException if the stream is not binary
+   */
+  public void writeTo(OutputStream output) throws IOException {
+    if (!isBinary()) {
+      throw new IllegalStateException("The stream is not binary");
+    }
+    BinaryBuffer header = new BinaryBuffer();
+    header.writeZigZag(getVersion());
+    header.writeZigZag(getFlags());
+    header.writeZigZag(getStringTable().size());
+    for (String s : getStringTable()) {
+      header.writeString(s);
+    }
+    header.writeTo(output);
+    binaryPayload.writeTo(output);
+  }
+
+  @Override
+  public void writeBoolean(boolean fieldValue) {
+    if (isBinary()) {
+      binaryPayload.writeByte(fieldValue ? 1 : 0);
+    } else {
+      super.writeBoolean(fieldValue);
+    }
+  }
+
+  @Override
+  public void writeByte(byte fieldValue) {
+    if (isBinary()) {
+      binaryPayload.writeZigZag(fieldValue);
+    } else {
+      super.writeByte(fieldValue);
+    }
+  }
+
+  @Override
+  public void writeChar(char ch) {
+    if (isBinary()) {
+      binaryPayload.writeVarint(ch);
+    } else {
+      super.writeChar(ch);
+    }
+  }
+
+  @Override
+  public void writeFloat(float fieldValue) {
+    if (isBinary()) {
+      binaryPayload.writeFixed32(Float.floatToRawIntBits(fieldValue));
+    } else {
+      super.writeFloat(fieldValue);
+    }
+  }
+
+  @Override
+  public void writeInt(int fieldValue) {
+    if (isBinary()) {
+      binaryPayload.writeZigZag(fieldValue);
+    } else {
+      super.writeInt(fieldValue);
+    }
+  }
+
+  @Override
+  public void writeShort(short value) {
+    if (isBinary()) {
+      binaryPayload.writeZigZag(value);
+    } else {
+      super.writeShort(value);
+    }
+  }
+
   @Override
   public void writeLong(long value) {
-    if (getVersion() == SERIALIZATION_STREAM_MIN_VERSION) {
+    if (isBinary()) {
+      binaryPayload.writeFixed64(value);
+    } else if (getVersion() == SERIALIZATION_STREAM_MIN_VERSION) {
       // Write longs as a pair of doubles for backwards compatibility
       double[] parts = getAsDoubleArray(value);
       assert parts != null && parts.length == 2;
@@ -647,7 +851,9 @@ public final class ServerSerializationStreamWriter extends
 
   @Override
   public void writeDouble(double fieldValue) {
-    if (getVersion() >= SERIALIZATION_STREAM_JSON_VERSION
+    if (isBinary()) {
+      binaryPayload.writeFixed64(Double.doubleToRawLongBits(fieldValue));
+    } else if (getVersion() >= SERIALIZATION_STREAM_JSON_VERSION
         && (Double.isNaN(fieldValue) || Double.isInfinite(fieldValue))) {
       append('"' + String.valueOf(fieldValue) + '"');
     } else {
@@ -657,6 +863,7 @@ public final class ServerSerializationStreamWriter extends
 
   @Override
   protected void append(String token) {
+    assert !isBinary() : "Binary streams have no tokens";
     tokenList.add(token);
     if (token != null) {
       tokenListCharCount += token.length();
@@ -698,6 +905,12 @@ public final class ServerSerializationStreamWriter extends
     serializeImpl(instance, clazz);
   }
 
+  private void checkNotBinary() {
+    if (isBinary()) {
+      throw new IllegalStateException("A binary stream can only be written to an OutputStream");
+    }
+  }
+
   /**
    * Serialize an instance that is an array. Will default to serializing the
    * instance as an Object vector if the instance is not a vector of primitives,
@@ -722,76 +935,17 @@ public final class ServerSerializationStreamWriter extends
   private void serializeClass(Object instance, Class<?> instanceClass)
       throws SerializationException {
     assert (instance != null);
-    Field[] serializableFields = SerializabilityUtil.applyFieldSerializationPolicy(instanceClass,
-        serializationPolicy);
+    ClassSerializationPlan plan = ClassSerializationPlan.get(instanceClass, serializationPolicy);
 
-    /**
-     * If clientFieldNames is non-null, identify any additional server-only fields and serialize
-     * them separately.  Java serialization is used to construct a byte array, which is encoded
-     * as a String and written prior to the rest of the field data.
-     */
-    Set<String> clientFieldNames = serializationPolicy.getClientFieldNamesForEnhancedClass(instanceClass);
-    if (clientFieldNames != null) {
-      List<Field> serverFields = new ArrayList<Field>();
-      for (Field declField : serializableFields) {
-        assert (declField != null);
-        
-        // Identify server-only fields
-        if (!clientFieldNames.contains(declField.getName())) {
-          serverFields.add(declField);
-          continue;
-        }
-      }
-      
-      // Serialize the server-only fields into a byte array and encode as a String
-      try {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjectOutputStream oos = new ObjectOutputStream(baos);
-        oos.writeInt(serverFields.size());
-        for (Field f : serverFields) {
-          oos.writeObject(f.getName());
-          f.setAccessible(true);
-          Object fieldData = f.get(instance);
-          oos.writeObject(fieldData);
-        }
-        oos.close();
-
-        byte[] serializedData = baos.toByteArray();
-        String encodedData = Base64Utils.toBase64(serializedData);
-        writeString(encodedData);
-      } catch (IllegalAccessException e) {
-        throw new SerializationException(e);
-      } catch (IOException e) {
-        throw new SerializationException(e);
-      }
+    // If the class is enhanced, write the encoded server-only fields before the client-visible ones
+    if (plan.isEnhanced()) {
+      writeString(serializationPolicy.getServerOnlyFieldCodec().encode(instance, instanceClass,
+          plan.getServerOnlyFields()));
     }
-    
-    // Write the client-visible field data
-    for (Field declField : serializableFields) {
-      if ((clientFieldNames != null) && !clientFieldNames.contains(declField.getName())) {
-        // Skip server-only fields
-        continue;
-      }
-
-      boolean isAccessible = declField.isAccessible();
-      boolean needsAccessOverride = !isAccessible
-          && !Modifier.isPublic(declField.getModifiers());
-      if (needsAccessOverride) {
-        // Override the access restrictions
-        declField.setAccessible(true);
-      }
-
-      Object value;
-      try {
-        value = declField.get(instance);
-        serializeValue(value, declField.getType());
 
-      } catch (IllegalArgumentException e) {
-        throw new SerializationException(e);
-
-      } catch (IllegalAccessException e) {
-        throw new SerializationException(e);
-      }
+    // Write the client-visible field data
+    for (ClassSerializationPlan.FieldAccessor field : plan.getClientFields()) {
+      serializeValue(field.get(instance), field.getType());
     }
 
     Class<?> superClass = instanceClass.getSuperclass();
@@ -863,12 +1017,15 @@ public final class ServerSerializationStreamWriter extends
    */
   private void writeHeader(LengthConstrainedArray stream) {
     stream.addToken(getFlags());
-    if (stream.isJavaScript() && getVersion() >= SERIALIZATION_STREAM_JSON_VERSION) {
+    stream.addToken(getHeaderVersion(stream.isJavaScript()));
+  }
+
+  private int getHeaderVersion(boolean javascript) {
+    if (javascript && getVersion() >= SERIALIZATION_STREAM_JSON_VERSION) {
       // Ensure we are not using the JSON supported version if stream is Javascript instead of JSON
-      stream.addToken(SERIALIZATION_STREAM_JSON_VERSION - 1);
-    } else {
-      stream.addToken(getVersion());
+      return SERIALIZATION_STREAM_JSON_VERSION - 1;
     }
+    return getVersion();
   }
 
   private void writePayload(LengthConstrainedArray stream) {
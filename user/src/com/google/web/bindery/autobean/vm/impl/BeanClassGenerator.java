@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.autobean.vm.impl;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * Generates the bytecode of the subclasses of {@link GeneratedBean} that
+ * implement an AutoBean interface. Only {@link GeneratedBeans} uses this
+ * class, so that nothing else fails to load when ASM is not available.
+ */
+final class BeanClassGenerator implements Opcodes {
+
+  private static final String BEAN_DESCRIPTOR = Type.getDescriptor(ProxyAutoBean.class);
+  private static final String CONSTRUCTOR_DESCRIPTOR = "(" + BEAN_DESCRIPTOR
+      + Type.getDescriptor(InvocationHandler.class) + Type.getDescriptor(Method[].class) + ")V";
+  private static final String OBJECT = Type.getInternalName(Object.class);
+  private static final String SUPERCLASS = Type.getInternalName(GeneratedBean.class);
+
+  /**
+   * Returns the bytecode of a simple peer, which stores properties in its
+   * AutoBean's Splittable.
+   * 
+   * @param className the binary name of the class
+   * @param beanType the interface to implement
+   * @param methods the methods to implement, as returned by
+   *          {@link GeneratedBeans#getMethods(Class)}
+   */
+  static byte[] generatePeer(String className, Class<?> beanType, Method[] methods) {
+    ClassWriter cw = begin(className, beanType);
+    for (int i = 0; i < methods.length; i++) {
+      Method method = methods[i];
+      MethodVisitor mv = beginMethod(cw, method);
+      if (BeanMethod.OBJECT.matches(method)) {
+        invoke(mv, i, method);
+      } else if (BeanMethod.GET.matches(method)) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(BeanMethod.GET.inferName(method));
+        mv.visitMethodInsn(INVOKEVIRTUAL, SUPERCLASS, "getProperty",
+            "(Ljava/lang/String;)Ljava/lang/Object;", false);
+        returnValue(mv, method.getReturnType());
+      } else if (BeanMethod.SET.matches(method)) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(BeanMethod.SET.inferName(method));
+        loadBoxed(mv, method.getParameterTypes()[0], 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, SUPERCLASS, "setProperty",
+            "(Ljava/lang/String;Ljava/lang/Object;)V", false);
+        mv.visitInsn(RETURN);
+      } else if (BeanMethod.SET_BUILDER.matches(method)) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(BeanMethod.SET_BUILDER.inferName(method));
+        loadBoxed(mv, method.getParameterTypes()[0], 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, SUPERCLASS, "setPropertyAndReturn",
+            "(Ljava/lang/String;Ljava/lang/Object;)Ljava/lang/Object;", false);
+        returnValue(mv, method.getReturnType());
+      } else {
+        // Category methods
+        invoke(mv, i, method);
+      }
+      endMethod(mv);
+    }
+    return end(cw);
+  }
+
+  /**
+   * Returns the bytecode of a shim, which calls the getters and setters of
+   * the object wrapped by its AutoBean directly.
+   * 
+   * @param className the binary name of the class
+   * @param beanType the interface to implement
+   * @param methods the methods to implement, as returned by
+   *          {@link GeneratedBeans#getMethods(Class)}
+   */
+  static byte[] generateShim(String className, Class<?> beanType, Method[] methods) {
+    ClassWriter cw = begin(className, beanType);
+    for (int i = 0; i < methods.length; i++) {
+      Method method = methods[i];
+      MethodVisitor mv = beginMethod(cw, method);
+      if (BeanMethod.OBJECT.matches(method)) {
+        invoke(mv, i, method);
+      } else if (BeanMethod.GET.matches(method)) {
+        mv.visitVarInsn(ALOAD, 0);
+        pushInt(mv, i);
+        invokeWrapped(mv, method);
+        box(mv, method.getReturnType());
+        mv.visitMethodInsn(INVOKEVIRTUAL, SUPERCLASS, "afterGet",
+            "(ILjava/lang/Object;)Ljava/lang/Object;", false);
+        returnValue(mv, method.getReturnType());
+      } else if (BeanMethod.SET.matches(method) || BeanMethod.SET_BUILDER.matches(method)) {
+        mv.visitVarInsn(ALOAD, 0);
+        pushInt(mv, i);
+        invokeWrapped(mv, method);
+        if (method.getReturnType() == void.class) {
+          mv.visitInsn(ACONST_NULL);
+        } else {
+          box(mv, method.getReturnType());
+        }
+        loadBoxed(mv, method.getParameterTypes()[0], 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, SUPERCLASS, "afterSet",
+            "(ILjava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", false);
+        returnValue(mv, method.getReturnType());
+      } else {
+        invoke(mv, i, method);
+      }
+      endMethod(mv);
+    }
+    return end(cw);
+  }
+
+  private static ClassWriter begin(String className, Class<?> beanType) {
+    ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+    cw.visit(V1_7, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className.replace('.', '/'), null,
+        SUPERCLASS, new String[] {Type.getInternalName(beanType)});
+
+    MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+    mv.visitCode();
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitVarInsn(ALOAD, 1);
+    mv.visitVarInsn(ALOAD, 2);
+    mv.visitVarInsn(ALOAD, 3);
+    mv.visitMethodInsn(INVOKESPECIAL, SUPERCLASS, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+    mv.visitInsn(RETURN);
+    endMethod(mv);
+    return cw;
+  }
+
+  private static MethodVisitor beginMethod(ClassWriter cw, Method method) {
+    Class<?>[] exceptionTypes = method.getExceptionTypes();
+    String[] exceptions = new String[exceptionTypes.length];
+    for (int i = 0; i < exceptions.length; i++) {
+      exceptions[i] = Type.getInternalName(exceptionTypes[i]);
+    }
+    MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, method.getName(),
+        Type.getMethodDescriptor(method), null, exceptions);
+    mv.visitCode();
+    return mv;
+  }
+
+  /**
+   * Boxes the primitive value on top of the stack.
+   */
+  private static void box(MethodVisitor mv, Class<?> type) {
+    if (type.isPrimitive()) {
+      Type boxed = Type.getType(TypeUtils.maybeAutobox(type));
+      mv.visitMethodInsn(INVOKESTATIC, boxed.getInternalName(), "valueOf",
+          Type.getMethodDescriptor(boxed, Type.getType(type)), false);
+    }
+  }
+
+  private static byte[] end(ClassWriter cw) {
+    cw.visitEnd();
+    return cw.toByteArray();
+  }
+
+  private static void endMethod(MethodVisitor mv) {
+    // The sizes are computed by the ClassWriter
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+  }
+
+  /**
+   * Hands the call to {@link GeneratedBean#invoke(int, Object[])}.
+   */
+  private static void invoke(MethodVisitor mv, int index, Method method) {
+    mv.visitVarInsn(ALOAD, 0);
+    pushInt(mv, index);
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    if (parameterTypes.length == 0) {
+      // Like Proxy
+      mv.visitInsn(ACONST_NULL);
+    } else {
+      pushInt(mv, parameterTypes.length);
+      mv.visitTypeInsn(ANEWARRAY, OBJECT);
+      int slot = 1;
+      for (int i = 0; i < parameterTypes.length; i++) {
+        mv.visitInsn(DUP);
+        pushInt(mv, i);
+        loadBoxed(mv, parameterTypes[i], slot);
+        mv.visitInsn(AASTORE);
+        slot += Type.getType(parameterTypes[i]).getSize();
+      }
+    }
+    mv.visitMethodInsn(INVOKEVIRTUAL, SUPERCLASS, "invoke",
+        "(I[Ljava/lang/Object;)Ljava/lang/Object;", false);
+    returnValue(mv, method.getReturnType());
+  }
+
+  /**
+   * Calls the method on the wrapped object, with the arguments of the
+   * generated method.
+   */
+  private static void invokeWrapped(MethodVisitor mv, Method method) {
+    String owner = Type.getInternalName(method.getDeclaringClass());
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitMethodInsn(INVOKEVIRTUAL, SUPERCLASS, "getWrapped", "()Ljava/lang/Object;", false);
+    mv.visitTypeInsn(CHECKCAST, owner);
+    int slot = 1;
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      Type type = Type.getType(parameterType);
+      mv.visitVarInsn(type.getOpcode(ILOAD), slot);
+      slot += type.getSize();
+    }
+    mv.visitMethodInsn(INVOKEINTERFACE, owner, method.getName(),
+        Type.getMethodDescriptor(method), true);
+  }
+
+  private static void loadBoxed(MethodVisitor mv, Class<?> type, int slot) {
+    mv.visitVarInsn(Type.getType(type).getOpcode(ILOAD), slot);
+    box(mv, type);
+  }
+
+  private static void pushInt(MethodVisitor mv, int value) {
+    if (value <= 5) {
+      mv.visitInsn(ICONST_0 + value);
+    } else if (value <= Byte.MAX_VALUE) {
+      mv.visitIntInsn(BIPUSH, value);
+    } else if (value <= Short.MAX_VALUE) {
+      mv.visitIntInsn(SIPUSH, value);
+    } else {
+      mv.visitLdcInsn(value);
+    }
+  }
+
+  /**
+   * Returns the Object on top of the stack as the given type.
+   */
+  private static void returnValue(MethodVisitor mv, Class<?> type) {
+    if (type == void.class) {
+      mv.visitInsn(POP);
+      mv.visitInsn(RETURN);
+    } else if (type.isPrimitive()) {
+      String name = "unbox" + Character.toUpperCase(type.getName().charAt(0))
+          + type.getName().substring(1);
+      mv.visitMethodInsn(INVOKESTATIC, SUPERCLASS, name,
+          "(Ljava/lang/Object;)" + Type.getDescriptor(type), false);
+      mv.visitInsn(Type.getType(type).getOpcode(IRETURN));
+    } else {
+      if (type != Object.class) {
+        mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+      }
+      mv.visitInsn(ARETURN);
+    }
+  }
+
+  private BeanClassGenerator() {
+  }
+}
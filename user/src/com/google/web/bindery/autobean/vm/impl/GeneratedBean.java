@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.autobean.vm.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * The superclass of the shims and simple peers that {@link BeanClassGenerator}
+ * generates in place of {@link java.lang.reflect.Proxy} instances. Generated
+ * methods call the methods of this class, so that the generated code stays
+ * small. Methods that are not getters or setters are handed to the same
+ * {@link InvocationHandler} a proxy would use.
+ * <p>
+ * This class must be public to be visible to the generated classes, which are
+ * defined by another class loader.
+ */
+public abstract class GeneratedBean {
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Throwable> RuntimeException sneakyThrow(Throwable t) throws E {
+    throw (E) t;
+  }
+
+  protected static boolean unboxBoolean(Object value) {
+    return value != null && ((Boolean) value).booleanValue();
+  }
+
+  protected static byte unboxByte(Object value) {
+    return value == null ? 0 : ((Byte) value).byteValue();
+  }
+
+  protected static char unboxChar(Object value) {
+    return value == null ? 0 : ((Character) value).charValue();
+  }
+
+  protected static double unboxDouble(Object value) {
+    return value == null ? 0 : ((Double) value).doubleValue();
+  }
+
+  protected static float unboxFloat(Object value) {
+    return value == null ? 0 : ((Float) value).floatValue();
+  }
+
+  protected static int unboxInt(Object value) {
+    return value == null ? 0 : ((Integer) value).intValue();
+  }
+
+  protected static long unboxLong(Object value) {
+    return value == null ? 0 : ((Long) value).longValue();
+  }
+
+  protected static short unboxShort(Object value) {
+    return value == null ? 0 : ((Short) value).shortValue();
+  }
+
+  private final ProxyAutoBean<?> bean;
+  private final InvocationHandler handler;
+  private final Method[] methods;
+
+  /**
+   * Constructor.
+   * 
+   * @param bean the AutoBean the instance belongs to
+   * @param handler a {@link ShimHandler} or a {@link SimpleBeanHandler}
+   * @param methods the methods of the bean interface, in the order of the
+   *          indices passed by the generated methods
+   */
+  protected GeneratedBean(ProxyAutoBean<?> bean, InvocationHandler handler, Method[] methods) {
+    this.bean = bean;
+    this.handler = handler;
+    this.methods = methods;
+  }
+
+  /**
+   * Used by the shim after calling a getter on the wrapped object.
+   */
+  protected final Object afterGet(int index, Object returned) {
+    try {
+      return ((ShimHandler<?>) handler).afterGet(methods[index], returned);
+    } catch (Throwable t) {
+      throw rethrow(methods[index], t);
+    }
+  }
+
+  /**
+   * Used by the shim after calling a setter on the wrapped object.
+   */
+  protected final Object afterSet(int index, Object returned, Object value) {
+    try {
+      return ((ShimHandler<?>) handler).afterSet(methods[index], returned, value);
+    } catch (Throwable t) {
+      throw rethrow(methods[index], t);
+    }
+  }
+
+  /**
+   * Used by the simple peer to implement a getter.
+   */
+  protected final Object getProperty(String propertyName) {
+    return bean.getOrReify(propertyName);
+  }
+
+  /**
+   * Used by the shim to get the object it wraps.
+   */
+  protected final Object getWrapped() {
+    return bean.getWrapped();
+  }
+
+  /**
+   * Handles a method that is not implemented by the generated class, like
+   * {@link java.lang.reflect.Proxy} would.
+   */
+  protected final Object invoke(int index, Object[] args) {
+    try {
+      return handler.invoke(this, methods[index], args);
+    } catch (Throwable t) {
+      throw rethrow(methods[index], t);
+    }
+  }
+
+  /**
+   * Used by the simple peer to implement a setter.
+   */
+  protected final void setProperty(String propertyName, Object value) {
+    bean.setProperty(propertyName, value);
+  }
+
+  /**
+   * Used by the simple peer to implement a setter that returns the bean.
+   */
+  protected final Object setPropertyAndReturn(String propertyName, Object value) {
+    bean.setProperty(propertyName, value);
+    return bean.as();
+  }
+
+  InvocationHandler getHandler() {
+    return handler;
+  }
+
+  /**
+   * Throws the exception as is if the method may throw it, otherwise wrapped
+   * in an {@link UndeclaredThrowableException}.
+   */
+  private RuntimeException rethrow(Method method, Throwable t) {
+    if (t instanceof RuntimeException || t instanceof Error) {
+      throw GeneratedBean.<RuntimeException> sneakyThrow(t);
+    }
+    for (Class<?> declared : method.getExceptionTypes()) {
+      if (declared.isInstance(t)) {
+        throw GeneratedBean.<RuntimeException> sneakyThrow(t);
+      }
+    }
+    throw new UndeclaredThrowableException(t);
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.autobean.vm.impl;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the shims and simple peers of AutoBeans. Their classes are generated
+ * with ASM the first time an interface is used, so that calls do not go
+ * through {@link java.lang.reflect.Proxy} and reflection. Proxies are used
+ * instead when ASM is not available, when a class cannot be generated for an
+ * interface, e.g. because it is not public, or when the
+ * {@value #GENERATE_CLASSES_PROPERTY} system property is <code>false</code>.
+ */
+final class GeneratedBeans {
+
+  /**
+   * Defines the classes generated for one interface. Classes that the
+   * generated code refers to are loaded from the AutoBean classes' loader,
+   * everything else from the interface's.
+   */
+  private static class BeanClassLoader extends ClassLoader {
+    BeanClassLoader(ClassLoader parent) {
+      super(parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (name.equals(GeneratedBean.class.getName())) {
+        return GeneratedBean.class;
+      } else if (name.equals(ProxyAutoBean.class.getName())) {
+        return ProxyAutoBean.class;
+      }
+      return super.loadClass(name, resolve);
+    }
+
+    Class<?> define(String name, byte[] bytes) {
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+
+  /**
+   * The generated classes of an interface. The constructors are set once the
+   * classes have been generated, while holding the lock of this object.
+   */
+  private static class BeanClasses {
+    final BeanClassLoader loader;
+    final Method[] methods;
+    volatile Constructor<?> peer;
+    volatile Constructor<?> shim;
+
+    BeanClasses(BeanClassLoader loader, Method[] methods) {
+      this.loader = loader;
+      this.methods = methods;
+    }
+  }
+
+  /**
+   * The system property that turns class generation off.
+   */
+  static final String GENERATE_CLASSES_PROPERTY = "gwt.autobean.generateClasses";
+
+  /**
+   * Stands for the classes that could not be generated.
+   */
+  private static final Constructor<?> FAILED;
+
+  private static final boolean GENERATE_CLASSES;
+
+  /**
+   * The package of generated classes, which are named after their interface.
+   */
+  private static final String PACKAGE = GeneratedBean.class.getPackage().getName() + ".generated.";
+
+  private static final Logger log = Logger.getLogger(GeneratedBeans.class.getName());
+
+  /**
+   * The generated classes by interface. They refer to their interface, so they
+   * are held by the interface rather than by a map, which lets the interface's
+   * class loader be unloaded.
+   */
+  private static final ClassValue<BeanClasses> cache = new ClassValue<BeanClasses>() {
+    @Override
+    protected BeanClasses computeValue(Class<?> beanType) {
+      ClassLoader parent = beanType.getClassLoader();
+      if (parent == null) {
+        parent = GeneratedBeans.class.getClassLoader();
+      }
+      try {
+        return new BeanClasses(new BeanClassLoader(parent), getMethods(beanType));
+      } catch (NoSuchMethodException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  };
+
+  static {
+    try {
+      FAILED = Object.class.getConstructor();
+    } catch (NoSuchMethodException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+
+    boolean generateClasses = Boolean.valueOf(System.getProperty(GENERATE_CLASSES_PROPERTY,
+        "true"));
+    if (generateClasses) {
+      try {
+        Class.forName("org.objectweb.asm.ClassWriter", false,
+            GeneratedBeans.class.getClassLoader());
+      } catch (ClassNotFoundException e) {
+        log.info("ASM is not on the classpath, AutoBeans will use proxies instead of"
+            + " generated classes");
+        generateClasses = false;
+      }
+    }
+    GENERATE_CLASSES = generateClasses;
+  }
+
+  /**
+   * Returns the methods that the generated classes implement, in the order of
+   * the indices they pass to {@link GeneratedBean}: the methods of Object that
+   * proxies implement, then the non-static methods of the interface.
+   */
+  static Method[] getMethods(Class<?> beanType) throws NoSuchMethodException {
+    Map<String, Method> methods = new LinkedHashMap<String, Method>();
+    for (Method method : new Method[] {
+        Object.class.getMethod("hashCode"), Object.class.getMethod("equals", Object.class),
+        Object.class.getMethod("toString")}) {
+      methods.put(getSignature(method), method);
+    }
+    for (Method method : beanType.getMethods()) {
+      if (!Modifier.isStatic(method.getModifiers())) {
+        String signature = getSignature(method);
+        if (!methods.containsKey(signature)) {
+          methods.put(signature, method);
+        }
+      }
+    }
+    return methods.values().toArray(new Method[methods.size()]);
+  }
+
+  /**
+   * Creates the simple peer of an AutoBean.
+   */
+  static <T> T newPeer(Class<T> beanType, ProxyAutoBean<T> bean, SimpleBeanHandler<T> handler) {
+    T toReturn = newInstance(beanType, false, bean, handler);
+    return toReturn == null ? ProxyAutoBean.makeProxy(beanType, handler) : toReturn;
+  }
+
+  /**
+   * Creates the shim of an AutoBean.
+   */
+  static <T> T newShim(Class<T> beanType, ProxyAutoBean<T> bean, ShimHandler<T> handler) {
+    T toReturn = newInstance(beanType, true, bean, handler);
+    return toReturn == null ? ProxyAutoBean.makeProxy(beanType, handler) : toReturn;
+  }
+
+  private static String getSignature(Method method) {
+    StringBuilder sb = new StringBuilder(method.getName()).append('(');
+    for (Class<?> type : method.getParameterTypes()) {
+      sb.append(type.getName()).append(',');
+    }
+    return sb.append(')').append(method.getReturnType().getName()).toString();
+  }
+
+  /**
+   * Returns <code>true</code> if the generated classes can refer to a type.
+   */
+  private static boolean isAccessible(Class<?> type, ClassLoader loader) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    if (!Modifier.isPublic(type.getModifiers())) {
+      return false;
+    }
+    try {
+      return Class.forName(type.getName(), false, loader) == type;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the constructor of the shim or the simple peer of an interface,
+   * after generating it if it has not been yet.
+   */
+  private static Constructor<?> getConstructor(BeanClasses classes, Class<?> beanType,
+      boolean shim) {
+    Constructor<?> constructor = shim ? classes.shim : classes.peer;
+    if (constructor != null) {
+      return constructor;
+    }
+    // Only generating is serialized, and only per interface
+    synchronized (classes) {
+      if (shim) {
+        if (classes.shim == null) {
+          classes.shim = generate(beanType, true, classes);
+        }
+        return classes.shim;
+      }
+      if (classes.peer == null) {
+        classes.peer = generate(beanType, false, classes);
+      }
+      return classes.peer;
+    }
+  }
+
+  /**
+   * Returns the constructor of a generated class, or {@link #FAILED} if the
+   * class cannot be generated.
+   */
+  private static Constructor<?> generate(Class<?> beanType, boolean shim, BeanClasses classes) {
+    ClassLoader parent = classes.loader.getParent();
+    Set<Class<?>> types = new HashSet<Class<?>>();
+    types.add(beanType);
+    for (Method method : classes.methods) {
+      types.add(method.getDeclaringClass());
+      types.add(method.getReturnType());
+      for (Class<?> type : method.getParameterTypes()) {
+        types.add(type);
+      }
+      for (Class<?> type : method.getExceptionTypes()) {
+        types.add(type);
+      }
+    }
+    for (Class<?> type : types) {
+      if (!isAccessible(type, parent)) {
+        return FAILED;
+      }
+    }
+
+    String className = PACKAGE + beanType.getName() + (shim ? "$Shim" : "$Peer");
+    try {
+      byte[] bytes = shim ? BeanClassGenerator.generateShim(className, beanType, classes.methods)
+          : BeanClassGenerator.generatePeer(className, beanType, classes.methods);
+      return classes.loader.define(className, bytes).getConstructor(ProxyAutoBean.class,
+          InvocationHandler.class, Method[].class);
+    } catch (LinkageError e) {
+      // ASM is missing or the class does not verify
+      log.log(Level.WARNING, "Could not generate " + className + ", using a proxy instead", e);
+      return FAILED;
+    } catch (NoSuchMethodException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static <T> T newInstance(Class<T> beanType, boolean shim, ProxyAutoBean<T> bean,
+      InvocationHandler handler) {
+    if (!GENERATE_CLASSES || !beanType.isInterface()) {
+      return null;
+    }
+    BeanClasses classes = cache.get(beanType);
+    Constructor<?> constructor = getConstructor(classes, beanType, shim);
+    if (constructor == FAILED) {
+      return null;
+    }
+    try {
+      return beanType.cast(constructor.newInstance(bean, handler, classes.methods));
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -15,66 +15,54 @@
  */
 package com.google.web.bindery.autobean.vm.impl;
 
-import com.google.gwt.core.client.impl.WeakMapping;
-import com.google.gwt.thirdparty.json.JSONArray;
-import com.google.gwt.thirdparty.json.JSONException;
-import com.google.gwt.thirdparty.json.JSONObject;
 import com.google.web.bindery.autobean.shared.Splittable;
 import com.google.web.bindery.autobean.shared.impl.HasSplittable;
-import com.google.web.bindery.autobean.shared.impl.StringQuoter;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Uses the org.json packages to slice and dice request payloads.
+ * Slices and dices request payloads on the JVM. Objects and arrays are parsed
+ * only when their contents are first accessed, and those that are never
+ * modified are encoded by copying their original payload, so that payloads
+ * that are only passed through, or only partly read, are never turned into
+ * trees.
  */
 public class JsonSplittable implements Splittable, HasSplittable {
 
+  private static final Double NEGATIVE_ZERO = -0d;
+
   public static JsonSplittable create() {
-    return new JsonSplittable(new JSONObject());
+    return new JsonSplittable(new LinkedHashMap<String, JsonSplittable>());
   }
 
   public static Splittable create(String payload) {
-    try {
-      switch (payload.charAt(0)) {
-        case '{':
-          return new JsonSplittable(new JSONObject(payload));
-        case '[':
-          return new JsonSplittable(new JSONArray(payload));
-        case '"':
-          return new JsonSplittable(new JSONArray("[" + payload + "]").getString(0));
-        case '-':
-        case '0':
-        case '1':
-        case '2':
-        case '3':
-        case '4':
-        case '5':
-        case '6':
-        case '7':
-        case '8':
-        case '9':
-          return new JsonSplittable(Double.parseDouble(payload));
-        case 't':
-        case 'f':
-          return new JsonSplittable(Boolean.parseBoolean(payload));
-        case 'n':
-          return null;
-        default:
-          throw new RuntimeException("Could not parse payload: payload[0] = " + payload.charAt(0));
-      }
-    } catch (JSONException e) {
-      throw new RuntimeException("Could not parse payload", e);
+    JsonTokenizer tokenizer = new JsonTokenizer(payload, 0, payload.length());
+    switch (tokenizer.peek()) {
+      case '{':
+      case '[':
+        // Check the syntax now, but only parse the contents when accessed
+        int start = tokenizer.position();
+        tokenizer.skipValue();
+        int end = tokenizer.position();
+        tokenizer.expectEnd();
+        return new JsonSplittable(payload, start, end);
+      case -1:
+        throw tokenizer.syntaxError("Empty payload");
+      default:
+        JsonSplittable toReturn = readValue(tokenizer);
+        tokenizer.expectEnd();
+        return toReturn;
     }
   }
 
   public static Splittable createIndexed() {
-    return new JsonSplittable(new JSONArray());
+    return new JsonSplittable(new ArrayList<JsonSplittable>());
   }
 
   public static Splittable createNull() {
@@ -82,33 +70,119 @@ public class JsonSplittable implements Splittable, HasSplittable {
   }
 
   /**
-   * Private equivalent of com.google.gwt.thirdparty.json.JSONObject.getNames(JSONObject) since that
-   * method is not available in Android 2.2. Used to represent a null value.
+   * Create a quoted JSON string.
    */
-  private static String[] getNames(JSONObject json) {
-    int length = json.length();
-    if (length == 0) {
-      return null;
+  public static String quote(String raw) {
+    StringBuilder sb = new StringBuilder(raw.length() + 2);
+    try {
+      quote(raw, sb);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return sb.toString();
+  }
+
+  private static void quote(String raw, Appendable out) throws IOException {
+    out.append('"');
+    int start = 0;
+    for (int i = 0, j = raw.length(); i < j; i++) {
+      char c = raw.charAt(i);
+      String escaped;
+      switch (c) {
+        case '"':
+          escaped = "\\\"";
+          break;
+        case '\\':
+          escaped = "\\\\";
+          break;
+        case '/':
+          escaped = "\\/";
+          break;
+        case '\b':
+          escaped = "\\b";
+          break;
+        case '\f':
+          escaped = "\\f";
+          break;
+        case '\n':
+          escaped = "\\n";
+          break;
+        case '\r':
+          escaped = "\\r";
+          break;
+        case '\t':
+          escaped = "\\t";
+          break;
+        default:
+          if (c > 0x1f) {
+            continue;
+          }
+          escaped = c < 0x10 ? "\\u000" + Integer.toHexString(c) : "\\u00"
+              + Integer.toHexString(c);
+          break;
+      }
+      out.append(raw, start, i).append(escaped);
+      start = i + 1;
     }
-    String[] names = new String[length];
-    Iterator<?> i = json.keys();
-    int j = 0;
-    while (i.hasNext()) {
-      names[j++] = (String) i.next();
+    out.append(raw, start, raw.length()).append('"');
+  }
+
+  /**
+   * Reads a value, leaving objects and arrays unparsed.
+   */
+  private static JsonSplittable readValue(JsonTokenizer tokenizer) {
+    switch (tokenizer.peek()) {
+      case '{':
+      case '[':
+        int start = tokenizer.position();
+        return new JsonSplittable(tokenizer.getSource(), start, tokenizer.skipContainer());
+      case '"':
+        return new JsonSplittable(tokenizer.readString());
+      case 't':
+        tokenizer.expectLiteral("true");
+        return new JsonSplittable(true);
+      case 'f':
+        tokenizer.expectLiteral("false");
+        return new JsonSplittable(false);
+      case 'n':
+        tokenizer.expectLiteral("null");
+        return null;
+      default:
+        return new JsonSplittable(tokenizer.readNumber());
     }
-    return names;
   }
 
-  private JSONArray array;
+  private static void write(JsonSplittable value, Appendable out) throws IOException {
+    if (value == null) {
+      out.append("null");
+    } else {
+      value.writePayload(out);
+    }
+  }
+
+  /**
+   * Contains {@code null} for null values.
+   */
+  private List<JsonSplittable> array;
   private Boolean bool;
   /**
    * Used to represent a null value.
    */
   private boolean isNull;
   private Double number;
-  private JSONObject obj;
+  /**
+   * Contains {@code null} for null values, and no mapping for undefined ones.
+   */
+  private Map<String, JsonSplittable> obj;
+  private Map<String, Object> reified;
+  /**
+   * The payload of an object or array that has not been parsed yet, from
+   * {@link #start} to {@link #end}, or {@code null}.
+   */
+  private String source;
+  private int start;
+  private int end;
   private String string;
-  private final Map<String, Object> reified = new HashMap<String, Object>();
 
   /**
    * Constructor for a null value.
@@ -125,20 +199,24 @@ public class JsonSplittable implements Splittable, HasSplittable {
     this.number = value;
   }
 
-  private JsonSplittable(JSONArray array) {
+  private JsonSplittable(List<JsonSplittable> array) {
     this.array = array;
   }
 
-  private JsonSplittable(JSONObject obj) {
+  private JsonSplittable(Map<String, JsonSplittable> obj) {
     this.obj = obj;
   }
 
   private JsonSplittable(String string) {
-    this.array = null;
-    this.obj = null;
     this.string = string;
   }
 
+  private JsonSplittable(String source, int start, int end) {
+    this.source = source;
+    this.start = start;
+    this.end = end;
+  }
+
   public boolean asBoolean() {
     return bool;
   }
@@ -148,18 +226,25 @@ public class JsonSplittable implements Splittable, HasSplittable {
   }
 
   public void assign(Splittable parent, int index) {
-    try {
-      ((JsonSplittable) parent).array.put(index, value());
-    } catch (JSONException e) {
-      throw new RuntimeException(e);
+    List<JsonSplittable> parentArray = ((JsonSplittable) parent).parse().array;
+    JsonSplittable value = isNull ? null : this;
+    if (index < parentArray.size()) {
+      parentArray.set(index, value);
+    } else {
+      while (parentArray.size() < index) {
+        parentArray.add(null);
+      }
+      parentArray.add(value);
     }
   }
 
   public void assign(Splittable parent, String propertyName) {
-    try {
-      ((JsonSplittable) parent).obj.put(propertyName, value());
-    } catch (JSONException e) {
-      throw new RuntimeException(e);
+    Map<String, JsonSplittable> parentObj = ((JsonSplittable) parent).parse().obj;
+    if (isNull) {
+      // Assigning null undefines the property
+      parentObj.remove(propertyName);
+    } else {
+      parentObj.put(propertyName, this);
     }
   }
 
@@ -172,54 +257,48 @@ public class JsonSplittable implements Splittable, HasSplittable {
   }
 
   public Splittable get(int index) {
-    try {
-      return makeSplittable(array.get(index));
-    } catch (JSONException e) {
-      throw new RuntimeException(e);
-    }
+    return parse().array.get(index);
   }
 
   public Splittable get(String key) {
-    try {
-      return makeSplittable(obj.get(key));
-    } catch (JSONException e) {
-      throw new RuntimeException(key, e);
+    Map<String, JsonSplittable> map = parse().obj;
+    JsonSplittable toReturn = map.get(key);
+    if (toReturn == null && !map.containsKey(key)) {
+      throw new RuntimeException("No value for " + key);
     }
+    return toReturn;
   }
 
   public String getPayload() {
+    if (source != null) {
+      return source.substring(start, end);
+    }
     if (isNull) {
       return "null";
     }
-    if (obj != null) {
-      return obj.toString();
-    }
-    if (array != null) {
-      return array.toString();
-    }
-    if (string != null) {
-      return StringQuoter.quote(string);
-    }
     if (number != null) {
       return String.valueOf(number);
     }
-    if (bool != null) {
-      return String.valueOf(bool);
+    StringBuilder sb = new StringBuilder();
+    try {
+      writePayload(sb);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
     }
-    throw new RuntimeException("No data in this JsonSplittable");
+    return sb.toString();
   }
 
   public List<String> getPropertyKeys() {
-    String[] names = getNames(obj);
-    if (names == null) {
+    Map<String, JsonSplittable> map = parse().obj;
+    if (map.isEmpty()) {
       return Collections.emptyList();
     } else {
-      return Collections.unmodifiableList(Arrays.asList(names));
+      return Collections.unmodifiableList(new ArrayList<String>(map.keySet()));
     }
   }
 
   public Object getReified(String key) {
-    return reified.get(key);
+    return reified == null ? null : reified.get(key);
   }
 
   public Splittable getSplittable() {
@@ -231,20 +310,21 @@ public class JsonSplittable implements Splittable, HasSplittable {
   }
 
   public boolean isIndexed() {
-    return array != null;
+    return array != null || source != null && source.charAt(start) == '[';
   }
 
   public boolean isKeyed() {
-    return obj != null;
+    return obj != null || source != null && source.charAt(start) == '{';
   }
 
   public boolean isNull(int index) {
-    return array.isNull(index);
+    List<JsonSplittable> list = parse().array;
+    return index >= list.size() || list.get(index) == null;
   }
 
   public boolean isNull(String key) {
     // Treat undefined and null as the same
-    return !obj.has(key) || obj.isNull(key);
+    return parse().obj.get(key) == null;
   }
 
   public boolean isNumber() {
@@ -252,7 +332,7 @@ public class JsonSplittable implements Splittable, HasSplittable {
   }
 
   public boolean isReified(String key) {
-    return reified.containsKey(key);
+    return reified != null && reified.containsKey(key);
   }
 
   public boolean isString() {
@@ -260,84 +340,131 @@ public class JsonSplittable implements Splittable, HasSplittable {
   }
 
   public boolean isUndefined(String key) {
-    return !obj.has(key);
+    return !parse().obj.containsKey(key);
   }
 
   @Override
   public void removeReified(String key) {
-    reified.remove(key);
+    if (reified != null) {
+      reified.remove(key);
+    }
   }
 
   public void setReified(String key, Object object) {
+    if (reified == null) {
+      reified = new HashMap<String, Object>();
+    }
     reified.put(key, object);
   }
 
   public void setSize(int size) {
-    // This is terrible, but there's no API support for resizing or splicing
-    JSONArray newArray = new JSONArray();
-    for (int i = 0; i < size; i++) {
-      try {
-        newArray.put(i, array.get(i));
-      } catch (JSONException e) {
-        throw new RuntimeException(e);
+    List<JsonSplittable> list = parse().array;
+    if (size < list.size()) {
+      list.subList(size, list.size()).clear();
+    } else {
+      while (list.size() < size) {
+        list.add(null);
       }
     }
-    array = newArray;
   }
 
   public int size() {
-    return array.length();
+    return parse().array.size();
   }
 
-  private synchronized JsonSplittable makeSplittable(Object object) {
-    if (JSONObject.NULL.equals(object)) {
-      return null;
-    }
-    /*
-     * Maintain a 1:1 mapping between object instances and JsonSplittables.
-     * Doing this with a WeakHashMap doesn't work, since our c.g.g.thirdparty.json
-     * arrays, coming from Android, appear to have value-based equality.
-     */
-    JsonSplittable seen = (JsonSplittable) WeakMapping.get(object, JsonSplittable.class.getName());
-    if (seen == null) {
-      if (object instanceof JSONObject) {
-        seen = new JsonSplittable((JSONObject) object);
-        WeakMapping.setWeak(object, JsonSplittable.class.getName(), seen);
-      } else if (object instanceof JSONArray) {
-        seen = new JsonSplittable((JSONArray) object);
-        WeakMapping.setWeak(object, JsonSplittable.class.getName(), seen);
-      } else if (object instanceof String) {
-        seen = new JsonSplittable(object.toString());
-      } else if (object instanceof Number) {
-        seen = new JsonSplittable(((Number) object).doubleValue());
-      } else if (object instanceof Boolean) {
-        seen = new JsonSplittable((Boolean) object);
-      } else {
-        throw new RuntimeException("Unhandled type " + object.getClass());
+  /**
+   * Writes the wire-format representation of the data, like
+   * {@link #getPayload()}, without building it in memory first.
+   *
+   * @param out the destination of the payload, such as the {@link java.io.Writer}
+   *          of a response
+   * @throws IOException if writing to {@code out} fails
+   */
+  public void writePayload(Appendable out) throws IOException {
+    if (source != null) {
+      out.append(source, start, end);
+    } else if (isNull) {
+      out.append("null");
+    } else if (obj != null) {
+      out.append('{');
+      boolean needsComma = false;
+      for (Map.Entry<String, JsonSplittable> entry : obj.entrySet()) {
+        if (needsComma) {
+          out.append(',');
+        }
+        needsComma = true;
+        quote(entry.getKey(), out);
+        out.append(':');
+        write(entry.getValue(), out);
+      }
+      out.append('}');
+    } else if (array != null) {
+      out.append('[');
+      for (int i = 0, j = array.size(); i < j; i++) {
+        if (i > 0) {
+          out.append(',');
+        }
+        write(array.get(i), out);
       }
+      out.append(']');
+    } else if (string != null) {
+      quote(string, out);
+    } else if (number != null) {
+      out.append(numberToString(number));
+    } else if (bool != null) {
+      out.append(String.valueOf(bool));
+    } else {
+      throw new RuntimeException("No data in this JsonSplittable");
     }
-    return seen;
   }
 
-  private Object value() {
-    if (isNull) {
-      return null;
-    }
-    if (obj != null) {
-      return obj;
-    }
-    if (array != null) {
-      return array;
+  /**
+   * Formats a nested number without a fractional part if it is an integer, as
+   * org.json does.
+   */
+  private static String numberToString(Double value) {
+    if (value.isNaN() || value.isInfinite()) {
+      throw new RuntimeException("JSON does not allow non-finite numbers: " + value);
     }
-    if (string != null) {
-      return string;
+    if (NEGATIVE_ZERO.equals(value)) {
+      return "-0";
     }
-    if (number != null) {
-      return number;
+    long longValue = value.longValue();
+    return value == longValue ? String.valueOf(longValue) : String.valueOf(value);
+  }
+
+  /**
+   * Parses the members of an object or array that has not been parsed yet,
+   * leaving nested objects and arrays unparsed.
+   */
+  private JsonSplittable parse() {
+    if (source == null) {
+      return this;
     }
-    if (bool != null) {
-      return bool;
+    JsonTokenizer tokenizer = new JsonTokenizer(source, start, end);
+    if (tokenizer.consume('{')) {
+      Map<String, JsonSplittable> map = new LinkedHashMap<String, JsonSplittable>();
+      if (!tokenizer.consume('}')) {
+        do {
+          String key = tokenizer.readString();
+          tokenizer.expect(':');
+          map.put(key, readValue(tokenizer));
+        } while (tokenizer.consume(','));
+        tokenizer.expect('}');
+      }
+      obj = map;
+    } else {
+      tokenizer.expect('[');
+      List<JsonSplittable> list = new ArrayList<JsonSplittable>();
+      if (!tokenizer.consume(']')) {
+        do {
+          list.add(readValue(tokenizer));
+        } while (tokenizer.consume(','));
+        tokenizer.expect(']');
+      }
+      array = list;
     }
-    throw new RuntimeException("No data");
+    source = null;
+    return this;
   }
 }
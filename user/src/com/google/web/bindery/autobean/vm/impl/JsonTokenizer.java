@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.autobean.vm.impl;
+
+/**
+ * Reads the tokens of a JSON payload, or of a part of it, without building a
+ * tree. Values can be skipped, either checking their syntax or only looking
+ * for their end, so that {@link JsonSplittable} can parse nested objects and
+ * arrays only when they are accessed.
+ */
+final class JsonTokenizer {
+
+  private final int end;
+  private int position;
+  private final String source;
+
+  JsonTokenizer(String source, int start, int end) {
+    this.source = source;
+    this.position = start;
+    this.end = end;
+  }
+
+  /**
+   * Consumes the next character if it is the given one, skipping whitespace.
+   *
+   * @return {@code true} if the character was consumed
+   */
+  boolean consume(char c) {
+    if (peek() == c) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Consumes the given character, skipping whitespace.
+   */
+  void expect(char c) {
+    if (!consume(c)) {
+      throw syntaxError("Expected '" + c + "'");
+    }
+  }
+
+  /**
+   * Consumes the given literal, such as {@code true}.
+   */
+  void expectLiteral(String literal) {
+    if (!source.startsWith(literal, position) || position + literal.length() > end) {
+      throw syntaxError("Expected " + literal);
+    }
+    position += literal.length();
+  }
+
+  /**
+   * Fails unless all of the input has been read, but whitespace.
+   */
+  void expectEnd() {
+    if (peek() != -1) {
+      throw syntaxError("Unexpected content");
+    }
+  }
+
+  String getSource() {
+    return source;
+  }
+
+  /**
+   * Returns the next character that is not whitespace without consuming it,
+   * or -1 at the end of the input.
+   */
+  int peek() {
+    while (position < end) {
+      char c = source.charAt(position);
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        return c;
+      }
+      position++;
+    }
+    return -1;
+  }
+
+  int position() {
+    return position;
+  }
+
+  double readNumber() {
+    int start = position;
+    skipNumber();
+    try {
+      return Double.parseDouble(source.substring(start, position));
+    } catch (NumberFormatException e) {
+      throw syntaxError("Malformed number");
+    }
+  }
+
+  /**
+   * Reads a quoted string.
+   */
+  String readString() {
+    expect('"');
+    int start = position;
+    // Most strings have nothing to unescape
+    while (position < end) {
+      char c = source.charAt(position);
+      if (c == '"') {
+        return source.substring(start, position++);
+      } else if (c == '\\') {
+        break;
+      }
+      position++;
+    }
+
+    StringBuilder sb = new StringBuilder(position - start + 16);
+    sb.append(source, start, position);
+    while (position < end) {
+      char c = source.charAt(position++);
+      if (c == '"') {
+        return sb.toString();
+      } else if (c != '\\') {
+        sb.append(c);
+      } else if (position < end) {
+        c = source.charAt(position++);
+        switch (c) {
+          case 'b':
+            sb.append('\b');
+            break;
+          case 'f':
+            sb.append('\f');
+            break;
+          case 'n':
+            sb.append('\n');
+            break;
+          case 'r':
+            sb.append('\r');
+            break;
+          case 't':
+            sb.append('\t');
+            break;
+          case 'u':
+            sb.append((char) readHex());
+            break;
+          case '"':
+          case '\\':
+          case '/':
+            sb.append(c);
+            break;
+          default:
+            throw syntaxError("Invalid escape sequence");
+        }
+      }
+    }
+    throw syntaxError("Unterminated string");
+  }
+
+  /**
+   * Skips an object or an array, only looking for its end.
+   *
+   * @return the position after the end of the object or array
+   */
+  int skipContainer() {
+    peek();
+    int depth = 0;
+    while (position < end) {
+      char c = source.charAt(position++);
+      switch (c) {
+        case '"':
+          while (position < end && (c = source.charAt(position++)) != '"') {
+            if (c == '\\') {
+              position++;
+            }
+          }
+          break;
+        case '{':
+        case '[':
+          depth++;
+          break;
+        case '}':
+        case ']':
+          if (--depth == 0) {
+            return position;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    throw syntaxError("Unterminated object or array");
+  }
+
+  /**
+   * Skips a value, checking its syntax.
+   */
+  void skipValue() {
+    switch (peek()) {
+      case '{':
+        position++;
+        if (!consume('}')) {
+          do {
+            if (peek() != '"') {
+              throw syntaxError("Expected a property name");
+            }
+            skipString();
+            expect(':');
+            skipValue();
+          } while (consume(','));
+          expect('}');
+        }
+        break;
+      case '[':
+        position++;
+        if (!consume(']')) {
+          do {
+            skipValue();
+          } while (consume(','));
+          expect(']');
+        }
+        break;
+      case '"':
+        skipString();
+        break;
+      case 't':
+        expectLiteral("true");
+        break;
+      case 'f':
+        expectLiteral("false");
+        break;
+      case 'n':
+        expectLiteral("null");
+        break;
+      default:
+        skipNumber();
+        break;
+    }
+  }
+
+  RuntimeException syntaxError(String message) {
+    return new RuntimeException("Could not parse payload: " + message + " at character "
+        + position);
+  }
+
+  private boolean consumeDigits() {
+    int start = position;
+    while (position < end && source.charAt(position) >= '0' && source.charAt(position) <= '9') {
+      position++;
+    }
+    return position > start;
+  }
+
+  private int readHex() {
+    if (position + 4 > end) {
+      throw syntaxError("Invalid escape sequence");
+    }
+    int value = 0;
+    for (int i = 0; i < 4; i++) {
+      int digit = Character.digit(source.charAt(position++), 16);
+      if (digit < 0) {
+        throw syntaxError("Invalid escape sequence");
+      }
+      value = (value << 4) | digit;
+    }
+    return value;
+  }
+
+  private void skipNumber() {
+    peek();
+    int start = position;
+    consume('-');
+    boolean valid = consumeDigits();
+    if (valid && position < end && source.charAt(position) == '.') {
+      position++;
+      valid = consumeDigits();
+    }
+    if (valid && position < end && (source.charAt(position) | 0x20) == 'e') {
+      position++;
+      if (position < end && (source.charAt(position) == '+' || source.charAt(position) == '-')) {
+        position++;
+      }
+      valid = consumeDigits();
+    }
+    if (!valid) {
+      position = start;
+      throw syntaxError("Expected a value");
+    }
+  }
+
+  private void skipString() {
+    expect('"');
+    while (position < end) {
+      char c = source.charAt(position++);
+      if (c == '"') {
+        return;
+      } else if (c == '\\') {
+        if (position >= end) {
+          break;
+        }
+        c = source.charAt(position++);
+        if (c == 'u') {
+          readHex();
+        } else if ("\"\\/bfnrt".indexOf(c) < 0) {
+          throw syntaxError("Invalid escape sequence");
+        }
+      }
+    }
+    throw syntaxError("Unterminated string");
+  }
+}
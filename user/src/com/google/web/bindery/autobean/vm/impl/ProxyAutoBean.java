@@ -37,7 +37,9 @@ import java.util.Map;
 import java.util.WeakHashMap;
 
 /**
- * An implementation of an AutoBean that uses reflection.
+ * An implementation of an AutoBean that uses reflection. The shim and the
+ * simple peer are instances of classes generated by {@link GeneratedBeans}
+ * when possible, and {@link Proxy} instances otherwise.
  * 
  * @param <T> the type of interface being wrapped
  */
@@ -288,7 +290,7 @@ public class ProxyAutoBean<T> extends AbstractAutoBean<T> {
   @Override
   protected T getWrapped() {
     if (wrapped == null && isUsingSimplePeer()) {
-      wrapped = ProxyAutoBean.<T> makeProxy(beanType, new SimpleBeanHandler<T>(this));
+      wrapped = GeneratedBeans.newPeer(beanType, this, new SimpleBeanHandler<T>(this));
     }
     return super.getWrapped();
   }
@@ -390,7 +392,7 @@ public class ProxyAutoBean<T> extends AbstractAutoBean<T> {
   }
 
   private T createShim() {
-    T toReturn = ProxyAutoBean.makeProxy(beanType, new ShimHandler<T>(this, getWrapped()));
+    T toReturn = GeneratedBeans.newShim(beanType, this, new ShimHandler<T>(this, getWrapped()));
     WeakMapping.setWeak(toReturn, AutoBean.class.getName(), this);
     return toReturn;
   }
@@ -58,6 +58,10 @@ class ShimHandler<T> implements InvocationHandler {
         && this == Proxy.getInvocationHandler(couldBeShim)) {
       return true;
     }
+    if (couldBeShim instanceof GeneratedBean
+        && this == ((GeneratedBean) couldBeShim).getHandler()) {
+      return true;
+    }
     return bean.getWrapped().equals(couldBeShim);
   }
 
@@ -76,27 +80,19 @@ class ShimHandler<T> implements InvocationHandler {
         return method.invoke(this, args);
       } else if (BeanMethod.GET.matches(method)) {
         toReturn = method.invoke(bean.getWrapped(), args);
-        toReturn = bean.get(name, toReturn);
+        return afterGet(method, toReturn);
       } else if (BeanMethod.SET.matches(method) || BeanMethod.SET_BUILDER.matches(method)) {
         toReturn = method.invoke(bean.getWrapped(), args);
-        bean.set(name, args[0]);
+        return afterSet(method, toReturn, args[0]);
       } else {
         // XXX How should freezing and calls work together?
         toReturn = method.invoke(bean.getWrapped(), args);
         bean.call(name, toReturn, args);
-      }
-      Class<?> intf = method.getReturnType();
-      if (!Object.class.equals(intf)) {
-        // XXX Need to deal with resolving generic T return types
-        toReturn = maybeWrap(intf, toReturn);
-      }
-      if (interceptor != null) {
-        toReturn = interceptor.invoke(null, bean, toReturn);
+        return afterCall(method, toReturn);
       }
     } catch (InvocationTargetException e) {
       throw e.getCause();
     }
-    return toReturn;
   }
 
   @Override
@@ -104,6 +100,38 @@ class ShimHandler<T> implements InvocationHandler {
     return bean.getWrapped().toString();
   }
 
+  /**
+   * Completes a call to a getter, once the wrapped object has returned.
+   */
+  Object afterGet(Method method, Object toReturn) throws Throwable {
+    toReturn = bean.get(method.getName(), toReturn);
+    return afterCall(method, toReturn);
+  }
+
+  /**
+   * Completes a call to a setter, once the wrapped object has returned.
+   */
+  Object afterSet(Method method, Object toReturn, Object value) throws Throwable {
+    bean.set(method.getName(), value);
+    return afterCall(method, toReturn);
+  }
+
+  private Object afterCall(Method method, Object toReturn) throws Throwable {
+    Class<?> intf = method.getReturnType();
+    if (!Object.class.equals(intf)) {
+      // XXX Need to deal with resolving generic T return types
+      toReturn = maybeWrap(intf, toReturn);
+    }
+    if (interceptor != null) {
+      try {
+        toReturn = interceptor.invoke(null, bean, toReturn);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+    return toReturn;
+  }
+
   private Object maybeWrap(Class<?> intf, Object toReturn) {
     if (toReturn == null) {
       return null;
@@ -27,6 +27,11 @@ import com.google.web.bindery.requestfactory.shared.ServiceName;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Adds support to the ServiceLayer chain for using {@link Locator} and
@@ -34,6 +39,78 @@ import java.lang.reflect.Modifier;
  */
 final class LocatorServiceLayer extends ServiceLayerDecorator {
 
+  /**
+   * A batch method of {@link Locator}, which is applied to the domain objects
+   * that a locator handles, or of the next layer, which is applied to those
+   * that no locator handles.
+   */
+  private abstract class BatchMethod<V> {
+    /**
+     * Applies the method to domain objects of the same locator.
+     */
+    List<V> apply(List<Object> domainObjects) {
+      Map<Locator<Object, ?>, List<Integer>> indexesByLocator =
+          new LinkedHashMap<Locator<Object, ?>, List<Integer>>();
+      for (int i = 0, j = domainObjects.size(); i < j; i++) {
+        @SuppressWarnings("unchecked")
+        Class<Object> clazz = (Class<Object>) domainObjects.get(i).getClass();
+        Locator<Object, ?> l = getLocator(clazz);
+        List<Integer> indexes = indexesByLocator.get(l);
+        if (indexes == null) {
+          indexes = new ArrayList<Integer>();
+          indexesByLocator.put(l, indexes);
+        }
+        indexes.add(i);
+      }
+
+      if (indexesByLocator.size() == 1) {
+        // Usually, all of the objects have the same locator, or none
+        return apply(indexesByLocator.keySet().iterator().next(), domainObjects);
+      }
+      List<V> toReturn = new ArrayList<V>(Collections.<V> nCopies(domainObjects.size(), null));
+      for (Map.Entry<Locator<Object, ?>, List<Integer>> entry : indexesByLocator.entrySet()) {
+        List<Integer> indexes = entry.getValue();
+        List<Object> group = new ArrayList<Object>(indexes.size());
+        for (int index : indexes) {
+          group.add(domainObjects.get(index));
+        }
+        List<V> values = apply(entry.getKey(), group);
+        for (int i = 0, j = indexes.size(); i < j; i++) {
+          toReturn.set(indexes.get(i), values.get(i));
+        }
+      }
+      return toReturn;
+    }
+
+    private List<V> apply(Locator<Object, ?> l, List<Object> domainObjects) {
+      List<V> toReturn = l == null ? applyNext(domainObjects) : applyLocator(l, domainObjects);
+      if (toReturn.size() != domainObjects.size()) {
+        die(null, "Expected %d values for as many domain objects, got %d", domainObjects.size(),
+            toReturn.size());
+      }
+      return toReturn;
+    }
+
+    abstract List<V> applyLocator(Locator<Object, ?> l, List<Object> domainObjects);
+
+    abstract List<V> applyNext(List<Object> domainObjects);
+  }
+
+  @Override
+  public List<Boolean> areLive(List<Object> domainObjects) {
+    return new BatchMethod<Boolean>() {
+      @Override
+      List<Boolean> applyLocator(Locator<Object, ?> l, List<Object> domainObjects) {
+        return l.areLive(domainObjects);
+      }
+
+      @Override
+      List<Boolean> applyNext(List<Object> domainObjects) {
+        return LocatorServiceLayer.super.areLive(domainObjects);
+      }
+    }.apply(domainObjects);
+  }
+
   @Override
   public <T> T createDomainObject(Class<T> clazz) {
     Locator<T, ?> l = getLocator(clazz);
@@ -66,6 +143,21 @@ final class LocatorServiceLayer extends ServiceLayerDecorator {
     return doGetId(domainObject);
   }
 
+  @Override
+  public List<Object> getIds(List<Object> domainObjects) {
+    return new BatchMethod<Object>() {
+      @Override
+      List<Object> applyLocator(Locator<Object, ?> l, List<Object> domainObjects) {
+        return Collections.<Object> unmodifiableList(l.getIds(domainObjects));
+      }
+
+      @Override
+      List<Object> applyNext(List<Object> domainObjects) {
+        return LocatorServiceLayer.super.getIds(domainObjects);
+      }
+    }.apply(domainObjects);
+  }
+
   @Override
   public Class<?> getIdType(Class<?> domainType) {
     Locator<?, ?> l = getLocator(domainType);
@@ -80,6 +172,21 @@ final class LocatorServiceLayer extends ServiceLayerDecorator {
     return doGetVersion(domainObject);
   }
 
+  @Override
+  public List<Object> getVersions(List<Object> domainObjects) {
+    return new BatchMethod<Object>() {
+      @Override
+      List<Object> applyLocator(Locator<Object, ?> l, List<Object> domainObjects) {
+        return l.getVersions(domainObjects);
+      }
+
+      @Override
+      List<Object> applyNext(List<Object> domainObjects) {
+        return LocatorServiceLayer.super.getVersions(domainObjects);
+      }
+    }.apply(domainObjects);
+  }
+
   @Override
   public boolean isLive(Object domainObject) {
     return doIsLive(domainObject);
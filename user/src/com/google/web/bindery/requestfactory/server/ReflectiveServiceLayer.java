@@ -80,6 +80,18 @@ final class ReflectiveServiceLayer extends ServiceLayerDecorator {
     return null;
   }
 
+  /**
+   * This implementation checks each object with {@link #isLive(Object)}.
+   */
+  @Override
+  public List<Boolean> areLive(List<Object> domainObjects) {
+    List<Boolean> toReturn = new ArrayList<Boolean>(domainObjects.size());
+    for (Object domainObject : domainObjects) {
+      toReturn.add(getTop().isLive(domainObject));
+    }
+    return toReturn;
+  }
+
   @Override
   public <T> T createDomainObject(Class<T> clazz) {
     Throwable ex;
@@ -115,6 +127,15 @@ final class ReflectiveServiceLayer extends ServiceLayerDecorator {
     return getTop().getProperty(domainObject, "id");
   }
 
+  @Override
+  public List<Object> getIds(List<Object> domainObjects) {
+    List<Object> toReturn = new ArrayList<Object>(domainObjects.size());
+    for (Object domainObject : domainObjects) {
+      toReturn.add(getTop().getId(domainObject));
+    }
+    return toReturn;
+  }
+
   @Override
   public Class<?> getIdType(Class<?> domainType) {
     return getFind(domainType).getParameterTypes()[0];
@@ -169,6 +190,15 @@ final class ReflectiveServiceLayer extends ServiceLayerDecorator {
     return getTop().getProperty(domainObject, "version");
   }
 
+  @Override
+  public List<Object> getVersions(List<Object> domainObjects) {
+    List<Object> toReturn = new ArrayList<Object>(domainObjects.size());
+    for (Object domainObject : domainObjects) {
+      toReturn.add(getTop().getVersion(domainObject));
+    }
+    return toReturn;
+  }
+
   @Override
   public Object invoke(Method domainMethod, Object... args) {
     Throwable ex;
@@ -17,11 +17,13 @@ package com.google.web.bindery.requestfactory.server;
 
 import com.google.gwt.core.server.StackTraceDeobfuscator;
 import com.google.gwt.user.server.rpc.RPCServletUtils;
+import com.google.web.bindery.autobean.shared.Splittable;
 import com.google.web.bindery.requestfactory.shared.RequestFactory;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.net.MalformedURLException;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -106,6 +108,51 @@ public class RequestFactoryServlet extends HttpServlet {
     processor.setExceptionHandler(exceptionHandler);
   }
 
+  /**
+   * Use this constructor in subclasses to run the
+   * {@link com.google.web.bindery.requestfactory.shared.Independent Independent}
+   * invocations of a request concurrently on an {@link Executor}. The
+   * thread-local servlet context, request and response are available to them.
+   *
+   * @param exceptionHandler an {@link ExceptionHandler} instance
+   * @param executor the {@link Executor} independent invocations run on
+   * @param serviceDecorators an array of ServiceLayerDecorators that change how
+   *          the RequestFactory request processor interact with the domain
+   *          objects
+   * @see SimpleRequestProcessor#setExecutor(Executor)
+   */
+  public RequestFactoryServlet(ExceptionHandler exceptionHandler, final Executor executor,
+      ServiceLayerDecorator... serviceDecorators) {
+    this(exceptionHandler, serviceDecorators);
+    processor.setExecutor(new Executor() {
+      @Override
+      public void execute(final Runnable command) {
+        final ServletContext context = perThreadContext.get();
+        final HttpServletRequest request = perThreadRequest.get();
+        final HttpServletResponse response = perThreadResponse.get();
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            // The executor may run the command on the request thread
+            ServletContext previousContext = perThreadContext.get();
+            HttpServletRequest previousRequest = perThreadRequest.get();
+            HttpServletResponse previousResponse = perThreadResponse.get();
+            perThreadContext.set(context);
+            perThreadRequest.set(request);
+            perThreadResponse.set(response);
+            try {
+              command.run();
+            } finally {
+              perThreadContext.set(previousContext);
+              perThreadRequest.set(previousRequest);
+              perThreadResponse.set(previousResponse);
+            }
+          }
+        });
+      }
+    });
+  }
+
   /**
    * Processes a POST to the server.
    * 
@@ -132,15 +179,15 @@ public class RequestFactoryServlet extends HttpServlet {
       }
 
       try {
-        String payload = processor.process(jsonRequestString);
+        Splittable payload = processor.processPayload(jsonRequestString);
         if (DUMP_PAYLOAD) {
-          System.out.println("<<< " + payload);
+          System.out.println("<<< " + payload.getPayload());
         }
         response.setStatus(HttpServletResponse.SC_OK);
         response.setContentType(RequestFactory.JSON_CONTENT_TYPE_UTF8);
         // The Writer must be obtained after setting the content type
         PrintWriter writer = response.getWriter();
-        writer.print(payload);
+        SimpleRequestProcessor.writePayload(payload, writer);
         writer.flush();
       } catch (RuntimeException e) {
         response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
@@ -102,6 +102,20 @@ public abstract class ServiceLayer {
   ServiceLayer() {
   }
 
+  /**
+   * Determines whether several domain objects are still live, like
+   * {@link #isLive(Object)}. This method is intended to allow more efficient
+   * access to the backing store when a response contains many entities.
+   * <p>
+   * The default implementation of this method will delegate to
+   * {@link #isLive(Object)}, or to {@link Locator#areLive(List)} for types that
+   * have a Locator.
+   * 
+   * @param domainObjects domain entities
+   * @return whether each of the domain objects is live, in the same order
+   */
+  public abstract List<Boolean> areLive(List<Object> domainObjects);
+
   /**
    * Create an instance of the requested domain type.
    * 
@@ -173,6 +187,20 @@ public abstract class ServiceLayer {
    */
   public abstract Object getId(Object domainObject);
 
+  /**
+   * Return the persistent ids of several domain objects, like
+   * {@link #getId(Object)}.
+   * <p>
+   * The default implementation of this method will delegate to
+   * {@link #getId(Object)}, or to {@link Locator#getIds(List)} for types that
+   * have a Locator.
+   * 
+   * @param domainObjects domain objects
+   * @return the persistent id of each domain object, in the same order,
+   *         elements of which may be {@code null}
+   */
+  public abstract List<Object> getIds(List<Object> domainObjects);
+
   /**
    * Returns the type of object the domain type's {@code findFoo()} or
    * {@link com.google.web.bindery.requestfactory.shared.Locator#getId(Object)
@@ -221,6 +249,20 @@ public abstract class ServiceLayer {
    */
   public abstract Object getVersion(Object domainObject);
 
+  /**
+   * Return the versions of several domain objects, like
+   * {@link #getVersion(Object)}.
+   * <p>
+   * The default implementation of this method will delegate to
+   * {@link #getVersion(Object)}, or to {@link Locator#getVersions(List)} for
+   * types that have a Locator.
+   * 
+   * @param domainObjects domain objects
+   * @return the version of each domain object, in the same order, elements of
+   *         which may be {@code null}
+   */
+  public abstract List<Object> getVersions(List<Object> domainObjects);
+
   /**
    * Invoke a domain service method. The underlying eventually calls
    * {@link Method#invoke(Object, Object...)}.
@@ -21,17 +21,20 @@ import com.google.web.bindery.requestfactory.shared.RequestContext;
 import com.google.web.bindery.requestfactory.shared.RequestFactory;
 import com.google.web.bindery.requestfactory.shared.ServiceLocator;
 
-import java.lang.ref.SoftReference;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A cache for idempotent methods in {@link ServiceLayer}. The caching is
  * separate from {@link ReflectiveServiceLayer} so that the cache can be applied
  * to any decorators injected by the user.
+ * <p>
+ * Each ServiceLayer has its own cache, since decorators may resolve types and
+ * methods differently. The cache is strongly held and lives as long as its
+ * ServiceLayer. Methods with two keys use nested maps, so that looking up a
+ * cached value allocates nothing.
  */
 class ServiceLayerCache extends ServiceLayerDecorator {
 
@@ -41,213 +44,253 @@ class ServiceLayerCache extends ServiceLayerDecorator {
    */
   private static final Object NULL_MARKER = new Object();
 
-  private static SoftReference<Map<Method, Map<Object, Object>>> methodCache;
-
-  private static final Method createLocator;
-  private static final Method createServiceInstance;
-  private static final Method getDomainClassLoader;
-  private static final Method getGetter;
-  private static final Method getIdType;
-  private static final Method getRequestReturnType;
-  private static final Method getSetter;
-  private static final Method requiresServiceLocator;
-  private static final Method resolveClass;
-  private static final Method resolveClientType;
-  private static final Method resolveDomainClass;
-  private static final Method resolveDomainMethod;
-  private static final Method resolveLocator;
-  private static final Method resolveRequestContext;
-  private static final Method resolveRequestContextMethod;
-  private static final Method resolveRequestFactory;
-  private static final Method resolveServiceClass;
-  private static final Method resolveServiceLocator;
-  private static final Method resolveTypeToken;
-
-  static {
-    createLocator = getMethod("createLocator", Class.class);
-    createServiceInstance = getMethod("createServiceInstance", Class.class);
-    getDomainClassLoader = getMethod("getDomainClassLoader");
-    getGetter = getMethod("getGetter", Class.class, String.class);
-    getIdType = getMethod("getIdType", Class.class);
-    getRequestReturnType = getMethod("getRequestReturnType", Method.class);
-    getSetter = getMethod("getSetter", Class.class, String.class);
-    requiresServiceLocator = getMethod("requiresServiceLocator", Method.class, Method.class);
-    resolveClass = getMethod("resolveClass", String.class);
-    resolveClientType = getMethod("resolveClientType", Class.class, Class.class, boolean.class);
-    resolveDomainClass = getMethod("resolveDomainClass", Class.class);
-    resolveDomainMethod = getMethod("resolveDomainMethod", String.class);
-    resolveLocator = getMethod("resolveLocator", Class.class);
-    resolveRequestContext = getMethod("resolveRequestContext", String.class);
-    resolveRequestContextMethod = getMethod("resolveRequestContextMethod", String.class);
-    resolveRequestFactory = getMethod("resolveRequestFactory", String.class);
-    resolveServiceClass = getMethod("resolveServiceClass", Class.class);
-    resolveServiceLocator = getMethod("resolveServiceLocator", Class.class);
-    resolveTypeToken = getMethod("resolveTypeToken", Class.class);
-  }
-
-  private static Map<Method, Map<Object, Object>> getCache() {
-    Map<Method, Map<Object, Object>> toReturn = methodCache == null ? null : methodCache.get();
-    if (toReturn == null) {
-      toReturn = new ConcurrentHashMap<Method, Map<Object, Object>>();
-      methodCache = new SoftReference<Map<Method, Map<Object, Object>>>(toReturn);
-    }
-    return toReturn;
-  }
-
-  private static Method getMethod(String name, Class<?>... argTypes) {
-    try {
-      return ServiceLayer.class.getMethod(name, argTypes);
-    } catch (SecurityException e) {
-      throw new RuntimeException("Could not set up ServiceLayerCache Methods", e);
-    } catch (NoSuchMethodException e) {
-      throw new RuntimeException("Could not set up ServiceLayerCache Methods", e);
-    }
-  }
-
-  private final Map<Method, Map<Object, Object>> methodMap = getCache();
+  /**
+   * Stores a value computed by the next layer, unless another thread has
+   * stored one in the meantime, and returns the stored value.
+   */
+  private static <K> Object cache(ConcurrentMap<K, Object> map, K key, Object value) {
+    Object masked = value == null ? NULL_MARKER : value;
+    Object existing = map.putIfAbsent(key, masked);
+    return existing == null ? masked : existing;
+  }
+
+  private static <K, L> ConcurrentMap<L, Object> getMap(
+      ConcurrentMap<K, ConcurrentMap<L, Object>> maps, K key) {
+    ConcurrentMap<L, Object> map = maps.get(key);
+    if (map == null) {
+      map = new ConcurrentHashMap<L, Object>();
+      ConcurrentMap<L, Object> existing = maps.putIfAbsent(key, map);
+      if (existing != null) {
+        map = existing;
+      }
+    }
+    return map;
+  }
+
+  private static <K> ConcurrentMap<K, Object> newMap() {
+    return new ConcurrentHashMap<K, Object>();
+  }
+
+  private static <K, L> ConcurrentMap<K, ConcurrentMap<L, Object>> newNestedMap() {
+    return new ConcurrentHashMap<K, ConcurrentMap<L, Object>>();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T unmask(Object value) {
+    return value == NULL_MARKER ? null : (T) value;
+  }
+
+  private final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Object>> clientTypes =
+      newNestedMap();
+  private volatile Object domainClassLoader;
+  private final ConcurrentMap<Class<?>, Object> domainClasses = newMap();
+  private final ConcurrentMap<String, Object> domainMethods = newMap();
+  private final ConcurrentMap<Class<?>, ConcurrentMap<String, Object>> getters = newNestedMap();
+  private final ConcurrentMap<Class<?>, Object> idTypes = newMap();
+  private final ConcurrentMap<Class<?>, Object> locatorInstances = newMap();
+  private final ConcurrentMap<Class<?>, Object> locators = newMap();
+  private final ConcurrentMap<String, Object> proxyClasses = newMap();
+  private final ConcurrentMap<String, Object> requestContextMethods = newMap();
+  private final ConcurrentMap<String, Object> requestContexts = newMap();
+  private final ConcurrentMap<String, Object> requestFactories = newMap();
+  private final ConcurrentMap<Method, Object> requestReturnTypes = newMap();
+  private final ConcurrentMap<Method, ConcurrentMap<Method, Object>> requiresServiceLocator =
+      newNestedMap();
+  private final ConcurrentMap<Class<?>, Object> serviceClasses = newMap();
+  private final ConcurrentMap<Class<?>, Object> serviceInstances = newMap();
+  private final ConcurrentMap<Class<?>, Object> serviceLocators = newMap();
+  private final ConcurrentMap<Class<?>, ConcurrentMap<String, Object>> setters = newNestedMap();
+  private final ConcurrentMap<Class<?>, Object> typeTokens = newMap();
 
   @Override
   public <T extends Locator<?, ?>> T createLocator(Class<T> clazz) {
-    return getOrCache(createLocator, clazz, clazz, clazz);
+    Object value = locatorInstances.get(clazz);
+    if (value == null) {
+      value = cache(locatorInstances, clazz, getNext().createLocator(clazz));
+    }
+    return clazz.cast(unmask(value));
   }
 
   @Override
   public Object createServiceInstance(Class<? extends RequestContext> requestContext) {
-    return getOrCache(createServiceInstance, requestContext, Object.class, requestContext);
+    Object value = serviceInstances.get(requestContext);
+    if (value == null) {
+      value =
+          cache(serviceInstances, requestContext, getNext().createServiceInstance(requestContext));
+    }
+    return unmask(value);
   }
 
   @Override
   public ClassLoader getDomainClassLoader() {
-    return getOrCache(getDomainClassLoader, NULL_MARKER, ClassLoader.class);
+    Object value = domainClassLoader;
+    if (value == null) {
+      ClassLoader loader = getNext().getDomainClassLoader();
+      value = loader == null ? NULL_MARKER : loader;
+      domainClassLoader = value;
+    }
+    return unmask(value);
   }
 
   @Override
   public Method getGetter(Class<?> domainType, String property) {
-    return getOrCache(getGetter, new Pair<Class<?>, String>(domainType, property), Method.class,
-        domainType, property);
+    ConcurrentMap<String, Object> map = getMap(getters, domainType);
+    Object value = map.get(property);
+    if (value == null) {
+      value = cache(map, property, getNext().getGetter(domainType, property));
+    }
+    return unmask(value);
   }
 
   @Override
   public Class<?> getIdType(Class<?> domainType) {
-    return getOrCache(getIdType, domainType, Class.class, domainType);
+    Object value = idTypes.get(domainType);
+    if (value == null) {
+      value = cache(idTypes, domainType, getNext().getIdType(domainType));
+    }
+    return unmask(value);
   }
 
   @Override
   public Type getRequestReturnType(Method contextMethod) {
-    return getOrCache(getRequestReturnType, contextMethod, Type.class, contextMethod);
+    Object value = requestReturnTypes.get(contextMethod);
+    if (value == null) {
+      value =
+          cache(requestReturnTypes, contextMethod, getNext().getRequestReturnType(contextMethod));
+    }
+    return unmask(value);
   }
 
   @Override
   public Method getSetter(Class<?> domainType, String property) {
-    return getOrCache(getSetter, new Pair<Class<?>, String>(domainType, property), Method.class,
-        domainType, property);
+    ConcurrentMap<String, Object> map = getMap(setters, domainType);
+    Object value = map.get(property);
+    if (value == null) {
+      value = cache(map, property, getNext().getSetter(domainType, property));
+    }
+    return unmask(value);
   }
 
   @Override
   public boolean requiresServiceLocator(Method contextMethod, Method domainMethod) {
-    return getOrCache(requiresServiceLocator,
-        new Pair<Method, Method>(contextMethod, domainMethod), Boolean.class, contextMethod,
-        domainMethod);
+    ConcurrentMap<Method, Object> map = getMap(requiresServiceLocator, contextMethod);
+    Object value = map.get(domainMethod);
+    if (value == null) {
+      value =
+          cache(map, domainMethod, getNext().requiresServiceLocator(contextMethod, domainMethod));
+    }
+    return (Boolean) value;
   }
 
   @Override
   public Class<? extends BaseProxy> resolveClass(String typeToken) {
-    Class<?> found = getOrCache(resolveClass, typeToken, Class.class, typeToken);
+    Object value = proxyClasses.get(typeToken);
+    if (value == null) {
+      value = cache(proxyClasses, typeToken, getNext().resolveClass(typeToken));
+    }
+    Class<?> found = unmask(value);
     return found.asSubclass(BaseProxy.class);
   }
 
   @Override
   public <T> Class<? extends T> resolveClientType(Class<?> domainClass, Class<T> clientType,
       boolean required) {
-    Class<?> clazz =
-        getOrCache(resolveClientType, new Pair<Class<?>, Class<?>>(domainClass, clientType),
-            Class.class, domainClass, clientType, required);
+    ConcurrentMap<Class<?>, Object> map = getMap(clientTypes, domainClass);
+    Object value = map.get(clientType);
+    if (value == null || (value == NULL_MARKER && required)) {
+      // Let the next layer report a missing type that is required
+      value = cache(map, clientType, getNext().resolveClientType(domainClass, clientType,
+          required));
+    }
+    Class<?> clazz = unmask(value);
     return clazz == null ? null : clazz.asSubclass(clientType);
   }
 
   @Override
   public Class<?> resolveDomainClass(Class<?> clazz) {
-    return getOrCache(resolveDomainClass, clazz, Class.class, clazz);
+    Object value = domainClasses.get(clazz);
+    if (value == null) {
+      value = cache(domainClasses, clazz, getNext().resolveDomainClass(clazz));
+    }
+    return unmask(value);
   }
 
   @Override
   public Method resolveDomainMethod(String operation) {
-    return getOrCache(resolveDomainMethod, operation, Method.class, operation);
+    Object value = domainMethods.get(operation);
+    if (value == null) {
+      value = cache(domainMethods, operation, getNext().resolveDomainMethod(operation));
+    }
+    return unmask(value);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Class<? extends Locator<?, ?>> resolveLocator(Class<?> domainType) {
-    return getOrCache(resolveLocator, domainType, Class.class, domainType);
+    Object value = locators.get(domainType);
+    if (value == null) {
+      value = cache(locators, domainType, getNext().resolveLocator(domainType));
+    }
+    return unmask(value);
   }
 
   @Override
   public Class<? extends RequestContext> resolveRequestContext(String operation) {
-    Class<?> clazz = getOrCache(resolveRequestContext, operation, Class.class, operation);
+    Object value = requestContexts.get(operation);
+    if (value == null) {
+      value = cache(requestContexts, operation, getNext().resolveRequestContext(operation));
+    }
+    Class<?> clazz = unmask(value);
     return clazz.asSubclass(RequestContext.class);
   }
 
   @Override
   public Method resolveRequestContextMethod(String operation) {
-    return getOrCache(resolveRequestContextMethod, operation, Method.class, operation);
+    Object value = requestContextMethods.get(operation);
+    if (value == null) {
+      value =
+          cache(requestContextMethods, operation, getNext().resolveRequestContextMethod(operation));
+    }
+    return unmask(value);
   }
 
   @Override
   public Class<? extends RequestFactory> resolveRequestFactory(String binaryName) {
-    Class<?> clazz = getOrCache(resolveRequestFactory, binaryName, Class.class, binaryName);
+    Object value = requestFactories.get(binaryName);
+    if (value == null) {
+      value = cache(requestFactories, binaryName, getNext().resolveRequestFactory(binaryName));
+    }
+    Class<?> clazz = unmask(value);
     return clazz.asSubclass(RequestFactory.class);
   }
 
   @Override
   public Class<?> resolveServiceClass(Class<? extends RequestContext> requestContextClass) {
-    return getOrCache(resolveServiceClass, requestContextClass, Class.class, requestContextClass);
+    Object value = serviceClasses.get(requestContextClass);
+    if (value == null) {
+      value = cache(serviceClasses, requestContextClass,
+          getNext().resolveServiceClass(requestContextClass));
+    }
+    return unmask(value);
   }
 
   @Override
   public Class<? extends ServiceLocator> resolveServiceLocator(
       Class<? extends RequestContext> requestContext) {
-    Class<?> clazz = getOrCache(resolveServiceLocator, requestContext, Class.class, requestContext);
+    Object value = serviceLocators.get(requestContext);
+    if (value == null) {
+      value =
+          cache(serviceLocators, requestContext, getNext().resolveServiceLocator(requestContext));
+    }
+    Class<?> clazz = unmask(value);
     return clazz == null ? null : clazz.asSubclass(ServiceLocator.class);
   }
 
   @Override
   public String resolveTypeToken(Class<? extends BaseProxy> domainClass) {
-    return getOrCache(resolveTypeToken, domainClass, String.class, domainClass);
-  }
-
-  private <K, T> T getOrCache(Method method, K key, Class<T> valueType, Object... args) {
-    Map<Object, Object> map = methodMap.get(method);
-    if (map == null) {
-      map = new ConcurrentHashMap<Object, Object>();
-      methodMap.put(method, map);
-    }
-    Object raw = map.get(key);
-    if (raw == NULL_MARKER) {
-      return null;
-    }
-    T toReturn = valueType.cast(raw);
-    if (toReturn == null) {
-      Throwable ex = null;
-      try {
-        toReturn = valueType.cast(method.invoke(getNext(), args));
-        map.put(key, toReturn == null ? NULL_MARKER : toReturn);
-      } catch (InvocationTargetException e) {
-        // The next layer threw an exception
-        Throwable cause = e.getCause();
-        if (cause instanceof RuntimeException) {
-          // Re-throw RuntimeExceptions, which likely originate from die()
-          throw ((RuntimeException) cause);
-        }
-        die(cause, "Unexpected checked exception");
-      } catch (IllegalArgumentException e) {
-        ex = e;
-      } catch (IllegalAccessException e) {
-        ex = e;
-      }
-      if (ex != null) {
-        die(ex, "Bad method invocation");
-      }
+    Object value = typeTokens.get(domainClass);
+    if (value == null) {
+      value = cache(typeTokens, domainClass, getNext().resolveTypeToken(domainClass));
     }
-    return toReturn;
+    return unmask(value);
   }
 }
@@ -24,6 +24,7 @@ import com.google.web.bindery.requestfactory.shared.ServiceLocator;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
@@ -39,13 +40,52 @@ import javax.validation.ConstraintViolation;
  * service object after being processed by{@code create()}.
  */
 public class ServiceLayerDecorator extends ServiceLayer {
+  private static final int GET_ID = 1;
+  private static final int GET_VERSION = 2;
+  private static final int IS_LIVE = 4;
   private static final Logger log = Logger.getLogger(ServiceLayer.class.getName());
 
+  /**
+   * Returns {@code true} if {@code type} overrides a method of this class.
+   */
+  private static boolean overrides(Class<?> type, String name, Class<?> parameterType) {
+    try {
+      return type.getMethod(name, parameterType).getDeclaringClass()
+          != ServiceLayerDecorator.class;
+    } catch (NoSuchMethodException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * The batch methods of {@link ServiceLayer} that this type must implement by
+   * calling their single-object variants, which it overrides, or -1 if not
+   * computed yet.
+   */
+  private int legacyBatchMethods = -1;
+
   /**
    * A pointer to the next deepest layer.
    */
   ServiceLayer next;
 
+  /**
+   * Determines whether several domain objects are still live. Unless this
+   * decorator overrides {@link #isLive(Object)} but not this method, delegates
+   * to the next layer.
+   */
+  @Override
+  public List<Boolean> areLive(List<Object> domainObjects) {
+    if (isLegacyBatchMethod(IS_LIVE)) {
+      List<Boolean> toReturn = new ArrayList<Boolean>(domainObjects.size());
+      for (Object domainObject : domainObjects) {
+        toReturn.add(isLive(domainObject));
+      }
+      return toReturn;
+    }
+    return getNext().areLive(domainObjects);
+  }
+
   @Override
   public <T> T createDomainObject(Class<T> clazz) {
     return getNext().createDomainObject(clazz);
@@ -81,6 +121,22 @@ public class ServiceLayerDecorator extends ServiceLayer {
     return getNext().getId(domainObject);
   }
 
+  /**
+   * Returns the ids of several domain objects. Unless this decorator overrides
+   * {@link #getId(Object)} but not this method, delegates to the next layer.
+   */
+  @Override
+  public List<Object> getIds(List<Object> domainObjects) {
+    if (isLegacyBatchMethod(GET_ID)) {
+      List<Object> toReturn = new ArrayList<Object>(domainObjects.size());
+      for (Object domainObject : domainObjects) {
+        toReturn.add(getId(domainObject));
+      }
+      return toReturn;
+    }
+    return getNext().getIds(domainObjects);
+  }
+
   @Override
   public Class<?> getIdType(Class<?> domainType) {
     return getNext().getIdType(domainType);
@@ -106,6 +162,23 @@ public class ServiceLayerDecorator extends ServiceLayer {
     return getNext().getVersion(domainObject);
   }
 
+  /**
+   * Returns the versions of several domain objects. Unless this decorator
+   * overrides {@link #getVersion(Object)} but not this method, delegates to the
+   * next layer.
+   */
+  @Override
+  public List<Object> getVersions(List<Object> domainObjects) {
+    if (isLegacyBatchMethod(GET_VERSION)) {
+      List<Object> toReturn = new ArrayList<Object>(domainObjects.size());
+      for (Object domainObject : domainObjects) {
+        toReturn.add(getVersion(domainObject));
+      }
+      return toReturn;
+    }
+    return getNext().getVersions(domainObjects);
+  }
+
   @Override
   public Object invoke(Method domainMethod, Object... args) {
     return getNext().invoke(domainMethod, args);
@@ -266,4 +339,30 @@ public class ServiceLayerDecorator extends ServiceLayer {
     }
     return next;
   }
+
+  /**
+   * Returns {@code true} if this type overrides the single-object variant of a
+   * batch method, but not the batch method itself. The batch method then calls
+   * the single-object variant, so that decorators written before the batch
+   * methods existed keep working.
+   */
+  private boolean isLegacyBatchMethod(int method) {
+    int legacy = legacyBatchMethods;
+    if (legacy == -1) {
+      legacy = 0;
+      Class<?> type = getClass();
+      if (overrides(type, "getId", Object.class) && !overrides(type, "getIds", List.class)) {
+        legacy |= GET_ID;
+      }
+      if (overrides(type, "getVersion", Object.class)
+          && !overrides(type, "getVersions", List.class)) {
+        legacy |= GET_VERSION;
+      }
+      if (overrides(type, "isLive", Object.class) && !overrides(type, "areLive", List.class)) {
+        legacy |= IS_LIVE;
+      }
+      legacyBatchMethods = legacy;
+    }
+    return (legacy & method) != 0;
+  }
 }
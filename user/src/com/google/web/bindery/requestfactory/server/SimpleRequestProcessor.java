@@ -24,9 +24,11 @@ import com.google.web.bindery.autobean.shared.Splittable;
 import com.google.web.bindery.autobean.shared.ValueCodex;
 import com.google.web.bindery.autobean.vm.AutoBeanFactorySource;
 import com.google.web.bindery.autobean.vm.Configuration;
+import com.google.web.bindery.autobean.vm.impl.JsonSplittable;
 import com.google.web.bindery.autobean.vm.impl.TypeUtils;
 import com.google.web.bindery.requestfactory.shared.BaseProxy;
 import com.google.web.bindery.requestfactory.shared.EntityProxyId;
+import com.google.web.bindery.requestfactory.shared.Independent;
 import com.google.web.bindery.requestfactory.shared.InstanceRequest;
 import com.google.web.bindery.requestfactory.shared.Request;
 import com.google.web.bindery.requestfactory.shared.RequestContext;
@@ -34,6 +36,7 @@ import com.google.web.bindery.requestfactory.shared.ServerFailure;
 import com.google.web.bindery.requestfactory.shared.WriteOperation;
 import com.google.web.bindery.requestfactory.shared.impl.BaseProxyCategory;
 import com.google.web.bindery.requestfactory.shared.impl.Constants;
+import com.google.web.bindery.requestfactory.shared.impl.EntityCache;
 import com.google.web.bindery.requestfactory.shared.impl.EntityCodex;
 import com.google.web.bindery.requestfactory.shared.impl.EntityProxyCategory;
 import com.google.web.bindery.requestfactory.shared.impl.SimpleProxyId;
@@ -48,6 +51,7 @@ import com.google.web.bindery.requestfactory.shared.messages.ResponseMessage;
 import com.google.web.bindery.requestfactory.shared.messages.ServerFailureMessage;
 import com.google.web.bindery.requestfactory.shared.messages.ViolationMessage;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
@@ -62,6 +66,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.validation.ConstraintViolation;
 
@@ -86,6 +96,28 @@ public class SimpleRequestProcessor {
   static class IdToEntityMap extends HashMap<SimpleProxyId<?>, AutoBean<? extends BaseProxy>> {
   }
 
+  /**
+   * An independent invocation waiting to be invoked with the ones that follow
+   * it.
+   */
+  private class PendingInvocation implements Callable<Object> {
+    final Object[] args;
+    final Method domainMethod;
+    final int index;
+    final FutureTask<Object> task = new FutureTask<Object>(this);
+
+    PendingInvocation(int index, Method domainMethod, Object[] args) {
+      this.index = index;
+      this.domainMethod = domainMethod;
+      this.args = args;
+    }
+
+    @Override
+    public Object call() {
+      return service.invoke(domainMethod, args);
+    }
+  }
+
   /**
    * Allows the creation of properly-configured AutoBeans without having to
    * create an AutoBeanFactory with the desired annotations.
@@ -115,7 +147,60 @@ public class SimpleRequestProcessor {
     }
   }
 
+  /**
+   * Writes the payload of an encoded message without copying it to a String
+   * first when possible.
+   */
+  static void writePayload(Splittable payload, Appendable out) throws IOException {
+    if (payload instanceof JsonSplittable) {
+      ((JsonSplittable) payload).writePayload(out);
+    } else {
+      out.append(payload.getPayload());
+    }
+  }
+
+  /**
+   * Returns {@code true} if the object of a returned id is persistent, in which
+   * case an operation is sent for it.
+   */
+  private static boolean isPersistent(SimpleProxyId<?> id, Object domainObject) {
+    return !id.isEphemeral() && !id.isSynthetic() && domainObject != null;
+  }
+
+  /**
+   * Waits for the result of a task, even if the thread is interrupted in the
+   * meantime.
+   */
+  private static <T> T getUninterruptibly(Future<T> future) throws ExecutionException {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return future.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Returns {@code true} if an invocation has been marked {@link Independent},
+   * either on its methods or on their types.
+   */
+  private static boolean isIndependent(Method contextMethod, Method domainMethod) {
+    return contextMethod.isAnnotationPresent(Independent.class)
+        || contextMethod.getDeclaringClass().isAnnotationPresent(Independent.class)
+        || domainMethod.isAnnotationPresent(Independent.class)
+        || domainMethod.getDeclaringClass().isAnnotationPresent(Independent.class);
+  }
+
   private ExceptionHandler exceptionHandler = new DefaultExceptionHandler();
+  private Executor executor;
   private final ServiceLayer service;
 
   public SimpleRequestProcessor(ServiceLayer serviceLayer) {
@@ -129,23 +214,41 @@ public class SimpleRequestProcessor {
    * @return a payload to return to the client
    */
   public String process(String payload) {
-    RequestMessage req = AutoBeanCodex.decode(FACTORY, RequestMessage.class, payload).as();
-    AutoBean<ResponseMessage> responseBean = FACTORY.response();
-    try {
-      process(req, responseBean.as());
-    } catch (ReportableException e) {
-      // Create a new response envelope, since the state is unknown
-      responseBean = FACTORY.response();
-      responseBean.as().setGeneralFailure(createFailureMessage(e).as());
-    }
     // Return a JSON-formatted payload
-    return AutoBeanCodex.encode(responseBean).getPayload();
+    return processPayload(payload).getPayload();
+  }
+
+  /**
+   * Process a payload sent by a RequestFactory client, writing the payload to
+   * return to the client to {@code out}. Nothing is written if processing
+   * fails.
+   *
+   * @param payload the payload sent by the client
+   * @param out the destination of the payload to return to the client
+   * @throws IOException if writing to {@code out} fails
+   */
+  public void process(String payload, Appendable out) throws IOException {
+    writePayload(processPayload(payload), out);
   }
 
   public void setExceptionHandler(ExceptionHandler exceptionHandler) {
     this.exceptionHandler = exceptionHandler;
   }
 
+  /**
+   * Sets the executor that consecutive {@link Independent} invocations of a
+   * request run on, concurrently with each other. Invocations run on the
+   * calling thread, one after another, if the executor is {@code null}, which
+   * is the default.
+   * <p>
+   * Thread-local state, such as the request available from
+   * {@link RequestFactoryServlet#getThreadLocalRequest()}, is only set on the
+   * executor's threads if the executor does so.
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
   /**
    * Encode a list of objects into a self-contained message that can be used for
    * out-of-band communication.
@@ -171,7 +274,7 @@ public class SimpleRequestProcessor {
     IdToEntityMap map = new IdToEntityMap();
     map.putAll(state.beans);
     List<OperationMessage> operations = new ArrayList<OperationMessage>();
-    createReturnOperations(operations, state, map);
+    createReturnOperations(operations, state, map, null);
 
     InvocationMessage invocation = FACTORY.invocation().as();
     invocation.setParameters(encodedValues);
@@ -200,6 +303,23 @@ public class SimpleRequestProcessor {
     return toReturn;
   }
 
+  /**
+   * Processes a payload sent by a RequestFactory client and returns the
+   * encoded response envelope.
+   */
+  Splittable processPayload(String payload) {
+    RequestMessage req = AutoBeanCodex.decode(FACTORY, RequestMessage.class, payload).as();
+    AutoBean<ResponseMessage> responseBean = FACTORY.response();
+    try {
+      process(req, responseBean.as());
+    } catch (ReportableException e) {
+      // Create a new response envelope, since the state is unknown
+      responseBean = FACTORY.response();
+      responseBean.as().setGeneralFailure(createFailureMessage(e).as());
+    }
+    return AutoBeanCodex.encode(responseBean);
+  }
+
   /**
    * Main processing method.
    */
@@ -237,7 +357,7 @@ public class SimpleRequestProcessor {
     IdToEntityMap toProcess = new IdToEntityMap();
     toProcess.putAll(source.beans);
     toProcess.putAll(returnState.beans);
-    createReturnOperations(operations, returnState, toProcess);
+    createReturnOperations(operations, returnState, toProcess, req.getKnownVersions());
 
     assert invocationResults.size() == invocationSuccess.size();
     if (!invocationResults.isEmpty()) {
@@ -261,14 +381,25 @@ public class SimpleRequestProcessor {
     return bean;
   }
 
+  /**
+   * Creates the operations of a response.
+   *
+   * @param knownVersions the versions of the entities cached by the client, or
+   *          {@code null}
+   */
   private void createReturnOperations(List<OperationMessage> operations, RequestState returnState,
-      IdToEntityMap toProcess) {
+      IdToEntityMap toProcess, Map<String, String> knownVersions) {
+    int size = toProcess.size();
+    List<SimpleProxyId<?>> ids = new ArrayList<SimpleProxyId<?>>(size);
+    List<AutoBean<? extends BaseProxy>> beans = new ArrayList<AutoBean<? extends BaseProxy>>(size);
+    List<Object> domainObjects = new ArrayList<Object>(size);
+    // The state of persistent objects is retrieved all at once
+    List<Object> persistent = new ArrayList<Object>(size);
     for (Map.Entry<SimpleProxyId<?>, AutoBean<? extends BaseProxy>> entry : toProcess.entrySet()) {
       SimpleProxyId<?> id = entry.getKey();
 
       AutoBean<? extends BaseProxy> bean = entry.getValue();
       Object domainObject = bean.getTag(Constants.DOMAIN_OBJECT);
-      WriteOperation writeOperation;
 
       if (id.isEphemeral() && returnState.isEntityType(id.getProxyClass())) {
         // See if the entity has been persisted in the meantime
@@ -276,16 +407,38 @@ public class SimpleRequestProcessor {
             Collections.<String> emptySet());
       }
 
-      if (id.isEphemeral() || id.isSynthetic() || domainObject == null) {
+      ids.add(id);
+      beans.add(bean);
+      domainObjects.add(domainObject);
+      if (isPersistent(id, domainObject)) {
+        persistent.add(domainObject);
+      }
+    }
+
+    List<Boolean> live =
+        persistent.isEmpty() ? Collections.<Boolean> emptyList() : service.areLive(persistent);
+    WriteOperation[] writeOperations = new WriteOperation[size];
+    List<Object> versioned = new ArrayList<Object>(persistent.size());
+    for (int i = 0, liveIndex = 0; i < size; i++) {
+      SimpleProxyId<?> id = ids.get(i);
+      Object domainObject = domainObjects.get(i);
+      if (!isPersistent(id, domainObject)) {
         // If the object isn't persistent, there's no reason to send an update
-        writeOperation = null;
-      } else if (!service.isLive(domainObject)) {
-        writeOperation = WriteOperation.DELETE;
-      } else if (id.wasEphemeral()) {
-        writeOperation = WriteOperation.PERSIST;
+        writeOperations[i] = null;
+      } else if (!live.get(liveIndex++)) {
+        writeOperations[i] = WriteOperation.DELETE;
       } else {
-        writeOperation = WriteOperation.UPDATE;
+        writeOperations[i] = id.wasEphemeral() ? WriteOperation.PERSIST : WriteOperation.UPDATE;
+        versioned.add(domainObject);
       }
+    }
+
+    List<Object> domainVersions =
+        versioned.isEmpty() ? Collections.<Object> emptyList() : service.getVersions(versioned);
+    for (int i = 0, versionIndex = 0; i < size; i++) {
+      SimpleProxyId<?> id = ids.get(i);
+      AutoBean<? extends BaseProxy> bean = beans.get(i);
+      WriteOperation writeOperation = writeOperations[i];
 
       Splittable version = null;
       if (writeOperation == WriteOperation.PERSIST || writeOperation == WriteOperation.UPDATE) {
@@ -293,10 +446,10 @@ public class SimpleRequestProcessor {
          * If we're sending an operation, the domain object must be persistent.
          * This means that it must also have a non-null version.
          */
-        Object domainVersion = service.getVersion(domainObject);
+        Object domainVersion = domainVersions.get(versionIndex++);
         if (domainVersion == null) {
           throw new UnexpectedException("The persisted entity with id "
-              + service.getId(domainObject) + " has a null version", null);
+              + service.getId(domainObjects.get(i)) + " has a null version", null);
         }
         version = returnState.flatten(domainVersion);
       }
@@ -330,16 +483,19 @@ public class SimpleRequestProcessor {
 
       // Only send properties for entities that are part of the return graph
       if (inResponse) {
-        Map<String, Splittable> propertyMap = new LinkedHashMap<String, Splittable>();
         // Add all non-null properties to the serialized form
         Map<String, Object> diff = AutoBeanUtils.getAllProperties(bean);
-        for (Map.Entry<String, Object> d : diff.entrySet()) {
-          Object value = d.getValue();
-          if (value != null) {
-            propertyMap.put(d.getKey(), EntityCodex.encode(returnState, value));
+        diff.values().removeAll(Collections.singleton(null));
+        if (WriteOperation.UPDATE.equals(writeOperation)
+            && isCachedByClient(id, version, diff.keySet(), knownVersions)) {
+          op.setCached(true);
+        } else {
+          Map<String, Splittable> propertyMap = new LinkedHashMap<String, Splittable>();
+          for (Map.Entry<String, Object> d : diff.entrySet()) {
+            propertyMap.put(d.getKey(), EntityCodex.encode(returnState, d.getValue()));
           }
+          op.setPropertyMap(propertyMap);
         }
-        op.setPropertyMap(propertyMap);
       }
 
       if (!id.isEphemeral() && !id.isSynthetic()) {
@@ -423,6 +579,70 @@ public class SimpleRequestProcessor {
     return args;
   }
 
+  /**
+   * Returns {@code true} if the client reported holding the given version of an
+   * entity, with the same properties.
+   *
+   * @see EntityCache
+   */
+  private boolean isCachedByClient(SimpleProxyId<?> id, Splittable version,
+      Set<String> propertyNames, Map<String, String> knownVersions) {
+    if (knownVersions == null || version == null) {
+      return false;
+    }
+    String knownVersion =
+        knownVersions.get(EntityCache.getKey(service.resolveTypeToken(id.getProxyClass()),
+            toBase64(id.getServerId())));
+    return knownVersion != null
+        && knownVersion.equals(EntityCache.getKnownVersion(toBase64(version.getPayload()),
+            propertyNames));
+  }
+
+  /**
+   * Invokes the pending independent invocations, the last one on the calling
+   * thread and the others on the executor, and waits for their results.
+   */
+  private void invokePending(List<PendingInvocation> pending, Object[] results,
+      boolean[] success) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    int last = pending.size() - 1;
+    for (int i = 0; i < last; i++) {
+      try {
+        executor.execute(pending.get(i).task);
+      } catch (RejectedExecutionException e) {
+        pending.get(i).task.run();
+      }
+    }
+    pending.get(last).task.run();
+
+    // Wait for all of them before failing, so that none is still running
+    RuntimeException unexpected = null;
+    for (PendingInvocation invocation : pending) {
+      Throwable failure = null;
+      try {
+        results[invocation.index] = getUninterruptibly(invocation.task);
+        success[invocation.index] = true;
+      } catch (ExecutionException e) {
+        failure = e.getCause();
+      }
+      if (failure instanceof ReportableException) {
+        results[invocation.index] =
+            AutoBeanCodex.encode(createFailureMessage((ReportableException) failure));
+      } else if (failure instanceof Error) {
+        throw (Error) failure;
+      } else if (failure != null && unexpected == null) {
+        unexpected = failure instanceof RuntimeException ? (RuntimeException) failure
+            : new UnexpectedException(failure);
+      }
+    }
+    pending.clear();
+    if (unexpected != null) {
+      throw unexpected;
+    }
+  }
+
   private void processInvocationMessages(RequestState state, RequestMessage req,
       List<Splittable> results, List<Boolean> success, RequestState returnState) {
     List<InvocationMessage> invocations = req.getInvocations();
@@ -430,12 +650,14 @@ public class SimpleRequestProcessor {
       // No method invocations which can happen via RequestContext.fire()
       return;
     }
-    List<Method> contextMethods = new ArrayList<Method>(invocations.size());
-    List<Object> invocationResults = new ArrayList<Object>(invocations.size());
-    Map<Object, SortedSet<String>> allPropertyRefs = new HashMap<Object, SortedSet<String>>();
-    for (InvocationMessage invocation : invocations) {
-      Object domainReturnValue;
-      boolean ok;
+    int size = invocations.size();
+    Method[] contextMethods = new Method[size];
+    Object[] invocationResults = new Object[size];
+    boolean[] invocationSuccess = new boolean[size];
+    // Consecutive independent invocations, which are invoked together
+    List<PendingInvocation> pending = new ArrayList<PendingInvocation>();
+    for (int i = 0; i < size; i++) {
+      InvocationMessage invocation = invocations.get(i);
       try {
         // Find the Method
         String operation = invocation.getOperation();
@@ -444,13 +666,19 @@ public class SimpleRequestProcessor {
           throw new UnexpectedException("Cannot resolve operation " + invocation.getOperation(),
               null);
         }
-        contextMethods.add(contextMethod);
+        contextMethods[i] = contextMethod;
         Method domainMethod = service.resolveDomainMethod(operation);
         if (domainMethod == null) {
           throw new UnexpectedException(
               "Cannot resolve domain method " + invocation.getOperation(), null);
         }
 
+        boolean concurrent = executor != null && isIndependent(contextMethod, domainMethod);
+        if (!concurrent) {
+          // Later invocations may depend on the pending ones
+          invokePending(pending, invocationResults, invocationSuccess);
+        }
+
         // Compute the arguments
         List<Object> args = decodeInvocationArguments(state, invocation, contextMethod);
         // Possibly use a ServiceLocator
@@ -460,34 +688,36 @@ public class SimpleRequestProcessor {
           args.add(0, serviceInstance);
         }
         // Invoke it
-        domainReturnValue = service.invoke(domainMethod, args.toArray());
-        if (invocation.getPropertyRefs() != null) {
-          SortedSet<String> paths = allPropertyRefs.get(domainReturnValue);
-          if (paths == null) {
-            paths = new TreeSet<String>();
-            allPropertyRefs.put(domainReturnValue, paths);
-          }
-          paths.addAll(invocation.getPropertyRefs());
+        if (concurrent) {
+          pending.add(new PendingInvocation(i, domainMethod, args.toArray()));
+          continue;
         }
-        ok = true;
+        invocationResults[i] = service.invoke(domainMethod, args.toArray());
+        invocationSuccess[i] = true;
       } catch (ReportableException e) {
-        domainReturnValue = AutoBeanCodex.encode(createFailureMessage(e));
-        ok = false;
+        invocationResults[i] = AutoBeanCodex.encode(createFailureMessage(e));
+      }
+    }
+    invokePending(pending, invocationResults, invocationSuccess);
+
+    Map<Object, SortedSet<String>> allPropertyRefs = new HashMap<Object, SortedSet<String>>();
+    for (int i = 0; i < size; i++) {
+      Set<String> propertyRefs = invocations.get(i).getPropertyRefs();
+      if (invocationSuccess[i] && propertyRefs != null) {
+        SortedSet<String> paths = allPropertyRefs.get(invocationResults[i]);
+        if (paths == null) {
+          paths = new TreeSet<String>();
+          allPropertyRefs.put(invocationResults[i], paths);
+        }
+        paths.addAll(propertyRefs);
       }
-      invocationResults.add(domainReturnValue);
-      success.add(ok);
     }
-    Iterator<Method> contextMethodIt = contextMethods.iterator();
-    Iterator<Object> objects = invocationResults.iterator();
-    Iterator<Boolean> successes = success.iterator();
-    while (successes.hasNext()) {
-      assert contextMethodIt.hasNext();
-      assert objects.hasNext();
-      Method contextMethod = contextMethodIt.next();
-      Object returnValue = objects.next();
-      if (successes.next()) {
+    for (int i = 0; i < size; i++) {
+      Object returnValue = invocationResults[i];
+      success.add(invocationSuccess[i]);
+      if (invocationSuccess[i]) {
         // Convert domain object to client object
-        Type requestReturnType = service.getRequestReturnType(contextMethod);
+        Type requestReturnType = service.getRequestReturnType(contextMethods[i]);
         returnValue =
             state.getResolver().resolveClientValue(returnValue, requestReturnType,
                 allPropertyRefs.get(returnValue));
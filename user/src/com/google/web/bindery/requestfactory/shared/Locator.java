@@ -15,6 +15,9 @@
  */
 package com.google.web.bindery.requestfactory.shared;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A Locator allows entity types that do not conform to the RequestFactory
  * entity protocol to be used. Instead of attempting to use a {@code findFoo()},
@@ -32,6 +35,26 @@ package com.google.web.bindery.requestfactory.shared;
  * @see ProxyFor#locator()
  */
 public abstract class Locator<T, I> {
+  /**
+   * Returns whether several domain objects are live, like
+   * {@link #isLive(Object)}. Locators may override this method to look up all
+   * of the objects at once, since RequestFactory calls it with all of the
+   * entities of a response.
+   * <p>
+   * The default implementation of this method calls {@link #isLive(Object)}
+   * for each domain object.
+   * 
+   * @param domainObjects the objects to check
+   * @return whether each object is live, in the same order
+   */
+  public List<Boolean> areLive(List<? extends T> domainObjects) {
+    List<Boolean> toReturn = new ArrayList<Boolean>(domainObjects.size());
+    for (T domainObject : domainObjects) {
+      toReturn.add(isLive(domainObject));
+    }
+    return toReturn;
+  }
+
   /**
    * Create a new instance of the requested type.
    * 
@@ -65,6 +88,24 @@ public abstract class Locator<T, I> {
    */
   public abstract I getId(T domainObject);
 
+  /**
+   * Returns the ids of several domain objects, like {@link #getId(Object)}.
+   * <p>
+   * The default implementation of this method calls {@link #getId(Object)} for
+   * each domain object.
+   * 
+   * @param domainObjects the objects to obtain ids for
+   * @return the id of each object, in the same order, elements of which may be
+   *         {@code null}
+   */
+  public List<I> getIds(List<? extends T> domainObjects) {
+    List<I> toReturn = new ArrayList<I>(domainObjects.size());
+    for (T domainObject : domainObjects) {
+      toReturn.add(getId(domainObject));
+    }
+    return toReturn;
+  }
+
   /**
    * Returns the {@code I} type.
    */
@@ -80,6 +121,27 @@ public abstract class Locator<T, I> {
    */
   public abstract Object getVersion(T domainObject);
 
+  /**
+   * Returns the versions of several domain objects, like
+   * {@link #getVersion(Object)}. Locators may override this method to look up
+   * all of the versions at once, since RequestFactory calls it with all of the
+   * entities of a response.
+   * <p>
+   * The default implementation of this method calls
+   * {@link #getVersion(Object)} for each domain object.
+   * 
+   * @param domainObjects the objects to obtain versions for
+   * @return the version of each object, in the same order, elements of which
+   *         may be {@code null}
+   */
+  public List<Object> getVersions(List<? extends T> domainObjects) {
+    List<Object> toReturn = new ArrayList<Object>(domainObjects.size());
+    for (T domainObject : domainObjects) {
+      toReturn.add(getVersion(domainObject));
+    }
+    return toReturn;
+  }
+
   /**
    * Returns a value indicating if the domain object should no longer be
    * considered accessible. This method might return false if the record
@@ -152,4 +152,17 @@ public interface RequestFactory {
    * @param transport a {@link RequestTransport} instance
    */
   void initialize(EventBus eventBus, RequestTransport transport);
+
+  /**
+   * Caches the properties of up to {@code maxEntities} entities received from
+   * the server. Each request then reports the versions of the cached entities,
+   * and the server only sends the id and version of a returned entity whose
+   * version matches, instead of all of its properties. This trades a larger
+   * request for smaller responses when the same entities are fetched
+   * repeatedly. Caching is disabled by default, or if {@code maxEntities} is
+   * zero.
+   *
+   * @param maxEntities the maximum number of entities to cache
+   */
+  void setEntityCacheSize(int maxEntities);
 }
@@ -102,6 +102,10 @@ public abstract class AbstractRequestContext implements RequestContext, EntityCo
      */
     public Set<AbstractRequestContext> appendedContexts;
     public final AbstractRequestContext canonical;
+    /**
+     * The entities of the {@link EntityCache} whose versions were sent with the request, by key.
+     */
+    Map<String, EntityCache.Entry> cachedEntities;
     public final DialectImpl dialect;
     public FanoutReceiver<Void> fanout;
     /**
@@ -342,6 +346,17 @@ public abstract class AbstractRequestContext implements RequestContext, EntityCo
       if (!operations.isEmpty()) {
         requestMessage.setOperations(operations);
       }
+      EntityCache cache = getRequestFactory().getEntityCache();
+      if (cache != null) {
+        state.cachedEntities = cache.getEntries();
+        if (!state.cachedEntities.isEmpty()) {
+          Map<String, String> knownVersions = new HashMap<String, String>();
+          for (Map.Entry<String, EntityCache.Entry> entry : state.cachedEntities.entrySet()) {
+            knownVersions.put(entry.getKey(), entry.getValue().knownVersion);
+          }
+          requestMessage.setKnownVersions(knownVersions);
+        }
+      }
       return AutoBeanCodex.encode(bean).getPayload();
     }
 
@@ -917,11 +932,19 @@ public abstract class AbstractRequestContext implements RequestContext, EntityCo
    */
   <Q extends BaseProxy> Q processReturnOperation(SimpleProxyId<Q> id, OperationMessage op,
       WriteOperation... operations) {
+    return processReturnOperation(id, op, op.getPropertyMap(), operations);
+  }
+
+  /**
+   * Like {@link #processReturnOperation(SimpleProxyId, OperationMessage, WriteOperation...)}, with
+   * the properties of the entity, which are cached ones if the server left them out.
+   */
+  <Q extends BaseProxy> Q processReturnOperation(SimpleProxyId<Q> id, OperationMessage op,
+      final Map<String, Splittable> properties, WriteOperation... operations) {
 
     AutoBean<Q> toMutate = getProxyForReturnPayloadGraph(id);
     toMutate.setTag(Constants.VERSION_PROPERTY_B64, op.getVersion());
 
-    final Map<String, Splittable> properties = op.getPropertyMap();
     if (properties != null) {
       // Apply updates
       toMutate.accept(new AutoBeanVisitor() {
@@ -1276,7 +1299,31 @@ public abstract class AbstractRequestContext implements RequestContext, EntityCo
             throw new RuntimeException(effect.toString());
         }
       }
-      processReturnOperation(id, op, toPropagate);
+
+      Map<String, Splittable> properties = op.getPropertyMap();
+      if (op.isCached()) {
+        // The server left out the properties that the client reported holding
+        String key =
+            EntityCache.getKey(state.requestFactory.getTypeToken(id.getProxyClass()), id
+                .getServerId());
+        EntityCache.Entry entry =
+            state.cachedEntities == null ? null : state.cachedEntities.get(key);
+        if (entry == null) {
+          throw new IllegalStateException("No cached properties for " + key);
+        }
+        properties = entry.properties;
+      }
+      BaseProxy proxy = processReturnOperation(id, op, properties, toPropagate);
+
+      EntityCache cache = state.requestFactory.getEntityCache();
+      if (cache != null && !id.isEphemeral() && !id.isSynthetic()
+          && state.requestFactory.isEntityType(id.getProxyClass())) {
+        if (effect == WriteOperation.DELETE) {
+          cache.remove(id);
+        } else if (properties != null && op.getVersion() != null) {
+          cache.put(id, op.getVersion(), AutoBeanUtils.getAutoBean(proxy), properties);
+        }
+      }
     }
 
     assert state.returnedProxies.size() == ops.size();
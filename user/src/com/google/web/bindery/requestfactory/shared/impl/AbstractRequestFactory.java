@@ -35,6 +35,7 @@ import java.util.Map.Entry;
 public abstract class AbstractRequestFactory extends IdFactory implements RequestFactory {
   private static final int MAX_VERSION_ENTRIES = 10000;
 
+  private EntityCache entityCache;
   private EventBus eventBus;
 
   @SuppressWarnings("serial")
@@ -111,6 +112,10 @@ public abstract class AbstractRequestFactory extends IdFactory implements Reques
     this.transport = transport;
   }
 
+  public void setEntityCacheSize(int maxEntities) {
+    entityCache = maxEntities > 0 ? new EntityCache(this, maxEntities) : null;
+  }
+
   /**
    * Implementations of EntityProxies are provided by an AutoBeanFactory, which
    * is itself a generated type. This method knows about all proxy types used in
@@ -121,6 +126,14 @@ public abstract class AbstractRequestFactory extends IdFactory implements Reques
    */
   protected abstract AutoBeanFactory getAutoBeanFactory();
 
+  /**
+   * Returns the cache of received entities, or {@code null} if caching is
+   * disabled.
+   */
+  EntityCache getEntityCache() {
+    return entityCache;
+  }
+
   /**
    * Used by {@link AbstractRequestContext} to quiesce update events for objects
    * that haven't truly changed.
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.requestfactory.shared.impl;
+
+import com.google.web.bindery.autobean.shared.AutoBean;
+import com.google.web.bindery.autobean.shared.AutoBeanVisitor;
+import com.google.web.bindery.autobean.shared.Splittable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers the properties of the entities that a RequestFactory has received.
+ * The versions of the cached entities are sent with each request, and the
+ * server leaves out the properties of the returned entities whose version the
+ * client already holds.
+ * <p>
+ * The versions sent to the server include a hash of the names of the cached
+ * properties, so that an entity fetched with other property references is sent
+ * again. Entities whose properties hold value proxies are not cached, since
+ * value proxies only have an id for the duration of a response.
+ */
+public class EntityCache {
+
+  /**
+   * The cached state of one entity.
+   */
+  static class Entry {
+    final String knownVersion;
+    final Map<String, Splittable> properties;
+
+    Entry(String version, Map<String, Splittable> properties) {
+      this.knownVersion = getKnownVersion(version, properties.keySet());
+      this.properties = properties;
+    }
+  }
+
+  /**
+   * Returns the key of an entity in the versions sent by the client.
+   *
+   * @param typeToken the type token of the entity's proxy type
+   * @param serverId the server id of the entity, as sent to the client
+   */
+  public static String getKey(String typeToken, String serverId) {
+    return IdUtil.persistedId(serverId, typeToken);
+  }
+
+  /**
+   * Returns the version that the client sends for an entity whose properties it
+   * holds.
+   *
+   * @param version the version of the entity, as sent to the client
+   * @param propertyNames the names of the properties that were sent
+   */
+  public static String getKnownVersion(String version, Collection<String> propertyNames) {
+    List<String> sorted = new ArrayList<String>(propertyNames);
+    Collections.sort(sorted);
+    return version + "," + Integer.toHexString(sorted.hashCode());
+  }
+
+  private final Map<Class<?>, Boolean> cacheableTypes = new HashMap<Class<?>, Boolean>();
+  private final Map<String, Entry> entries;
+  private final IdFactory idFactory;
+
+  @SuppressWarnings("serial")
+  EntityCache(IdFactory idFactory, final int maxEntries) {
+    this.idFactory = idFactory;
+    entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, EntityCache.Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Returns a copy of the cached entries, which are the ones that a request
+   * reports.
+   */
+  Map<String, Entry> getEntries() {
+    return new HashMap<String, Entry>(entries);
+  }
+
+  /**
+   * Caches the properties of an entity received from the server, if its type
+   * can be cached.
+   */
+  void put(SimpleProxyId<?> id, String version, AutoBean<?> bean,
+      Map<String, Splittable> properties) {
+    String key = getKey(idFactory.getTypeToken(id.getProxyClass()), id.getServerId());
+    if (isCacheable(bean)) {
+      entries.put(key, new Entry(version, new HashMap<String, Splittable>(properties)));
+    } else {
+      entries.remove(key);
+    }
+  }
+
+  /**
+   * Forgets the properties of an entity that the server reported as deleted.
+   */
+  void remove(SimpleProxyId<?> id) {
+    entries.remove(getKey(idFactory.getTypeToken(id.getProxyClass()), id.getServerId()));
+  }
+
+  private boolean isCacheable(AutoBean<?> bean) {
+    Boolean cacheable = cacheableTypes.get(bean.getType());
+    if (cacheable == null) {
+      final boolean[] hasValueProxies = {false};
+      bean.accept(new AutoBeanVisitor() {
+        @Override
+        public boolean visitReferenceProperty(String propertyName, AutoBean<?> value,
+            PropertyContext ctx) {
+          hasValueProxies[0] |= isValueType(ctx.getType());
+          if (ctx instanceof CollectionPropertyContext) {
+            hasValueProxies[0] |= isValueType(((CollectionPropertyContext) ctx).getElementType());
+          }
+          if (ctx instanceof MapPropertyContext) {
+            MapPropertyContext mapCtx = (MapPropertyContext) ctx;
+            hasValueProxies[0] |=
+                isValueType(mapCtx.getKeyType()) || isValueType(mapCtx.getValueType());
+          }
+          return false;
+        }
+      });
+      cacheable = !hasValueProxies[0];
+      cacheableTypes.put(bean.getType(), cacheable);
+    }
+    return cacheable;
+  }
+
+  private boolean isValueType(Class<?> type) {
+    return type != null && idFactory.isValueType(type);
+  }
+}
@@ -25,15 +25,26 @@ import java.util.Map;
  * Represents an operation to be carried out on a single entity on the server.
  */
 public interface OperationMessage extends IdMessage, VersionedMessage {
+  String CACHED = "K";
   String OPERATION = "O";
   String PROPERTY_MAP = "P";
 
   @PropertyName(OPERATION)
   WriteOperation getOperation();
 
+  /**
+   * Returns {@code true} if the properties of the entity were left out because
+   * the client reported holding its current version.
+   */
+  @PropertyName(CACHED)
+  boolean isCached();
+
   @PropertyName(PROPERTY_MAP)
   Map<String, Splittable> getPropertyMap();
 
+  @PropertyName(CACHED)
+  void setCached(boolean value);
+
   @PropertyName(OPERATION)
   void setOperation(WriteOperation value);
 
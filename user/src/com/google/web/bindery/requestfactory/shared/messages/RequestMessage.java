@@ -18,6 +18,7 @@ package com.google.web.bindery.requestfactory.shared.messages;
 import com.google.web.bindery.autobean.shared.AutoBean.PropertyName;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * The message sent from the client to the server.
@@ -25,11 +26,20 @@ import java.util.List;
 public interface RequestMessage extends VersionedMessage {
   String FACTORY = "F";
   String INVOCATION = "I";
+  String KNOWN_VERSIONS = "K";
   String OPERATIONS = "O";
 
   @PropertyName(INVOCATION)
   List<InvocationMessage> getInvocations();
 
+  /**
+   * Returns the versions of the entities cached by the client, by key.
+   *
+   * @see com.google.web.bindery.requestfactory.shared.impl.EntityCache
+   */
+  @PropertyName(KNOWN_VERSIONS)
+  Map<String, String> getKnownVersions();
+
   @PropertyName(OPERATIONS)
   List<OperationMessage> getOperations();
 
@@ -39,6 +49,9 @@ public interface RequestMessage extends VersionedMessage {
   @PropertyName(INVOCATION)
   void setInvocations(List<InvocationMessage> value);
 
+  @PropertyName(KNOWN_VERSIONS)
+  void setKnownVersions(Map<String, String> value);
+
   @PropertyName(OPERATIONS)
   void setOperations(List<OperationMessage> value);
 
@@ -115,4 +115,8 @@ public class FakeRequestFactory implements RequestFactory {
     this.eventBus = eventBus;
     this.requestTransport = transport;
   }
+
+  @Override
+  public void setEntityCacheSize(int maxEntities) {
+  }
 }
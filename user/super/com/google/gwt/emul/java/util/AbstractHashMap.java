@@ -77,6 +77,7 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
    */
   private final class EntrySetIterator implements Iterator<Entry<K, V>> {
     private Iterator<Entry<K, V>> stringMapEntries = stringMap.iterator();
+    private Iterator<Entry<K, V>> primitiveMapEntries;
     private Iterator<Entry<K, V>> current = stringMapEntries;
     private Iterator<Entry<K, V>> last;
     private boolean hasNext = computeHasNext();
@@ -94,7 +95,13 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
       if (current.hasNext()) {
         return true;
       }
-      if (current != stringMapEntries) {
+      if (current == stringMapEntries && primitiveMap != null) {
+        current = primitiveMapEntries = primitiveMap.iterator();
+        if (current.hasNext()) {
+          return true;
+        }
+      }
+      if (current != stringMapEntries && current != primitiveMapEntries) {
         return false;
       }
       current = hashCodeMap.iterator();
@@ -131,6 +138,11 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
    */
   private transient InternalHashCodeMap<K, V> hashCodeMap;
 
+  /**
+   * A map of Doubles and Booleans onto values, or <code>null</code> until one is put.
+   */
+  private transient InternalPrimitiveMap<K, V> primitiveMap;
+
   /**
    * A map of Strings onto values.
    */
@@ -165,6 +177,7 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
 
   private void reset() {
     hashCodeMap = new InternalHashCodeMap<K, V>(this);
+    primitiveMap = null;
     stringMap = new InternalStringMap<K, V>(this);
     structureChanged(this);
   }
@@ -178,7 +191,9 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
 
   @Override
   public boolean containsValue(Object value) {
-    return containsValue(value, stringMap) || containsValue(value, hashCodeMap);
+    return containsValue(value, stringMap)
+        || (primitiveMap != null && containsValue(value, primitiveMap))
+        || containsValue(value, hashCodeMap);
   }
 
   private boolean containsValue(Object value, Iterable<Entry<K, V>> entries) {
@@ -218,7 +233,8 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
 
   @Override
   public int size() {
-    return hashCodeMap.size() + stringMap.size();
+    return hashCodeMap.size() + (primitiveMap == null ? 0 : primitiveMap.size())
+        + stringMap.size();
   }
 
   /**
@@ -233,6 +249,21 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
    */
   abstract int getHashCode(Object key);
 
+  /**
+   * Returns true if the key is a Double or a Boolean that goes to the primitiveMap, which looks it
+   * up natively instead of through its hash code. NaN stays in the hashCodeMap, since a JavaScript
+   * Map finds it again where {@link Double#equals} does not, and so do zeros, since the Map would
+   * hand -0 back as 0.
+   */
+  private static boolean isPrimitiveKey(Object key) {
+    if (key instanceof Double) {
+      double value = (Double) key;
+      // Both false for NaN
+      return (value > 0 || value < 0) && InternalJsMapFactory.hasNativeJsMap();
+    }
+    return key instanceof Boolean && InternalJsMapFactory.hasNativeJsMap();
+  }
+
   /**
    * Returns the Map.Entry whose key is Object equal to <code>key</code>,
    * provided that <code>key</code>'s hash code is <code>hashCode</code>;
@@ -240,6 +271,9 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
    * hashCode.
    */
   private V getHashValue(Object key) {
+    if (isPrimitiveKey(key)) {
+      return primitiveMap == null ? null : primitiveMap.get(key);
+    }
     return getEntryValueOrNull(hashCodeMap.getEntry(key));
   }
 
@@ -257,6 +291,9 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
    * <code>hashCode</code>.
    */
   private boolean hasHashValue(Object key) {
+    if (isPrimitiveKey(key)) {
+      return primitiveMap != null && primitiveMap.contains(key);
+    }
     return hashCodeMap.getEntry(key) != null;
   }
 
@@ -273,6 +310,12 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
    * specified key did not exist.
    */
   private V putHashValue(K key, V value) {
+    if (isPrimitiveKey(key)) {
+      if (primitiveMap == null) {
+        primitiveMap = new InternalPrimitiveMap<K, V>(this);
+      }
+      return primitiveMap.put(key, value);
+    }
     return hashCodeMap.put(key, value);
   }
 
@@ -292,6 +335,9 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
    * removed key, or null if no such key existed.
    */
   private V removeHashValue(Object key) {
+    if (isPrimitiveKey(key)) {
+      return primitiveMap == null ? null : primitiveMap.remove(key);
+    }
     return hashCodeMap.remove(key);
   }
 
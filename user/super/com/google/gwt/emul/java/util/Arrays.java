@@ -1264,48 +1264,48 @@ public class Arrays {
   }
 
   public static void sort(byte[] array) {
-    nativeIntegerSort(array);
+    nativeNumberSort(array, 0, array.length, "Int8Array", getIntComparator());
   }
 
   public static void sort(byte[] array, int fromIndex, int toIndex) {
     checkCriticalArrayBounds(fromIndex, toIndex, array.length);
-    nativeIntegerSort(array, fromIndex, toIndex);
+    nativeNumberSort(array, fromIndex, toIndex, "Int8Array", getIntComparator());
   }
 
   public static void sort(char[] array) {
-    nativeIntegerSort(array);
+    nativeNumberSort(array, 0, array.length, "Uint16Array", getIntComparator());
   }
 
   public static void sort(char[] array, int fromIndex, int toIndex) {
     checkCriticalArrayBounds(fromIndex, toIndex, array.length);
-    nativeIntegerSort(array, fromIndex, toIndex);
+    nativeNumberSort(array, fromIndex, toIndex, "Uint16Array", getIntComparator());
   }
 
   public static void sort(double[] array) {
-    ArrayHelper.asNativeArray(array).sort(getDoubleComparator());
+    nativeNumberSort(array, 0, array.length, "Float64Array", getDoubleComparator());
   }
 
   public static void sort(double[] array, int fromIndex, int toIndex) {
     checkCriticalArrayBounds(fromIndex, toIndex, array.length);
-    nativeSort(array, fromIndex, toIndex, getDoubleComparator());
+    nativeNumberSort(array, fromIndex, toIndex, "Float64Array", getDoubleComparator());
   }
 
   public static void sort(float[] array) {
-    ArrayHelper.asNativeArray(array).sort(getDoubleComparator());
+    nativeNumberSort(array, 0, array.length, "Float64Array", getDoubleComparator());
   }
 
   public static void sort(float[] array, int fromIndex, int toIndex) {
     checkCriticalArrayBounds(fromIndex, toIndex, array.length);
-    nativeSort(array, fromIndex, toIndex, getDoubleComparator());
+    nativeNumberSort(array, fromIndex, toIndex, "Float64Array", getDoubleComparator());
   }
 
   public static void sort(int[] array) {
-    nativeIntegerSort(array);
+    nativeNumberSort(array, 0, array.length, "Int32Array", getIntComparator());
   }
 
   public static void sort(int[] array, int fromIndex, int toIndex) {
     checkCriticalArrayBounds(fromIndex, toIndex, array.length);
-    nativeIntegerSort(array, fromIndex, toIndex);
+    nativeNumberSort(array, fromIndex, toIndex, "Int32Array", getIntComparator());
   }
 
   public static void sort(long[] array) {
@@ -1326,22 +1326,22 @@ public class Arrays {
   }
 
   public static void sort(short[] array) {
-    nativeIntegerSort(array);
+    nativeNumberSort(array, 0, array.length, "Int16Array", getIntComparator());
   }
 
   public static void sort(short[] array, int fromIndex, int toIndex) {
     checkCriticalArrayBounds(fromIndex, toIndex, array.length);
-    nativeIntegerSort(array, fromIndex, toIndex);
+    nativeNumberSort(array, fromIndex, toIndex, "Int16Array", getIntComparator());
   }
 
   public static <T> void sort(T[] x, Comparator<? super T> c) {
-    mergeSort(x, 0, x.length, c);
+    TimSort.sort(x, 0, x.length, c);
   }
 
   public static <T> void sort(T[] x, int fromIndex, int toIndex,
       Comparator<? super T> c) {
     checkCriticalArrayBounds(fromIndex, toIndex, x.length);
-    mergeSort(x, fromIndex, toIndex, c);
+    TimSort.sort(x, fromIndex, toIndex, c);
   }
 
   public static void parallelSort(byte[] array) {
@@ -1632,110 +1632,6 @@ public class Arrays {
     return joiner.toString();
   }
 
-  /**
-   * Sort a small subsection of an array by insertion sort.
-   *
-   * @param array array to sort
-   * @param low lower bound of range to sort
-   * @param high upper bound of range to sort
-   * @param comp comparator to use
-   */
-  private static void insertionSort(Object[] array, int low, int high,
-      Comparator<Object> comp) {
-    for (int i = low + 1; i < high; ++i) {
-      for (int j = i; j > low && comp.compare(array[j - 1], array[j]) > 0; --j) {
-        Object t = array[j];
-        array[j] = array[j - 1];
-        array[j - 1] = t;
-      }
-    }
-  }
-
-  /**
-   * Merge the two sorted subarrays (srcLow,srcMid] and (srcMid,srcHigh] into
-   * dest.
-   *
-   * @param src source array for merge
-   * @param srcLow lower bound of bottom sorted half
-   * @param srcMid upper bound of bottom sorted half & lower bound of top sorted
-   *          half
-   * @param srcHigh upper bound of top sorted half
-   * @param dest destination array for merge
-   * @param destLow lower bound of destination
-   * @param destHigh upper bound of destination
-   * @param comp comparator to use
-   */
-  private static void merge(Object[] src, int srcLow, int srcMid, int srcHigh,
-      Object[] dest, int destLow, int destHigh, Comparator<Object> comp) {
-    // can't destroy srcMid because we need it as a bound on the lower half
-    int topIdx = srcMid;
-    while (destLow < destHigh) {
-      if (topIdx >= srcHigh
-          || (srcLow < srcMid && comp.compare(src[srcLow], src[topIdx]) <= 0)) {
-        dest[destLow++] = src[srcLow++];
-      } else {
-        dest[destLow++] = src[topIdx++];
-      }
-    }
-  }
-
-  /**
-   * Performs a merge sort on the specified portion of an object array.
-   *
-   * Uses O(n) temporary space to perform the merge, but is stable.
-   */
-  @SuppressWarnings("unchecked")
-  private static void mergeSort(Object[] x, int fromIndex, int toIndex, Comparator<?> comp) {
-    comp = Comparators.nullToNaturalOrder(comp);
-    Object[] temp = ArrayHelper.unsafeClone(x, fromIndex, toIndex);
-    mergeSort(temp, x, fromIndex, toIndex, -fromIndex,
-        (Comparator<Object>) comp);
-  }
-
-  /**
-   * Recursive helper function for
-   * {@link Arrays#mergeSort(Object[], int, int, Comparator)}.
-   *
-   * @param temp temporary space, as large as the range of elements being
-   *          sorted. On entry, temp should contain a copy of the sort range
-   *          from array.
-   * @param array array to sort
-   * @param low lower bound of range to sort
-   * @param high upper bound of range to sort
-   * @param ofs offset to convert an array index into a temp index
-   * @param comp comparison function
-   */
-  private static void mergeSort(Object[] temp, Object[] array, int low,
-      int high, int ofs, Comparator<Object> comp) {
-    int length = high - low;
-
-    // insertion sort for small arrays
-    if (length < 7) {
-      insertionSort(array, low, high, comp);
-      return;
-    }
-
-    // recursively sort both halves, using the array as temp space
-    int tempLow = low + ofs;
-    int tempHigh = high + ofs;
-    int tempMid = tempLow + ((tempHigh - tempLow) >> 1);
-    mergeSort(array, temp, tempLow, tempMid, -ofs, comp);
-    mergeSort(array, temp, tempMid, tempHigh, -ofs, comp);
-
-    // Skip merge if already in order - just copy from temp
-    if (comp.compare(temp[tempMid - 1], temp[tempMid]) <= 0) {
-      // TODO(jat): use System.arraycopy when that is implemented and more
-      // efficient than this
-      while (low < high) {
-        array[low++] = temp[tempLow++];
-      }
-      return;
-    }
-
-    // merge sorted halves
-    merge(temp, tempLow, tempMid, tempHigh, array, low, high, comp);
-  }
-
   /**
    * Sort a subset of an array using the given comparator
    */
@@ -1746,18 +1642,62 @@ public class Arrays {
   }
 
   /**
-   * Sort an entire array of number primitives of integral type.
+   * Sort a subset of an array of number primitives. Where the browser supports typed arrays, the
+   * subset is sorted in one of the given type, whose default order is the same as the one of the
+   * comparator; otherwise it is sorted with the comparator.
    */
-  private static void nativeIntegerSort(Object array) {
-    ArrayHelper.asNativeArray(array).sort(getIntComparator());
+  private static void nativeNumberSort(Object array, int fromIndex, int toIndex,
+      String typedArrayName, CompareFunction fn) {
+    if (typedArraySort(array, fromIndex, toIndex, typedArrayName)) {
+      return;
+    }
+    if (fromIndex == 0 && toIndex == ArrayHelper.getLength(array)) {
+      ArrayHelper.asNativeArray(array).sort(fn);
+    } else {
+      nativeSort(array, fromIndex, toIndex, fn);
+    }
   }
 
   /**
-   * Sort a subset of an array of primitives of integral type.
+   * Sorts a subset of an array of numbers by copying it into a typed array and back. Typed arrays
+   * sort numerically without calling back into a comparator, and like {@link Double#compare} put
+   * -0 before 0 and NaN last. Returns false if the environment lacks such typed arrays.
    */
-  private static void nativeIntegerSort(Object array, int fromIndex, int toIndex) {
-    nativeSort(array, fromIndex, toIndex, getIntComparator());
-  }
+  private static native boolean typedArraySort(Object array, int fromIndex, int toIndex,
+      String typedArrayName) /*-{
+    // Referenced directly, since workers, d8 and Node have no $wnd
+    var TypedArray;
+    switch (typedArrayName) {
+      case 'Int8Array':
+        TypedArray = typeof Int8Array != 'undefined' ? Int8Array : null;
+        break;
+      case 'Int16Array':
+        TypedArray = typeof Int16Array != 'undefined' ? Int16Array : null;
+        break;
+      case 'Int32Array':
+        TypedArray = typeof Int32Array != 'undefined' ? Int32Array : null;
+        break;
+      case 'Uint16Array':
+        TypedArray = typeof Uint16Array != 'undefined' ? Uint16Array : null;
+        break;
+      case 'Float64Array':
+        TypedArray = typeof Float64Array != 'undefined' ? Float64Array : null;
+        break;
+    }
+    if (!TypedArray || !TypedArray.prototype.sort) {
+      return false;
+    }
+    var length = toIndex - fromIndex;
+    var typed = new TypedArray(length);
+    for (var i = 0; i < length; i++) {
+      typed[i] = array[fromIndex + i];
+    }
+    typed.sort();
+    for (var i = 0; i < length; i++) {
+      array[fromIndex + i] = typed[i];
+    }
+    return true;
+  }-*/;
 
   @JsFunction
   private interface CompareDoubleFunction {
@@ -49,8 +49,10 @@ interface InternalJsMap<V> {
 
   V get(int key);
   V get(String key);
+  V get(Object key);
   void set(int key, V value);
   void set(String key, V value);
+  void set(Object key, V value);
   Iterator<V> entries();
 
   @JsOverlay
@@ -69,9 +71,18 @@ interface InternalJsMap<V> {
     fn.call(this, key);
   }
 
+  @JsOverlay
+  default void delete(Object key) {
+    // Calls delete without map.delete in order to be compatible with old browsers where delete is a
+    // keyword.
+    DeleteFunction fn = JsUtils.getProperty(this, "delete");
+    fn.call(this, key);
+  }
+
   @JsType(isNative = true, name = "Function", namespace = JsPackage.GLOBAL)
   interface DeleteFunction {
     void call(InternalJsMap<?> thisArg, String key);
     void call(InternalJsMap<?> thisArg, int key);
+    void call(InternalJsMap<?> thisArg, Object key);
   }
 }
@@ -24,6 +24,8 @@ class InternalJsMapFactory {
 
   private static final JavaScriptObject jsMapCtor = getJsMapConstructor();
 
+  private static final boolean isNativeJsMap = isNativeJsMap();
+
   private static native JavaScriptObject getJsMapConstructor() /*-{
     // Firefox 24 & 25 throws StopIteration to signal the end of iteration.
     function isCorrectIterationProtocol() {
@@ -45,6 +47,18 @@ class InternalJsMapFactory {
     return new @InternalJsMapFactory::jsMapCtor;
   }-*/;
 
+  /**
+   * Returns {@code true} if the maps are native JavaScript Maps, which unlike the polyfill keep
+   * keys that are not Strings as they are.
+   */
+  public static boolean hasNativeJsMap() {
+    return isNativeJsMap;
+  }
+
+  private static native boolean isNativeJsMap() /*-{
+    return typeof Map === 'function' && @InternalJsMapFactory::jsMapCtor === Map;
+  }-*/;
+
   /**
    * Returns a partial polyfill for Map that can handle String keys.
    * <p>Implementation notes:
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package java.util;
+
+import static java.util.ConcurrentModificationDetector.structureChanged;
+
+import java.util.Map.Entry;
+
+import javaemul.internal.JsUtils;
+
+/**
+ * A simple wrapper around JavaScript Map for Double and Boolean keys, which are JavaScript
+ * primitives.
+ * <p>
+ * Implementation notes:
+ * <p>
+ * The Map compares keys with SameValueZero, which agrees with {@link Double#equals} except for
+ * NaN, which it finds again, and -0, which it stores as 0. {@link AbstractHashMap} keeps those keys
+ * out of this map. This map is only used with a native Map, as the polyfill turns keys into
+ * Strings.
+ */
+class InternalPrimitiveMap<K, V> implements Iterable<Entry<K, V>> {
+
+  private final InternalJsMap<V> backingMap = InternalJsMapFactory.newJsMap();
+  private AbstractHashMap<K, V> host;
+  private int size;
+
+  /**
+   * A mod count to track 'value' replacements in map to ensure that the 'value' that we have in the
+   * iterator entry is guaranteed to be still correct.
+   */
+  private int valueMod;
+
+  public InternalPrimitiveMap(AbstractHashMap<K, V> host) {
+    this.host = host;
+  }
+
+  public boolean contains(Object key) {
+    return !JsUtils.isUndefined(backingMap.get(key));
+  }
+
+  public V get(Object key) {
+    return backingMap.get(key);
+  }
+
+  public V put(Object key, V value) {
+    V oldValue = backingMap.get(key);
+    backingMap.set(key, toNullIfUndefined(value));
+
+    if (JsUtils.isUndefined(oldValue)) {
+      size++;
+      structureChanged(host);
+    } else {
+      valueMod++;
+    }
+    return oldValue;
+  }
+
+  public V remove(Object key) {
+    V value = backingMap.get(key);
+    if (!JsUtils.isUndefined(value)) {
+      backingMap.delete(key);
+      size--;
+      structureChanged(host);
+    }
+    return value;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<Entry<K, V>> iterator() {
+    return new Iterator<Map.Entry<K, V>>() {
+      InternalJsMap.Iterator<V> entries = backingMap.entries();
+      InternalJsMap.IteratorEntry<V> current = entries.next();
+      InternalJsMap.IteratorEntry<V> last;
+
+      @Override
+      public boolean hasNext() {
+        return !current.isDone();
+      }
+
+      @Override
+      public Entry<K, V> next() {
+        last = current;
+        current = entries.next();
+        return newMapEntry(last, valueMod);
+      }
+
+      @Override
+      public void remove() {
+        InternalPrimitiveMap.this.remove(last.getValueInternal()[0]);
+      }
+    };
+  }
+
+  private Entry<K, V> newMapEntry(
+      final InternalJsMap.IteratorEntry<V> entry, final int lastValueMod) {
+    // IteratorEntry.getKey() would claim the key is a String
+    final Object key = entry.getValueInternal()[0];
+    return new AbstractMapEntry<K, V>() {
+      @Override
+      public K getKey() {
+        return JsUtils.uncheckedCast(key);
+      }
+
+      @Override
+      public V getValue() {
+        if (valueMod != lastValueMod) {
+          // Let's get a fresh copy as the value may have changed.
+          return get(key);
+        }
+        return entry.getValue();
+      }
+
+      @Override
+      public V setValue(V object) {
+        return put(key, object);
+      }
+    };
+  }
+
+  private static <T> T toNullIfUndefined(T value) {
+    return JsUtils.isUndefined(value) ? null : value;
+  }
+}
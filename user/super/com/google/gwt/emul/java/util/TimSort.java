@@ -0,0 +1,345 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package java.util;
+
+/**
+ * A stable, adaptive merge sort for object arrays, after Tim Peters' list sort for Python.
+ * <p>
+ * Implementation notes:
+ * <p>
+ * The range is split into the ascending or strictly descending runs already present in it, the
+ * latter being reversed, and short runs are extended by binary insertion sort. The runs are kept
+ * on a stack and merged so that the lengths on it shrink at least like the Fibonacci numbers.
+ * Sorted input is one run and costs a single pass, and data that is sorted save for a few
+ * appended or changed rows costs little more.
+ * <p>
+ * Before two runs are merged, the elements at their ends that are already in place are skipped
+ * by binary search. Unlike the JDK version, merges do not switch into a galloping mode.
+ */
+final class TimSort {
+
+  /**
+   * Ranges shorter than this are sorted by binary insertion sort alone, and runs are extended to
+   * about this length.
+   */
+  private static final int MIN_MERGE = 32;
+
+  /**
+   * Enough for 2^31 elements, since the run lengths on the stack grow faster than the Fibonacci
+   * numbers.
+   */
+  private static final int MAX_STACK_SIZE = 49;
+
+  /**
+   * Sorts the specified range of an array into the order of a comparator, or into natural order
+   * if it is null.
+   */
+  @SuppressWarnings("unchecked")
+  static void sort(Object[] array, int low, int high, Comparator<?> comparator) {
+    Comparator<Object> comp = (Comparator<Object>) Comparators.nullToNaturalOrder(comparator);
+    int remaining = high - low;
+    if (remaining < 2) {
+      return;
+    }
+
+    if (remaining < MIN_MERGE) {
+      int runLength = countRunAndMakeAscending(array, low, high, comp);
+      binaryInsertionSort(array, low, high, low + runLength, comp);
+      return;
+    }
+
+    TimSort timSort = new TimSort(array, comp);
+    int minRun = minRunLength(remaining);
+    do {
+      int runLength = countRunAndMakeAscending(array, low, high, comp);
+      if (runLength < minRun) {
+        int forced = Math.min(remaining, minRun);
+        binaryInsertionSort(array, low, low + forced, low + runLength, comp);
+        runLength = forced;
+      }
+
+      timSort.pushRun(low, runLength);
+      timSort.mergeCollapse();
+
+      low += runLength;
+      remaining -= runLength;
+    } while (remaining != 0);
+
+    timSort.mergeForceCollapse();
+  }
+
+  /**
+   * Sorts a range whose prefix up to {@code start} is already sorted, by inserting each following
+   * element after the equal ones before it.
+   */
+  private static void binaryInsertionSort(Object[] array, int low, int high, int start,
+      Comparator<Object> comp) {
+    for (; start < high; start++) {
+      Object pivot = array[start];
+      int left = low;
+      int right = start;
+      while (left < right) {
+        int mid = (left + right) >>> 1;
+        if (comp.compare(pivot, array[mid]) < 0) {
+          right = mid;
+        } else {
+          left = mid + 1;
+        }
+      }
+      for (int i = start; i > left; i--) {
+        array[i] = array[i - 1];
+      }
+      array[left] = pivot;
+    }
+  }
+
+  /**
+   * Returns the length of the run that starts at {@code low}, reversing it first if it is
+   * strictly descending. Equal elements end a descending run, which keeps the sort stable.
+   */
+  private static int countRunAndMakeAscending(Object[] array, int low, int high,
+      Comparator<Object> comp) {
+    int runHigh = low + 1;
+    if (runHigh == high) {
+      return 1;
+    }
+
+    if (comp.compare(array[runHigh++], array[low]) < 0) {
+      while (runHigh < high && comp.compare(array[runHigh], array[runHigh - 1]) < 0) {
+        runHigh++;
+      }
+      reverse(array, low, runHigh);
+    } else {
+      while (runHigh < high && comp.compare(array[runHigh], array[runHigh - 1]) >= 0) {
+        runHigh++;
+      }
+    }
+    return runHigh - low;
+  }
+
+  /**
+   * Returns the number of elements of a sorted range that are less than the key.
+   */
+  private static int countLess(Object key, Object[] array, int base, int length,
+      Comparator<Object> comp) {
+    int left = 0;
+    int right = length;
+    while (left < right) {
+      int mid = (left + right) >>> 1;
+      if (comp.compare(array[base + mid], key) < 0) {
+        left = mid + 1;
+      } else {
+        right = mid;
+      }
+    }
+    return left;
+  }
+
+  /**
+   * Returns the number of elements of a sorted range that are not greater than the key.
+   */
+  private static int countNotGreater(Object key, Object[] array, int base, int length,
+      Comparator<Object> comp) {
+    int left = 0;
+    int right = length;
+    while (left < right) {
+      int mid = (left + right) >>> 1;
+      if (comp.compare(array[base + mid], key) <= 0) {
+        left = mid + 1;
+      } else {
+        right = mid;
+      }
+    }
+    return left;
+  }
+
+  /**
+   * Returns the minimum run length for a range of the given length, chosen so that the number of
+   * runs is a power of two or a little less, which keeps the merges balanced.
+   */
+  private static int minRunLength(int length) {
+    int lowBits = 0;
+    while (length >= MIN_MERGE) {
+      lowBits |= length & 1;
+      length >>= 1;
+    }
+    return length + lowBits;
+  }
+
+  private static void reverse(Object[] array, int low, int high) {
+    for (high--; low < high; low++, high--) {
+      Object t = array[low];
+      array[low] = array[high];
+      array[high] = t;
+    }
+  }
+
+  private final Object[] array;
+  private final Comparator<Object> comp;
+  private final int[] runBase = new int[MAX_STACK_SIZE];
+  private final int[] runLength = new int[MAX_STACK_SIZE];
+  private int stackSize;
+
+  /**
+   * Temporary space for merges, as large as the shorter of the runs merged so far.
+   */
+  private Object[] temp = new Object[0];
+
+  private TimSort(Object[] array, Comparator<Object> comp) {
+    this.array = array;
+    this.comp = comp;
+  }
+
+  private Object[] ensureCapacity(int minCapacity) {
+    if (temp.length < minCapacity) {
+      temp = new Object[Math.max(minCapacity, temp.length << 1)];
+    }
+    return temp;
+  }
+
+  /**
+   * Merges the two runs at {@code i} and {@code i + 1} of the stack, which must be its second and
+   * third or its first and second from the top.
+   */
+  private void mergeAt(int i) {
+    int base1 = runBase[i];
+    int length1 = runLength[i];
+    int base2 = runBase[i + 1];
+    int length2 = runLength[i + 1];
+
+    runLength[i] = length1 + length2;
+    if (i == stackSize - 3) {
+      runBase[i + 1] = runBase[i + 2];
+      runLength[i + 1] = runLength[i + 2];
+    }
+    stackSize--;
+
+    // Elements of the first run not greater than the first of the second are already in place
+    int inPlace = countNotGreater(array[base2], array, base1, length1, comp);
+    base1 += inPlace;
+    length1 -= inPlace;
+    if (length1 == 0) {
+      return;
+    }
+
+    // And so are elements of the second run not less than the last of the first
+    length2 = countLess(array[base1 + length1 - 1], array, base2, length2, comp);
+    if (length2 == 0) {
+      return;
+    }
+
+    if (length1 <= length2) {
+      mergeLow(base1, length1, base2, length2);
+    } else {
+      mergeHigh(base1, length1, base2, length2);
+    }
+  }
+
+  /**
+   * Merges the runs on the stack until their lengths satisfy the invariants
+   * {@code runLength[i - 2] > runLength[i - 1] + runLength[i]} and
+   * {@code runLength[i - 1] > runLength[i]}. The invariants are checked four runs deep, since
+   * checking only the top three lets them break further down.
+   */
+  private void mergeCollapse() {
+    while (stackSize > 1) {
+      int n = stackSize - 2;
+      if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+          || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+        if (runLength[n - 1] < runLength[n + 1]) {
+          n--;
+        }
+      } else if (runLength[n] > runLength[n + 1]) {
+        break;
+      }
+      mergeAt(n);
+    }
+  }
+
+  /**
+   * Merges all the runs on the stack into one.
+   */
+  private void mergeForceCollapse() {
+    while (stackSize > 1) {
+      int n = stackSize - 2;
+      if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+        n--;
+      }
+      mergeAt(n);
+    }
+  }
+
+  /**
+   * Merges two adjacent runs from the left, copying the first, shorter one aside. The first
+   * element of the second run belongs before the first of the first run, and its last element
+   * belongs after everything else.
+   */
+  private void mergeLow(int base1, int length1, int base2, int length2) {
+    Object[] temp = ensureCapacity(length1);
+    for (int i = 0; i < length1; i++) {
+      temp[i] = array[base1 + i];
+    }
+
+    int cursor1 = 0;
+    int cursor2 = base2;
+    int end2 = base2 + length2;
+    int dest = base1;
+    while (cursor1 < length1 && cursor2 < end2) {
+      // Take from the second run only if strictly less, which keeps the sort stable
+      if (comp.compare(array[cursor2], temp[cursor1]) < 0) {
+        array[dest++] = array[cursor2++];
+      } else {
+        array[dest++] = temp[cursor1++];
+      }
+    }
+    while (cursor1 < length1) {
+      array[dest++] = temp[cursor1++];
+    }
+    // Whatever remains of the second run is already in place
+  }
+
+  /**
+   * Merges two adjacent runs from the right, copying the second, shorter one aside.
+   */
+  private void mergeHigh(int base1, int length1, int base2, int length2) {
+    Object[] temp = ensureCapacity(length2);
+    for (int i = 0; i < length2; i++) {
+      temp[i] = array[base2 + i];
+    }
+
+    int cursor1 = base1 + length1 - 1;
+    int cursor2 = length2 - 1;
+    int dest = base2 + length2 - 1;
+    while (cursor1 >= base1 && cursor2 >= 0) {
+      // Take from the first run only if strictly greater, which keeps the sort stable
+      if (comp.compare(temp[cursor2], array[cursor1]) < 0) {
+        array[dest--] = array[cursor1--];
+      } else {
+        array[dest--] = temp[cursor2--];
+      }
+    }
+    while (cursor2 >= 0) {
+      array[dest--] = temp[cursor2--];
+    }
+    // Whatever remains of the first run is already in place
+  }
+
+  private void pushRun(int base, int length) {
+    runBase[stackSize] = base;
+    runLength[stackSize] = length;
+    stackSize++;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import static javaemul.internal.Coercions.ensureInt;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of {@code double} values that does not box them.
+ * <p>
+ * This is the client version, which keeps the values in a {@code Float64Array}
+ * where the browser supports typed arrays.
+ */
+public class DoubleArrayList {
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private static int hash(double value) {
+    return (int) value;
+  }
+
+  /**
+   * Compares values the way {@link Double#equals(Object)} does, so that NaN
+   * is found and 0.0 and -0.0 differ.
+   */
+  private static boolean same(double a, double b) {
+    return a == b ? a != 0 || 1 / a == 1 / b : a != a && b != b;
+  }
+
+  private int capacity;
+  private JavaScriptObject elements;
+  private int size;
+
+  public DoubleArrayList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public DoubleArrayList(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+    }
+    capacity = initialCapacity;
+    elements = NativeArrays.createFloat64(initialCapacity);
+  }
+
+  public void add(double value) {
+    ensureCapacity(size + 1);
+    NativeArrays.setDouble(elements, size++, value);
+  }
+
+  public void add(int index, double value) {
+    if (index < 0 || index > size) {
+      throw outOfBounds(index);
+    }
+    ensureCapacity(size + 1);
+    NativeArrays.move(elements, index, index + 1, size - index);
+    NativeArrays.setDouble(elements, index, value);
+    size++;
+  }
+
+  public void addAll(double... values) {
+    ensureCapacity(size + values.length);
+    for (double value : values) {
+      NativeArrays.setDouble(elements, size++, value);
+    }
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  public boolean contains(double value) {
+    return indexOf(value) != -1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof DoubleArrayList)) {
+      return false;
+    }
+    DoubleArrayList other = (DoubleArrayList) o;
+    if (other.size != size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (!same(NativeArrays.getDouble(elements, i), NativeArrays.getDouble(other.elements, i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public double get(int index) {
+    checkIndex(index);
+    return NativeArrays.getDouble(elements, index);
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 1;
+    for (int i = 0; i < size; i++) {
+      hashCode = 31 * hashCode + hash(NativeArrays.getDouble(elements, i));
+      hashCode = ensureInt(hashCode); // make sure we don't overflow
+    }
+    return hashCode;
+  }
+
+  public int indexOf(double value) {
+    for (int i = 0; i < size; i++) {
+      if (same(NativeArrays.getDouble(elements, i), value)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public double removeAt(int index) {
+    checkIndex(index);
+    double value = NativeArrays.getDouble(elements, index);
+    NativeArrays.move(elements, index + 1, index, size - index - 1);
+    size--;
+    return value;
+  }
+
+  public double set(int index, double value) {
+    checkIndex(index);
+    double previous = NativeArrays.getDouble(elements, index);
+    NativeArrays.setDouble(elements, index, value);
+    return previous;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void sort() {
+    if (!NativeArrays.sort(elements, size)) {
+      double[] sorted = toArray();
+      Arrays.sort(sorted);
+      for (int i = 0; i < size; i++) {
+        NativeArrays.setDouble(elements, i, sorted[i]);
+      }
+    }
+  }
+
+  public double[] toArray() {
+    double[] array = new double[size];
+    for (int i = 0; i < size; i++) {
+      array[i] = NativeArrays.getDouble(elements, i);
+    }
+    return array;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(NativeArrays.getDouble(elements, i));
+    }
+    return sb.append(']').toString();
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw outOfBounds(index);
+    }
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    if (minCapacity > capacity) {
+      capacity = Math.max(minCapacity, capacity + (capacity >> 1) + 1);
+      elements = NativeArrays.grow(elements, capacity);
+    }
+  }
+
+  private IndexOutOfBoundsException outOfBounds(int index) {
+    return new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import static javaemul.internal.Coercions.ensureInt;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of {@code int} values that does not box them.
+ * <p>
+ * This is the client version, which keeps the values in an {@code Int32Array}
+ * where the browser supports typed arrays.
+ */
+public class IntArrayList {
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private int capacity;
+  private JavaScriptObject elements;
+  private int size;
+
+  public IntArrayList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public IntArrayList(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+    }
+    capacity = initialCapacity;
+    elements = NativeArrays.createInt32(initialCapacity);
+  }
+
+  public void add(int value) {
+    ensureCapacity(size + 1);
+    NativeArrays.setInt(elements, size++, value);
+  }
+
+  public void add(int index, int value) {
+    if (index < 0 || index > size) {
+      throw outOfBounds(index);
+    }
+    ensureCapacity(size + 1);
+    NativeArrays.move(elements, index, index + 1, size - index);
+    NativeArrays.setInt(elements, index, value);
+    size++;
+  }
+
+  public void addAll(int... values) {
+    ensureCapacity(size + values.length);
+    for (int value : values) {
+      NativeArrays.setInt(elements, size++, value);
+    }
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  public boolean contains(int value) {
+    return indexOf(value) != -1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof IntArrayList)) {
+      return false;
+    }
+    IntArrayList other = (IntArrayList) o;
+    if (other.size != size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (NativeArrays.getInt(elements, i) != NativeArrays.getInt(other.elements, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public int get(int index) {
+    checkIndex(index);
+    return NativeArrays.getInt(elements, index);
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 1;
+    for (int i = 0; i < size; i++) {
+      hashCode = 31 * hashCode + NativeArrays.getInt(elements, i);
+      hashCode = ensureInt(hashCode); // make sure we don't overflow
+    }
+    return hashCode;
+  }
+
+  public int indexOf(int value) {
+    for (int i = 0; i < size; i++) {
+      if (NativeArrays.getInt(elements, i) == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int removeAt(int index) {
+    checkIndex(index);
+    int value = NativeArrays.getInt(elements, index);
+    NativeArrays.move(elements, index + 1, index, size - index - 1);
+    size--;
+    return value;
+  }
+
+  public int set(int index, int value) {
+    checkIndex(index);
+    int previous = NativeArrays.getInt(elements, index);
+    NativeArrays.setInt(elements, index, value);
+    return previous;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void sort() {
+    if (!NativeArrays.sort(elements, size)) {
+      int[] sorted = toArray();
+      Arrays.sort(sorted);
+      for (int i = 0; i < size; i++) {
+        NativeArrays.setInt(elements, i, sorted[i]);
+      }
+    }
+  }
+
+  public int[] toArray() {
+    int[] array = new int[size];
+    for (int i = 0; i < size; i++) {
+      array[i] = NativeArrays.getInt(elements, i);
+    }
+    return array;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(NativeArrays.getInt(elements, i));
+    }
+    return sb.append(']').toString();
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw outOfBounds(index);
+    }
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    if (minCapacity > capacity) {
+      capacity = Math.max(minCapacity, capacity + (capacity >> 1) + 1);
+      elements = NativeArrays.grow(elements, capacity);
+    }
+  }
+
+  private IndexOutOfBoundsException outOfBounds(int index) {
+    return new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * A hash map from {@code int} keys to values that does not box the keys. Null
+ * values are permitted.
+ * <p>
+ * This is the client version, which keeps the entries in a JavaScript
+ * {@code Map} with number keys.
+ *
+ * @param <V> the value type
+ */
+public class IntHashMap<V> {
+
+  private JavaScriptObject map = NativeMaps.create();
+
+  public IntHashMap() {
+  }
+
+  public IntHashMap(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Negative size: " + expectedSize);
+    }
+  }
+
+  public void clear() {
+    map = NativeMaps.create();
+  }
+
+  public boolean containsKey(int key) {
+    return NativeMaps.has(map, key);
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    return (V) NativeMaps.get(map, key);
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public int[] keys() {
+    int[] toReturn = new int[size()];
+    NativeMaps.keys(map, toReturn);
+    return toReturn;
+  }
+
+  public V put(int key, V value) {
+    V previous = get(key);
+    NativeMaps.set(map, key, value);
+    return previous;
+  }
+
+  public V remove(int key) {
+    V previous = get(key);
+    NativeMaps.delete(map, key);
+    return previous;
+  }
+
+  public int size() {
+    return NativeMaps.size(map);
+  }
+}
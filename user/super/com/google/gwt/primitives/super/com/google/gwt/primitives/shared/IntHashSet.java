@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * A hash set of {@code int} values that does not box them.
+ * <p>
+ * This is the client version, which keeps the values as the keys of a
+ * JavaScript {@code Map}.
+ */
+public class IntHashSet {
+
+  private JavaScriptObject map = NativeMaps.create();
+
+  public IntHashSet() {
+  }
+
+  public IntHashSet(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Negative size: " + expectedSize);
+    }
+  }
+
+  public boolean add(int value) {
+    if (NativeMaps.has(map, value)) {
+      return false;
+    }
+    NativeMaps.set(map, value, Boolean.TRUE);
+    return true;
+  }
+
+  public void clear() {
+    map = NativeMaps.create();
+  }
+
+  public boolean contains(int value) {
+    return NativeMaps.has(map, value);
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public boolean remove(int value) {
+    if (!NativeMaps.has(map, value)) {
+      return false;
+    }
+    NativeMaps.delete(map, value);
+    return true;
+  }
+
+  public int size() {
+    return NativeMaps.size(map);
+  }
+
+  public int[] toArray() {
+    int[] toReturn = new int[size()];
+    NativeMaps.keys(map, toReturn);
+    return toReturn;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * The typed arrays backing the client versions of the primitive lists. Where
+ * the browser lacks typed arrays, plain arrays are used instead.
+ */
+final class NativeArrays {
+
+  static native JavaScriptObject createFloat64(int capacity) /*-{
+    return typeof Float64Array != 'undefined' ? new Float64Array(capacity) : [];
+  }-*/;
+
+  static native JavaScriptObject createInt32(int capacity) /*-{
+    return typeof Int32Array != 'undefined' ? new Int32Array(capacity) : [];
+  }-*/;
+
+  static native double getDouble(JavaScriptObject array, int index) /*-{
+    return array[index];
+  }-*/;
+
+  static native int getInt(JavaScriptObject array, int index) /*-{
+    return array[index];
+  }-*/;
+
+  /**
+   * Returns an array of the given capacity holding the values of another.
+   * Plain arrays grow by themselves and are returned as they are.
+   */
+  static native JavaScriptObject grow(JavaScriptObject array, int capacity) /*-{
+    if (!array.subarray) {
+      return array;
+    }
+    var grown = new array.constructor(capacity);
+    grown.set(array);
+    return grown;
+  }-*/;
+
+  /**
+   * Copies {@code count} values from one position of an array to another,
+   * which may overlap.
+   */
+  static native void move(JavaScriptObject array, int from, int to, int count) /*-{
+    if (array.subarray) {
+      array.set(array.subarray(from, from + count), to);
+    } else if (to < from) {
+      for (var i = 0; i < count; i++) {
+        array[to + i] = array[from + i];
+      }
+    } else {
+      for (var i = count - 1; i >= 0; i--) {
+        array[to + i] = array[from + i];
+      }
+    }
+  }-*/;
+
+  static native void setDouble(JavaScriptObject array, int index, double value) /*-{
+    array[index] = value;
+  }-*/;
+
+  static native void setInt(JavaScriptObject array, int index, int value) /*-{
+    array[index] = value;
+  }-*/;
+
+  /**
+   * Sorts the first {@code size} values of a typed array numerically, which
+   * orders -0 before 0 and NaN last like {@link java.util.Arrays#sort(double[])}.
+   *
+   * @return {@code false} if the array cannot be sorted natively
+   */
+  static native boolean sort(JavaScriptObject array, int size) /*-{
+    if (!array.subarray || !array.sort) {
+      return false;
+    }
+    array.subarray(0, size).sort();
+    return true;
+  }-*/;
+
+  private NativeArrays() {
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * The JavaScript {@code Map} objects backing the client versions of the int
+ * maps and sets. Where the browser lacks {@code Map}, a polyfill keyed by
+ * number is used instead.
+ */
+final class NativeMaps {
+
+  private static final JavaScriptObject mapConstructor = getMapConstructor();
+
+  static native JavaScriptObject create() /*-{
+    return new @NativeMaps::mapConstructor;
+  }-*/;
+
+  static native void delete(JavaScriptObject map, int key) /*-{
+    // Not map.delete, since delete is a keyword in old browsers
+    map['delete'](key);
+  }-*/;
+
+  static native Object get(JavaScriptObject map, int key) /*-{
+    var value = map.get(key);
+    return value === undefined ? null : value;
+  }-*/;
+
+  static native boolean has(JavaScriptObject map, int key) /*-{
+    return map.has(key);
+  }-*/;
+
+  /**
+   * Copies the keys of a map into an array of its size.
+   */
+  static native void keys(JavaScriptObject map, int[] keys) /*-{
+    var i = 0;
+    map.forEach(function(value, key) {
+      keys[i++] = key;
+    });
+  }-*/;
+
+  static native void set(JavaScriptObject map, int key, Object value) /*-{
+    map.set(key, value);
+  }-*/;
+
+  static native int size(JavaScriptObject map) /*-{
+    return map.size;
+  }-*/;
+
+  private static native JavaScriptObject getMapConstructor() /*-{
+    if (typeof Map == 'function' && Map.prototype.forEach) {
+      return Map;
+    }
+
+    // Number keys cannot collide with inherited properties
+    function NumberMap() {
+      this.obj = {};
+      this.size = 0;
+    }
+
+    NumberMap.prototype.has = function(key) {
+      return Object.prototype.hasOwnProperty.call(this.obj, key);
+    };
+
+    NumberMap.prototype.get = function(key) {
+      return this.obj[key];
+    };
+
+    NumberMap.prototype.set = function(key, value) {
+      if (!this.has(key)) {
+        this.size++;
+      }
+      this.obj[key] = value;
+    };
+
+    NumberMap.prototype['delete'] = function(key) {
+      if (this.has(key)) {
+        delete this.obj[key];
+        this.size--;
+      }
+    };
+
+    NumberMap.prototype.forEach = function(callback) {
+      for (var key in this.obj) {
+        if (this.has(key)) {
+          callback(this.obj[key], +key);
+        }
+      }
+    };
+
+    return NumberMap;
+  }-*/;
+
+  private NativeMaps() {
+  }
+}
@@ -1383,6 +1383,97 @@ public class ArraysTest extends EmulTestBase {
     assertTrue(Arrays.equals(new int[]{3, Integer.MAX_VALUE, 3, 2, 1, Integer.MIN_VALUE}, array));
   }
 
+  /**
+   * Tests sorting of the other integral primitives.
+   */
+  public void testIntegralSort() {
+    byte[] bytes = {3, Byte.MAX_VALUE, -1, 0, Byte.MIN_VALUE, 3};
+    Arrays.sort(bytes);
+    assertTrue(Arrays.equals(new byte[] {Byte.MIN_VALUE, -1, 0, 3, 3, Byte.MAX_VALUE}, bytes));
+
+    short[] shorts = {3, Short.MAX_VALUE, -1, 0, Short.MIN_VALUE, 3};
+    Arrays.sort(shorts, 1, 5);
+    assertTrue(Arrays.equals(new short[] {3, Short.MIN_VALUE, -1, 0, Short.MAX_VALUE, 3}, shorts));
+
+    char[] chars = {'b', Character.MAX_VALUE, 'a', Character.MIN_VALUE, 'b'};
+    Arrays.sort(chars);
+    assertTrue(Arrays.equals(
+        new char[] {Character.MIN_VALUE, 'a', 'b', 'b', Character.MAX_VALUE}, chars));
+  }
+
+  /**
+   * Verifies that -0.0 sorts before 0.0, as {@link Double#compare} orders them.
+   */
+  public void testDoubleSortSignedZeros() {
+    double[] array = {0.0, Double.NaN, -0.0, 1, -0.0, -1};
+    Arrays.sort(array);
+    assertEquals(-1.0, array[0]);
+    assertEquals(Double.NEGATIVE_INFINITY, 1 / array[1]);
+    assertEquals(Double.NEGATIVE_INFINITY, 1 / array[2]);
+    assertEquals(Double.POSITIVE_INFINITY, 1 / array[3]);
+    assertEquals(1.0, array[4]);
+    assertTrue(Double.isNaN(array[5]));
+
+    array = new double[] {5, 0.0, -0.0, 4};
+    Arrays.sort(array, 1, 3);
+    assertEquals(Double.NEGATIVE_INFINITY, 1 / array[1]);
+    assertEquals(Double.POSITIVE_INFINITY, 1 / array[2]);
+  }
+
+  /**
+   * Tests {@link Arrays#parallelSort}, which sorts like {@link Arrays#sort}.
+   */
+  public void testParallelSort() {
+    int[] ints = {3, Integer.MAX_VALUE, 3, 2, 1, Integer.MIN_VALUE};
+    Arrays.parallelSort(ints);
+    assertTrue(Arrays.equals(new int[] {Integer.MIN_VALUE, 1, 2, 3, 3, Integer.MAX_VALUE}, ints));
+
+    Object[] array = {"c", "b", "b", "a"};
+    Arrays.parallelSort(array, 1, 4, Collections.reverseOrder());
+    assertEquals(new Object[] {"c", "b", "b", "a"}, array);
+
+    String[] strings = {"c", "b", "b", "a"};
+    Arrays.parallelSort(strings);
+    assertEquals(new Object[] {"a", "b", "b", "c"}, strings);
+  }
+
+  /**
+   * Verifies that sorting arrays long enough to be split into runs and merged is stable, for the
+   * kinds of input found in partly sorted data.
+   */
+  public void testStableSortWithRuns() {
+    Comparator<TestObject> comparator = new Comparator<TestObject>() {
+      @Override
+      public int compare(TestObject a, TestObject b) {
+        return a.getValue() - b.getValue();
+      }
+    };
+    int length = 1000;
+
+    TestObject[] ascendingWithTail = new TestObject[length];
+    TestObject[] descending = new TestObject[length];
+    TestObject[] alternatingRuns = new TestObject[length];
+    TestObject[] fewValues = new TestObject[length];
+    for (int i = 0; i < length; i++) {
+      ascendingWithTail[i] = new TestObject(i < length - 10 ? i / 2 : (i * 37) % length);
+      descending[i] = new TestObject((length - i) / 3);
+      alternatingRuns[i] = new TestObject((i / 100) % 2 == 0 ? i % 100 : 100 - i % 100);
+      fewValues[i] = new TestObject((i * 7) % 5);
+    }
+
+    for (TestObject[] array : new TestObject[][] {
+        ascendingWithTail, descending, alternatingRuns, fewValues}) {
+      Arrays.sort(array, comparator);
+      for (int i = 1; i < array.length; i++) {
+        TestObject prev = array[i - 1];
+        TestObject cur = array[i];
+        int cmp = comparator.compare(prev, cur);
+        assertTrue(prev + " before " + cur,
+            cmp < 0 || (cmp == 0 && prev.getIndex() < cur.getIndex()));
+      }
+    }
+  }
+
   /**
    * Tests simple use cases for {@link Arrays#sort(Object[])}.
    */
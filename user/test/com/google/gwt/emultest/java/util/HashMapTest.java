@@ -20,6 +20,7 @@ import org.apache.commons.collections.TestMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -544,6 +545,71 @@ public class HashMapTest extends TestMap {
     assertEquals(0, hashMap.size());
   }
 
+  public void testKeysConflictWithDoubleAndBooleanKeys() {
+    HashMap<Object, String> hashMap = new HashMap<Object, String>();
+
+    hashMap.put("1", "string");
+    hashMap.put(1, "integer");
+    hashMap.put(1.0, "double");
+    hashMap.put(true, "boolean");
+    hashMap.put(ODD_ZERO_KEY, ODD_ZERO_VALUE);
+    assertEquals(5, hashMap.size());
+    assertEquals("string", hashMap.get("1"));
+    assertEquals("integer", hashMap.get(1));
+    assertEquals("double", hashMap.get(1.0));
+    assertEquals("boolean", hashMap.get(true));
+    assertNull(hashMap.get(false));
+    assertNull(hashMap.get(2.0));
+    assertTrue(hashMap.containsKey(1.0));
+    assertFalse(hashMap.containsKey(1.5));
+    assertTrue(hashMap.containsValue("double"));
+
+    assertEquals("double", hashMap.put(1.0, "double again"));
+    assertEquals("double again", hashMap.get(1.0));
+    assertEquals(5, hashMap.size());
+
+    assertEquals("double again", hashMap.remove(1.0));
+    assertNull(hashMap.remove(1.0));
+    assertEquals("boolean", hashMap.remove(true));
+    assertEquals(3, hashMap.size());
+    assertEquals("string", hashMap.get("1"));
+    assertEquals("integer", hashMap.get(1));
+  }
+
+  public void testDoubleAndBooleanKeys() {
+    HashMap<Object, String> hashMap = new HashMap<Object, String>();
+    hashMap.put(-1.5, "negative");
+    hashMap.put(0.0, "zero");
+    hashMap.put(Double.POSITIVE_INFINITY, "infinity");
+    hashMap.put(false, "false");
+    hashMap.put(null, "null");
+
+    Set<Object> expected = new HashSet<Object>();
+    for (Map.Entry<Object, String> entry : hashMap.entrySet()) {
+      if (entry.getKey() instanceof Double) {
+        entry.setValue(entry.getValue() + "!");
+      }
+      expected.add(entry.getKey());
+    }
+    assertEquals(5, expected.size());
+    assertTrue(expected.contains(-1.5));
+    assertTrue(expected.contains(false));
+    assertTrue(expected.contains(null));
+    assertEquals("negative!", hashMap.get(-1.5));
+    assertEquals("zero!", hashMap.get(0.0));
+    assertEquals("infinity!", hashMap.get(Double.POSITIVE_INFINITY));
+    assertEquals("false", hashMap.get(false));
+
+    for (Iterator<Object> it = hashMap.keySet().iterator(); it.hasNext();) {
+      Object key = it.next();
+      if (key instanceof Double || key instanceof Boolean) {
+        it.remove();
+      }
+    }
+    assertEquals(1, hashMap.size());
+    assertEquals("null", hashMap.get(null));
+  }
+
   /*
    * Test method for 'java.util.HashMap.keySet()'
    */
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives;
+
+import com.google.gwt.primitives.shared.DoubleArrayListTest;
+import com.google.gwt.primitives.shared.IntArrayListTest;
+import com.google.gwt.primitives.shared.IntHashMapTest;
+import com.google.gwt.primitives.shared.IntHashSetTest;
+import com.google.gwt.primitives.shared.LongCollectionsTest;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Primitive collection tests for shared code running as a regular JRE test.
+ */
+public class PrimitivesJreSuite {
+  public static Test suite() {
+    TestSuite suite = new TestSuite("Primitive collection tests for shared code");
+
+    // $JUnit-BEGIN$
+    suite.addTestSuite(DoubleArrayListTest.class);
+    suite.addTestSuite(IntArrayListTest.class);
+    suite.addTestSuite(IntHashMapTest.class);
+    suite.addTestSuite(IntHashSetTest.class);
+    suite.addTestSuite(LongCollectionsTest.class);
+    // $JUnit-END$
+
+    return suite;
+  }
+}
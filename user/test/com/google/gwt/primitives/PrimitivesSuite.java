@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives;
+
+import com.google.gwt.junit.tools.GWTTestSuite;
+import com.google.gwt.primitives.client.GwtDoubleArrayListTest;
+import com.google.gwt.primitives.client.GwtIntArrayListTest;
+import com.google.gwt.primitives.client.GwtIntHashMapTest;
+import com.google.gwt.primitives.client.GwtIntHashSetTest;
+
+import junit.framework.Test;
+
+/**
+ * Primitive collection tests for client code running as a GWT test.
+ */
+public class PrimitivesSuite {
+  public static Test suite() {
+    GWTTestSuite suite = new GWTTestSuite("Primitive collection client tests");
+
+    // $JUnit-BEGIN$
+    suite.addTestSuite(GwtDoubleArrayListTest.class);
+    suite.addTestSuite(GwtIntArrayListTest.class);
+    suite.addTestSuite(GwtIntHashMapTest.class);
+    suite.addTestSuite(GwtIntHashSetTest.class);
+    // $JUnit-END$
+
+    return suite;
+  }
+}
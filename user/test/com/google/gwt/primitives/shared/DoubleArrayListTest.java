@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+/**
+ * Tests {@link DoubleArrayList}.
+ */
+public class DoubleArrayListTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // returns null for a pure Java test
+    return null;
+  }
+
+  public void testAddAndRemove() {
+    DoubleArrayList list = new DoubleArrayList(0);
+    for (int i = 0; i < 100; i++) {
+      list.add(i / 2.0);
+    }
+    assertEquals(100, list.size());
+    assertEquals(21.0, list.get(42));
+
+    list.add(1, 0.25);
+    assertEquals(0.25, list.get(1));
+    assertEquals(0.5, list.get(2));
+
+    assertEquals(0.25, list.removeAt(1));
+    assertEquals(0.5, list.get(1));
+    assertEquals(100, list.size());
+  }
+
+  public void testIndexOf() {
+    DoubleArrayList list = new DoubleArrayList();
+    list.addAll(0.0, Double.NaN, -0.0, 1.5);
+    // Values compare like Double.equals
+    assertEquals(0, list.indexOf(0.0));
+    assertEquals(1, list.indexOf(Double.NaN));
+    assertEquals(2, list.indexOf(-0.0));
+    assertEquals(3, list.indexOf(1.5));
+    assertEquals(-1, list.indexOf(2.5));
+
+    DoubleArrayList other = new DoubleArrayList();
+    other.addAll(0.0, Double.NaN, -0.0, 1.5);
+    assertEquals(list, other);
+    other.set(2, 0.0);
+    assertFalse(list.equals(other));
+  }
+
+  public void testSort() {
+    DoubleArrayList list = new DoubleArrayList();
+    list.addAll(Double.NaN, 2.5, 0.0, -0.0, Double.NEGATIVE_INFINITY, -1.5);
+    list.sort();
+    double[] array = list.toArray();
+    assertEquals(Double.NEGATIVE_INFINITY, array[0]);
+    assertEquals(-1.5, array[1]);
+    assertEquals(Double.NEGATIVE_INFINITY, 1 / array[2]);
+    assertEquals(Double.POSITIVE_INFINITY, 1 / array[3]);
+    assertEquals(2.5, array[4]);
+    assertTrue(Double.isNaN(array[5]));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import java.util.Arrays;
+
+/**
+ * Tests {@link IntArrayList}.
+ */
+public class IntArrayListTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // returns null for a pure Java test
+    return null;
+  }
+
+  public void testAddAndRemove() {
+    IntArrayList list = new IntArrayList(0);
+    assertTrue(list.isEmpty());
+    for (int i = 0; i < 100; i++) {
+      list.add(i);
+    }
+    assertEquals(100, list.size());
+    assertEquals(42, list.get(42));
+
+    list.add(0, -1);
+    assertEquals(-1, list.get(0));
+    assertEquals(0, list.get(1));
+    assertEquals(99, list.get(100));
+
+    assertEquals(-1, list.removeAt(0));
+    assertEquals(50, list.removeAt(50));
+    assertEquals(51, list.get(50));
+    assertEquals(99, list.size());
+
+    list.clear();
+    assertTrue(list.isEmpty());
+  }
+
+  public void testEquals() {
+    IntArrayList a = new IntArrayList();
+    a.addAll(1, 2, 3);
+    IntArrayList b = new IntArrayList(1);
+    b.addAll(1, 2, 3);
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    b.set(2, 4);
+    assertFalse(a.equals(b));
+    assertEquals("[1, 2, 4]", b.toString());
+  }
+
+  public void testHashCodeOfLongList() {
+    IntArrayList list = new IntArrayList();
+    for (int i = 0; i < 100; i++) {
+      list.add(i * 12345);
+    }
+    assertEquals(Arrays.hashCode(list.toArray()), list.hashCode());
+  }
+
+  public void testIndexOf() {
+    IntArrayList list = new IntArrayList();
+    list.addAll(5, Integer.MIN_VALUE, 5, Integer.MAX_VALUE);
+    assertEquals(0, list.indexOf(5));
+    assertEquals(1, list.indexOf(Integer.MIN_VALUE));
+    assertEquals(3, list.indexOf(Integer.MAX_VALUE));
+    assertEquals(-1, list.indexOf(6));
+    assertTrue(list.contains(Integer.MAX_VALUE));
+    assertFalse(list.contains(0));
+  }
+
+  public void testOutOfBounds() {
+    IntArrayList list = new IntArrayList();
+    list.add(1);
+    try {
+      list.get(1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      list.add(2, 0);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      list.removeAt(-1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  public void testSort() {
+    IntArrayList list = new IntArrayList();
+    list.addAll(3, -1, Integer.MAX_VALUE, 0, Integer.MIN_VALUE, 3);
+    // Values past the size must not be sorted in
+    list.add(-5);
+    list.removeAt(6);
+    list.sort();
+    assertEquals("[-2147483648, -1, 0, 3, 3, 2147483647]", list.toString());
+    int[] array = list.toArray();
+    assertEquals(6, array.length);
+    assertEquals(Integer.MIN_VALUE, array[0]);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests {@link IntHashMap}.
+ */
+public class IntHashMapTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // returns null for a pure Java test
+    return null;
+  }
+
+  public void testAgainstHashMap() {
+    IntHashMap<String> map = new IntHashMap<String>();
+    Map<Integer, String> expected = new HashMap<Integer, String>();
+    int seed = 1;
+    for (int i = 0; i < 5000; i++) {
+      seed = seed * 1103515245 + 12345;
+      // Few distinct keys, so that puts and removes hit existing entries
+      int key = (seed >>> 16) % 512 - 256;
+      if (i % 3 == 0) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    for (int key = -300; key < 300; key++) {
+      assertEquals(expected.containsKey(key), map.containsKey(key));
+      assertEquals(expected.get(key), map.get(key));
+    }
+    int[] keys = map.keys();
+    assertEquals(expected.size(), keys.length);
+    for (int key : keys) {
+      assertTrue(expected.containsKey(key));
+    }
+  }
+
+  public void testGrow() {
+    IntHashMap<Integer> map = new IntHashMap<Integer>(0);
+    for (int i = 0; i < 10000; i++) {
+      map.put(i * 64, i);
+    }
+    assertEquals(10000, map.size());
+    for (int i = 0; i < 10000; i++) {
+      assertEquals(Integer.valueOf(i), map.get(i * 64));
+    }
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(64));
+  }
+
+  public void testNullValuesAndZeroKey() {
+    IntHashMap<String> map = new IntHashMap<String>();
+    assertNull(map.put(0, "zero"));
+    assertNull(map.put(1, null));
+    assertEquals(2, map.size());
+    assertTrue(map.containsKey(0));
+    assertTrue(map.containsKey(1));
+    assertFalse(map.containsKey(2));
+    assertEquals("zero", map.get(0));
+    assertNull(map.get(1));
+
+    int[] keys = map.keys();
+    Arrays.sort(keys);
+    assertEquals(0, keys[0]);
+    assertEquals(1, keys[1]);
+
+    assertEquals("zero", map.remove(0));
+    assertFalse(map.containsKey(0));
+    assertNull(map.remove(1));
+    assertTrue(map.isEmpty());
+  }
+}
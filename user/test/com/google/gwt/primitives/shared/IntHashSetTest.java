@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests {@link IntHashSet}.
+ */
+public class IntHashSetTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // returns null for a pure Java test
+    return null;
+  }
+
+  public void testAgainstHashSet() {
+    IntHashSet set = new IntHashSet();
+    Set<Integer> expected = new HashSet<Integer>();
+    int seed = 1;
+    for (int i = 0; i < 5000; i++) {
+      seed = seed * 1103515245 + 12345;
+      int value = (seed >>> 16) % 512 - 256;
+      if (i % 3 == 0) {
+        assertEquals(expected.remove(value), set.remove(value));
+      } else {
+        assertEquals(expected.add(value), set.add(value));
+      }
+      assertEquals(expected.size(), set.size());
+    }
+    for (int value = -300; value < 300; value++) {
+      assertEquals(expected.contains(value), set.contains(value));
+    }
+    int[] values = set.toArray();
+    assertEquals(expected.size(), values.length);
+    for (int value : values) {
+      assertTrue(expected.contains(value));
+    }
+  }
+
+  public void testZero() {
+    IntHashSet set = new IntHashSet(100);
+    assertFalse(set.contains(0));
+    assertTrue(set.add(0));
+    assertFalse(set.add(0));
+    assertTrue(set.contains(0));
+    assertEquals(1, set.size());
+    assertEquals(0, set.toArray()[0]);
+    assertTrue(set.remove(0));
+    assertFalse(set.remove(0));
+    assertTrue(set.isEmpty());
+  }
+}
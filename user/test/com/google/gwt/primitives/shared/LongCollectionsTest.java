@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.primitives.shared;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests {@link LongArrayList}, {@link LongHashMap} and {@link LongHashSet}.
+ */
+public class LongCollectionsTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    // returns null for a pure Java test
+    return null;
+  }
+
+  public void testList() {
+    LongArrayList list = new LongArrayList();
+    list.addAll(Long.MAX_VALUE, 1L << 40, Long.MIN_VALUE);
+    list.add(1, -1);
+    assertEquals(4, list.size());
+    assertEquals(Long.MAX_VALUE, list.get(0));
+    assertEquals(2, list.indexOf(1L << 40));
+    list.sort();
+    assertEquals("[" + Long.MIN_VALUE + ", -1, 1099511627776, " + Long.MAX_VALUE + "]",
+        list.toString());
+    assertEquals(Long.MIN_VALUE, list.removeAt(0));
+    assertEquals(-1, list.toArray()[0]);
+  }
+
+  public void testMapAgainstHashMap() {
+    LongHashMap<String> map = new LongHashMap<String>();
+    Map<Long, String> expected = new HashMap<Long, String>();
+    long seed = 1;
+    for (int i = 0; i < 5000; i++) {
+      seed = seed * 6364136223846793005L + 1442695040888963407L;
+      // Keys that differ only in their high bits, and few of them
+      long key = (seed >>> 55) << 40;
+      if (i % 3 == 0) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    long[] keys = map.keys();
+    assertEquals(expected.size(), keys.length);
+    for (long key : keys) {
+      assertTrue(map.containsKey(key));
+      assertEquals(expected.get(key), map.get(key));
+    }
+  }
+
+  public void testSetAgainstHashSet() {
+    LongHashSet set = new LongHashSet();
+    Set<Long> expected = new HashSet<Long>();
+    long seed = 1;
+    for (int i = 0; i < 5000; i++) {
+      seed = seed * 6364136223846793005L + 1442695040888963407L;
+      long value = (seed >>> 55) << 40;
+      if (i % 3 == 0) {
+        assertEquals(expected.remove(value), set.remove(value));
+      } else {
+        assertEquals(expected.add(value), set.add(value));
+      }
+      assertEquals(expected.size(), set.size());
+    }
+    for (long value : set.toArray()) {
+      assertTrue(expected.contains(value));
+    }
+    assertTrue(set.add(Long.MIN_VALUE));
+    assertTrue(set.contains(Long.MIN_VALUE));
+    assertFalse(set.contains(Long.MAX_VALUE));
+  }
+}
@@ -16,7 +16,9 @@
 package com.google.gwt.user;
 
 import com.google.gwt.dev.BootStrapPlatform;
+import com.google.gwt.user.client.rpc.impl.ClientBinarySerializationStreamReaderTest;
 import com.google.gwt.user.client.rpc.impl.ClientSerializationStreamReaderTest;
+import com.google.gwt.user.client.rpc.impl.RpcBatchTest;
 import com.google.gwt.user.rebind.rpc.BlacklistTypeFilterTest;
 import com.google.gwt.user.rebind.rpc.SerializableTypeOracleBuilderTest;
 import com.google.gwt.user.rebind.rpc.SerializationUtilsTest;
@@ -30,7 +32,11 @@ import com.google.gwt.user.server.rpc.RPCServletUtilsTest;
 import com.google.gwt.user.server.rpc.RPCTest;
 import com.google.gwt.user.server.rpc.RPCTypeCheckTest;
 import com.google.gwt.user.server.rpc.RemoteServiceServletTest;
+import com.google.gwt.user.server.rpc.SerializationPolicyCacheTest;
 import com.google.gwt.user.server.rpc.SerializationPolicyLoaderTest;
+import com.google.gwt.user.server.rpc.impl.ClassMetadataRegistryTest;
+import com.google.gwt.user.server.rpc.impl.ClassSerializationPlanTest;
+import com.google.gwt.user.server.rpc.impl.CompactFieldCodecTest;
 import com.google.gwt.user.server.rpc.impl.LegacySerializationPolicyTest;
 import com.google.gwt.user.server.rpc.impl.ServerSerializationStreamWriterTest;
 import com.google.gwt.user.server.rpc.impl.StandardSerializationPolicyTest;
@@ -62,6 +68,7 @@ public class RpcJreSuite {
     suite.addTestSuite(RPCTest.class);
     suite.addTestSuite(RPCTypeCheckTest.class);
     suite.addTestSuite(RemoteServiceServletTest.class);
+    suite.addTestSuite(SerializationPolicyCacheTest.class);
     suite.addTestSuite(LegacySerializationPolicyTest.class);
     suite.addTestSuite(StandardSerializationPolicyTest.class);
     suite.addTestSuite(SerializationPolicyLoaderTest.class);
@@ -71,7 +78,12 @@ public class RpcJreSuite {
     suite.addTestSuite(UtilTest.class);
     suite.addTestSuite(AbstractXsrfProtectedServiceServletTest.class);
     suite.addTestSuite(ClientSerializationStreamReaderTest.class);
+    suite.addTestSuite(ClientBinarySerializationStreamReaderTest.class);
+    suite.addTestSuite(RpcBatchTest.class);
     suite.addTestSuite(ServerSerializationStreamWriterTest.class);
+    suite.addTestSuite(ClassMetadataRegistryTest.class);
+    suite.addTestSuite(ClassSerializationPlanTest.class);
+    suite.addTestSuite(CompactFieldCodecTest.class);
     return suite;
   }
 }
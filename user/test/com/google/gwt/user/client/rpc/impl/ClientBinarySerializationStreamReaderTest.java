@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.client.rpc.impl;
+
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
+import com.google.gwt.typedarrays.shared.TypedArrays;
+import com.google.gwt.typedarrays.shared.Uint8Array;
+import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
+import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.server.rpc.RPC;
+import com.google.gwt.user.server.rpc.impl.ServerSerializationStreamWriter;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Tests {@link ClientBinarySerializationStreamReader} against the binary mode
+ * of {@link ServerSerializationStreamWriter}.
+ */
+public class ClientBinarySerializationStreamReaderTest extends TestCase {
+
+  private static final String[] STRINGS = {
+      "", "ascii", "café", "测试", "\ud83d\ude00", "lone \ud800 surrogate",
+      "nul \u0000 and separator |"};
+
+  private static ArrayBuffer toArrayBuffer(byte[] bytes) {
+    Uint8Array array = TypedArrays.createUint8Array(bytes.length);
+    for (int i = 0; i < bytes.length; i++) {
+      array.set(i, bytes[i] & 0xFF);
+    }
+    return array.buffer();
+  }
+
+  public void testDecodeText() throws IOException {
+    String text = "//OK[1,[\"café \ud83d\ude00\"],0,7]";
+    ArrayBuffer encoded = toArrayBuffer(text.getBytes("UTF-8"));
+
+    assertFalse(ClientBinarySerializationStreamReader.isBinary(encoded));
+    assertEquals(text, ClientBinarySerializationStreamReader.decodeText(encoded));
+    assertFalse(ClientBinarySerializationStreamReader.isBinary(toArrayBuffer(new byte[0])));
+  }
+
+  public void testRead() throws IOException, SerializationException {
+    ServerSerializationStreamWriter writer = createWriter();
+    writer.writeBoolean(true);
+    writer.writeBoolean(false);
+    writer.writeByte(Byte.MIN_VALUE);
+    writer.writeChar('\uffff');
+    writer.writeDouble(Math.PI);
+    writer.writeDouble(Double.NaN);
+    writer.writeDouble(Double.NEGATIVE_INFINITY);
+    writer.writeFloat(-1.5f);
+    writer.writeInt(Integer.MIN_VALUE);
+    writer.writeInt(Integer.MAX_VALUE);
+    writer.writeInt(-1);
+    writer.writeLong(Long.MIN_VALUE);
+    writer.writeLong(0x123456789abcdefL);
+    writer.writeShort(Short.MAX_VALUE);
+    writer.writeObject(null);
+    for (String s : STRINGS) {
+      writer.writeString(s);
+    }
+    writer.writeString(STRINGS[1]);
+    writer.writeString(null);
+
+    ClientBinarySerializationStreamReader reader = createReader(writer,
+        ClientBinarySerializationStreamReader.THROWN_EXCEPTION);
+    assertTrue(reader.readBoolean());
+    assertFalse(reader.readBoolean());
+    assertEquals(Byte.MIN_VALUE, reader.readByte());
+    assertEquals('\uffff', reader.readChar());
+    assertEquals(Math.PI, reader.readDouble());
+    assertTrue(Double.isNaN(reader.readDouble()));
+    assertEquals(Double.NEGATIVE_INFINITY, reader.readDouble());
+    assertEquals(-1.5f, reader.readFloat());
+    assertEquals(Integer.MIN_VALUE, reader.readInt());
+    assertEquals(Integer.MAX_VALUE, reader.readInt());
+    assertEquals(-1, reader.readInt());
+    assertEquals(Long.MIN_VALUE, reader.readLong());
+    assertEquals(0x123456789abcdefL, reader.readLong());
+    assertEquals(Short.MAX_VALUE, reader.readShort());
+    assertNull(reader.readObject());
+    for (String s : STRINGS) {
+      assertEquals(s, reader.readString());
+    }
+    assertEquals(STRINGS[1], reader.readString());
+    assertNull(reader.readString());
+  }
+
+  public void testReadHeader() throws IOException, SerializationException {
+    ServerSerializationStreamWriter writer = createWriter();
+    writer.addFlags(AbstractSerializationStream.FLAG_ELIDE_TYPE_NAMES);
+    writer.writeInt(7);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    output.write(ClientBinarySerializationStreamReader.RETURN_VALUE);
+    writer.writeTo(output);
+    ArrayBuffer encoded = toArrayBuffer(output.toByteArray());
+    assertTrue(ClientBinarySerializationStreamReader.isBinary(encoded));
+    assertTrue(ClientBinarySerializationStreamReader.isReturnValue(encoded));
+    assertFalse(ClientBinarySerializationStreamReader.isThrownException(encoded));
+
+    ClientBinarySerializationStreamReader reader = new ClientBinarySerializationStreamReader(null);
+    reader.prepareToRead(encoded);
+    assertEquals(AbstractSerializationStream.SERIALIZATION_STREAM_VERSION, reader.getVersion());
+    assertTrue(reader.hasFlags(AbstractSerializationStream.FLAG_BINARY_RESPONSE
+        | AbstractSerializationStream.FLAG_ELIDE_TYPE_NAMES));
+    assertEquals(7, reader.readInt());
+  }
+
+  public void testReadBinaryString() throws IOException, SerializationException {
+    ServerSerializationStreamWriter writer = createWriter();
+    writer.writeString(STRINGS[2]);
+    writer.writeDouble(-1.5);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    output.write(ClientBinarySerializationStreamReader.RETURN_VALUE);
+    writer.writeTo(output);
+    StringBuilder binaryString = new StringBuilder();
+    for (byte b : output.toByteArray()) {
+      binaryString.append((char) (b & 0xFF));
+    }
+
+    ClientBinarySerializationStreamReader reader = new ClientBinarySerializationStreamReader(null);
+    reader.prepareToRead(binaryString.toString());
+    assertEquals(STRINGS[2], reader.readString());
+    assertEquals(-1.5, reader.readDouble());
+
+    try {
+      reader.prepareToRead("\u0100");
+      fail("Expected SerializationException");
+    } catch (SerializationException e) {
+      // Expected
+    }
+  }
+
+  public void testReadInvalidFlags() throws IOException, SerializationException {
+    ServerSerializationStreamWriter writer = createWriter();
+    writer.addFlags(0x100);
+    try {
+      createReader(writer, ClientBinarySerializationStreamReader.RETURN_VALUE);
+      fail("Expected IncompatibleRemoteServiceException");
+    } catch (IncompatibleRemoteServiceException e) {
+      // Expected
+    }
+  }
+
+  private ClientBinarySerializationStreamReader createReader(
+      ServerSerializationStreamWriter writer, int firstByte)
+      throws IOException, SerializationException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    output.write(firstByte);
+    writer.writeTo(output);
+    ClientBinarySerializationStreamReader reader = new ClientBinarySerializationStreamReader(null);
+    reader.prepareToRead(toArrayBuffer(output.toByteArray()));
+    return reader;
+  }
+
+  private ServerSerializationStreamWriter createWriter() {
+    ServerSerializationStreamWriter writer =
+        new ServerSerializationStreamWriter(RPC.getDefaultSerializationPolicy());
+    writer.setFlags(AbstractSerializationStream.FLAG_BINARY_RESPONSE);
+    writer.prepareToWrite();
+    assertTrue(writer.isBinary());
+    return writer;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.client.rpc.impl;
+
+import com.google.gwt.user.client.rpc.SerializationException;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link RpcBatch}.
+ */
+public class RpcBatchTest extends TestCase {
+
+  private static final List<String> PAYLOADS = Arrays.asList(
+      "7|0|4|http://example.com/|ABC|Service|method|1|2|3|4|0|", "", "12:34", "\u00e9\ud83d\ude00");
+
+  public void testDecodeInvalid() {
+    assertInvalid("3");
+    assertInvalid("x:abc");
+    assertInvalid("-1:a");
+    assertInvalid("4:abc");
+    assertInvalid("2147483647:abc");
+    try {
+      RpcBatch.decodeResponse("//OK[1,[],0,7]");
+      fail("Expected SerializationException");
+    } catch (SerializationException expected) {
+    }
+  }
+
+  public void testRoundTrip() throws SerializationException {
+    String encoded = RpcBatch.encode(PAYLOADS);
+    assertFalse(RpcBatch.isResponse(encoded));
+    assertEquals(PAYLOADS, RpcBatch.decode(encoded));
+
+    String encodedResponse = RpcBatch.encodeResponse(PAYLOADS);
+    assertTrue(RpcBatch.isResponse(encodedResponse));
+    assertEquals(PAYLOADS, RpcBatch.decodeResponse(encodedResponse));
+
+    assertEquals(Collections.emptyList(), RpcBatch.decode(""));
+    assertEquals("0:", RpcBatch.encode(Collections.singletonList("")));
+  }
+
+  private void assertInvalid(String encoded) {
+    try {
+      RpcBatch.decode(encoded);
+      fail("Expected SerializationException for " + encoded);
+    } catch (SerializationException expected) {
+    }
+  }
+}
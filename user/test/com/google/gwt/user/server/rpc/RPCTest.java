@@ -17,6 +17,10 @@ package com.google.gwt.user.server.rpc;
 
 import static com.google.gwt.user.client.rpc.impl.AbstractSerializationStream.RPC_SEPARATOR_CHAR;
 
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
+import com.google.gwt.typedarrays.shared.TypedArrays;
+import com.google.gwt.typedarrays.shared.Uint8Array;
+import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
 import com.google.gwt.user.client.rpc.IsSerializable;
 import com.google.gwt.user.client.rpc.RemoteService;
@@ -24,12 +28,19 @@ import com.google.gwt.user.client.rpc.RpcToken;
 import com.google.gwt.user.client.rpc.SerializableException;
 import com.google.gwt.user.client.rpc.SerializationException;
 import com.google.gwt.user.client.rpc.impl.AbstractSerializationStream;
+import com.google.gwt.user.client.rpc.impl.ClientBinarySerializationStreamReader;
 import com.google.gwt.user.server.rpc.impl.ServerSerializationStreamReader;
 import com.google.gwt.user.server.rpc.impl.TypeNameObfuscator;
 
 import junit.framework.TestCase;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.lang.reflect.Method;
 import java.util.Set;
 
@@ -66,6 +77,49 @@ public class RPCTest extends TestCase {
     int method3(int val);
   }
 
+  private static class AsyncA implements A {
+    Throwable failure = new SerializableException();
+    AsyncCallback<Integer> pending;
+
+    @Override
+    public void method1() throws SerializableException {
+      throw new UnsupportedOperationException();
+    }
+
+    public void method1(AsyncCallback<Void> callback) {
+      callback.onFailure(failure);
+    }
+
+    @Override
+    public int method2() {
+      throw new UnsupportedOperationException();
+    }
+
+    public void method2(AsyncCallback<Integer> callback) {
+      pending = callback;
+    }
+
+    @Override
+    public int method3(int val) {
+      return val;
+    }
+  }
+
+  private static class RecordingCallback implements AsyncCallback<RPCResponse> {
+    Throwable caught;
+    RPCResponse response;
+
+    @Override
+    public void onFailure(Throwable caught) {
+      this.caught = caught;
+    }
+
+    @Override
+    public void onSuccess(RPCResponse response) {
+      this.response = response;
+    }
+  }
+
   private static interface B {
     void method1();
   }
@@ -405,6 +459,44 @@ public class RPCTest extends TestCase {
     RPC.decodeRequest(VALID_ENCODED_REQUEST);
   }
 
+  /**
+   * Tests for method
+   * {@link RPC#decodeRequest(Reader, Class, SerializationPolicyProvider, int)}.
+   */
+  public void testDecodeRequestReader() throws IOException {
+    RPCRequest expected = RPC.decodeRequest(VALID_ENCODED_REQUEST);
+
+    RPCRequest request = RPC.decodeRequest(new StringReader(VALID_ENCODED_REQUEST), A.class, null,
+        Integer.MAX_VALUE);
+    assertEquals(expected.getMethod(), request.getMethod());
+    assertEquals(0, request.getParameters().length);
+
+    // Tokens spanning several reads.
+    Reader oneCharAtATime = new FilterReader(new StringReader(VALID_ENCODED_REQUEST)) {
+      @Override
+      public int read(char[] cbuf, int off, int len) throws IOException {
+        return super.read(cbuf, off, Math.min(len, 1));
+      }
+    };
+    request = RPC.decodeRequest(oneCharAtATime, A.class, null, Integer.MAX_VALUE);
+    assertEquals(expected.getMethod(), request.getMethod());
+
+    try {
+      RPC.decodeRequest(new StringReader(VALID_ENCODED_REQUEST), A.class, null,
+          VALID_ENCODED_REQUEST.length() - 1);
+      fail("Expected IncompatibleRemoteServiceException");
+    } catch (IncompatibleRemoteServiceException e) {
+      // expected to get here
+    }
+
+    try {
+      RPC.decodeRequest(new StringReader("4"), A.class, null, Integer.MAX_VALUE);
+      fail("Expected IncompatibleRemoteServiceException");
+    } catch (IncompatibleRemoteServiceException e) {
+      assertTrue(e.getMessage().contains("got 4"));
+    }
+  }
+
   /**
    * Tests for method {@link RPC#decodeRequest(String, Class)}.
    * 
@@ -849,6 +941,141 @@ public class RPCTest extends TestCase {
     }, A_method1, null);
   }
 
+  /**
+   * Tests that
+   * {@link RPC#invokeAndEncodeStreamingResponse(Object, Method, Object[], SerializationPolicy, int)}
+   * writes the same response as
+   * {@link RPC#invokeAndEncodeResponse(Object, Method, Object[], SerializationPolicy, int)}.
+   */
+  public void testInvokeAndEncodeStreamingResponse() throws NoSuchMethodException,
+      SerializationException, IOException {
+    A a = new A() {
+      @Override
+      public void method1() throws SerializableException {
+        throw new SerializableException("failed");
+      }
+
+      @Override
+      public int method2() {
+        return 42;
+      }
+
+      @Override
+      public int method3(int val) {
+        return val;
+      }
+    };
+
+    for (String methodName : new String[] {"method1", "method2"}) {
+      Method method = A.class.getMethod(methodName);
+      String expected = RPC.invokeAndEncodeResponse(a, method, null,
+          RPC.getDefaultSerializationPolicy(), AbstractSerializationStream.DEFAULT_FLAGS);
+      RPCResponse response = RPC.invokeAndEncodeStreamingResponse(a, method, null,
+          RPC.getDefaultSerializationPolicy(), AbstractSerializationStream.DEFAULT_FLAGS);
+
+      assertEquals(methodName.equals("method1"), response.wasThrown());
+      assertEquals(expected, response.toString());
+      StringWriter writer = new StringWriter();
+      response.writeTo(writer);
+      assertEquals(expected, writer.toString());
+    }
+  }
+
+  /**
+   * Tests that
+   * {@link RPC#invokeAndEncodeStreamingResponse(Object, Method, Object[], SerializationPolicy, int)}
+   * writes a binary response if the client asks for one, and that
+   * {@link RPC#invokeAndEncodeResponse(Object, Method, Object[], SerializationPolicy, int)}
+   * does not.
+   */
+  public void testInvokeAndEncodeBinaryResponse() throws NoSuchMethodException,
+      SerializationException, IOException {
+    A a = new A() {
+      @Override
+      public void method1() {
+      }
+
+      @Override
+      public int method2() {
+        return 42;
+      }
+
+      @Override
+      public int method3(int val) {
+        return val;
+      }
+    };
+    Method method = A.class.getMethod("method2");
+    int flags = AbstractSerializationStream.FLAG_BINARY_RESPONSE;
+
+    assertEquals(RPC.invokeAndEncodeResponse(a, method, null, RPC.getDefaultSerializationPolicy(),
+        AbstractSerializationStream.DEFAULT_FLAGS), RPC.invokeAndEncodeResponse(a, method, null,
+        RPC.getDefaultSerializationPolicy(), flags));
+
+    RPCResponse response = RPC.invokeAndEncodeStreamingResponse(a, method, null,
+        RPC.getDefaultSerializationPolicy(), flags);
+    assertTrue(response.isBinary());
+    try {
+      response.toString();
+      fail("Expected IllegalStateException");
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    response.writeTo(output);
+    ArrayBuffer encoded = toArrayBuffer(output.toByteArray());
+    assertTrue(ClientBinarySerializationStreamReader.isReturnValue(encoded));
+    ClientBinarySerializationStreamReader reader = new ClientBinarySerializationStreamReader(null);
+    reader.prepareToRead(encoded);
+    assertEquals(flags, reader.getFlags());
+    assertEquals(42, reader.readInt());
+  }
+
+  /**
+   * Tests for {@link RPC#invokeAndEncodeResponseAsync} and
+   * {@link RPC#getAsyncImplementation(Class, Method)}.
+   */
+  public void testInvokeAndEncodeResponseAsync() throws NoSuchMethodException,
+      SerializationException {
+    AsyncA a = new AsyncA();
+    Method method2 = A.class.getMethod("method2");
+    Method asyncMethod2 = RPC.getAsyncImplementation(AsyncA.class, method2);
+    assertEquals(AsyncA.class.getMethod("method2", AsyncCallback.class), asyncMethod2);
+    assertNull(RPC.getAsyncImplementation(AsyncA.class, A.class.getMethod("method3", int.class)));
+
+    // Completes later
+    RecordingCallback callback = new RecordingCallback();
+    RPC.invokeAndEncodeResponseAsync(a, asyncMethod2, method2, null,
+        RPC.getDefaultSerializationPolicy(), AbstractSerializationStream.DEFAULT_FLAGS, callback);
+    assertNull(callback.response);
+    a.pending.onSuccess(42);
+    assertEquals(RPC.encodeResponseForSuccess(method2, 42), callback.response.toString());
+    try {
+      a.pending.onSuccess(43);
+      fail("Expected IllegalStateException");
+    } catch (IllegalStateException e) {
+      // expected to get here
+    }
+
+    // Fails with a declared exception
+    Method method1 = A.class.getMethod("method1");
+    callback = new RecordingCallback();
+    RPC.invokeAndEncodeResponseAsync(a, RPC.getAsyncImplementation(AsyncA.class, method1), method1,
+        null, RPC.getDefaultSerializationPolicy(), AbstractSerializationStream.DEFAULT_FLAGS,
+        callback);
+    assertTrue(callback.response.wasThrown());
+
+    // Fails with an undeclared exception
+    a.failure = new IllegalArgumentException();
+    callback = new RecordingCallback();
+    RPC.invokeAndEncodeResponseAsync(a, RPC.getAsyncImplementation(AsyncA.class, method1), method1,
+        null, RPC.getDefaultSerializationPolicy(), AbstractSerializationStream.DEFAULT_FLAGS,
+        callback);
+    assertNull(callback.response);
+    assertTrue(callback.caught instanceof UnexpectedException);
+  }
+
   public void testSerializationStreamDequote() throws SerializationException {
     ServerSerializationStreamReader reader = new ServerSerializationStreamReader(
         null, null);
@@ -857,4 +1084,12 @@ public class RPCTest extends TestCase {
     assertEquals("Quoted separator " + RPC_SEPARATOR_CHAR, reader.readString());
     assertEquals("\uffff\\!\\0\u0000", reader.readString());
   }
+
+  private static ArrayBuffer toArrayBuffer(byte[] bytes) {
+    Uint8Array array = TypedArrays.createUint8Array(bytes.length);
+    for (int i = 0; i < bytes.length; i++) {
+      array.set(i, bytes[i] & 0xFF);
+    }
+    return array.buffer();
+  }
 }
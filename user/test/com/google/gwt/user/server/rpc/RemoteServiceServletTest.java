@@ -17,6 +17,7 @@ package com.google.gwt.user.server.rpc;
 
 import com.google.gwt.user.client.rpc.IsSerializable;
 import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.client.rpc.impl.RpcBatch;
 
 import junit.framework.TestCase;
 
@@ -26,10 +27,17 @@ import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.EventListener;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterRegistration;
@@ -43,6 +51,7 @@ import javax.servlet.ServletRegistration;
 import javax.servlet.SessionCookieConfig;
 import javax.servlet.SessionTrackingMode;
 import javax.servlet.descriptor.JspConfigDescriptor;
+import javax.servlet.http.HttpServletRequest;
 
 /**
  * Test some of the failure modes associated with
@@ -71,15 +80,45 @@ public class RemoteServiceServletTest extends TestCase {
     }
   }
 
+  /**
+   * Echoes the payload of each call, and the context path of its request.
+   */
+  private static class EchoServlet extends RemoteServiceServlet {
+    private Executor batchExecutor;
+
+    @Override
+    public String processCall(String payload) {
+      if (payload.equals("fail")) {
+        throw new IllegalStateException(payload);
+      }
+      return "//OK" + payload + getThreadLocalRequest().getContextPath();
+    }
+
+    @Override
+    protected void checkPermutationStrongName() {
+    }
+
+    @Override
+    protected Executor getBatchExecutor() {
+      return batchExecutor;
+    }
+
+    void setThreadLocalRequest(HttpServletRequest request) {
+      getThreadLocalRequest();
+      perThreadRequest.set(request);
+    }
+  }
+
   private static class MockServletConfig implements ServletConfig {
     private ServletContext context;
+    private final Map<String, String> initParameters = new HashMap<String, String>();
 
     public MockServletConfig(ServletContext context) {
       this.context = context;
     }
 
     public String getInitParameter(String arg0) {
-      throw new UnsupportedOperationException();
+      return initParameters.get(arg0);
     }
 
     public Enumeration<String> getInitParameterNames() {
@@ -118,7 +157,7 @@ public class RemoteServiceServletTest extends TestCase {
     }
 
     public String getInitParameter(String arg0) {
-      throw new UnsupportedOperationException();
+      return null;
     }
 
     public Enumeration<String> getInitParameterNames() {
@@ -407,6 +446,91 @@ public class RemoteServiceServletTest extends TestCase {
     assertNotValidDeserialize(serializationPolicy, Baz.class);
   }
 
+  public void testProcessBatchCall() throws ServletException, SerializationException {
+    MockServletContext mockContext = new MockServletContext();
+    EchoServlet rss = new EchoServlet();
+    rss.init(new MockServletConfig(mockContext));
+    MockHttpServletRequestContextPath mockRequest = new MockHttpServletRequestContextPath();
+    mockRequest.contextPath = "/MyModule";
+    rss.setThreadLocalRequest(mockRequest);
+
+    List<String> payloads = Arrays.asList("a", "fail", "", "c:d");
+    assertEquals(Arrays.asList("//OKa/MyModule", "", "//OK/MyModule", "//OKc:d/MyModule"),
+        RpcBatch.decodeResponse(rss.processBatchCall(payloads)));
+    assertNotNull(mockContext.messageLogged);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      rss.batchExecutor = executor;
+      assertEquals(Arrays.asList("//OKa/MyModule", "", "//OK/MyModule", "//OKc:d/MyModule"),
+          RpcBatch.decodeResponse(rss.processBatchCall(payloads)));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void testInit_InvalidPolicyCacheSize() {
+    MockServletConfig mockConfig = new MockServletConfig(new MockServletContext());
+    mockConfig.initParameters.put(RemoteServiceServlet.POLICY_CACHE_SIZE_PARAM, "none");
+
+    try {
+      new RemoteServiceServlet().init(mockConfig);
+      fail("Expected ServletException");
+    } catch (ServletException expected) {
+    }
+  }
+
+  /**
+   * Tests that policy files are loaded when the servlet is initialized if
+   * {@link RemoteServiceServlet#PRELOAD_POLICIES_PARAM} is set, and that they
+   * are not loaded again by
+   * {@link RemoteServiceServlet#doGetSerializationPolicy(HttpServletRequest, String, String)}.
+   */
+  public void testPreloadSerializationPolicies() throws ServletException {
+    final String resourcePath = "/MyModule/"
+        + SerializationPolicyLoader.getSerializationPolicyFileName("12345");
+    final int[] loads = new int[1];
+    MockServletContext mockContext = new MockServletContext() {
+      public InputStream getResourceAsStream(String resource) {
+        if (resourcePath.equals(resource)) {
+          loads[0]++;
+          try {
+            String payLoad = Foo.class.getName() + ",true\n";
+            return new ByteArrayInputStream(
+                payLoad.getBytes(SerializationPolicyLoader.SERIALIZATION_POLICY_FILE_ENCODING));
+          } catch (UnsupportedEncodingException e) {
+            return null;
+          }
+        }
+        return null;
+      }
+
+      public Set<String> getResourcePaths(String path) {
+        if ("/".equals(path)) {
+          return new HashSet<String>(Arrays.asList("/MyModule/", "/WEB-INF/", "/index.html"));
+        } else if ("/MyModule/".equals(path)) {
+          return new HashSet<String>(Arrays.asList(resourcePath));
+        }
+        throw new UnsupportedOperationException(path);
+      }
+    };
+    MockServletConfig mockConfig = new MockServletConfig(mockContext);
+    mockConfig.initParameters.put(RemoteServiceServlet.PRELOAD_POLICIES_PARAM, "true");
+
+    RemoteServiceServlet rss = new RemoteServiceServlet();
+    rss.init(mockConfig);
+    assertEquals(1, loads[0]);
+    assertEquals(1, rss.getSerializationPolicyCache().getLoadCount());
+
+    MockHttpServletRequestContextPath mockRequest = new MockHttpServletRequestContextPath();
+    mockRequest.contextPath = "";
+    SerializationPolicy serializationPolicy = rss.doGetSerializationPolicy(
+        mockRequest, "http://www.google.com/MyModule/", "12345");
+    assertNotNull(serializationPolicy);
+    assertDeserializeFields(serializationPolicy, Foo.class);
+    assertEquals(1, loads[0]);
+  }
+
   private void assertDeserializeFields(SerializationPolicy policy,
       Class<?> clazz) {
     assertTrue(policy.shouldDeserializeFields(clazz));
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc;
+
+import com.google.gwt.user.server.rpc.impl.StandardSerializationPolicy;
+
+import junit.framework.TestCase;
+
+import java.util.Collections;
+
+/**
+ * Tests {@link SerializationPolicyCache}.
+ */
+public class SerializationPolicyCacheTest extends TestCase {
+
+  public void testEvictsLeastRecentlyUsed() {
+    SerializationPolicyCache cache = new SerializationPolicyCache(2);
+    SerializationPolicy a = createPolicy();
+    SerializationPolicy b = createPolicy();
+    cache.put("a", a);
+    cache.put("b", b);
+    assertSame(a, cache.get("a"));
+
+    cache.put("c", a);
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    assertNull(cache.get("b"));
+    assertSame(a, cache.get("a"));
+    assertSame(a, cache.get("c"));
+  }
+
+  public void testHitsAndMisses() {
+    SerializationPolicyCache cache = new SerializationPolicyCache(10);
+    assertNull(cache.get("a"));
+    cache.put("a", RPC.getDefaultSerializationPolicy());
+    cache.put("b", null);
+    assertNotNull(cache.get("a"));
+    assertNotNull(cache.get("a"));
+    assertNull(cache.get("b"));
+
+    assertEquals(2, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(1, cache.size());
+  }
+
+  public void testInvalidMaximumSize() {
+    try {
+      new SerializationPolicyCache(0);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testRecordLoad() {
+    SerializationPolicyCache cache = new SerializationPolicyCache(10);
+    cache.recordLoad(30);
+    cache.recordLoad(50);
+    cache.recordLoad(20);
+    assertEquals(3, cache.getLoadCount());
+    assertEquals(100, cache.getTotalLoadTimeNanos());
+    assertEquals(50, cache.getMaximumLoadTimeNanos());
+  }
+
+  private static SerializationPolicy createPolicy() {
+    return new StandardSerializationPolicy(Collections.<Class<?>, Boolean>emptyMap(),
+        Collections.<Class<?>, Boolean>emptyMap(), Collections.<Class<?>, String>emptyMap());
+  }
+}
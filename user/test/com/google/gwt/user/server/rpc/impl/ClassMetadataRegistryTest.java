@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.impl;
+
+import com.google.gwt.user.server.rpc.SerializationPolicy;
+
+import junit.framework.TestCase;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests {@link ClassMetadataRegistry}.
+ */
+public class ClassMetadataRegistryTest extends TestCase {
+
+  /**
+   * A class with fields of generic types.
+   */
+  @SuppressWarnings("unused")
+  static class Holder<T> {
+    private ArrayList<Map<String, T>> items;
+    private T[] values;
+  }
+
+  /**
+   * A class with a final field.
+   */
+  @SuppressWarnings("unused")
+  static class Constant {
+    private final String constant = "constant";
+    private int count;
+  }
+
+  /**
+   * Tests that a registry neither keeps its class loader alive nor is dropped while the loader is
+   * alive.
+   */
+  public void testClassLoaderIsCollected() throws ClassNotFoundException {
+    ClassLoader classLoader = new URLClassLoader(
+        new URL[] {Constant.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+    Class<?> constantClass = Class.forName(Constant.class.getName(), false, classLoader);
+    assertSame(classLoader, constantClass.getClassLoader());
+
+    ClassMetadataRegistry registry = ClassMetadataRegistry.get(classLoader);
+    registry.getClassMetadata(constantClass).setSerializationSignature("signature");
+    registry.getTypeBindings(constantClass);
+    WeakReference<ClassMetadataRegistry> registryReference =
+        new WeakReference<ClassMetadataRegistry>(registry);
+    registry = null;
+
+    collectGarbage(registryReference);
+    assertNotNull(registryReference.get());
+    assertSame(registryReference.get(), ClassMetadataRegistry.get(classLoader));
+
+    WeakReference<ClassLoader> classLoaderReference = new WeakReference<ClassLoader>(classLoader);
+    classLoader = null;
+    constantClass = null;
+    collectGarbage(classLoaderReference);
+    assertNull(classLoaderReference.get());
+  }
+
+  public void testPerClassLoader() {
+    ClassLoader classLoader = getClass().getClassLoader();
+    ClassMetadataRegistry registry = ClassMetadataRegistry.get(classLoader);
+    assertSame(registry, ClassMetadataRegistry.get(classLoader));
+    assertSame(classLoader, registry.getClassLoader());
+
+    ClassLoader otherClassLoader = new URLClassLoader(new URL[0], classLoader);
+    ClassMetadataRegistry otherRegistry = ClassMetadataRegistry.get(otherClassLoader);
+    assertNotSame(registry, otherRegistry);
+    assertNotSame(registry.getClassMetadata(Holder.class),
+        otherRegistry.getClassMetadata(Holder.class));
+    assertSame(registry, ClassMetadataRegistry.get(classLoader));
+    assertSame(otherRegistry, ClassMetadataRegistry.get(otherClassLoader));
+  }
+
+  /**
+   * Tests that the fields serialized with and without final fields are cached separately.
+   */
+  public void testSerializableFields() {
+    Field[] fields = SerializabilityUtil.applyFieldSerializationPolicy(Constant.class,
+        createPolicy(false));
+    assertEquals(1, fields.length);
+    assertSame(fields, SerializabilityUtil.applyFieldSerializationPolicy(Constant.class,
+        createPolicy(false)));
+
+    Field[] fieldsWithFinal = SerializabilityUtil.applyFieldSerializationPolicy(Constant.class,
+        createPolicy(true));
+    assertEquals(2, fieldsWithFinal.length);
+    assertEquals("constant", fieldsWithFinal[0].getName());
+    assertEquals("count", fieldsWithFinal[1].getName());
+  }
+
+  public void testTypeBindings() throws NoSuchFieldException {
+    Type itemsType = Holder.class.getDeclaredField("items").getGenericType();
+    ClassMetadataRegistry registry = ClassMetadataRegistry.get(getClass().getClassLoader());
+    assertSame(registry.getTypeBindings(itemsType), registry.getTypeBindings(itemsType));
+
+    DequeMap<TypeVariable<?>, Type> resolvedTypes = new DequeMap<TypeVariable<?>, Type>();
+    TypeVariable<?> holderType = Holder.class.getTypeParameters()[0];
+    resolvedTypes.add(holderType, String.class);
+    SerializabilityUtil.resolveTypes(itemsType, resolvedTypes);
+
+    // ArrayList's E is bound to Map<String, T>, the E of its supertypes to ArrayList's E
+    TypeVariable<?> arrayListType = ArrayList.class.getTypeParameters()[0];
+    assertEquals(((ParameterizedType) itemsType).getActualTypeArguments()[0],
+        resolvedTypes.get(arrayListType));
+    assertEquals(arrayListType, resolvedTypes.get(AbstractList.class.getTypeParameters()[0]));
+    assertEquals(arrayListType, resolvedTypes.get(List.class.getTypeParameters()[0]));
+    assertNotNull(resolvedTypes.get(Collection.class.getTypeParameters()[0]));
+
+    SerializabilityUtil.releaseTypes(itemsType, resolvedTypes);
+    assertNull(resolvedTypes.get(ArrayList.class.getTypeParameters()[0]));
+    assertNull(resolvedTypes.get(Collection.class.getTypeParameters()[0]));
+    assertEquals(String.class, resolvedTypes.get(holderType));
+  }
+
+  /**
+   * Runs the garbage collector until the reference is cleared, or gives up after a while.
+   */
+  private static void collectGarbage(WeakReference<?> reference) {
+    for (int i = 0; i < 20 && reference.get() != null; i++) {
+      System.gc();
+      System.runFinalization();
+    }
+  }
+
+  private static SerializationPolicy createPolicy(boolean shouldSerializeFinalFields) {
+    Map<Class<?>, Boolean> whitelist = new HashMap<Class<?>, Boolean>();
+    whitelist.put(Constant.class, true);
+    return new StandardSerializationPolicy(whitelist, whitelist,
+        Collections.<Class<?>, String>emptyMap(), null, shouldSerializeFinalFields);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.impl;
+
+import com.google.gwt.user.server.rpc.SerializationPolicy;
+
+import junit.framework.TestCase;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests {@link ClassSerializationPlan}.
+ */
+public class ClassSerializationPlanTest extends TestCase {
+
+  /**
+   * A class with fields of all kinds of visibility.
+   */
+  @SuppressWarnings("unused")
+  static class Bean {
+    private int count;
+    protected String name;
+    public long id;
+    transient String ignored;
+    private final String constant = "initial";
+  }
+
+  /**
+   * A class some fields of which are unknown to the client.
+   */
+  @SuppressWarnings("unused")
+  static class EnhancedBean {
+    private int count;
+    protected String name;
+    public long id;
+  }
+
+  public void testFieldOrder() {
+    ClassSerializationPlan plan = ClassSerializationPlan.get(Bean.class, createPolicy(null, true));
+    assertEquals(Arrays.asList("constant", "count", "id", "name"), getNames(plan));
+    assertFalse(plan.isEnhanced());
+    assertEquals(0, plan.getServerOnlyFields().length);
+  }
+
+  public void testGetAndSet() throws Exception {
+    ClassSerializationPlan plan = ClassSerializationPlan.get(Bean.class, createPolicy(null, true));
+    Bean bean = new Bean();
+    Object[] values = {"changed", 42, 7L, "bean"};
+    ClassSerializationPlan.FieldAccessor[] fields = plan.getClientFields();
+    for (int i = 0; i < fields.length; i++) {
+      fields[i].set(bean, values[i]);
+    }
+    for (int i = 0; i < fields.length; i++) {
+      assertEquals(values[i], fields[i].get(bean));
+    }
+    assertEquals(42, bean.count);
+    assertEquals("bean", bean.name);
+    assertEquals(7L, bean.id);
+
+    Field constant = Bean.class.getDeclaredField("constant");
+    constant.setAccessible(true);
+    assertEquals("changed", constant.get(bean));
+  }
+
+  public void testSetMismatchedValue() throws Exception {
+    ClassSerializationPlan plan = ClassSerializationPlan.get(Bean.class, createPolicy(null, true));
+    ClassSerializationPlan.FieldAccessor count = plan.getClientFields()[1];
+    assertEquals("count", count.getName());
+    try {
+      count.set(new Bean(), "not an int");
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testEnhancedClass() {
+    Set<String> clientFieldNames = new HashSet<String>(Arrays.asList("id", "name"));
+    Map<Class<?>, Set<String>> clientFields = new HashMap<Class<?>, Set<String>>();
+    clientFields.put(EnhancedBean.class, clientFieldNames);
+    ClassSerializationPlan plan =
+        ClassSerializationPlan.get(EnhancedBean.class, createPolicy(clientFields, false));
+
+    assertTrue(plan.isEnhanced());
+    assertEquals(Arrays.asList("id", "name"), getNames(plan));
+    assertEquals(1, plan.getServerOnlyFields().length);
+    assertEquals("count", plan.getServerOnlyFields()[0].getName());
+  }
+
+  public void testPlansAreCachedPerPolicy() {
+    SerializationPolicy policy = createPolicy(null, true);
+    assertSame(ClassSerializationPlan.get(Bean.class, policy),
+        ClassSerializationPlan.get(Bean.class, policy));
+    assertNotSame(ClassSerializationPlan.get(Bean.class, policy),
+        ClassSerializationPlan.get(Bean.class, createPolicy(null, true)));
+  }
+
+  private static SerializationPolicy createPolicy(Map<Class<?>, Set<String>> clientFields,
+      boolean shouldSerializeFinalFields) {
+    Map<Class<?>, Boolean> whitelist = new HashMap<Class<?>, Boolean>();
+    whitelist.put(Bean.class, true);
+    whitelist.put(EnhancedBean.class, true);
+    return new StandardSerializationPolicy(whitelist, whitelist,
+        Collections.<Class<?>, String>emptyMap(), clientFields, shouldSerializeFinalFields);
+  }
+
+  private static List<String> getNames(ClassSerializationPlan plan) {
+    List<String> names = new ArrayList<String>();
+    for (ClassSerializationPlan.FieldAccessor field : plan.getClientFields()) {
+      names.add(field.getName());
+    }
+    return names;
+  }
+}
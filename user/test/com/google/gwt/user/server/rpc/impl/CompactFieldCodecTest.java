@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.user.server.rpc.impl;
+
+import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.server.Base64Utils;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Tests {@link CompactFieldCodec}.
+ */
+public class CompactFieldCodecTest extends TestCase {
+
+  /**
+   * A class whose fields are all treated as server-only.
+   */
+  static class Entity {
+    boolean flag;
+    byte b;
+    char ch;
+    short s;
+    int count;
+    long version;
+    float f;
+    double d;
+    Integer boxed;
+    String name;
+    Date modified;
+    BigDecimal amount;
+    Object missing;
+  }
+
+  /**
+   * Like {@link Entity}, with one field less.
+   */
+  static class ChangedEntity {
+    int count;
+  }
+
+  private static Entity createEntity() {
+    Entity entity = new Entity();
+    entity.flag = true;
+    entity.b = Byte.MIN_VALUE;
+    entity.ch = '\u20ac';
+    entity.s = -1;
+    entity.count = Integer.MAX_VALUE;
+    entity.version = 0x123456789abcdefL;
+    entity.f = -1.5f;
+    entity.d = Double.NaN;
+    entity.boxed = -42;
+    entity.name = "caf\u00e9 \ud83d\ude00";
+    entity.modified = new Date(1234567890123L);
+    entity.amount = new BigDecimal("12.34");
+    return entity;
+  }
+
+  public void testChangedFields() throws SerializationException {
+    Field[] fields = ChangedEntity.class.getDeclaredFields();
+    String encoded = CompactFieldCodec.getInstance().encode(new ChangedEntity(),
+        ChangedEntity.class, fields);
+    try {
+      CompactFieldCodec.getInstance().decode(encoded, new Entity(), Entity.class,
+          Entity.class.getDeclaredFields());
+      fail("Expected SerializationException");
+    } catch (SerializationException e) {
+      // Expected
+    }
+  }
+
+  public void testDecodeJavaSerialization() throws SerializationException {
+    Field[] fields = getFields();
+    String encoded = JavaSerializationFieldCodec.getInstance().encode(createEntity(),
+        Entity.class, fields);
+    Entity entity = new Entity();
+    CompactFieldCodec.getInstance().decode(encoded, entity, Entity.class, fields);
+    assertEntity(entity);
+  }
+
+  public void testDecodeMalformed() {
+    Field[] fields = getFields();
+    for (String encoded : new String[] {"AAAA", "A=", "AB"}) {
+      try {
+        CompactFieldCodec.getInstance().decode(encoded, new Entity(), Entity.class, fields);
+        fail("Expected SerializationException for " + encoded);
+      } catch (SerializationException e) {
+        // Expected
+      }
+    }
+  }
+
+  /**
+   * Tests that lengths that are negative or exceed the input are rejected.
+   */
+  public void testDecodeInvalidLength() throws SerializationException {
+    Field[] fields = getFields();
+    byte[] valid = Base64Utils.fromBase64(
+        CompactFieldCodec.getInstance().encode(new Entity(), Entity.class, fields));
+    // Everything up to the null amount and missing fields, one byte each
+    int offset = valid.length - 2;
+    for (int length : new int[] {-1, Integer.MAX_VALUE}) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      output.write(valid, 0, offset);
+      // An amount serialized with Java serialization, of the given length
+      output.write(11);
+      for (int value = length; ; value >>>= 7) {
+        if ((value & ~0x7F) == 0) {
+          output.write(value);
+          break;
+        }
+        output.write(value & 0x7F | 0x80);
+      }
+      String encoded = Base64Utils.toBase64(output.toByteArray());
+      try {
+        CompactFieldCodec.getInstance().decode(encoded, new Entity(), Entity.class, fields);
+        fail("Expected SerializationException for length " + length);
+      } catch (SerializationException e) {
+        // Expected
+      }
+    }
+  }
+
+  public void testRoundTrip() throws SerializationException {
+    Field[] fields = getFields();
+    String encoded = CompactFieldCodec.getInstance().encode(createEntity(), Entity.class, fields);
+    assertTrue(encoded.length() < JavaSerializationFieldCodec.getInstance().encode(
+        createEntity(), Entity.class, fields).length());
+
+    Entity entity = new Entity();
+    entity.missing = "not null";
+    CompactFieldCodec.getInstance().decode(encoded, entity, Entity.class, fields);
+    assertEntity(entity);
+
+    // The shared buffer is reset between calls
+    assertEquals(encoded,
+        CompactFieldCodec.getInstance().encode(createEntity(), Entity.class, fields));
+  }
+
+  private void assertEntity(Entity entity) {
+    assertTrue(entity.flag);
+    assertEquals(Byte.MIN_VALUE, entity.b);
+    assertEquals('\u20ac', entity.ch);
+    assertEquals(-1, entity.s);
+    assertEquals(Integer.MAX_VALUE, entity.count);
+    assertEquals(0x123456789abcdefL, entity.version);
+    assertEquals(-1.5f, entity.f);
+    assertTrue(Double.isNaN(entity.d));
+    assertEquals(Integer.valueOf(-42), entity.boxed);
+    assertEquals("caf\u00e9 \ud83d\ude00", entity.name);
+    assertEquals(new Date(1234567890123L), entity.modified);
+    assertEquals(new BigDecimal("12.34"), entity.amount);
+    assertNull(entity.missing);
+  }
+
+  /**
+   * Returns the fields of {@link Entity} in a stable order.
+   */
+  private Field[] getFields() {
+    String[] names = {"flag", "b", "ch", "s", "count", "version", "f", "d", "boxed", "name",
+        "modified", "amount", "missing"};
+    Field[] fields = new Field[names.length];
+    for (int i = 0; i < names.length; i++) {
+      try {
+        fields[i] = Entity.class.getDeclaredField(names[i]);
+      } catch (NoSuchFieldException e) {
+        throw new AssertionError(e);
+      }
+    }
+    assertEquals(Arrays.asList(fields).size(), Entity.class.getDeclaredFields().length);
+    return fields;
+  }
+}
@@ -18,6 +18,9 @@ package com.google.gwt.user.server.rpc.impl;
 
 import junit.framework.TestCase;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
 /**
  * Tests {@link ServerSerializationStreamWriter}.
  */
@@ -146,4 +149,52 @@ public class ServerSerializationStreamWriterTest extends TestCase {
     assertEquals("7", encoded.substring(encoded.lastIndexOf(",") + 1, encoded.lastIndexOf("]")));
   }
 
+  public void testWriteTo() throws IOException {
+    ServerSerializationStreamWriter writer = new ServerSerializationStreamWriter(null, 8);
+    writer.writeInt(42);
+    writer.writeString("foo");
+    writer.writeString("b\u2011r");
+    writer.writeDouble(Double.NaN);
+    writer.writeLong(1234567890123L);
+    writer.writeString("foo");
+    assertWriteToMatchesToString(writer);
+  }
+
+  public void testWriteToLongStrings() throws IOException {
+    StringBuilder longString = new StringBuilder(660000);
+    for (int i = 0; i < 660000; i++) {
+      longString.append("a");
+    }
+
+    ServerSerializationStreamWriter writer = new ServerSerializationStreamWriter(null, 8);
+    writer.writeString(longString.toString());
+    assertWriteToMatchesToString(writer);
+  }
+
+  public void testWriteToLargeArrays() throws IOException {
+    int maxArrayLength = ServerSerializationStreamWriter.LengthConstrainedArray.MAXIMUM_ARRAY_LENGTH;
+    for (int length : new int[] {maxArrayLength - 3, maxArrayLength - 2, maxArrayLength * 2 + 1}) {
+      ServerSerializationStreamWriter writer = new ServerSerializationStreamWriter(null, 8);
+      for (int i = 0; i < length; i++) {
+        writer.writeInt(i);
+      }
+      assertWriteToMatchesToString(writer);
+    }
+
+    ServerSerializationStreamWriter writer = new ServerSerializationStreamWriter(null, 7);
+    for (int i = 0; i < maxArrayLength + 1; i++) {
+      writer.writeString(String.valueOf(i));
+    }
+    assertWriteToMatchesToString(writer);
+  }
+
+  private static void assertWriteToMatchesToString(ServerSerializationStreamWriter writer)
+      throws IOException {
+    String expected = writer.toString();
+    StringWriter out = new StringWriter();
+    writer.writeTo(out);
+    assertEquals(expected, out.toString());
+    assertTrue(writer.getEstimatedLength() <= expected.length());
+  }
+
 }
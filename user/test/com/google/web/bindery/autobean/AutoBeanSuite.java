@@ -22,6 +22,8 @@ import com.google.web.bindery.autobean.shared.SplittableTest;
 import com.google.web.bindery.autobean.vm.AutoBeanCodexJreTest;
 import com.google.web.bindery.autobean.vm.AutoBeanJreTest;
 import com.google.web.bindery.autobean.vm.SplittableJreTest;
+import com.google.web.bindery.autobean.vm.impl.GeneratedBeansTest;
+import com.google.web.bindery.autobean.vm.impl.JsonSplittableTest;
 
 import junit.framework.Test;
 
@@ -36,6 +38,8 @@ public class AutoBeanSuite {
     suite.addTestSuite(AutoBeanCodexTest.class);
     suite.addTestSuite(AutoBeanJreTest.class);
     suite.addTestSuite(AutoBeanTest.class);
+    suite.addTestSuite(GeneratedBeansTest.class);
+    suite.addTestSuite(JsonSplittableTest.class);
     suite.addTestSuite(SplittableJreTest.class);
     suite.addTestSuite(SplittableTest.class);
     return suite;
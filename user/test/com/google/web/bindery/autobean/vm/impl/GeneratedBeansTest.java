@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.autobean.vm.impl;
+
+import com.google.web.bindery.autobean.shared.AutoBean;
+import com.google.web.bindery.autobean.shared.AutoBeanCodex;
+import com.google.web.bindery.autobean.shared.AutoBeanFactory;
+import com.google.web.bindery.autobean.shared.AutoBeanFactory.Category;
+import com.google.web.bindery.autobean.shared.AutoBeanUtils;
+import com.google.web.bindery.autobean.vm.AutoBeanFactorySource;
+
+import junit.framework.TestCase;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the AutoBeans whose shims and simple peers are generated classes.
+ */
+public class GeneratedBeansTest extends TestCase {
+
+  /**
+   * A bean with properties of various kinds.
+   */
+  public interface Bean {
+    String describe();
+
+    int getCount();
+
+    List<String> getNames();
+
+    long getVersion();
+
+    boolean isEnabled();
+
+    void setCount(int count);
+
+    void setEnabled(boolean enabled);
+
+    void setNames(List<String> names);
+
+    Bean setVersion(long version);
+  }
+
+  /**
+   * Implements {@link Bean#describe()}.
+   */
+  public static class BeanCategory {
+    public static String describe(AutoBean<Bean> bean) {
+      return "count " + bean.as().getCount();
+    }
+  }
+
+  /**
+   * A wrapped implementation of {@link Bean}.
+   */
+  public static class BeanImpl implements Bean {
+    int count;
+
+    public String describe() {
+      return "impl";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof BeanImpl && ((BeanImpl) o).count == count;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public List<String> getNames() {
+      throw new IllegalStateException("No names");
+    }
+
+    public long getVersion() {
+      return 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return count;
+    }
+
+    public boolean isEnabled() {
+      return false;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+
+    public void setEnabled(boolean enabled) {
+    }
+
+    public void setNames(List<String> names) {
+    }
+
+    public Bean setVersion(long version) {
+      return this;
+    }
+  }
+
+  /**
+   * The factory of the tested beans.
+   */
+  @Category(BeanCategory.class)
+  public interface Factory extends AutoBeanFactory {
+    AutoBean<Bean> bean();
+
+    AutoBean<Bean> bean(Bean toWrap);
+
+    AutoBean<HiddenBean> hiddenBean();
+  }
+
+  /**
+   * An interface that classes cannot be generated for.
+   */
+  interface HiddenBean {
+    int getCount();
+
+    void setCount(int count);
+  }
+
+  private Factory factory;
+
+  public void testGenerated() {
+    AutoBean<Bean> bean = factory.bean();
+    Bean shim = bean.as();
+    assertGenerated(shim);
+    assertGenerated(((ProxyAutoBean<Bean>) bean).getWrapped());
+
+    assertEquals(0, shim.getCount());
+    assertEquals(0L, shim.getVersion());
+    assertFalse(shim.isEnabled());
+    assertNull(shim.getNames());
+
+    shim.setCount(42);
+    shim.setEnabled(true);
+    shim.setNames(Arrays.asList("a", "b"));
+    assertSame(shim, shim.setVersion(Long.MAX_VALUE));
+    assertEquals(42, shim.getCount());
+    assertTrue(shim.isEnabled());
+    assertEquals(Arrays.asList("a", "b"), shim.getNames());
+    assertEquals(Long.MAX_VALUE, shim.getVersion());
+    assertEquals("count 42", shim.describe());
+
+    // Collections are wrapped in their own AutoBeans
+    assertNotNull(AutoBeanUtils.getAutoBean(shim.getNames()));
+    assertSame(bean, AutoBeanUtils.getAutoBean(shim));
+    assertEquals(shim, shim);
+    assertEquals(shim.hashCode(), shim.hashCode());
+
+    Bean decoded = AutoBeanCodex.decode(factory, Bean.class, AutoBeanCodex.encode(bean)).as();
+    assertEquals(42, decoded.getCount());
+    assertEquals(Long.MAX_VALUE, decoded.getVersion());
+    assertEquals(Arrays.asList("a", "b"), decoded.getNames());
+
+    bean.setFrozen(true);
+    try {
+      shim.setCount(0);
+      fail("Expected IllegalStateException");
+    } catch (IllegalStateException expected) {
+    }
+  }
+
+  public void testNotPublic() {
+    HiddenBean shim = factory.hiddenBean().as();
+    assertTrue(Proxy.isProxyClass(shim.getClass()));
+    shim.setCount(7);
+    assertEquals(7, shim.getCount());
+  }
+
+  public void testWrapped() {
+    BeanImpl impl = new BeanImpl();
+    Bean shim = factory.bean(impl).as();
+    assertGenerated(shim);
+
+    shim.setCount(3);
+    assertEquals(3, impl.count);
+    assertEquals(3, shim.getCount());
+    assertEquals("impl", shim.describe());
+    assertSame(shim, shim.setVersion(1));
+
+    assertEquals(shim, shim);
+    assertEquals(shim, impl);
+    assertEquals(impl.hashCode(), shim.hashCode());
+    try {
+      shim.getNames();
+      fail("Expected IllegalStateException");
+    } catch (IllegalStateException expected) {
+      assertEquals("No names", expected.getMessage());
+    }
+  }
+
+  @Override
+  protected void setUp() {
+    factory = AutoBeanFactorySource.create(Factory.class);
+  }
+
+  private void assertGenerated(Object instance) {
+    assertTrue(instance.getClass().getName(), instance instanceof GeneratedBean);
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.autobean.vm.impl;
+
+import com.google.web.bindery.autobean.shared.Splittable;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+/**
+ * Tests the parsing and encoding of {@link JsonSplittable}, beyond what
+ * {@link com.google.web.bindery.autobean.vm.SplittableJreTest} checks.
+ */
+public class JsonSplittableTest extends TestCase {
+
+  public void testEscapes() {
+    String raw = "quote \" backslash \\ slash / \b\f\n\r\t \u0001 \u001f \u00e9 \ud83d\ude00";
+    String quoted = JsonSplittable.quote(raw);
+    assertEquals("\"quote \\\" backslash \\\\ slash \\/ \\b\\f\\n\\r\\t \\u0001 \\u001f "
+        + "\u00e9 \ud83d\ude00\"", quoted);
+    assertEquals(raw, JsonSplittable.create(quoted).asString());
+    assertEquals(raw, JsonSplittable.create("\"quote \\\" backslash \\\\ slash / \\b\\f\\n\\r\\t"
+        + " \\u0001 \\u001F \\u00e9 \\ud83d\\ude00\"").asString());
+  }
+
+  public void testInvalid() {
+    for (String payload : Arrays.asList("", " ", "{", "[1,]", "{\"a\"}", "{\"a\":1,}", "[1 2]",
+        "{a:1}", "\"unterminated", "\"bad \\x escape\"", "tru", "-", "1.", "1e", "[1]]", "nul")) {
+      try {
+        JsonSplittable.create(payload);
+        fail("Expected an exception for " + payload);
+      } catch (RuntimeException expected) {
+      }
+    }
+  }
+
+  public void testLazy() {
+    String payload = " {\"a\": {\"b\": [1.0, 2 , {}]}, \"c\":[ ], \"d\":\"x\"} ";
+    Splittable data = JsonSplittable.create(payload);
+    assertTrue(data.isKeyed());
+    assertFalse(data.isIndexed());
+
+    // Unparsed objects and arrays keep their original payload
+    assertEquals(payload.trim(), data.getPayload());
+    Splittable a = data.get("a");
+    assertEquals("{\"b\": [1.0, 2 , {}]}", a.getPayload());
+    assertTrue(a.get("b").isIndexed());
+    assertEquals(3, a.get("b").size());
+
+    // Modified ones are encoded again
+    data.get("d").assign(a.get("b"), 1);
+    assertEquals("{\"a\":{\"b\":[1,\"x\",{}]},\"c\":[ ],\"d\":\"x\"}", data.getPayload());
+    assertEquals(Arrays.asList("a", "c", "d"), data.getPropertyKeys());
+  }
+
+  public void testNull() {
+    Splittable data = JsonSplittable.create("{\"a\":null,\"b\":[null]}");
+    assertTrue(data.isNull("a"));
+    assertFalse(data.isUndefined("a"));
+    assertTrue(data.isNull("c"));
+    assertTrue(data.isUndefined("c"));
+    assertTrue(data.get("b").isNull(0));
+    assertTrue(data.get("b").isNull(1));
+    assertNull(JsonSplittable.create("null"));
+
+    Splittable.NULL.assign(data, "a");
+    Splittable.NULL.assign(data.get("b"), 2);
+    assertEquals("{\"b\":[null,null,null]}", data.getPayload());
+  }
+
+  public void testNumbers() {
+    assertEquals(-1.5e-3, JsonSplittable.create("-1.5E-3").asNumber());
+    assertEquals("3.0", JsonSplittable.create("3").getPayload());
+
+    Splittable list = JsonSplittable.createIndexed();
+    JsonSplittable.create("3.0").assign(list, 0);
+    JsonSplittable.create("-0.0").assign(list, 1);
+    JsonSplittable.create("0.25").assign(list, 2);
+    JsonSplittable.create("1e20").assign(list, 3);
+    assertEquals("[3,-0,0.25,1.0E20]", list.getPayload());
+  }
+
+  public void testWritePayload() throws IOException {
+    JsonSplittable data = JsonSplittable.create();
+    JsonSplittable.create("[true,false]").assign(data, "a");
+    JsonSplittable.create(JsonSplittable.quote("\u00e9")).assign(data, "b");
+
+    StringWriter writer = new StringWriter();
+    data.writePayload(writer);
+    assertEquals("{\"a\":[true,false],\"b\":\"\u00e9\"}", writer.toString());
+    assertEquals(writer.toString(), data.getPayload());
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.requestfactory.server;
+
+import com.google.web.bindery.event.shared.SimpleEventBus;
+import com.google.web.bindery.requestfactory.server.testing.InProcessRequestTransport;
+import com.google.web.bindery.requestfactory.shared.EntityProxy;
+import com.google.web.bindery.requestfactory.shared.ProxyFor;
+import com.google.web.bindery.requestfactory.shared.Receiver;
+import com.google.web.bindery.requestfactory.shared.Request;
+import com.google.web.bindery.requestfactory.shared.RequestContext;
+import com.google.web.bindery.requestfactory.shared.RequestFactory;
+import com.google.web.bindery.requestfactory.shared.ServerFailure;
+import com.google.web.bindery.requestfactory.shared.Service;
+import com.google.web.bindery.requestfactory.vm.RequestFactorySource;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests that the server leaves out the properties of entities cached by the
+ * client.
+ */
+public class EntityCacheJreTest extends TestCase {
+
+  /**
+   * The domain type.
+   */
+  public static class Item {
+    static final List<Item> ITEMS = new ArrayList<Item>();
+
+    public static void deleteItem(Item item) {
+      ITEMS.set(item.id, null);
+    }
+
+    public static Item findItem(Integer id) {
+      return ITEMS.get(id);
+    }
+
+    public static List<Item> findItems() {
+      return ITEMS;
+    }
+
+    Integer id;
+    String name;
+    Item parent;
+    Integer version = 0;
+
+    public Integer getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Item getParent() {
+      return parent;
+    }
+
+    public Integer getVersion() {
+      return version;
+    }
+  }
+
+  /**
+   * The RequestContext.
+   */
+  @Service(Item.class)
+  public interface Context extends RequestContext {
+    Request<Void> deleteItem(ItemProxy item);
+
+    Request<List<ItemProxy>> findItems();
+  }
+
+  /**
+   * The RequestFactory.
+   */
+  public interface Factory extends RequestFactory {
+    Context context();
+  }
+
+  /**
+   * The entity proxy.
+   */
+  @ProxyFor(Item.class)
+  public interface ItemProxy extends EntityProxy {
+    String getName();
+
+    ItemProxy getParent();
+  }
+
+  /**
+   * Records the response payloads.
+   */
+  private static class Transport extends InProcessRequestTransport {
+    final List<String> responses = new ArrayList<String>();
+
+    Transport(SimpleRequestProcessor processor) {
+      super(processor);
+    }
+
+    @Override
+    public void send(String payload, final TransportReceiver receiver) {
+      super.send(payload, new TransportReceiver() {
+        @Override
+        public void onTransportFailure(ServerFailure failure) {
+          receiver.onTransportFailure(failure);
+        }
+
+        @Override
+        public void onTransportSuccess(String payload) {
+          responses.add(payload);
+          receiver.onTransportSuccess(payload);
+        }
+      });
+    }
+  }
+
+  private Factory factory;
+  private Transport transport;
+
+  public void testCached() {
+    factory.setEntityCacheSize(10);
+    assertEquals(Arrays.asList("a", "b"), findNames(false));
+    assertEquals(Arrays.asList("a", "b"), findNames(false));
+    String response = transport.responses.get(1);
+    assertFalse(response, response.contains("\"a\""));
+    assertFalse(response, response.contains("\"b\""));
+
+    // Modified entities are sent again
+    Item.ITEMS.get(1).name = "c";
+    Item.ITEMS.get(1).version++;
+    assertEquals(Arrays.asList("a", "c"), findNames(false));
+    response = transport.responses.get(2);
+    assertFalse(response, response.contains("\"a\""));
+    assertTrue(response, response.contains("\"c\""));
+
+    // As are entities returned with other properties
+    assertEquals(Arrays.asList("a", "c"), findNames(true));
+    response = transport.responses.get(3);
+    assertFalse(response, response.contains("\"a\""));
+    assertTrue(response, response.contains("\"c\""));
+  }
+
+  public void testDeleted() {
+    factory.setEntityCacheSize(10);
+    List<ItemProxy> items = findItems(false);
+    Item item = Item.ITEMS.get(1);
+    factory.context().deleteItem(items.get(1)).fire();
+
+    // An entity that comes back with the same version is sent again
+    Item.ITEMS.set(1, item);
+    assertEquals(Arrays.asList("a", "b"), findNames(false));
+    String response = transport.responses.get(2);
+    assertFalse(response, response.contains("\"a\""));
+    assertTrue(response, response.contains("\"b\""));
+  }
+
+  public void testDisabled() {
+    assertEquals(Arrays.asList("a", "b"), findNames(false));
+    assertEquals(Arrays.asList("a", "b"), findNames(false));
+    assertTrue(transport.responses.get(1).contains("\"a\""));
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    Item.ITEMS.clear();
+    for (String name : Arrays.asList("a", "b")) {
+      Item item = new Item();
+      item.id = Item.ITEMS.size();
+      item.name = name;
+      Item.ITEMS.add(item);
+    }
+    Item.ITEMS.get(1).parent = Item.ITEMS.get(0);
+    transport = new Transport(new SimpleRequestProcessor(ServiceLayer.create()));
+    factory = RequestFactorySource.create(Factory.class);
+    factory.initialize(new SimpleEventBus(), transport);
+  }
+
+  private List<ItemProxy> findItems(boolean withParent) {
+    final List<ItemProxy> items = new ArrayList<ItemProxy>();
+    Request<List<ItemProxy>> request = factory.context().findItems();
+    if (withParent) {
+      request.with("parent");
+    }
+    request.fire(new Receiver<List<ItemProxy>>() {
+      @Override
+      public void onSuccess(List<ItemProxy> response) {
+        items.addAll(response);
+      }
+    });
+    return items;
+  }
+
+  private List<String> findNames(boolean withParent) {
+    List<String> names = new ArrayList<String>();
+    for (ItemProxy item : findItems(withParent)) {
+      names.add(item.getName());
+    }
+    return names;
+  }
+}
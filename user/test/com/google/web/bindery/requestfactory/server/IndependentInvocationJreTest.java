@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.requestfactory.server;
+
+import com.google.web.bindery.event.shared.SimpleEventBus;
+import com.google.web.bindery.requestfactory.server.testing.InProcessRequestTransport;
+import com.google.web.bindery.requestfactory.shared.Independent;
+import com.google.web.bindery.requestfactory.shared.Receiver;
+import com.google.web.bindery.requestfactory.shared.Request;
+import com.google.web.bindery.requestfactory.shared.RequestContext;
+import com.google.web.bindery.requestfactory.shared.RequestFactory;
+import com.google.web.bindery.requestfactory.shared.ServerFailure;
+import com.google.web.bindery.requestfactory.shared.Service;
+import com.google.web.bindery.requestfactory.vm.RequestFactorySource;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests that {@link Independent} invocations run concurrently when
+ * {@link SimpleRequestProcessor} has an executor.
+ */
+public class IndependentInvocationJreTest extends TestCase {
+
+  /**
+   * The service.
+   */
+  public static class Domain {
+    static CyclicBarrier barrier;
+    static final List<Integer> invoked = Collections.synchronizedList(new ArrayList<Integer>());
+
+    public static Integer dependent(int value) {
+      invoked.add(value);
+      return value;
+    }
+
+    public static Integer independent(int value) {
+      try {
+        // Fails unless the other independent invocations run at the same time
+        barrier.await(10, TimeUnit.SECONDS);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+      if (value < 0) {
+        throw new IllegalArgumentException("Negative value");
+      }
+      invoked.add(value);
+      return value * 10;
+    }
+  }
+
+  /**
+   * The RequestContext.
+   */
+  @Service(Domain.class)
+  public interface Context extends RequestContext {
+    Request<Integer> dependent(int value);
+
+    @Independent
+    Request<Integer> independent(int value);
+  }
+
+  /**
+   * The RequestFactory.
+   */
+  public interface Factory extends RequestFactory {
+    Context context();
+  }
+
+  private static class Recorder extends Receiver<Integer> {
+    final List<Object> results;
+
+    Recorder(List<Object> results) {
+      this.results = results;
+    }
+
+    @Override
+    public void onFailure(ServerFailure error) {
+      results.add(error.getMessage());
+    }
+
+    @Override
+    public void onSuccess(Integer response) {
+      results.add(response);
+    }
+  }
+
+  private ExecutorService executor;
+  private Factory factory;
+
+  public void testConcurrent() {
+    Domain.barrier = new CyclicBarrier(3);
+    List<Object> results = new ArrayList<Object>();
+    Context context = factory.context();
+    context.independent(1).to(new Recorder(results));
+    context.independent(2).to(new Recorder(results));
+    context.independent(3).to(new Recorder(results));
+    context.dependent(4).to(new Recorder(results));
+    context.fire();
+
+    assertEquals(Arrays.<Object> asList(10, 20, 30, 4), results);
+    // The dependent invocation ran after the independent ones
+    assertEquals(4, Domain.invoked.size());
+    assertEquals(Integer.valueOf(4), Domain.invoked.get(3));
+  }
+
+  public void testFailure() {
+    Domain.barrier = new CyclicBarrier(2);
+    List<Object> results = new ArrayList<Object>();
+    Context context = factory.context();
+    context.independent(-1).to(new Recorder(results));
+    context.independent(2).to(new Recorder(results));
+    context.fire();
+
+    assertEquals(Arrays.<Object> asList("Server Error: Negative value", 20), results);
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    Domain.invoked.clear();
+    executor = Executors.newCachedThreadPool();
+    SimpleRequestProcessor processor = new SimpleRequestProcessor(ServiceLayer.create());
+    processor.setExecutor(executor);
+    factory = RequestFactorySource.create(Factory.class);
+    factory.initialize(new SimpleEventBus(), new InProcessRequestTransport(processor));
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    executor.shutdownNow();
+    super.tearDown();
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.requestfactory.server;
+
+import com.google.web.bindery.requestfactory.shared.Locator;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the batch methods of {@link ServiceLayer}.
+ */
+public class ServiceLayerBatchTest extends TestCase {
+
+  /**
+   * A domain type with a Locator.
+   */
+  public static class Entity {
+    final int id;
+    final boolean live;
+
+    Entity(int id, boolean live) {
+      this.id = id;
+      this.live = live;
+    }
+  }
+
+  /**
+   * Counts batch calls.
+   */
+  public static class EntityLocator extends Locator<Entity, Integer> {
+    static int batchCalls;
+
+    @Override
+    public List<Boolean> areLive(List<? extends Entity> domainObjects) {
+      batchCalls++;
+      return super.areLive(domainObjects);
+    }
+
+    @Override
+    public Entity create(Class<? extends Entity> clazz) {
+      return new Entity(0, true);
+    }
+
+    @Override
+    public Entity find(Class<? extends Entity> clazz, Integer id) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Class<Entity> getDomainType() {
+      return Entity.class;
+    }
+
+    @Override
+    public Integer getId(Entity domainObject) {
+      return domainObject.id;
+    }
+
+    @Override
+    public Class<Integer> getIdType() {
+      return Integer.class;
+    }
+
+    @Override
+    public List<Integer> getIds(List<? extends Entity> domainObjects) {
+      batchCalls++;
+      return super.getIds(domainObjects);
+    }
+
+    @Override
+    public Object getVersion(Entity domainObject) {
+      return domainObject.id * 10;
+    }
+
+    @Override
+    public List<Object> getVersions(List<? extends Entity> domainObjects) {
+      batchCalls++;
+      return super.getVersions(domainObjects);
+    }
+
+    @Override
+    public boolean isLive(Entity domainObject) {
+      return domainObject.live;
+    }
+  }
+
+  /**
+   * Overrides {@link #isLive(Object)} like decorators written before the batch
+   * methods existed.
+   */
+  static class LegacyLayer extends ServiceLayerDecorator {
+    final List<Object> checked = new ArrayList<Object>();
+
+    @Override
+    public boolean isLive(Object domainObject) {
+      checked.add(domainObject);
+      return !(domainObject instanceof Entity) && super.isLive(domainObject);
+    }
+  }
+
+  static class LocatorLayer extends ServiceLayerDecorator {
+    @Override
+    public Class<? extends Locator<?, ?>> resolveLocator(Class<?> domainType) {
+      return Entity.class.equals(domainType) ? EntityLocator.class : null;
+    }
+  }
+
+  /**
+   * A domain type without a Locator.
+   */
+  public static class Plain {
+    public static Plain findPlain(Integer id) {
+      return id == 1 ? new Plain(1) : null;
+    }
+
+    private final Integer id;
+
+    Plain(Integer id) {
+      this.id = id;
+    }
+
+    public Integer getId() {
+      return id;
+    }
+
+    public Integer getVersion() {
+      return id + 100;
+    }
+  }
+
+  private final Entity deadEntity = new Entity(2, false);
+  private final Plain deadPlain = new Plain(2);
+  private final Entity liveEntity = new Entity(1, true);
+  private final Plain livePlain = new Plain(1);
+
+  public void testBatch() {
+    ServiceLayer layer = ServiceLayer.create(new LocatorLayer());
+    List<Object> domainObjects = Arrays.<Object> asList(liveEntity, livePlain, deadEntity,
+        deadPlain);
+
+    EntityLocator.batchCalls = 0;
+    assertEquals(Arrays.asList(true, true, false, false), layer.areLive(domainObjects));
+    assertEquals(Arrays.<Object> asList(1, 1, 2, 2), layer.getIds(domainObjects));
+    assertEquals(Arrays.<Object> asList(10, 101, 20, 102), layer.getVersions(domainObjects));
+    // Both entities are handled in one call to each method
+    assertEquals(3, EntityLocator.batchCalls);
+  }
+
+  public void testLegacyDecorator() {
+    LegacyLayer legacy = new LegacyLayer();
+    ServiceLayer layer = ServiceLayer.create(legacy, new LocatorLayer());
+    List<Object> domainObjects = Arrays.<Object> asList(liveEntity, livePlain, deadPlain);
+
+    EntityLocator.batchCalls = 0;
+    assertEquals(Arrays.asList(false, true, false), layer.areLive(domainObjects));
+    assertEquals(domainObjects, legacy.checked);
+    assertEquals(0, EntityLocator.batchCalls);
+
+    // Methods that the decorator does not override are still batched
+    assertEquals(Arrays.<Object> asList(10, 101, 102), layer.getVersions(domainObjects));
+    assertEquals(1, EntityLocator.batchCalls);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.web.bindery.requestfactory.server;
+
+import com.google.web.bindery.requestfactory.shared.BaseProxy;
+import com.google.web.bindery.requestfactory.shared.Locator;
+
+import junit.framework.TestCase;
+
+import java.lang.reflect.Method;
+
+/**
+ * Tests {@link ServiceLayerCache}.
+ */
+public class ServiceLayerCacheTest extends TestCase {
+
+  /**
+   * A domain type.
+   */
+  public static class Domain {
+    public String getName() {
+      return null;
+    }
+  }
+
+  /**
+   * Counts the calls that reach it and resolves a fixed Locator.
+   */
+  static class Counter extends ServiceLayerDecorator {
+    int clientTypeCalls;
+    int getterCalls;
+    final Class<? extends Locator<?, ?>> locator;
+
+    Counter(Class<? extends Locator<?, ?>> locator) {
+      this.locator = locator;
+    }
+
+    @Override
+    public Method getGetter(Class<?> domainType, String property) {
+      getterCalls++;
+      return super.getGetter(domainType, property);
+    }
+
+    @Override
+    public <T> Class<? extends T> resolveClientType(Class<?> domainClass, Class<T> clientType,
+        boolean required) {
+      clientTypeCalls++;
+      return required ? this.<Class<? extends T>> die(null, "No client type") : null;
+    }
+
+    @Override
+    public Class<? extends Locator<?, ?>> resolveLocator(Class<?> domainType) {
+      return locator;
+    }
+  }
+
+  /**
+   * Not used, only resolved.
+   */
+  public abstract static class LocatorA extends Locator<Domain, String> {
+  }
+
+  /**
+   * Not used, only resolved.
+   */
+  public abstract static class LocatorB extends Locator<Domain, String> {
+  }
+
+  public void testCachesNull() {
+    Counter counter = new Counter(null);
+    ServiceLayer layer = ServiceLayer.create(counter);
+    assertNull(layer.resolveClientType(Domain.class, BaseProxy.class, false));
+    assertNull(layer.resolveClientType(Domain.class, BaseProxy.class, false));
+    assertEquals(1, counter.clientTypeCalls);
+    try {
+      // A cached null must not hide that a required type is missing
+      layer.resolveClientType(Domain.class, BaseProxy.class, true);
+      fail();
+    } catch (RuntimeException expected) {
+    }
+  }
+
+  public void testCachesResults() throws NoSuchMethodException {
+    Counter counter = new Counter(null);
+    ServiceLayer layer = ServiceLayer.create(counter);
+    Method getter = Domain.class.getMethod("getName");
+    assertEquals(getter, layer.getGetter(Domain.class, "name"));
+    assertEquals(getter, layer.getGetter(Domain.class, "name"));
+    assertEquals(1, counter.getterCalls);
+  }
+
+  public void testSeparateLayers() {
+    ServiceLayer a = ServiceLayer.create(new Counter(LocatorA.class));
+    ServiceLayer b = ServiceLayer.create(new Counter(LocatorB.class));
+    assertEquals(LocatorA.class, a.resolveLocator(Domain.class));
+    assertEquals(LocatorB.class, b.resolveLocator(Domain.class));
+  }
+}
@@ -17,8 +17,10 @@ package com.google.web.bindery.requestfactory.vm;
 
 import com.google.web.bindery.requestfactory.server.BoxesAndPrimitivesJreTest;
 import com.google.web.bindery.requestfactory.server.ComplexKeysJreTest;
+import com.google.web.bindery.requestfactory.server.EntityCacheJreTest;
 import com.google.web.bindery.requestfactory.server.FanoutReceiverJreTest;
 import com.google.web.bindery.requestfactory.server.FindServiceJreTest;
+import com.google.web.bindery.requestfactory.server.IndependentInvocationJreTest;
 import com.google.web.bindery.requestfactory.server.JsonRpcRequestFactoryJreTest;
 import com.google.web.bindery.requestfactory.server.LocatorJreTest;
 import com.google.web.bindery.requestfactory.server.MethodProvidedByServiceLayerJreTest;
@@ -32,6 +34,8 @@ import com.google.web.bindery.requestfactory.server.RequestFactoryPolymorphicJre
 import com.google.web.bindery.requestfactory.server.RequestFactoryUnicodeEscapingJreTest;
 import com.google.web.bindery.requestfactory.server.RequestPayloadJreTest;
 import com.google.web.bindery.requestfactory.server.ServiceInheritanceJreTest;
+import com.google.web.bindery.requestfactory.server.ServiceLayerBatchTest;
+import com.google.web.bindery.requestfactory.server.ServiceLayerCacheTest;
 import com.google.web.bindery.requestfactory.server.ServiceLocatorTest;
 import com.google.web.bindery.requestfactory.shared.impl.SimpleEntityProxyIdTest;
 
@@ -49,8 +53,10 @@ public class RequestFactoryJreSuite {
     TestSuite suite = new TestSuite("requestfactory package tests that require the JRE");
     suite.addTestSuite(BoxesAndPrimitivesJreTest.class);
     suite.addTestSuite(ComplexKeysJreTest.class);
+    suite.addTestSuite(EntityCacheJreTest.class);
     suite.addTestSuite(FanoutReceiverJreTest.class);
     suite.addTestSuite(FindServiceJreTest.class);
+    suite.addTestSuite(IndependentInvocationJreTest.class);
     suite.addTestSuite(JsonRpcRequestFactoryJreTest.class);
     suite.addTestSuite(LocatorJreTest.class);
     suite.addTestSuite(MethodProvidedByServiceLayerJreTest.class);
@@ -64,6 +70,8 @@ public class RequestFactoryJreSuite {
     suite.addTestSuite(RequestFactoryUnicodeEscapingJreTest.class);
     suite.addTestSuite(RequestPayloadJreTest.class);
     suite.addTestSuite(ServiceInheritanceJreTest.class);
+    suite.addTestSuite(ServiceLayerBatchTest.class);
+    suite.addTestSuite(ServiceLayerCacheTest.class);
     suite.addTestSuite(ServiceLocatorTest.class);
     suite.addTestSuite(SimpleEntityProxyIdTest.class);
 